@@ -0,0 +1,140 @@
+/**
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Bandwidth;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.resources.Ram;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.util.Log;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A benchmark that places VMs into empty hosts using the {@link VmAllocationPolicySimple}
+ * and the policies backed by a {@link HostCapacityIndex}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class VmAllocationPolicyBenchmark {
+    private static final int HOST_PES = 16;
+    private static final long HOST_MIPS = 1000;
+    private static final long HOST_RAM = 65536;
+    private static final long HOST_BW = 1000000;
+    private static final long HOST_STORAGE = 1000000;
+    private static final int VMS_PER_HOST = 4;
+
+    @Param({"1000", "10000"})
+    private int hosts;
+
+    @Param({"Simple", "FirstFit", "BestFit", "WorstFit"})
+    private String policyName;
+
+    private VmAllocationPolicy policy;
+    private List<Vm> vmList;
+
+    @Setup(Level.Invocation)
+    public void doSetup() throws ReflectiveOperationException {
+        Log.disable();
+        final Random random = new Random(1);
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = new ArrayList<>(hosts);
+        for (int i = 0; i < hosts; i++) {
+            hostList.add(createHost(i));
+        }
+
+        policy = (VmAllocationPolicy)Class.forName(
+            VmAllocationPolicy.class.getName() + policyName).newInstance();
+        new DatacenterSimple(simulation, new DatacenterCharacteristicsSimple(hostList), policy);
+
+        final int vms = hosts * VMS_PER_HOST;
+        vmList = new ArrayList<>(vms);
+        for (int i = 0; i < vms; i++) {
+            vmList.add(createVm(i, random));
+        }
+    }
+
+    private Host createHost(final int id) {
+        final List<Pe> peList = new ArrayList<>(HOST_PES);
+        for (int i = 0; i < HOST_PES; i++) {
+            peList.add(new PeSimple(HOST_MIPS, new PeProvisionerSimple()));
+        }
+
+        final Host host = new HostSimple(id, HOST_STORAGE, peList);
+        host.setRamProvisioner(new ResourceProvisionerSimple(new Ram(HOST_RAM)))
+            .setBwProvisioner(new ResourceProvisionerSimple(new Bandwidth(HOST_BW)))
+            .setVmScheduler(new VmSchedulerTimeShared());
+        return host;
+    }
+
+    private Vm createVm(final int id, final Random random) {
+        final Vm vm = new VmSimple(id, HOST_MIPS, 1 + random.nextInt(4));
+        vm.setRam(1024 * (1 + random.nextInt(8)))
+          .setBw(1000)
+          .setSize(10000)
+          .setCloudletScheduler(new CloudletSchedulerTimeShared());
+        return vm;
+    }
+
+    /**
+     * Places all VMs into the hosts.
+     *
+     * @return the number of VMs placed
+     */
+    @Benchmark
+    public int testAllocateHostForVm() {
+        int placed = 0;
+        for (final Vm vm : vmList) {
+            if(policy.allocateHostForVm(vm)) {
+                placed++;
+            }
+        }
+
+        return placed;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies.power;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.datacenters.power.PowerDatacenter;
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
+import org.cloudbus.cloudsim.hosts.power.PowerHostUtilizationHistory;
+import org.cloudbus.cloudsim.power.models.PowerModelLinear;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Bandwidth;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.resources.Ram;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeSharedOverSubscription;
+import org.cloudbus.cloudsim.selectionpolicies.power.PowerVmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.util.Log;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.power.PowerVm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A benchmark that finds a host for a set of VMs using a {@link PowerVmAllocationPolicyMigrationAbstract},
+ * evaluating the candidate hosts sequentially and in parallel using a
+ * {@link PowerVmAllocationPolicyMigrationAbstract#setHostScoringPool(ForkJoinPool) host scoring pool}.
+ * Hosts already have some VMs placed, so that they have different CPU utilization and power consumption.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class PowerVmAllocationPolicyMigrationBenchmark {
+    private static final int HOST_PES = 8;
+    private static final long HOST_MIPS = 2500;
+    private static final long HOST_RAM = 32768;
+    private static final long HOST_BW = 1000000;
+    private static final long HOST_STORAGE = 1000000;
+    private static final int PLACED_VMS_PER_HOST = 3;
+    private static final int VMS_TO_PLACE = 100;
+
+    @Param({"1000", "10000"})
+    private int hosts;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private PowerVmAllocationPolicyMigrationAbstract policy;
+    private List<Vm> vmsToPlace;
+
+    @Setup(Level.Trial)
+    public void doSetup() {
+        Log.disable();
+        final Random random = new Random(1);
+        final CloudSim simulation = new CloudSim();
+        final List<PowerHost> hostList = new ArrayList<>(hosts);
+        for (int i = 0; i < hosts; i++) {
+            hostList.add(createHost(i));
+        }
+
+        policy = new PowerVmAllocationPolicyMigrationStaticThreshold(new PowerVmSelectionPolicyMinimumUtilization(), 0.8);
+        policy.setHostScoringPool(parallel ? ForkJoinPool.commonPool() : null);
+        new PowerDatacenter(simulation, new DatacenterCharacteristicsSimple(hostList), policy);
+
+        int vmId = 0;
+        for (final PowerHost host : hostList) {
+            for (int i = 0; i < PLACED_VMS_PER_HOST; i++) {
+                host.vmCreate(createVm(vmId++, random));
+            }
+        }
+
+        vmsToPlace = new ArrayList<>(VMS_TO_PLACE);
+        for (int i = 0; i < VMS_TO_PLACE; i++) {
+            vmsToPlace.add(createVm(vmId++, random));
+        }
+    }
+
+    private PowerHost createHost(final int id) {
+        final List<Pe> peList = new ArrayList<>(HOST_PES);
+        for (int i = 0; i < HOST_PES; i++) {
+            peList.add(new PeSimple(HOST_MIPS, new PeProvisionerSimple()));
+        }
+
+        final PowerHost host = new PowerHostUtilizationHistory(id, HOST_STORAGE, peList);
+        host.setPowerModel(new PowerModelLinear(250, 0.7))
+            .setRamProvisioner(new ResourceProvisionerSimple(new Ram(HOST_RAM)))
+            .setBwProvisioner(new ResourceProvisionerSimple(new Bandwidth(HOST_BW)))
+            .setVmScheduler(new VmSchedulerTimeSharedOverSubscription());
+        return host;
+    }
+
+    private Vm createVm(final int id, final Random random) {
+        final PowerVm vm = new PowerVm(id, 250 * (1 + random.nextInt(4)), 1 + random.nextInt(2));
+        vm.setRam(512 * (1 + random.nextInt(4)))
+          .setBw(1000)
+          .setSize(10000)
+          .setCloudletScheduler(new CloudletSchedulerTimeShared());
+        return vm;
+    }
+
+    /**
+     * Finds a host for each VM in a list, without placing the VMs.
+     *
+     * @return the sum of the IDs of the selected hosts
+     */
+    @Benchmark
+    public long testFindHostForVm() {
+        long ids = 0;
+        for (final Vm vm : vmsToPlace) {
+            ids += policy.findHostForVm(vm).getId();
+        }
+
+        return ids;
+    }
+}
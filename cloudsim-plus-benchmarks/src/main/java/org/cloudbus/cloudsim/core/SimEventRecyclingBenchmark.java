@@ -0,0 +1,121 @@
+/**
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.util.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark that runs a simulation where a set of entities keep sending events to each other,
+ * with and without {@link CloudSim#enableEventRecycling(boolean) event recycling}.
+ *
+ * <p>Besides the execution time, the benchmark is intended to measure the allocation rate
+ * of the simulation engine. For that, run it with the JMH GC profiler, such as:
+ * {@code java -jar target/benchmarks.jar SimEventRecyclingBenchmark -prof gc}
+ * and compare the {@code gc.alloc.rate.norm} metric.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class SimEventRecyclingBenchmark {
+    private static final int ENTITIES = 10;
+    private static final int EVENTS_PER_ENTITY = 10000;
+    private static final int PING_TAG = 1000;
+
+    @Param({"false", "true"})
+    private boolean recycling;
+
+    @Setup
+    public void doSetup() {
+        Log.disable();
+    }
+
+    /**
+     * Runs a simulation where each entity sends an event to the next one
+     * every time it receives an event.
+     *
+     * @return the simulation finish time
+     */
+    @Benchmark
+    public double testSimulation() {
+        final CloudSim simulation = new CloudSim();
+        if(recycling) {
+            simulation.enableEventRecycling(false);
+        }
+
+        final PingEntity[] entities = new PingEntity[ENTITIES];
+        for (int i = 0; i < ENTITIES; i++) {
+            entities[i] = new PingEntity(simulation);
+        }
+
+        for (int i = 0; i < ENTITIES; i++) {
+            entities[i].next = entities[(i + 1) % ENTITIES];
+        }
+
+        return simulation.start();
+    }
+
+    /**
+     * An entity that sends an event to the next one in a ring whenever it receives an event,
+     * until a given number of events is sent.
+     */
+    private static class PingEntity extends CloudSimEntity {
+        private int sentEvents;
+        private PingEntity next;
+
+        PingEntity(Simulation simulation) {
+            super(simulation);
+        }
+
+        @Override
+        protected void startEntity() {
+            sendToNextEntity();
+        }
+
+        @Override
+        public void processEvent(SimEvent ev) {
+            if(sentEvents < EVENTS_PER_ENTITY) {
+                sendToNextEntity();
+            }
+        }
+
+        private void sendToNextEntity() {
+            sentEvents++;
+            schedule(next.getId(), 1, PING_TAG);
+        }
+
+        @Override
+        public void shutdownEntity() {}
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A set of benchmarks comparing the {@link FutureQueue} implementations
+ * using the classic hold model (where each processed event schedules a new one)
+ * and an insert-heavy pattern (where many events are scheduled before being processed).
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class FutureQueueBenchmark {
+    /**
+     * The number of events inserted by the {@link #testInsertAndDrain()} benchmark.
+     */
+    private static final int EVENTS_TO_INSERT = 10000;
+
+    @Param({"TreeSet", "DaryHeap", "Calendar", "Ladder"})
+    private String queueType;
+
+    /**
+     * The number of events kept into the queue during the {@link #testHold()} benchmark.
+     */
+    @Param({"1000", "100000"})
+    private int queueSize;
+
+    private FutureQueue holdQueue;
+    private FutureQueue insertQueue;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void doSetup() {
+        random = new Random(1);
+        holdQueue = createQueue();
+        insertQueue = createQueue();
+        for (int i = 0; i < queueSize; i++) {
+            holdQueue.addEvent(newEvent(nextDelay()));
+        }
+    }
+
+    private FutureQueue createQueue() {
+        switch (queueType) {
+            case "TreeSet": return new FutureQueueTreeSet();
+            case "DaryHeap": return new FutureQueueDaryHeap();
+            case "Calendar": return new FutureQueueCalendar();
+            case "Ladder": return new FutureQueueLadder();
+            default: throw new IllegalArgumentException("Unknown queue type " + queueType);
+        }
+    }
+
+    /**
+     * Gets an exponentially distributed delay for a new event.
+     */
+    private double nextDelay() {
+        return -Math.log(1 - random.nextDouble()) * 10;
+    }
+
+    private static SimEvent newEvent(double time) {
+        return new CloudSimEvent(null, SimEvent.Type.SEND, time, 0, 0, 0, null);
+    }
+
+    /**
+     * Removes the first event and schedules a new one after it,
+     * keeping the queue size constant.
+     *
+     * @return the removed event
+     */
+    @Benchmark
+    public SimEvent testHold() {
+        final SimEvent first = holdQueue.first();
+        holdQueue.remove(first);
+        holdQueue.addEvent(newEvent(first.eventTime() + nextDelay()));
+        return first;
+    }
+
+    /**
+     * Inserts a batch of events and then removes all of them in order.
+     *
+     * @return the time of the last removed event
+     */
+    @Benchmark
+    public double testInsertAndDrain() {
+        final double start = random.nextDouble();
+        for (int i = 0; i < EVENTS_TO_INSERT; i++) {
+            insertQueue.addEvent(newEvent(start + nextDelay()));
+        }
+
+        double time = 0;
+        while (!insertQueue.isEmpty()) {
+            final SimEvent first = insertQueue.first();
+            insertQueue.remove(first);
+            time = first.eventTime();
+        }
+
+        return time;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.selectionpolicies.power;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
+import org.cloudbus.cloudsim.hosts.power.PowerHostUtilizationHistory;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.util.Log;
+import org.cloudbus.cloudsim.vms.power.PowerVm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A benchmark that computes the correlation coefficients of the VMs of a host
+ * using the {@link PowerVmSelectionPolicyMaximumCorrelation},
+ * which performs a multiple linear regression for each VM,
+ * and the {@link PowerVmSelectionPolicyMaximumCorrelationIncremental},
+ * which incrementally updates a covariance matrix of the VMs' utilization history.
+ * A new value is added to the utilization history of every VM before each computation,
+ * as happens at each scheduling interval of a simulation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class PowerVmSelectionPolicyMaximumCorrelationBenchmark {
+    private static final int HOST_PES = 32;
+    private static final long HOST_MIPS = 2500;
+
+    @Param({"5", "20"})
+    private int vms;
+
+    @Param({"false", "true"})
+    private boolean incremental;
+
+    private PowerVmSelectionPolicyMaximumCorrelation policy;
+    private PowerHost host;
+    private List<PowerVm> vmList;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void doSetup() {
+        Log.disable();
+        random = new Random(1);
+        final PowerVmSelectionPolicy fallbackPolicy = new PowerVmSelectionPolicyMinimumUtilization();
+        policy = incremental ?
+                    new PowerVmSelectionPolicyMaximumCorrelationIncremental(fallbackPolicy) :
+                    new PowerVmSelectionPolicyMaximumCorrelation(fallbackPolicy);
+        host = createHost();
+        vmList = new ArrayList<>(vms);
+        for (int i = 0; i < vms; i++) {
+            vmList.add(new PowerVm(i, 250, 1));
+        }
+
+        for (int i = 0; i < PowerVm.MAX_HISTORY_ENTRIES; i++) {
+            addUtilizationHistoryValues();
+        }
+    }
+
+    /**
+     * Creates the host the VMs belong to, which just identifies the covariance matrix
+     * kept by the {@link PowerVmSelectionPolicyMaximumCorrelationIncremental}.
+     */
+    private PowerHost createHost() {
+        final List<Pe> peList = new ArrayList<>(HOST_PES);
+        for (int i = 0; i < HOST_PES; i++) {
+            peList.add(new PeSimple(HOST_MIPS, new PeProvisionerSimple()));
+        }
+
+        return new PowerHostUtilizationHistory(0, 1000000, peList);
+    }
+
+    private void addUtilizationHistoryValues() {
+        for (final PowerVm vm : vmList) {
+            vm.addUtilizationHistoryValue(random.nextDouble());
+        }
+    }
+
+    /**
+     * Adds a value to the utilization history of every VM and computes their correlation coefficients.
+     *
+     * @return the correlation coefficients
+     */
+    @Benchmark
+    public List<Double> testGetCorrelationCoefficients() {
+        addUtilizationHistoryValues();
+        return policy.getCorrelationCoefficients(host, vmList);
+    }
+}
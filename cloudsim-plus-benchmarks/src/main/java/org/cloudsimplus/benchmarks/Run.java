@@ -47,7 +47,7 @@ public class Run {
      * Regex that identifies the classes with benchmarks that have to be
      * executed.
      */
-    private static final String TEST_CLASSES_REGEX = "org.cloudsimplus.*";
+    private static final String TEST_CLASSES_REGEX = "org.(cloudsimplus|cloudbus).*";
  
     public static void main(String[] args) throws IOException, RunnerException {
         System.out.println(TEST_CLASSES_REGEX);
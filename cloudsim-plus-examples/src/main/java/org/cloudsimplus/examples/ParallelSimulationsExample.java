@@ -29,6 +29,7 @@ import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
@@ -65,9 +66,11 @@ import java.util.List;
  * in the different simulations. There will be just a difference in the number of created
  * objects.</p>
  *
- * <p>To enable such a parallel simulations execution, the {@link Log} must be
- * disable (as shown in the first line of the main method) and any console
- * output should be avoided during simulation execution.
+ * <p>To enable such a parallel simulations execution, the {@link Simulation#getLogger() logger}
+ * of each simulation is disabled (as shown in the constructor), so that simulations
+ * can have their logs independently enabled or redirected to different streams.
+ * The global {@link Log} must be disabled too (as shown in the first line of the main method),
+ * since it is still used by many classes, and any console output should be avoided during simulation execution.
  * Further, usage of static mutable attributes must be avoided.
  * All simulation attributes must be instance attributes and one
  * simulation run (a simulation instance) should not share data with other ones.</p>
@@ -93,7 +96,7 @@ public class ParallelSimulationsExample implements Runnable {
      * @param args
      */
     public static void main(String[] args) {
-        //IT IS MANDATORY TO DISABLE THE LOG WHEN EXECUTING PARALLEL SIMULATIONS.
+        //IT IS MANDATORY TO DISABLE THE GLOBAL LOG WHEN EXECUTING PARALLEL SIMULATIONS.
         Log.disable();
 
         List<ParallelSimulationsExample> simulationList = new ArrayList<>(2);
@@ -148,6 +151,7 @@ public class ParallelSimulationsExample implements Runnable {
         this.finishedCloudletList = new ArrayList<>();
         this.vmList = new ArrayList<>();
         this.simulation = new CloudSim();
+        this.simulation.getLogger().setEnabled(false);
     }
 
     private DatacenterSimple createDatacenter() {
@@ -473,6 +473,8 @@ public abstract class ExperimentRunner<T extends SimulationExperiment> implement
 
         printSimulationParameters();
 
+        /*Each experiment has its simulation logger disabled below.
+        The global Log is disabled just for classes that don't log through such a logger yet.*/
         Log.disable();
         try {
             experimentsStartTime = System.currentTimeMillis();
@@ -480,7 +482,9 @@ public abstract class ExperimentRunner<T extends SimulationExperiment> implement
                 if (isVerbose()) {
                     System.out.print(((i + 1) % 100 == 0 ? String.format(". Run #%d\n", i + 1) : "."));
                 }
-                createExperiment(i).run();
+                final T experiment = createExperiment(i);
+                experiment.getCloudsim().getLogger().setEnabled(false);
+                experiment.run();
             }
             System.out.println();
             experimentsFinishTime = (System.currentTimeMillis() - experimentsStartTime) / 1000;
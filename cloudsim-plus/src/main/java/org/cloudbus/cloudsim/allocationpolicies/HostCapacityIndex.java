@@ -0,0 +1,342 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import java.util.Arrays;
+
+/**
+ * An index of the free PEs, RAM and BW of a list of hosts, which enables finding
+ * a host with enough free resources for a VM according to first, best or worst fit
+ * without checking every host.
+ * Hosts are identified by their position in a host list, which is also used
+ * to break ties between hosts having the same amount of free PEs.
+ *
+ * <p>The index is a segment tree where each node stores the maximum free PEs, RAM and BW
+ * among the hosts below it and a bit mask of which numbers of free PEs such hosts have.
+ * The bit at position {@code n} is set when there is a host with {@code n} free PEs,
+ * for {@code n} lower than {@link #OVERFLOW_PES}, while the bit at such a position
+ * represents all hosts with at least that number of free PEs.
+ * Updating a host and finding a host that fits a VM are O(log n) operations
+ * when the resources are not too fragmented among the hosts,
+ * making the placement of n VMs O(n log n) instead of O(n<sup>2</sup>).</p>
+ *
+ * <p>Queries just consider the free PEs, RAM and BW. The selected host still has to be
+ * checked for other requirements such as storage and MIPS capacity.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public final class HostCapacityIndex {
+    /**
+     * The number of free PEs from which hosts are placed into the same bit of the
+     * free PEs mask, being compared by their actual number of free PEs just when
+     * there isn't any host with less free PEs that fits a VM.
+     */
+    public static final int OVERFLOW_PES = Long.SIZE - 1;
+
+    private static final long OVERFLOW_BIT = 1L << OVERFLOW_PES;
+
+    /**
+     * @see #size()
+     */
+    private final int size;
+
+    /**
+     * The number of leaves in the tree, which is the lowest power of 2 not lower than the {@link #size}.
+     * The leaf for the host at a position {@code i} is the node {@code leaves + i}.
+     */
+    private final int leaves;
+
+    private final int[] maxPes;
+    private final long[] maxRam;
+    private final long[] maxBw;
+    private final long[] pesMask;
+
+    /**
+     * The minimum number of free PEs among the hosts below each node
+     * that have at least {@link #OVERFLOW_PES} free PEs.
+     */
+    private final int[] minOverflowPes;
+
+    /**
+     * The position of the best host found so far by a best or worst fit search.
+     */
+    private int candidate;
+
+    /**
+     * The number of free PEs of the {@link #candidate}.
+     */
+    private int candidatePes;
+
+    /**
+     * Creates an index for a given number of hosts, where no host is available
+     * until its free resources are {@link #set(int, int, long, long) set}.
+     *
+     * @param size the number of hosts to index
+     */
+    public HostCapacityIndex(final int size) {
+        if(size < 0){
+            throw new IllegalArgumentException("The number of hosts cannot be negative.");
+        }
+
+        this.size = size;
+        int leaves = 1;
+        while (leaves < size) {
+            leaves *= 2;
+        }
+
+        this.leaves = leaves;
+        final int nodes = 2 * leaves;
+        this.maxPes = new int[nodes];
+        this.maxRam = new long[nodes];
+        this.maxBw = new long[nodes];
+        this.pesMask = new long[nodes];
+        this.minOverflowPes = new int[nodes];
+        Arrays.fill(maxPes, -1);
+        Arrays.fill(maxRam, -1);
+        Arrays.fill(maxBw, -1);
+        Arrays.fill(minOverflowPes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the number of indexed hosts.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sets the free resources of a host.
+     *
+     * @param position the position of the host in the host list
+     * @param freePes the number of free PEs of the host
+     * @param freeRam the amount of free RAM of the host
+     * @param freeBw the amount of free BW of the host
+     */
+    public void set(final int position, final int freePes, final long freeRam, final long freeBw) {
+        if(freePes < 0){
+            throw new IllegalArgumentException("The number of free PEs cannot be negative.");
+        }
+
+        final int leaf = leaf(position);
+        maxPes[leaf] = freePes;
+        maxRam[leaf] = freeRam;
+        maxBw[leaf] = freeBw;
+        pesMask[leaf] = 1L << Math.min(freePes, OVERFLOW_PES);
+        minOverflowPes[leaf] = freePes >= OVERFLOW_PES ? freePes : Integer.MAX_VALUE;
+        updateAncestors(leaf);
+    }
+
+    /**
+     * Removes a host from the index, so that it is not selected
+     * until its free resources are {@link #set(int, int, long, long) set} again.
+     *
+     * @param position the position of the host in the host list
+     */
+    public void remove(final int position) {
+        final int leaf = leaf(position);
+        maxPes[leaf] = -1;
+        maxRam[leaf] = -1;
+        maxBw[leaf] = -1;
+        pesMask[leaf] = 0;
+        minOverflowPes[leaf] = Integer.MAX_VALUE;
+        updateAncestors(leaf);
+    }
+
+    private int leaf(final int position) {
+        if(position < 0 || position >= size){
+            throw new IndexOutOfBoundsException("Invalid host position: " + position);
+        }
+
+        return leaves + position;
+    }
+
+    private void updateAncestors(int node) {
+        for (node /= 2; node > 0; node /= 2) {
+            final int left = 2 * node;
+            final int right = left + 1;
+            maxPes[node] = Math.max(maxPes[left], maxPes[right]);
+            maxRam[node] = Math.max(maxRam[left], maxRam[right]);
+            maxBw[node] = Math.max(maxBw[left], maxBw[right]);
+            pesMask[node] = pesMask[left] | pesMask[right];
+            minOverflowPes[node] = Math.min(minOverflowPes[left], minOverflowPes[right]);
+        }
+    }
+
+    /**
+     * Finds the first host, in the host list order, having the given free resources.
+     *
+     * @param pes the required number of PEs
+     * @param ram the required amount of RAM
+     * @param bw the required amount of BW
+     * @return the position of the host in the host list or -1 if no host has such resources
+     */
+    public int firstFit(final int pes, final long ram, final long bw) {
+        return firstFit(1, 0, leaves, pes, ram, bw);
+    }
+
+    private int firstFit(final int node, final int first, final int width, final int pes, final long ram, final long bw) {
+        if(!fits(node, pes, ram, bw)){
+            return -1;
+        }
+
+        if(width == 1){
+            return first;
+        }
+
+        final int half = width / 2;
+        final int position = firstFit(2 * node, first, half, pes, ram, bw);
+        return position >= 0 ? position : firstFit(2 * node + 1, first + half, half, pes, ram, bw);
+    }
+
+    /**
+     * Finds the host having the given free resources that has the least number of free PEs,
+     * which is the first one in the host list order when there is a tie.
+     *
+     * @param pes the required number of PEs
+     * @param ram the required amount of RAM
+     * @param bw the required amount of BW
+     * @return the position of the host in the host list or -1 if no host has such resources
+     */
+    public int bestFit(final int pes, final long ram, final long bw) {
+        if(pes < OVERFLOW_PES) {
+            long mask = pesMask[1] & (-1L << Math.max(pes, 0)) & ~OVERFLOW_BIT;
+            for (; mask != 0; mask &= mask - 1) {
+                final long pesBit = Long.lowestOneBit(mask);
+                final int position = firstWithPes(1, 0, leaves, pesBit, ram, bw);
+                if(position >= 0){
+                    return position;
+                }
+            }
+        }
+
+        candidate = -1;
+        candidatePes = Integer.MAX_VALUE;
+        bestOverflowFit(1, 0, leaves, pes, ram, bw);
+        return candidate;
+    }
+
+    /**
+     * Finds the first host having a given bit in the free PEs mask and the required RAM and BW.
+     */
+    private int firstWithPes(final int node, final int first, final int width, final long pesBit, final long ram, final long bw) {
+        if((pesMask[node] & pesBit) == 0 || maxRam[node] < ram || maxBw[node] < bw){
+            return -1;
+        }
+
+        if(width == 1){
+            return first;
+        }
+
+        final int half = width / 2;
+        final int position = firstWithPes(2 * node, first, half, pesBit, ram, bw);
+        return position >= 0 ? position : firstWithPes(2 * node + 1, first + half, half, pesBit, ram, bw);
+    }
+
+    /**
+     * Searches the host with at least {@link #OVERFLOW_PES} free PEs
+     * that has the least number of free PEs and fits the requirements,
+     * visiting first the nodes that may have hosts with less free PEs.
+     */
+    private void bestOverflowFit(final int node, final int first, final int width, final int pes, final long ram, final long bw) {
+        if((pesMask[node] & OVERFLOW_BIT) == 0 || !fits(node, pes, ram, bw)){
+            return;
+        }
+
+        final int bound = Math.max(minOverflowPes[node], pes);
+        if(bound > candidatePes || (bound == candidatePes && first > candidate)){
+            return;
+        }
+
+        if(width == 1){
+            candidate = first;
+            candidatePes = maxPes[node];
+            return;
+        }
+
+        final int half = width / 2;
+        final int left = 2 * node;
+        if(minOverflowPes[left + 1] < minOverflowPes[left]){
+            bestOverflowFit(left + 1, first + half, half, pes, ram, bw);
+            bestOverflowFit(left, first, half, pes, ram, bw);
+        } else {
+            bestOverflowFit(left, first, half, pes, ram, bw);
+            bestOverflowFit(left + 1, first + half, half, pes, ram, bw);
+        }
+    }
+
+    /**
+     * Finds the host having the given free resources that has the most number of free PEs,
+     * which is the first one in the host list order when there is a tie.
+     *
+     * @param pes the required number of PEs
+     * @param ram the required amount of RAM
+     * @param bw the required amount of BW
+     * @return the position of the host in the host list or -1 if no host has such resources
+     */
+    public int worstFit(final int pes, final long ram, final long bw) {
+        candidate = -1;
+        candidatePes = -1;
+        worstFit(1, 0, leaves, pes, ram, bw);
+        return candidate;
+    }
+
+    /**
+     * Searches the host that has the most number of free PEs and fits the requirements,
+     * visiting first the nodes that may have hosts with more free PEs.
+     */
+    private void worstFit(final int node, final int first, final int width, final int pes, final long ram, final long bw) {
+        if(!fits(node, pes, ram, bw)){
+            return;
+        }
+
+        if(maxPes[node] < candidatePes || (maxPes[node] == candidatePes && first > candidate)){
+            return;
+        }
+
+        if(width == 1){
+            candidate = first;
+            candidatePes = maxPes[node];
+            return;
+        }
+
+        final int half = width / 2;
+        final int left = 2 * node;
+        if(maxPes[left + 1] > maxPes[left]){
+            worstFit(left + 1, first + half, half, pes, ram, bw);
+            worstFit(left, first, half, pes, ram, bw);
+        } else {
+            worstFit(left, first, half, pes, ram, bw);
+            worstFit(left + 1, first + half, half, pes, ram, bw);
+        }
+    }
+
+    /**
+     * Checks if the maximum free resources among the hosts below a node meet the requirements.
+     * It doesn't mean a single host meets all of them, unless the node is a leaf.
+     */
+    private boolean fits(final int node, final int pes, final long ram, final long bw) {
+        return maxPes[node] >= 0 && maxPes[node] >= pes && maxRam[node] >= ram && maxBw[node] >= bw;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.util.Log;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.autoscaling.VerticalVmScaling;
+
+/**
+ * An abstract VmAllocationPolicy that keeps a {@link HostCapacityIndex} with the free PEs, RAM and BW
+ * of the hosts in the {@link #getHostList()}, in order to find a host for a VM
+ * without checking every host.
+ * The index is updated whenever a VM is placed into or removed from a host
+ * and when a VM is vertically scaled.
+ * Subclasses just define which host is selected among the ones having
+ * at least the number of PEs required by the VM free and enough free RAM and BW.
+ *
+ * <p><b>NOTE: These policies don't perform optimization of VM allocation (placement)
+ * by means of VM migration.</b></p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public abstract class VmAllocationPolicyIndexedAbstract extends VmAllocationPolicyAbstract {
+    /**
+     * @see #getCapacityIndex()
+     */
+    private HostCapacityIndex capacityIndex;
+
+    /**
+     * The host list the {@link #capacityIndex} was built from.
+     */
+    private List<Host> indexedHostList;
+
+    /**
+     * Maps each host to its position inside the {@link #indexedHostList}.
+     */
+    private final Map<Host, Integer> hostPositions = new IdentityHashMap<>();
+
+    /**
+     * Creates a new VmAllocationPolicyIndexedAbstract object.
+     */
+    public VmAllocationPolicyIndexedAbstract() {
+        super();
+    }
+
+    /**
+     * Allocates a host for a given VM, selected from the {@link #getCapacityIndex() capacity index}.
+     * If the VM creation fails in the selected host (for instance, due to lack of storage or MIPS),
+     * another host is selected until there is no host with enough free resources.
+     *
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean allocateHostForVm(Vm vm) {
+        if(getHostList().isEmpty()){
+            Log.printFormattedLine(
+                "Vm %s could not be allocated because there isn't any Host for Datacenter %d",
+                vm.getId(), getDatacenter().getId());
+            return false;
+        }
+
+        // if this vm was already created
+        if (getVmHostMap().containsKey(vm)) {
+            return false;
+        }
+
+        final HostCapacityIndex index = getCapacityIndex();
+        final List<Integer> hostsWhereVmCreationFailed = new ArrayList<>();
+        try {
+            for (int position = findHost(index, vm); position >= 0; position = findHost(index, vm)) {
+                final Host host = indexedHostList.get(position);
+                if (createVm(vm, host)) {
+                    if(!hostsWhereVmCreationFailed.isEmpty()){
+                        Log.printFormattedLine("[VmAllocationPolicy] VM #%d was successfully allocated to Host #%d", vm.getId(), host.getId());
+                    }
+                    return true;
+                }
+
+                //The host is removed from the index to be ignored in the next search
+                hostsWhereVmCreationFailed.add(position);
+                index.remove(position);
+            }
+
+            return false;
+        } finally {
+            hostsWhereVmCreationFailed.forEach(position -> updateCapacityIndex(indexedHostList.get(position)));
+        }
+    }
+
+    /**
+     * Finds a host for a VM in the capacity index, according to the fit strategy
+     * implemented by the subclass.
+     *
+     * @param index the index of free resources of the hosts
+     * @param vm the VM to find a host for
+     * @return the position of the selected host in the host list,
+     * or -1 if no host has enough free resources
+     */
+    protected abstract int findHost(HostCapacityIndex index, Vm vm);
+
+    @Override
+    public boolean allocateHostForVm(Vm vm, Host host) {
+        if (!createVm(vm, host)) {
+            return false;
+        }
+
+        Log.printFormattedLine(
+            "%.2f: VM #%d has been allocated to the host #%d",
+            vm.getSimulation().clock(), vm.getId(), host.getId());
+        return true;
+    }
+
+    private boolean createVm(Vm vm, Host host) {
+        if (!host.vmCreate(vm)) {
+            return false;
+        }
+
+        mapVmToPm(vm, host);
+        addUsedPes(vm);
+        getHostFreePesMap().put(host, getHostFreePesMap().get(host) - vm.getNumberOfPes());
+        updateCapacityIndex(host);
+        return true;
+    }
+
+    @Override
+    public void deallocateHostForVm(Vm vm) {
+        final Host host = unmapVmFromPm(vm);
+        final int pes = removeUsedPes(vm);
+        if (host != Host.NULL) {
+            host.destroyVm(vm);
+            getHostFreePesMap().put(host, getHostFreePesMap().get(host) + pes);
+            updateCapacityIndex(host);
+        }
+    }
+
+    @Override
+    public boolean scaleVmVertically(VerticalVmScaling scaling) {
+        final boolean scaled = super.scaleVmVertically(scaling);
+        if(scaled) {
+            updateCapacityIndex(scaling.getVm().getHost());
+        }
+
+        return scaled;
+    }
+
+    /**
+     * Gets the index of free PEs, RAM and BW of the hosts in the {@link #getHostList()}.
+     * The index is built when first requested or when the host list changes.
+     *
+     * @return the host capacity index
+     */
+    protected HostCapacityIndex getCapacityIndex() {
+        final List<Host> hostList = getHostList();
+        if(capacityIndex == null || indexedHostList != hostList || capacityIndex.size() != hostList.size()){
+            buildCapacityIndex(hostList);
+        }
+
+        return capacityIndex;
+    }
+
+    private void buildCapacityIndex(final List<Host> hostList) {
+        indexedHostList = hostList;
+        capacityIndex = new HostCapacityIndex(hostList.size());
+        hostPositions.clear();
+        for (int i = 0; i < hostList.size(); i++) {
+            hostPositions.put(hostList.get(i), i);
+            setFreeResources(capacityIndex, i, hostList.get(i));
+        }
+    }
+
+    /**
+     * Updates the free resources of a given host in the {@link #getCapacityIndex() capacity index}.
+     *
+     * @param host the host to update
+     */
+    protected void updateCapacityIndex(final Host host) {
+        final HostCapacityIndex index = getCapacityIndex();
+        final Integer position = hostPositions.get(host);
+        if(position != null) {
+            setFreeResources(index, position, host);
+        }
+    }
+
+    private void setFreeResources(final HostCapacityIndex index, final int position, final Host host) {
+        index.set(
+            position,
+            Math.max(getHostFreePesMap().getOrDefault(host, host.getNumberOfPes()), 0),
+            host.getRamProvisioner().getAvailableResource(),
+            host.getBwProvisioner().getAvailableResource());
+    }
+
+    /**
+     * The method in this VmAllocationPolicy doesn't perform any
+     * VM placement optimization and, in fact, has no effect.
+     *
+     * @param vmList the list of VMs
+     * @return an empty map to indicate that it never performs optimization
+     */
+    @Override
+    public Map<Vm, Host> optimizeAllocation(List<? extends Vm> vmList) {
+        return Collections.emptyMap();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * A Worst Fit VmAllocationPolicy that places each VM into the host with the most number of free PEs
+ * that has enough free PEs, RAM and BW.
+ * Ties are broken by the host list order.
+ * This way, VMs are spread among the hosts, as in the {@link VmAllocationPolicySimple}.
+ * Hosts are found using a {@link HostCapacityIndex}.
+ *
+ * <p><b>NOTE: This policy doesn't perform optimization of VM allocation (placement)
+ * by means of VM migration.</b></p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class VmAllocationPolicyWorstFit extends VmAllocationPolicyIndexedAbstract {
+
+    /**
+     * Creates a new VmAllocationPolicyWorstFit object.
+     */
+    public VmAllocationPolicyWorstFit() {
+        super();
+    }
+
+    @Override
+    protected int findHost(HostCapacityIndex index, Vm vm) {
+        return index.worstFit(vm.getNumberOfPes(), vm.getCurrentRequestedRam(), vm.getCurrentRequestedBw());
+    }
+}
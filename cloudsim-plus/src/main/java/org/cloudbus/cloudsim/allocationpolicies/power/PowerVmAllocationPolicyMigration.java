@@ -34,6 +34,16 @@ public interface PowerVmAllocationPolicyMigration extends PowerVmAllocationPolic
      */
     boolean isHostOverUtilized(PowerHost host);
 
+    /**
+     * Checks if a host would be over utilized after placing a given VM into it,
+     * without actually placing the VM (so that the state of the host and the VM is not changed).
+     *
+     * @param host the host to check
+     * @param vm the VM to supposedly place into the host
+     * @return true, if the host would be over utilized after the VM placement; false otherwise
+     */
+    boolean isHostOverUtilizedAfterAllocation(PowerHost host, Vm vm);
+
     /**
      * Gets the host CPU utilization threshold to detect over utilization.
      * It is a percentage value from 0 to 1.
@@ -83,6 +93,7 @@ public interface PowerVmAllocationPolicyMigration extends PowerVmAllocationPolic
         @Override public <T extends Host> List<T> getHostList() { return Collections.emptyList(); }
         @Override public Map<Vm, Host> optimizeAllocation(List<? extends Vm> vmList) { return Collections.emptyMap(); }
         @Override public boolean isHostOverUtilized(PowerHost host) { return false;}
+        @Override public boolean isHostOverUtilizedAfterAllocation(PowerHost host, Vm vm) { return false; }
         @Override public boolean isHostUnderUtilized(PowerHost host) { return false;}
         @Override public double getOverUtilizationThreshold(PowerHost host) { return 0; }
         @Override public double getUnderUtilizationThreshold() { return 0; }
@@ -8,12 +8,16 @@
 package org.cloudbus.cloudsim.allocationpolicies.power;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.hosts.HostDynamicWorkload;
 import org.cloudbus.cloudsim.hosts.power.PowerHost;
 import org.cloudbus.cloudsim.lists.VmList;
+import org.cloudbus.cloudsim.util.DeferredActions;
 import org.cloudbus.cloudsim.util.Log;
 import org.cloudbus.cloudsim.hosts.power.PowerHostUtilizationHistory;
 import org.cloudbus.cloudsim.selectionpolicies.power.PowerVmSelectionPolicy;
@@ -21,6 +25,8 @@ import org.cloudbus.cloudsim.vms.power.PowerVm;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.VmHostEventInfo;
 
 /**
  * An abstract power-aware VM allocation policy that dynamically optimizes the
@@ -53,11 +59,71 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
      */
     private PowerVmSelectionPolicy vmSelectionPolicy;
 
+    /** @see #getHostScoringPool() */
+    private ForkJoinPool hostScoringPool;
+
+    /** @see #isIncrementalConsolidation() */
+    private boolean incrementalConsolidation;
+
+    /** @see #isConsolidateJustUnderUtilizedHosts() */
+    private boolean consolidateJustUnderUtilizedHosts;
+
     /**
      * A list of maps between a VM and the host where it is placed.
      */
     private final Map<Vm, Host> savedAllocation = new HashMap<>();
 
+    /**
+     * The tentative VM moves performed while the {@link #isIncrementalConsolidation() incremental consolidation}
+     * is computing a migration map, from the oldest to the newest one, which are undone in reverse order.
+     */
+    private final Deque<TentativeMove> undoLog = new ArrayDeque<>();
+
+    /**
+     * Hosts that were not over utilized when last examined by the
+     * {@link #isIncrementalConsolidation() incremental consolidation},
+     * each one mapped to the state it had at that moment.
+     */
+    private final Map<Host, HostSnapshot> notOverUtilizedHosts = new HashMap<>();
+
+    /**
+     * Hosts whose VMs or CPU utilization may have changed since they were last examined by the
+     * {@link #isIncrementalConsolidation() incremental consolidation}, which are the only ones
+     * examined to check if they are over utilized. Over utilized hosts are kept here,
+     * so that they are examined again the next time.
+     */
+    private final Set<Host> changedHosts = new HashSet<>();
+
+    /**
+     * The number of hosts when all of them were added to the {@link #changedHosts},
+     * or -1 to indicate they have to be added again.
+     */
+    private int changedHostsTrackedNumber = -1;
+
+    /**
+     * VMs placed by this policy that may be set as created, which have to be set as not created
+     * when the {@link #undoTentativeMoves() tentative VM moves are undone}.
+     */
+    private final Set<Vm> placedVms = new HashSet<>();
+
+    /**
+     * Hosts with CPU utilization greater than zero, in ascending order of utilization,
+     * from which the under utilized hosts are selected while the
+     * {@link #isIncrementalConsolidation() incremental consolidation} computes a migration map,
+     * or null when such a map is not being computed.
+     * Hosts are removed when they are selected or excluded.
+     */
+    private List<PowerHost> underUtilizedHostCandidates;
+
+    /**
+     * A listener that {@link #addChangedHostIfUtilizationIncreased(Vm) adds the host of a VM} to the
+     * {@link #changedHosts} when the VM processing is updated, if the requested MIPS of its VMs
+     * may have made the host over utilized. It is just added to VMs placed by this policy
+     * while the {@link #isIncrementalConsolidation() incremental consolidation} is enabled,
+     * being created when such a consolidation is enabled for the first time.
+     */
+    private EventListener<VmHostEventInfo> vmUpdateProcessingListener;
+
     /**
      * A map of CPU utilization history (in percentage) for each host, where
      * each key is a hos and each value is the CPU utilization percentage history.
@@ -132,7 +198,11 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
 
         printOverUtilizedHosts(overUtilizedHosts);
 
-        saveAllocation();
+        if (incrementalConsolidation) {
+            undoLog.clear();
+        } else {
+            saveAllocation();
+        }
 
         ExecutionTimeMeasurer.start("optimizeAllocationVmSelection");
         List<Vm> vmsToMigrate = getVmsToMigrateFromHosts(overUtilizedHosts);
@@ -151,7 +221,12 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
 
         migrationMap.putAll(getMigrationMapFromUnderUtilizedHosts(overUtilizedHosts));
 
-        restoreAllocation();
+        if (incrementalConsolidation) {
+            undoTentativeMoves();
+        } else {
+            restoreAllocation();
+            placedVms.clear();
+        }
 
         getExecutionTimeHistoryTotal().add(ExecutionTimeMeasurer.end("optimizeAllocationTotal"));
 
@@ -182,6 +257,12 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
         excludedHostsForFindingNewVmPlacement.addAll(switchedOffHosts);
 
         int numberOfHosts = getHostList().size();
+        if (incrementalConsolidation) {
+            underUtilizedHostCandidates = this.<PowerHost>getHostList().stream()
+                .filter(host -> host.getUtilizationOfCpu() > 0)
+                .sorted(Comparator.comparingDouble(HostDynamicWorkload::getUtilizationOfCpu))
+                .collect(Collectors.toCollection(LinkedList::new));
+        }
 
         while (true) {
             if (numberOfHosts == excludedHostsForFindingUnderUtilizedHost.size()) {
@@ -213,6 +294,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
             }
         }
 
+        underUtilizedHostCandidates = null;
         return migrationMap;
     }
 
@@ -258,19 +340,18 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
 
     /**
      * Checks if a host will be over utilized after placing of a candidate VM.
+     * The VM is not in fact placed into the host, so that the state
+     * of the host and the VM is not changed.
      *
      * @param host the host to verify
      * @param vm the candidate vm
-     * @return true, if the host will be over utilized after VM placement; false
+     * @return true, if the host will not be over utilized after VM placement; false
      * otherwise
+     * @see PowerHost#isSuitableForVmCreation(Vm)
+     * @see #isHostOverUtilizedAfterAllocation(PowerHost, Vm)
      */
     protected boolean isHostNotOverusedAfterAllocation(PowerHost host, Vm vm) {
-        boolean isHostOverUtilizedAfterAllocation = true;
-        if (host.vmCreate(vm)) {
-            isHostOverUtilizedAfterAllocation = isHostOverUtilized(host);
-            host.destroyVm(vm);
-        }
-        return !isHostOverUtilizedAfterAllocation;
+        return host.isSuitableForVmCreation(vm) && !isHostOverUtilizedAfterAllocation(host, vm);
     }
 
     @Override
@@ -285,21 +366,107 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
      * be overloaded after placing the VM on it. The selected host will be that
      * one with most efficient power usage for the given VM.
      *
+     * <p>Each candidate host is evaluated without placing the VM into it
+     * and the power it would consume after the placement is computed just once.
+     * Hosts can be evaluated in parallel using a {@link #setHostScoringPool(ForkJoinPool) host scoring pool},
+     * but the selected one is always the first host (in the host list order)
+     * having the lowest power increase.</p>
+     *
      * @param vm the VM
      * @param excludedHosts the excluded hosts
      * @return the PM found to host the VM or {@link PowerHost#NULL} if not found
      */
     public PowerHost findHostForVm(Vm vm, Set<? extends Host> excludedHosts) {
-        Comparator<PowerHost> hostPowerConsumptionComparator =
-            Comparator.comparingDouble(h -> getPowerAfterAllocationDifference(h, vm));
+        final List<PowerHost> hostList = getHostList();
+        final double[] powerDifferences = getPowerDifferencesAfterAllocation(hostList, vm, excludedHosts);
+
+        PowerHost selectedHost = PowerHost.NULL;
+        double minPowerDifference = Double.MAX_VALUE;
+        for (int i = 0; i < powerDifferences.length; i++) {
+            if (Double.isNaN(powerDifferences[i])) {
+                continue;
+            }
 
-        return this.<PowerHost>getHostList().stream()
-            .filter(h -> !excludedHosts.contains(h))
-            .filter(h -> h.isSuitableForVm(vm))
-            .filter(h -> isHostNotOverusedAfterAllocation(h, vm))
-            .filter(h -> getPowerAfterAllocation(h, vm) > 0)
-            .min(hostPowerConsumptionComparator)
-            .orElse(PowerHost.NULL);
+            if (selectedHost == PowerHost.NULL || Double.compare(powerDifferences[i], minPowerDifference) < 0) {
+                selectedHost = hostList.get(i);
+                minPowerDifference = powerDifferences[i];
+            }
+        }
+
+        return selectedHost;
+    }
+
+    /**
+     * Computes the power increase of each host in a list after placing a given VM into it.
+     *
+     * @param hostList the list of hosts to evaluate
+     * @param vm the VM to supposedly place into each host
+     * @param excludedHosts the hosts to ignore
+     * @return an array where each element is the power increase of the host at the same index
+     * of the host list or {@link Double#NaN} if the VM cannot be placed into such a host
+     */
+    private double[] getPowerDifferencesAfterAllocation(List<PowerHost> hostList, Vm vm, Set<? extends Host> excludedHosts) {
+        if(hostScoringPool == null || hostList.size() < 2){
+            return hostList.stream()
+                .mapToDouble(host -> getPowerDifferenceAfterAllocation(host, vm, excludedHosts))
+                .toArray();
+        }
+
+        return getPowerDifferencesAfterAllocationInParallel(hostList, vm, excludedHosts);
+    }
+
+    /**
+     * Computes the power increase of each host in a list after placing a given VM into it,
+     * evaluating the hosts in parallel using the {@link #getHostScoringPool()}.
+     * Messages logged while a host is evaluated are deferred and, after all hosts are evaluated,
+     * performed in the current thread following the hosts order.
+     *
+     * @param hostList the list of hosts to evaluate
+     * @param vm the VM to supposedly place into each host
+     * @param excludedHosts the hosts to ignore
+     * @return an array where each element is the power increase of the host at the same index
+     * of the host list or {@link Double#NaN} if the VM cannot be placed into such a host
+     * @see #getPowerDifferencesAfterAllocation(List, Vm, Set)
+     */
+    private double[] getPowerDifferencesAfterAllocationInParallel(List<PowerHost> hostList, Vm vm, Set<? extends Host> excludedHosts) {
+        /* Requests the VM resources before the hosts are concurrently evaluated,
+         * so that utilization models that lazily compute the usage for the current time
+         * are not first called from different threads. */
+        vm.getCurrentRequestedMips();
+        vm.getCurrentRequestedRam();
+        vm.getCurrentRequestedBw();
+
+        final DeferredActions[] actions = new DeferredActions[hostList.size()];
+        final double[] powerDifferences = new double[hostList.size()];
+        hostScoringPool.submit(() ->
+            IntStream.range(0, hostList.size()).parallel().forEach(i -> {
+                actions[i] = new DeferredActions();
+                powerDifferences[i] = actions[i].collect(() -> getPowerDifferenceAfterAllocation(hostList.get(i), vm, excludedHosts));
+            })
+        ).join();
+
+        for (final DeferredActions hostActions : actions) {
+            hostActions.runAll();
+        }
+
+        return powerDifferences;
+    }
+
+    /**
+     * Computes the power increase of a host after placing a given VM into it.
+     *
+     * @param host the host to evaluate
+     * @param vm the VM to supposedly place into the host
+     * @param excludedHosts the hosts to ignore
+     * @return the power increase or {@link Double#NaN} if the VM cannot be placed into the host
+     */
+    private double getPowerDifferenceAfterAllocation(PowerHost host, Vm vm, Set<? extends Host> excludedHosts) {
+        if (excludedHosts.contains(host) || !host.isSuitableForVm(vm) || !isHostNotOverusedAfterAllocation(host, vm)) {
+            return Double.NaN;
+        }
+
+        final double powerAfterAllocation = getPowerAfterAllocation(host, vm);
+        return powerAfterAllocation > 0 ? powerAfterAllocation - host.getPower() : Double.NaN;
     }
 
     /**
@@ -330,7 +497,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
         for (Vm vm : vmsToMigrate) {
             PowerHost allocatedHost = findHostForVm(vm, excludedHosts);
             if (allocatedHost != PowerHost.NULL) {
-                allocatedHost.vmCreate(vm);
+                tentativelyCreateVm(allocatedHost, vm);
                 Log.printConcatLine("VM #", vm.getId(), " allocated to host #", allocatedHost.getId());
 
                 migrationMap.put(vm, allocatedHost);
@@ -355,12 +522,12 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
         for (Vm vm : vmsToMigrate) {
             PowerHost allocatedHost = findHostForVm(vm, excludedHosts);
             if (allocatedHost != PowerHost.NULL) {
-                allocatedHost.vmCreate(vm);
+                tentativelyCreateVm(allocatedHost, vm);
                 Log.printConcatLine("VM #", vm.getId(), " allocated to host #", allocatedHost.getId());
                 migrationMap.put(vm, allocatedHost);
             } else {
                 Log.printLine("Not all VMs can be reallocated from the host, reallocation cancelled");
-                migrationMap.entrySet().forEach(e -> e.getValue().destroyVm(e.getKey()));
+                migrationMap.entrySet().forEach(e -> tentativelyDestroyVm(e.getValue(), e.getKey()));
                 migrationMap.clear();
                 break;
             }
@@ -384,7 +551,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
                     break;
                 }
                 vmsToMigrate.add(vm);
-                host.destroyVm(vm);
+                tentativelyDestroyVm(host, vm);
                 if (!isHostOverUtilized(host)) {
                     break;
                 }
@@ -412,11 +579,147 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
      * @return the over utilized hosts
      */
     protected List<PowerHostUtilizationHistory> getOverUtilizedHosts() {
+        if (incrementalConsolidation) {
+            return getChangedOverUtilizedHosts();
+        }
+
         return this.<PowerHostUtilizationHistory>getHostList().stream()
             .filter(this::isHostOverUtilized)
             .collect(Collectors.toCollection(LinkedList::new));
     }
 
+    /**
+     * Gets the over utilized hosts when using the {@link #isIncrementalConsolidation() incremental consolidation},
+     * just examining the {@link #changedHosts} in the order of their IDs.
+     * All hosts are examined the first time or when the number of hosts changes.
+     *
+     * @return the over utilized hosts
+     */
+    private List<PowerHostUtilizationHistory> getChangedOverUtilizedHosts() {
+        if (changedHostsTrackedNumber != getHostList().size()) {
+            changedHosts.addAll(getHostList());
+            changedHostsTrackedNumber = getHostList().size();
+        }
+
+        final List<PowerHostUtilizationHistory> overUtilizedHosts = changedHosts.stream()
+            .map(host -> (PowerHostUtilizationHistory) host)
+            .sorted(Comparator.comparingInt(Host::getId))
+            .filter(this::isChangedHostOverUtilized)
+            .collect(Collectors.toCollection(LinkedList::new));
+
+        changedHosts.clear();
+        changedHosts.addAll(overUtilizedHosts);
+        return overUtilizedHosts;
+    }
+
+    /**
+     * Gets the hosts that will be examined to check if they are over utilized
+     * the next time the {@link #isIncrementalConsolidation() incremental consolidation}
+     * {@link #optimizeAllocation(List) optimizes the VM allocation}.
+     *
+     * @return a read-only set of hosts
+     */
+    protected Set<Host> getChangedHosts() {
+        return Collections.unmodifiableSet(changedHosts);
+    }
+
+    /**
+     * Adds a host to the {@link #changedHosts} when using the
+     * {@link #isIncrementalConsolidation() incremental consolidation}.
+     *
+     * @param host the host whose VMs or CPU utilization may have changed
+     */
+    private void addChangedHost(Host host) {
+        if (incrementalConsolidation && host != Host.NULL) {
+            changedHosts.add(host);
+        }
+    }
+
+    /**
+     * Adds the host of a VM to the {@link #changedHosts} after the VM processing is updated,
+     * just if the host wasn't found not over utilized when last examined or, since then,
+     * its VMs changed or its CPU utilization increased.
+     * Otherwise, the host can't have crossed the over utilization threshold
+     * and doesn't need to be examined again.
+     *
+     * @param vm the VM whose processing was updated
+     */
+    private void addChangedHostIfUtilizationIncreased(Vm vm) {
+        final Host host = vm.getHost();
+        if (host == Host.NULL || changedHosts.contains(host)) {
+            return;
+        }
+
+        final HostSnapshot snapshot = notOverUtilizedHosts.get(host);
+        if (snapshot == null || isHostChangedSince(snapshot, (PowerHost) host, getHostCpuUtilizationPercentage((PowerHost) host))) {
+            addChangedHost(host);
+        }
+    }
+
+    /**
+     * Checks if the VMs of a host changed or its CPU utilization increased since it was examined.
+     *
+     * @param snapshot the state of the host when it was examined
+     * @param host the host to check
+     * @param utilization the current CPU utilization percentage of the host
+     * @return true if the host changed, false otherwise
+     */
+    private boolean isHostChangedSince(HostSnapshot snapshot, PowerHost host, double utilization) {
+        return utilization > snapshot.utilization || !snapshot.hasSameVms(host);
+    }
+
+    @Override
+    public boolean allocateHostForVm(Vm vm, Host host) {
+        if (!super.allocateHostForVm(vm, host)) {
+            return false;
+        }
+
+        placedVms.add(vm);
+        if (incrementalConsolidation) {
+            vm.addOnUpdateProcessingListener(vmUpdateProcessingListener);
+        }
+        addChangedHost(host);
+        return true;
+    }
+
+    @Override
+    public void deallocateHostForVm(Vm vm) {
+        final Host host = getVmHostMap().get(vm);
+        super.deallocateHostForVm(vm);
+        placedVms.remove(vm);
+        if (incrementalConsolidation) {
+            vm.removeOnUpdateProcessingListener(vmUpdateProcessingListener);
+        }
+        if (host != null) {
+            addChangedHost(host);
+        }
+    }
+
+    /**
+     * Checks if a host is over utilized, when using the {@link #isIncrementalConsolidation() incremental consolidation}.
+     * The host is just re-examined if it was over utilized the last time,
+     * its VMs changed or its CPU utilization increased since then.
+     * Otherwise, it is assumed it is still not over utilized.
+     *
+     * @param host the host to check
+     * @return true if the host is over utilized, false otherwise
+     */
+    private boolean isChangedHostOverUtilized(PowerHost host) {
+        final double utilization = getHostCpuUtilizationPercentage(host);
+        final HostSnapshot snapshot = notOverUtilizedHosts.get(host);
+        if (snapshot != null && !isHostChangedSince(snapshot, host, utilization)) {
+            return false;
+        }
+
+        if (isHostOverUtilized(host)) {
+            notOverUtilizedHosts.remove(host);
+            return true;
+        }
+
+        notOverUtilizedHosts.put(host, new HostSnapshot(host, utilization));
+        return false;
+    }
+
     /**
      * Gets the switched off hosts.
      *
@@ -436,14 +739,44 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
      * if no Host was found
      */
     protected PowerHost getUnderUtilizedHost(Set<? extends Host> excludedHosts) {
+        if (underUtilizedHostCandidates != null) {
+            return getUnderUtilizedHostFromCandidates(excludedHosts);
+        }
+
         return this.<PowerHost>getHostList().stream()
             .filter(h -> !excludedHosts.contains(h))
             .filter(h -> h.getUtilizationOfCpu() > 0)
+            .filter(h -> !consolidateJustUnderUtilizedHosts || isHostUnderUtilized(h))
             .filter(h -> isNotAllVmsMigratingOutNorVmsAreMigratingIn(h))
             .min(Comparator.comparingDouble(HostDynamicWorkload::getUtilizationOfCpu))
             .orElse(PowerHost.NULL);
     }
 
+    /**
+     * Gets the most under utilized Host from the {@link #underUtilizedHostCandidates},
+     * which gives the same Host as checking all of them, since the hosts CPU utilization doesn't change
+     * while the migration map is computed. Excluded hosts are removed from the candidates,
+     * since they are never included again while such a map is computed.
+     *
+     * @param excludedHosts the Hosts that have to be disconsidering when looking for the under utilized Host
+     * @return the most under utilized host or {@link PowerHost#NULL} if no Host was found
+     */
+    private PowerHost getUnderUtilizedHostFromCandidates(Set<? extends Host> excludedHosts) {
+        final Iterator<PowerHost> it = underUtilizedHostCandidates.iterator();
+        while (it.hasNext()) {
+            final PowerHost host = it.next();
+            if (excludedHosts.contains(host)) {
+                it.remove();
+            } else if ((!consolidateJustUnderUtilizedHosts || isHostUnderUtilized(host))
+                       && isNotAllVmsMigratingOutNorVmsAreMigratingIn(host)) {
+                it.remove();
+                return host;
+            }
+        }
+
+        return PowerHost.NULL;
+    }
+
     /**
      * Checks if all VMs of a Host are <b>NOT</b> migrating out nor there are VMs migrating in.
      * If all VMs are migrating out or there is at least
@@ -510,6 +843,81 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
         }
     }
 
+    /**
+     * Tentatively creates a VM into a host while the migration map is computed.
+     * When the {@link #isIncrementalConsolidation() incremental consolidation} is enabled,
+     * the move is recorded to be undone after the migration map is computed.
+     *
+     * @param host the host to create the VM into
+     * @param vm the VM to create
+     * @return true if the VM was created, false otherwise
+     */
+    protected boolean tentativelyCreateVm(Host host, Vm vm) {
+        final Host previousHost = vm.getHost();
+        if (!host.vmCreate(vm)) {
+            return false;
+        }
+
+        if (incrementalConsolidation) {
+            undoLog.push(new TentativeMove(vm, host, true, previousHost));
+        }
+
+        return true;
+    }
+
+    /**
+     * Tentatively destroys a VM from a host while the migration map is computed.
+     * When the {@link #isIncrementalConsolidation() incremental consolidation} is enabled,
+     * the move is recorded to be undone after the migration map is computed.
+     *
+     * @param host the host to destroy the VM from
+     * @param vm the VM to destroy
+     */
+    protected void tentativelyDestroyVm(Host host, Vm vm) {
+        if (incrementalConsolidation) {
+            undoLog.push(new TentativeMove(vm, host, false, vm.getHost()));
+        }
+
+        host.destroyVm(vm);
+    }
+
+    /**
+     * Undoes the {@link #tentativelyCreateVm(Host, Vm) tentative VM moves} performed while the migration map
+     * was computed, from the newest to the oldest one. Unlike the {@link #restoreAllocation()},
+     * just the VMs that were moved are re-created into their hosts.
+     * But as the {@link #restoreAllocation()}, all VMs into the hosts are set as not created,
+     * so that the VMs state is the same one as if they were all re-created.
+     * Since other VMs were already set as not created, just the moved VMs and the ones
+     * {@link #placedVms placed} since the last time are changed.
+     */
+    private void undoTentativeMoves() {
+        while (!undoLog.isEmpty()) {
+            final TentativeMove move = undoLog.pop();
+            addChangedHost(move.host);
+            if (move.created) {
+                move.host.destroyVm(move.vm);
+                move.vm.setHost(move.previousHost);
+                continue;
+            }
+
+            if (!move.host.vmCreate(move.vm)) {
+                throw new RuntimeException(
+                    String.format(
+                        "Couldn't restore VM #%d on host #%d",
+                        move.vm.getId(), move.host.getId()));
+            }
+            getVmHostMap().put(move.vm, move.host);
+        }
+
+        for (final Vm vm : placedVms) {
+            if (vm.isCreated()) {
+                vm.setCreated(false);
+                addChangedHost(vm.getHost());
+            }
+        }
+        placedVms.clear();
+    }
+
     /**
      * Gets the power consumption of a host after the supposed placement of a candidate VM.
      * The VM is not in fact placed at the host.
@@ -522,7 +930,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
      */
     protected double getPowerAfterAllocation(PowerHost host, Vm vm) {
         try {
-            return host.getPowerModel().getPower(getMaxUtilizationAfterAllocation(host, vm));
+            return host.getPower(getMaxUtilizationAfterAllocation(host, vm));
         } catch (Exception e) {
             Log.printFormattedLine("[ERROR] Power consumption for Host %d could not be determined: ", host.getId(), e.getMessage());
         }
@@ -570,11 +978,12 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
     /**
      * Adds an entry for each history map of a host if it doesn't contain
      * an entry for the current simulation time.
+     * It is synchronized because hosts may be evaluated in parallel by a {@link #setHostScoringPool(ForkJoinPool) host scoring pool}.
      *
      * @param host the host to add metric history entries
      * @param metric the metric to be added to the metric history map
      */
-    protected void addHistoryEntryIfAbsent(PowerHost host, double metric) {
+    protected synchronized void addHistoryEntryIfAbsent(PowerHost host, double metric) {
         getTimeHistory().putIfAbsent(host, new LinkedList<>());
         getUtilizationHistory().putIfAbsent(host, new LinkedList<>());
         getMetricHistory().putIfAbsent(host, new LinkedList<>());
@@ -691,6 +1100,42 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
         return getHostCpuUtilizationPercentage(host) > upperThreshold;
     }
 
+    /**
+     * Checks if a host would be over utilized after placing a given VM into it,
+     * based on the CPU usage of its VMs plus the given VM.
+     * The VM is not in fact placed into the host.
+     *
+     * @param host {@inheritDoc}
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc}
+     * @see #getOverUtilizationThresholdAfterAllocation(PowerHost, Vm)
+     */
+    @Override
+    public boolean isHostOverUtilizedAfterAllocation(PowerHost host, Vm vm) {
+        final double upperThreshold = getOverUtilizationThresholdAfterAllocation(host, vm);
+        addHistoryEntryIfAbsent(host, upperThreshold);
+
+        final double totalRequestedMips = DoubleStream.concat(
+                host.<Vm>getVmList().stream().mapToDouble(Vm::getCurrentRequestedTotalMips),
+                DoubleStream.of(vm.getCurrentRequestedTotalMips()))
+            .sum();
+        return totalRequestedMips / host.getTotalMips() > upperThreshold;
+    }
+
+    /**
+     * Gets the host CPU utilization threshold to detect over utilization
+     * as if a given VM were placed into the host, without actually placing it.
+     * By default, it is the {@link #getOverUtilizationThreshold(PowerHost) current threshold} of the host,
+     * which must be overridden by policies where such a threshold depends on the host VMs.
+     *
+     * @param host the host to get the over utilization threshold
+     * @param vm the VM to supposedly place into the host
+     * @return the over utilization threshold after the supposed VM placement
+     */
+    protected double getOverUtilizationThresholdAfterAllocation(PowerHost host, Vm vm) {
+        return getOverUtilizationThreshold(host);
+    }
+
     private double getHostCpuUtilizationPercentage(PowerHost host) {
         return getHostTotalRequestedMips(host) / host.getTotalMips();
     }
@@ -728,4 +1173,157 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
     public void setUnderUtilizationThreshold(double underUtilizationThreshold) {
         this.underUtilizationThreshold = underUtilizationThreshold;
     }
+
+    /**
+     * Gets the pool used to evaluate candidate hosts in parallel when
+     * {@link #findHostForVm(Vm, Set) finding a host for a VM}.
+     *
+     * @return the host scoring pool or null if hosts are evaluated sequentially
+     * @see #setHostScoringPool(ForkJoinPool)
+     */
+    public ForkJoinPool getHostScoringPool() {
+        return hostScoringPool;
+    }
+
+    /**
+     * Sets a pool to evaluate candidate hosts in parallel when
+     * {@link #findHostForVm(Vm, Set) finding a host for a VM}.
+     * This may reduce the time to place and reallocate VMs in Datacenters with many hosts,
+     * since the evaluation of each host is independent.
+     *
+     * <p>VMs are yet placed one at a time and the selected host is the same one selected
+     * when hosts are evaluated sequentially. Messages logged while a host is evaluated are deferred until
+     * all hosts are evaluated, being then printed in the same order as in a sequential evaluation.
+     * However, the objects queried during such an evaluation (such as the
+     * {@link org.cloudbus.cloudsim.utilizationmodels.UtilizationModel}s of Cloudlets running inside
+     * the hosts VMs) must be safe to be concurrently read.</p>
+     *
+     * @param pool the pool to evaluate hosts in parallel or null to evaluate them sequentially
+     * @return
+     */
+    public final PowerVmAllocationPolicyMigration setHostScoringPool(ForkJoinPool pool) {
+        this.hostScoringPool = pool;
+        return this;
+    }
+
+    /**
+     * Checks if the incremental consolidation is enabled.
+     *
+     * @return true if the incremental consolidation is enabled, false otherwise
+     * @see #setIncrementalConsolidation(boolean)
+     */
+    public boolean isIncrementalConsolidation() {
+        return incrementalConsolidation;
+    }
+
+    /**
+     * Enables or disables the incremental consolidation, which reduces the work
+     * to {@link #optimizeAllocation(List) optimize the VM allocation} at every scheduling interval
+     * by just re-examining hosts whose state changed since the last interval.
+     * It is disabled by default.
+     *
+     * <p>When enabled:
+     * <ul>
+     *     <li>just hosts whose VMs were placed, removed or processed since they were last examined
+     *     are checked to find over utilized hosts;</li>
+     *     <li>a host that wasn't over utilized when last examined is just re-examined if its VMs changed
+     *     or its CPU utilization increased since then, since otherwise it can't have crossed the
+     *     over utilization threshold (at least while such a threshold doesn't change, as in static threshold policies);</li>
+     *     <li>instead of saving the host of every VM before computing the migration map and re-creating all VMs
+     *     after that, just the VMs tentatively moved are recorded into an undo log and moved back.</li>
+     * </ul>
+     * </p>
+     *
+     * <p>As the thresholds of dynamic policies change along the time, the migration map may differ
+     * from the one computed when the incremental consolidation is disabled. Further, the
+     * {@link #getMetricHistory() metric history} doesn't get entries for hosts that aren't re-examined.</p>
+     *
+     * @param incrementalConsolidation true to enable the incremental consolidation, false to disable it
+     * @return
+     */
+    public final PowerVmAllocationPolicyMigration setIncrementalConsolidation(boolean incrementalConsolidation) {
+        if (incrementalConsolidation && vmUpdateProcessingListener == null) {
+            vmUpdateProcessingListener = info -> addChangedHostIfUtilizationIncreased(info.getVm());
+        }
+
+        if (this.incrementalConsolidation != incrementalConsolidation) {
+            for (final Vm vm : getVmHostMap().keySet()) {
+                if (incrementalConsolidation) {
+                    vm.addOnUpdateProcessingListener(vmUpdateProcessingListener);
+                } else {
+                    vm.removeOnUpdateProcessingListener(vmUpdateProcessingListener);
+                }
+            }
+        }
+
+        this.incrementalConsolidation = incrementalConsolidation;
+        notOverUtilizedHosts.clear();
+        changedHosts.clear();
+        changedHostsTrackedNumber = -1;
+        return this;
+    }
+
+    /**
+     * Checks if just hosts whose CPU utilization is below the {@link #getUnderUtilizationThreshold() under utilization threshold}
+     * are selected to have all their VMs migrated when consolidating VMs.
+     * @return
+     * @see #setConsolidateJustUnderUtilizedHosts(boolean)
+     */
+    public boolean isConsolidateJustUnderUtilizedHosts() {
+        return consolidateJustUnderUtilizedHosts;
+    }
+
+    /**
+     * Enables or disables the selection of just hosts whose CPU utilization is below the
+     * {@link #getUnderUtilizationThreshold() under utilization threshold} to have all their VMs migrated
+     * when consolidating VMs. It is disabled by default, so that all hosts that aren't over utilized
+     * are tried, starting from the least utilized one.
+     *
+     * <p>Enabling it reduces the number of hosts tried to be evacuated, but changes the consolidation
+     * results, since hosts above such a threshold aren't switched off anymore.</p>
+     *
+     * @param consolidateJustUnderUtilizedHosts true to consolidate just under utilized hosts, false otherwise
+     * @return
+     */
+    public final PowerVmAllocationPolicyMigration setConsolidateJustUnderUtilizedHosts(boolean consolidateJustUnderUtilizedHosts) {
+        this.consolidateJustUnderUtilizedHosts = consolidateJustUnderUtilizedHosts;
+        return this;
+    }
+
+    /**
+     * The state of a host when it was examined by the
+     * {@link #isIncrementalConsolidation() incremental consolidation},
+     * used to check if the host changed since then.
+     */
+    private static final class HostSnapshot {
+        private final List<Vm> vmList;
+        private final double utilization;
+
+        private HostSnapshot(Host host, double utilization) {
+            this.vmList = new ArrayList<>(host.getVmList());
+            this.utilization = utilization;
+        }
+
+        private boolean hasSameVms(Host host) {
+            return vmList.equals(host.getVmList());
+        }
+    }
+
+    /**
+     * A VM tentatively created into or destroyed from a host while the migration map is computed,
+     * storing the VM host before the move so that it can be undone.
+     */
+    private static final class TentativeMove {
+        private final Vm vm;
+        private final Host host;
+        private final boolean created;
+        private final Host previousHost;
+
+        private TentativeMove(Vm vm, Host host, boolean created, Host previousHost) {
+            this.vm = vm;
+            this.host = host;
+            this.created = created;
+            this.previousHost = previousHost;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package org.cloudbus.cloudsim.allocationpolicies.power;
 import org.cloudbus.cloudsim.hosts.power.PowerHost;
 import org.cloudbus.cloudsim.hosts.power.PowerHostUtilizationHistory;
 import org.cloudbus.cloudsim.selectionpolicies.power.PowerVmSelectionPolicy;
+import org.cloudbus.cloudsim.vms.Vm;
 
 import java.util.Objects;
 
@@ -70,6 +71,24 @@ public abstract class PowerVmAllocationPolicyMigrationDynamicUpperThresholdAbstr
         return super.isHostOverUtilized(host);
     }
 
+    /**
+     * Checks if a host would be over utilized after placing a given VM into it,
+     * based on the CPU over utilization threshold computed using the statistical method defined in
+     * {@link #computeHostUtilizationMeasureAfterAllocation(PowerHostUtilizationHistory, Vm)}.
+     *
+     * @param host {@inheritDoc}
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isHostOverUtilizedAfterAllocation(PowerHost host, Vm vm) {
+        if(getOverUtilizationThresholdAfterAllocation(host, vm) == Double.MAX_VALUE) {
+            return getFallbackVmAllocationPolicy().isHostOverUtilizedAfterAllocation(host, vm);
+        }
+
+        return super.isHostOverUtilizedAfterAllocation(host, vm);
+    }
+
 
     /**
      * Gets a dynamically computed Host over utilization threshold based on the
@@ -90,6 +109,37 @@ public abstract class PowerVmAllocationPolicyMigrationDynamicUpperThresholdAbstr
         }
     }
 
+    /**
+     * Gets a dynamically computed Host over utilization threshold based on the
+     * Host CPU utilization history, as if a given VM were placed into the Host.
+     *
+     * @param host {@inheritDoc}
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc} or {@link Double#MAX_VALUE} if the threshold could not be computed
+     * @see #computeHostUtilizationMeasureAfterAllocation(PowerHostUtilizationHistory, Vm)
+     */
+    @Override
+    protected double getOverUtilizationThresholdAfterAllocation(PowerHost host, Vm vm) {
+        try {
+            return 1 - getSafetyParameter() * computeHostUtilizationMeasureAfterAllocation((PowerHostUtilizationHistory) host, vm);
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return Double.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Computes the same measure of {@link #computeHostUtilizationMeasure(PowerHostUtilizationHistory)},
+     * but as if a given VM were placed into the Host, without actually placing it.
+     *
+     * @param host the host to get the utilization measure
+     * @param vm the VM to supposedly place into the host
+     * @return the host utilization measure after the supposed VM placement
+     * @throws IllegalArgumentException when the measure could not be computed
+     * (for instance, because the Host doesn't have enought history to use)
+     * @see PowerHostUtilizationHistory#getUtilizationHistoryAfterAllocation(Vm)
+     */
+    protected abstract double computeHostUtilizationMeasureAfterAllocation(PowerHostUtilizationHistory host, Vm vm) throws IllegalArgumentException;
+
     /**
      * Sets the safety parameter.
      *
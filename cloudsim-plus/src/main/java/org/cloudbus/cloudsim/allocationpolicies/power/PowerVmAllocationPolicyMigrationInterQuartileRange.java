@@ -10,7 +10,8 @@ package org.cloudbus.cloudsim.allocationpolicies.power;
 
 import org.cloudbus.cloudsim.hosts.power.PowerHostUtilizationHistory;
 import org.cloudbus.cloudsim.selectionpolicies.power.PowerVmSelectionPolicy;
-import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.OrderStatistics;
+import org.cloudbus.cloudsim.vms.Vm;
 
 /**
  * A VM allocation policy that uses Inter Quartile Range (IQR)  to compute
@@ -62,9 +63,25 @@ public class PowerVmAllocationPolicyMigrationInterQuartileRange extends PowerVmA
      */
     @Override
     public double computeHostUtilizationMeasure(PowerHostUtilizationHistory host) throws IllegalArgumentException {
-        double[] data = host.getUtilizationHistory();
-        if (MathUtil.countNonZeroBeginning(data) >= 12) { // 12 has been suggested as a safe value
-            return MathUtil.iqr(data);
+        return computeHostUtilizationMeasure(host.getUtilizationHistoryStatistics());
+    }
+
+    /**
+     * Computes the host utilization IQR as if a given VM were placed into the host.
+     *
+     * @param host {@inheritDoc}
+     * @param vm {@inheritDoc}
+     * @return the host utilization IQR after the VM placement
+     * @throws {@inheritDoc}
+     */
+    @Override
+    protected double computeHostUtilizationMeasureAfterAllocation(PowerHostUtilizationHistory host, Vm vm) throws IllegalArgumentException {
+        return computeHostUtilizationMeasure(new OrderStatistics(host.getUtilizationHistoryAfterAllocation(vm)));
+    }
+
+    private double computeHostUtilizationMeasure(OrderStatistics statistics) {
+        if (statistics.size() >= 12) { // 12 has been suggested as a safe value
+            return statistics.getIqr();
         }
 
         throw new IllegalArgumentException("There is not enough Host history to compute Host utilization IRQ");
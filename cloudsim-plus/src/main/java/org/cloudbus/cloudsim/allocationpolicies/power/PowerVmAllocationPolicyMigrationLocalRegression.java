@@ -84,6 +84,25 @@ public class PowerVmAllocationPolicyMigrationLocalRegression extends PowerVmAllo
         return predictedUtilizationThreshold >= 1;
     }
 
+    /**
+     * Checks if a host would be over utilized after placing a given VM into it,
+     * based on estimation of CPU over utilization threshold computed using Local Regression.
+     *
+     * @param host {@inheritDoc}
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isHostOverUtilizedAfterAllocation(PowerHost host, Vm vm) {
+        final double predictedUtilizationThreshold = getOverUtilizationThresholdAfterAllocation(host, vm);
+        if(predictedUtilizationThreshold == Double.MAX_VALUE){
+            return getFallbackVmAllocationPolicy().isHostOverUtilizedAfterAllocation(host, vm);
+        }
+
+        addHistoryEntryIfAbsent(host, predictedUtilizationThreshold);
+        return predictedUtilizationThreshold >= 1;
+    }
+
     /**
      * {@inheritDoc}.
      * <b>In this case, this is a predicted value based on Local Regression of the utilization history.</b>
@@ -101,6 +120,23 @@ public class PowerVmAllocationPolicyMigrationLocalRegression extends PowerVmAllo
         }
     }
 
+    /**
+     * Gets the host CPU utilization threshold <b>prediction</b> as if a given VM were placed into the host.
+     *
+     * @param host {@inheritDoc}
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc} or {@link Double#MAX_VALUE} if the threshold could not be computed
+     */
+    @Override
+    protected double getOverUtilizationThresholdAfterAllocation(PowerHost host, Vm vm) {
+        try {
+            final double predictedUtilization = computeHostUtilizationMeasureAfterAllocation((PowerHostUtilizationHistory) host, vm);
+            return predictedUtilization * getSafetyParameter();
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return Double.MAX_VALUE;
+        }
+    }
+
     /**
      * Computes a Local Regression of the host utilization history to <b>estimate</b> the current host utilization.
      * Such a value is used to generate the host over utilization threshold.
@@ -111,7 +147,34 @@ public class PowerVmAllocationPolicyMigrationLocalRegression extends PowerVmAllo
      */
     @Override
     public double computeHostUtilizationMeasure(PowerHostUtilizationHistory host) throws IllegalArgumentException{
-        double[] utilizationHistory = host.getUtilizationHistory();
+        return computeHostUtilizationMeasure(host.getUtilizationHistory(), getMaximumVmMigrationTime(host));
+    }
+
+    /**
+     * Computes a Local Regression of the host utilization history to <b>estimate</b> the host utilization
+     * as if a given VM were placed into the host.
+     *
+     * @param host {@inheritDoc}
+     * @param vm {@inheritDoc}
+     * @return the host utilization Local Regression after the VM placement
+     * @throws {@inheritDoc}
+     */
+    @Override
+    protected double computeHostUtilizationMeasureAfterAllocation(PowerHostUtilizationHistory host, Vm vm) throws IllegalArgumentException {
+        return computeHostUtilizationMeasure(
+            host.getUtilizationHistoryAfterAllocation(vm),
+            getMaximumVmMigrationTimeAfterAllocation(host, vm));
+    }
+
+    /**
+     * Computes a Local Regression of a host utilization history.
+     *
+     * @param utilizationHistory the host utilization history, where the first value is the newest one
+     * @param maximumVmMigrationTime the maximum time to migrate a VM out of the host
+     * @return the host utilization Local Regression
+     * @throws IllegalArgumentException when there is not enough history to compute the regression
+     */
+    private double computeHostUtilizationMeasure(double[] utilizationHistory, double maximumVmMigrationTime) {
         final int length = 10; // we use 10 to make the regression responsive enough to latest values
         if (utilizationHistory.length < length) {
             throw new IllegalArgumentException("There is not enough Host history to estimate its utilization using Local Regression");
@@ -122,7 +185,7 @@ public class PowerVmAllocationPolicyMigrationLocalRegression extends PowerVmAllo
             utilizationHistoryReversed[i] = utilizationHistory[length - i - 1];
         }
         double[] estimates = getParameterEstimates(utilizationHistoryReversed);
-        double migrationIntervals = Math.ceil(getMaximumVmMigrationTime(host) / getSchedulingInterval());
+        double migrationIntervals = Math.ceil(maximumVmMigrationTime / getSchedulingInterval());
         return estimates[0] + estimates[1] * (length + migrationIntervals);
     }
 
@@ -150,6 +213,23 @@ public class PowerVmAllocationPolicyMigrationLocalRegression extends PowerVmAllo
         return maxRam / (host.getBw().getCapacity() / (2 * 8));
     }
 
+    /**
+     * Gets the maximum vm migration time as if a given VM were placed into the host.
+     * After the placement, the VM RAM capacity will be the amount it currently requests.
+     *
+     * @param host the host
+     * @param vm the VM to supposedly place into the host
+     * @return the maximum vm migration time after the VM placement
+     */
+    protected double getMaximumVmMigrationTimeAfterAllocation(PowerHost host, Vm vm) {
+        final double maxRam = Math.max(
+            host.getVmList().stream()
+                .map(Vm::getRam)
+                .mapToDouble(Resource::getCapacity).max().orElse(0),
+            vm.getCurrentRequestedRam());
+        return maxRam / (host.getBw().getCapacity() / (2 * 8));
+    }
+
     /**
      * Sets the scheduling interval that defines the periodicity of VM migrations.
      *
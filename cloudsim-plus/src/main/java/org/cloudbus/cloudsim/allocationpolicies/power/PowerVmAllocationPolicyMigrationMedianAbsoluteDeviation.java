@@ -10,7 +10,8 @@ package org.cloudbus.cloudsim.allocationpolicies.power;
 
 import org.cloudbus.cloudsim.hosts.power.PowerHostUtilizationHistory;
 import org.cloudbus.cloudsim.selectionpolicies.power.PowerVmSelectionPolicy;
-import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.OrderStatistics;
+import org.cloudbus.cloudsim.vms.Vm;
 
 /**
  * A VM allocation policy that uses Median Absolute Deviation (MAD) to compute
@@ -63,9 +64,25 @@ public class PowerVmAllocationPolicyMigrationMedianAbsoluteDeviation extends Pow
      */
     @Override
     public double computeHostUtilizationMeasure(PowerHostUtilizationHistory host) throws IllegalArgumentException {
-        double[] data = host.getUtilizationHistory();
-        if (MathUtil.countNonZeroBeginning(data) >= 12) { // 12 has been suggested as a safe value
-            return MathUtil.mad(data);
+        return computeHostUtilizationMeasure(host.getUtilizationHistoryStatistics());
+    }
+
+    /**
+     * Computes the host utilization MAD as if a given VM were placed into the host.
+     *
+     * @param host {@inheritDoc}
+     * @param vm {@inheritDoc}
+     * @return the host utilization MAD after the VM placement
+     * @throws {@inheritDoc}
+     */
+    @Override
+    protected double computeHostUtilizationMeasureAfterAllocation(PowerHostUtilizationHistory host, Vm vm) throws IllegalArgumentException {
+        return computeHostUtilizationMeasure(new OrderStatistics(host.getUtilizationHistoryAfterAllocation(vm)));
+    }
+
+    private double computeHostUtilizationMeasure(OrderStatistics statistics) {
+        if (statistics.size() >= 12) { // 12 has been suggested as a safe value
+            return statistics.getMad();
         }
 
         throw new IllegalArgumentException("There is not enough Host history to compute Host utilization MAD");
@@ -347,7 +347,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             processSuccessVmCreationInDatacenter(vm, vm.getHost().getDatacenter());
             vmCreated = true;
         } else {
-            processFailedVmCreationInDatacenter(vm, vm.getHost().getDatacenter());
+            processFailedVmCreationInDatacenter(vm, vmCreationRequestsMap.getOrDefault(vm, Datacenter.NULL));
         }
 
         // all the requested VMs have been created
@@ -47,7 +47,7 @@ public class PowerDatacenterBroker extends DatacenterBrokerSimple {
 
 		if (!vm.isCreated()) {
 			throw new RuntimeException(getSimulation().clock() + ": " + getName() + ": Creation of VM #" + vm.getId()
-					+ " failed in Datacenter #" + vm.getHost().getDatacenter().getId());
+					+ " failed in Datacenter #" + ev.getSource());
 		}
 		return super.processVmCreateResponseFromDatacenter(ev);
 	}
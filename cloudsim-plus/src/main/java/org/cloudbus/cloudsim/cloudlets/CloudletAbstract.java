@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.core.UniquelyIdentificable;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.util.DeferredActions;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudsimplus.listeners.CloudletVmEventInfo;
@@ -237,8 +238,12 @@ public abstract class CloudletAbstract implements Cloudlet {
 
     @Override
     public void notifyOnUpdateProcessingListeners(double time) {
+        if(onUpdateProcessingListeners.isEmpty()){
+            return;
+        }
+
         CloudletVmEventInfo info = CloudletVmEventInfo.of(time, this);
-        onUpdateProcessingListeners.forEach(l -> l.update(info));
+        DeferredActions.run(() -> onUpdateProcessingListeners.forEach(l -> l.update(info)));
     }
 
     @Override
@@ -346,9 +351,9 @@ public abstract class CloudletAbstract implements Cloudlet {
      * if it in fact has finished.
      */
     private void notifyListenersIfCloudletIsFinished() {
-        if (isFinished()) {
+        if (isFinished() && !onFinishListeners.isEmpty()) {
             CloudletVmEventInfo info = CloudletVmEventInfo.of(this);
-            onFinishListeners.forEach(l -> l.update(info));
+            DeferredActions.run(() -> onFinishListeners.forEach(l -> l.update(info)));
         }
     }
 
@@ -11,9 +11,12 @@ import java.util.*;
 import java.util.stream.Stream;
 
 import org.cloudbus.cloudsim.core.events.*;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.network.topologies.NetworkTopology;
+import org.cloudbus.cloudsim.util.DeferredActions;
 import org.cloudbus.cloudsim.util.Log;
+import org.cloudbus.cloudsim.util.SimulationLogger;
 import java.util.function.Predicate;
 import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
@@ -41,6 +44,14 @@ public class CloudSim implements Simulation {
      */
     private static final int NOT_FOUND = -1;
 
+    /**
+     * A comparator that sorts events in the order they are processed,
+     * since {@link FutureQueue}s usually don't provide events in such an order
+     * when they are streamed.
+     */
+    private static final Comparator<SimEvent> EVENT_TIME_AND_SERIAL_COMPARATOR =
+        Comparator.comparingDouble(SimEvent::eventTime).thenComparingLong(SimEvent::getSerial);
+
     /**
      * An array that works as a circular queue with capacity to just 2 elements
      * (defined in the constructor). When a new element is added to the queue,
@@ -93,9 +104,37 @@ public class CloudSim implements Simulation {
 
     /**
      * The queue of events that will be sent in a future simulation time.
+     * @see #setFutureQueue(FutureQueue)
      */
     private FutureQueue future;
 
+    /**
+     * A reusable buffer for the events happening at the current time,
+     * which are removed at once from the {@link #future} queue at each clock tick.
+     */
+    private final List<SimEvent> eventsToProcess = new ArrayList<>();
+
+    /**
+     * An index of events in the {@link #future} queue by source entity and tag,
+     * used to cancel events without checking the entire queue.
+     * @see #cancelAll(int, Predicate)
+     */
+    private final FutureQueueTagIndex futureIndex = new FutureQueueTagIndex();
+
+    /**
+     * Events that were cancelled but are yet in the {@link #future} queue.
+     * Such events are just removed when they reach the head of the queue,
+     * since removing them from the middle of some queues requires checking all events.
+     * The head of the queue is never a cancelled event.
+     */
+    private final Set<SimEvent> cancelledEvents = new HashSet<>();
+
+    /**
+     * The pool used to recycle events or null if event recycling is disabled.
+     * @see #enableEventRecycling(boolean)
+     */
+    private SimEventPool eventPool;
+
     /**
      * The deferred event queue.
      */
@@ -151,6 +190,16 @@ public class CloudSim implements Simulation {
     private Set<EventListener<EventInfo>> onSimulationPausedListeners;
     private Set<EventListener<EventInfo>> onClockTickListeners;
 
+    /**
+     * The periodic ticks for each interval registered by {@link #addOnPeriodicTickListener(double, EventListener)}.
+     */
+    private final List<PeriodicTick> periodicTicks = new ArrayList<>();
+
+    /**
+     * @see #getLogger()
+     */
+    private final SimulationLogger logger = new SimulationLogger();
+
     /**
      * Creates a CloudSim simulation using a default calendar.
      * Internally it creates a CloudInformationService.
@@ -178,7 +227,7 @@ public class CloudSim implements Simulation {
         Log.printFormattedLine("Initialising CloudSim Plus %s...", CloudSim.CLOUDSIMPLUS_VERSION_STRING);
         this.entities = new ArrayList<>();
         this.entitiesByName = new LinkedHashMap<>();
-        this.future = new FutureQueue();
+        this.future = new FutureQueueTreeSet();
         this.deferred = new DeferredQueue();
         this.waitPredicates = new HashMap<>();
         this.networkTopology = NetworkTopology.NULL;
@@ -351,8 +400,8 @@ public class CloudSim implements Simulation {
     public void addEntity(CloudSimEntity e) {
         if (running) {
             // Post an event to make this entity
-            SimEvent evt = new CloudSimEvent(this, SimEvent.Type.CREATE, clock, 1, 0, 0, e);
-            future.addEvent(evt);
+            SimEvent evt = newEvent(SimEvent.Type.CREATE, clock, 1, 0, 0, e);
+            addFutureEvent(evt);
         }
 
         if (e.getId() == -1) { // Only add once!
@@ -401,23 +450,79 @@ public class CloudSim implements Simulation {
         if (future.isEmpty()) {
             running = false;
             printMessage("Simulation: No more future events");
+        } else if (isPeriodicTickHappeningBeforeNextFutureEvent()) {
+            firePeriodicTicks();
         } else {
             // If there are more future events, then deal with them
-            future.stream().findFirst().ifPresent(this::processAllFutureEventsHappeningAtSameTimeOfTheFirstOne);
+            processAllFutureEventsHappeningAtSameTimeOfTheFirstOne(future.first());
         }
     }
 
+    private boolean isPeriodicTickHappeningBeforeNextFutureEvent() {
+        return !periodicTicks.isEmpty() && getNextPeriodicTickTime() <= future.first().eventTime();
+    }
+
+    private double getNextPeriodicTickTime() {
+        double time = Double.MAX_VALUE;
+        for (final PeriodicTick tick : periodicTicks) {
+            time = Math.min(time, tick.nextTime());
+        }
+
+        return time;
+    }
+
+    /**
+     * Advances the clock to the time of the next {@link #periodicTicks periodic tick}
+     * and notifies the listeners of all ticks happening at that time.
+     */
+    private void firePeriodicTicks() {
+        final double time = getNextPeriodicTickTime();
+        setClock(time);
+        for (final PeriodicTick tick : new ArrayList<>(periodicTicks)) {
+            if(tick.nextTime() == time) {
+                tick.fire();
+            }
+        }
+
+        notifyOnClockTickListenersIfClockChanged();
+    }
+
     private void processAllFutureEventsHappeningAtSameTimeOfTheFirstOne(SimEvent firstEvent) {
         processEvent(firstEvent);
         future.remove(firstEvent);
+        futureIndex.remove(firstEvent);
+        final double time = firstEvent.eventTime();
+        releaseProcessedEvent(firstEvent);
 
-        List<SimEvent> eventsToProcess = future.stream()
-            .filter(e -> e.eventTime() == firstEvent.eventTime())
-            .collect(toList());
-
+        future.pollFirstEventsAt(time, eventsToProcess);
+        eventsToProcess.forEach(futureIndex::remove);
         for(SimEvent evt: eventsToProcess) {
-            processEvent(evt);
-            future.remove(evt);
+            if(!cancelledEvents.remove(evt)) {
+                processEvent(evt);
+                releaseProcessedEvent(evt);
+            }
+        }
+
+        eventsToProcess.clear();
+        removeCancelledEventsFromFutureQueueHead();
+    }
+
+    /**
+     * Adds an event to the {@link #future} queue, indexing it if required.
+     * @param evt the event to add
+     */
+    private void addFutureEvent(SimEvent evt) {
+        future.addEvent(evt);
+        futureIndex.add(evt);
+    }
+
+    /**
+     * Removes the {@link #cancelledEvents} at the head of the {@link #future} queue,
+     * so that the next event to be processed is a valid one.
+     */
+    private void removeCancelledEventsFromFutureQueueHead() {
+        while (!cancelledEvents.isEmpty() && !future.isEmpty() && cancelledEvents.remove(future.first())) {
+            future.remove(future.first());
         }
     }
 
@@ -444,8 +549,13 @@ public class CloudSim implements Simulation {
             throw new IllegalArgumentException("Send delay can't be negative.");
         }
 
-        SimEvent e = new CloudSimEvent(this, SimEvent.Type.SEND, clock + delay, src, dest, tag, data);
-        future.addEvent(e);
+        if (DeferredActions.isDeferring()) {
+            DeferredActions.run(() -> send(src, dest, delay, tag, data));
+            return;
+        }
+
+        SimEvent e = newEvent(SimEvent.Type.SEND, clock + delay, src, dest, tag, data);
+        addFutureEvent(e);
     }
 
     @Override
@@ -454,8 +564,14 @@ public class CloudSim implements Simulation {
             throw new IllegalArgumentException("Send delay can't be negative.");
         }
 
-        SimEvent e = new CloudSimEvent(this, SimEvent.Type.SEND, clock + delay, src, dest, tag, data);
+        if (DeferredActions.isDeferring()) {
+            DeferredActions.run(() -> sendFirst(src, dest, delay, tag, data));
+            return;
+        }
+
+        SimEvent e = newEvent(SimEvent.Type.SEND, clock + delay, src, dest, tag, data);
         future.addEventFirst(e);
+        futureIndex.add(e);
     }
 
     @Override
@@ -469,47 +585,121 @@ public class CloudSim implements Simulation {
 
     @Override
     public long waiting(int dest, Predicate<SimEvent> p) {
-        return filterEventsToDestinationEntity(deferred, p, dest).count();
+        return deferred.count(dest, p);
     }
 
     @Override
     public SimEvent select(int dest, Predicate<SimEvent> p) {
-        SimEvent evt = findFirstDeferred(dest, p);
-        deferred.remove(evt);
-        return evt;
+        return deferred.removeFirst(dest, p);
     }
 
     @Override
     public SimEvent findFirstDeferred(int dest, Predicate<SimEvent> p) {
-        return filterEventsToDestinationEntity(deferred, p, dest).findFirst().orElse(SimEvent.NULL);
-    }
-
-    /**
-     * Gets a stream of events inside a specific queue that match a given predicate
-     * and are targeted to an specific entity.
-     *
-     * @param queue the queue to get the events from
-     * @param p the event selection predicate
-     * @param dest Id of entity that the event has to be sent to
-     * @return a Stream of events from the queue
-     */
-    private Stream<SimEvent> filterEventsToDestinationEntity(EventQueue queue, Predicate<SimEvent> p, int dest) {
-        return filterEvents(queue, p.and(e -> e.getDestination() == dest));
+        return deferred.first(dest, p);
     }
 
     @Override
     public SimEvent cancel(int src, Predicate<SimEvent> p) {
-        SimEvent evt = future.stream().filter(p.and(e -> e.getSource() == src)).findFirst().orElse(SimEvent.NULL);
+        checkNotDeferring();
+        SimEvent evt = filterEventsFromSourceEntity(future, p, src).min(EVENT_TIME_AND_SERIAL_COMPARATOR).orElse(SimEvent.NULL);
+        if (evt == SimEvent.NULL) {
+            //SimEvent.NULL is equal to any event in the queue, so it must not be removed
+            return evt;
+        }
+
         future.remove(evt);
+        futureIndex.remove(evt);
+        removeCancelledEventsFromFutureQueueHead();
         return evt;
     }
 
+    /**
+     * Checks that events are not being cancelled while actions are deferred,
+     * such as when the processing of hosts is updated in parallel.
+     * Differently from sending events, cancelling them can't be deferred,
+     * since its result depends on the events sent before.
+     *
+     * @throws IllegalStateException when actions are being deferred in the current thread
+     */
+    private static void checkNotDeferring() {
+        if (DeferredActions.isDeferring()) {
+            throw new IllegalStateException("Events cannot be cancelled while the processing of hosts is updated in parallel.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>When the predicate is a {@link PredicateType} (but not a subclass of it, which may test events
+     * in a different way), the events are got from an index
+     * by source entity and tag, instead of checking the entire future queue.
+     * Such an index starts being built at the first time events from a given
+     * entity and tag are cancelled.
+     * Indexed events are lazily removed from the queue when they reach its head.</p>
+     *
+     * @param src {@inheritDoc}
+     * @param p   {@inheritDoc}
+     * @return {@inheritDoc}
+     */
     @Override
     public boolean cancelAll(int src, Predicate<SimEvent> p) {
-        final int previousSize = future.size();
+        checkNotDeferring();
+        if(isIndexablePredicate(p) && isFutureQueueIndexedByTags(src, (PredicateType)p)) {
+            return cancelAllIndexedEvents(src, (PredicateType)p);
+        }
+
         List<SimEvent> cancelList = filterEventsFromSourceEntity(future, p, src).collect(toList());
         future.removeAll(cancelList);
-        return previousSize < future.size();
+        cancelList.forEach(futureIndex::remove);
+        removeCancelledEventsFromFutureQueueHead();
+        return !cancelList.isEmpty();
+    }
+
+    /**
+     * Checks if a predicate selects events just by their tags, enabling them to be got from the {@link #futureIndex}.
+     * Subclasses of {@link PredicateType} may override its test, so they aren't indexable.
+     */
+    private boolean isIndexablePredicate(Predicate<SimEvent> p) {
+        return Objects.nonNull(p) && p.getClass() == PredicateType.class;
+    }
+
+    /**
+     * Checks if the events from a given source entity with the tags of a predicate
+     * are indexed in the {@link #futureIndex}, starting indexing new events if not.
+     * Since existing events are not indexed, they have to be cancelled
+     * by checking the entire queue in that case.
+     *
+     * @param src Id of entity that scheduled the events
+     * @param p the predicate with the tags of events
+     * @return true if the events are already indexed, false otherwise
+     */
+    private boolean isFutureQueueIndexedByTags(int src, PredicateType p) {
+        boolean indexed = true;
+        for (final int tag : p.getTags()) {
+            if(!futureIndex.isTracked(src, tag)) {
+                futureIndex.track(src, tag);
+                indexed = false;
+            }
+        }
+
+        return indexed;
+    }
+
+    private boolean cancelAllIndexedEvents(int src, PredicateType p) {
+        boolean cancelled = false;
+        for (final int tag : p.getTags()) {
+            final Collection<SimEvent> events = futureIndex.removeAll(src, tag);
+            cancelledEvents.addAll(events);
+            cancelled |= !events.isEmpty();
+        }
+
+        if(cancelledEvents.size() > future.size() / 2) {
+            future.removeAll(cancelledEvents);
+            cancelledEvents.clear();
+        }
+
+        removeCancelledEventsFromFutureQueueHead();
+        return cancelled;
     }
 
     /**
@@ -522,7 +712,7 @@ public class CloudSim implements Simulation {
      * @return a Stream of events from the queue
      */
     private Stream<SimEvent> filterEventsFromSourceEntity(EventQueue queue, Predicate<SimEvent> p, int src) {
-        return filterEvents(queue, p.and(e -> e.getSource() == src));
+        return filterEvents(queue, p.and(e -> e.getSource() == src && !cancelledEvents.contains(e)));
     }
 
     /**
@@ -570,7 +760,7 @@ public class CloudSim implements Simulation {
                     if (destEnt.getState() == SimEntity.State.WAITING) {
                         Predicate<SimEvent> p = waitPredicates.get(destEnt);
                         if ((Objects.isNull(p)) || (e.getTag() == 9999) || p.test(e)) {
-                            destEnt.setEventBuffer(new CloudSimEvent(e));
+                            destEnt.setEventBuffer(Objects.isNull(eventPool) ? new CloudSimEvent(e) : e);
                             destEnt.setState(SimEntity.State.RUNNABLE);
                             waitPredicates.remove(destEnt);
                         } else {
@@ -599,6 +789,29 @@ public class CloudSim implements Simulation {
         notifyOnEventProcessingListeners(e);
     }
 
+    /**
+     * Returns an event removed from the {@link #future} queue to the {@link #eventPool}, if event recycling is enabled.
+     * Sent events are not released, since the destination entity releases them after processing.
+     *
+     * @param e the processed event
+     */
+    private void releaseProcessedEvent(SimEvent e) {
+        if (e.getType() != SimEvent.Type.SEND) {
+            SimEventPool.release(e);
+        }
+    }
+
+    /**
+     * Creates a new event or gets one from the {@link #eventPool} if event recycling is enabled.
+     */
+    private SimEvent newEvent(SimEvent.Type type, double time, int src, int dest, int tag, Object data) {
+        if (Objects.isNull(eventPool)) {
+            return new CloudSimEvent(this, type, time, src, dest, tag, data);
+        }
+
+        return eventPool.acquire(type, time, src, dest, tag, data);
+    }
+
     /**
      * Notifies all registered listeners when a {@link SimEvent} is processed by the simulation.
      * @param e the processed event
@@ -651,15 +864,15 @@ public class CloudSim implements Simulation {
 
     @Override
     public void pauseEntity(int src, double delay) {
-        SimEvent e = new CloudSimEvent(this, SimEvent.Type.HOLD_DONE, clock + delay, src);
-        future.addEvent(e);
+        SimEvent e = newEvent(SimEvent.Type.HOLD_DONE, clock + delay, src, -1, -1, null);
+        addFutureEvent(e);
         entities.get(src).setState(SimEntity.State.HOLDING);
     }
 
     @Override
     public void holdEntity(int src, long delay) {
-        SimEvent e = new CloudSimEvent(this, SimEvent.Type.HOLD_DONE, clock + delay, src);
-        future.addEvent(e);
+        SimEvent e = newEvent(SimEvent.Type.HOLD_DONE, clock + delay, src, -1, -1, null);
+        addFutureEvent(e);
         entities.get(src).setState(SimEntity.State.HOLDING);
     }
 
@@ -777,7 +990,7 @@ public class CloudSim implements Simulation {
     }
 
     private boolean isNextFutureEventHappeningAfterTimeToPause() {
-        return future.iterator().next().eventTime() >= pauseAt;
+        return future.first().eventTime() >= pauseAt;
     }
 
     /**
@@ -850,6 +1063,89 @@ public class CloudSim implements Simulation {
         return onClockTickListeners.remove(listener);
     }
 
+    @Override
+    public Simulation addOnPeriodicTickListener(double interval, EventListener<EventInfo> listener) {
+        Objects.requireNonNull(listener);
+        final PeriodicTick tick = periodicTicks.stream()
+            .filter(t -> t.getInterval() == interval)
+            .findFirst()
+            .orElseGet(() -> {
+                final PeriodicTick newTick = new PeriodicTick(interval, clock);
+                periodicTicks.add(newTick);
+                return newTick;
+            });
+
+        tick.getListeners().add(listener);
+        return this;
+    }
+
+    @Override
+    public boolean removeOnPeriodicTickListener(EventListener<EventInfo> listener) {
+        boolean removed = false;
+        for (final PeriodicTick tick : periodicTicks) {
+            removed |= tick.getListeners().remove(listener);
+        }
+
+        periodicTicks.removeIf(tick -> tick.getListeners().isEmpty());
+        return removed;
+    }
+
+    @Override
+    public SimulationLogger getLogger() {
+        return logger;
+    }
+
+    /**
+     * Enables recycling processed events, instead of creating a new object for each sent event.
+     * Since processed events are reused, entities and listeners must not keep references to received events
+     * (see {@link SimEventPool} for details).
+     *
+     * @param retentionChecked if accessing an event after it was recycled must throw an {@link IllegalStateException},
+     *                         in order to detect entities or listeners that keep references to events.
+     *                         It enables such mistakes to be found, but reduces the benefit of recycling events.
+     * @return the event pool used to recycle events
+     * @throws IllegalStateException when the simulation was already started
+     */
+    public SimEventPool enableEventRecycling(boolean retentionChecked) {
+        if(running || alreadyRunOnce){
+            throw new IllegalStateException("Event recycling can only be enabled before the simulation starts.");
+        }
+
+        this.eventPool = new SimEventPool(this, retentionChecked);
+        return eventPool;
+    }
+
+    /**
+     * Checks if processed events are recycled.
+     * @return
+     * @see #enableEventRecycling(boolean)
+     */
+    public boolean isEventRecyclingEnabled() {
+        return Objects.nonNull(eventPool);
+    }
+
+    /**
+     * Sets the queue that will store the events to be processed in a future simulation time.
+     * The default queue is a {@link FutureQueueTreeSet}.
+     * Other implementations may provide better performance,
+     * depending on the number of events and how their times are distributed.
+     *
+     * @param futureQueue the future event queue to set
+     * @throws IllegalStateException when the simulation has already started
+     * or some event has already been sent
+     * @see FutureQueueDaryHeap
+     * @see FutureQueueCalendar
+     * @see FutureQueueLadder
+     */
+    public void setFutureQueue(FutureQueue futureQueue) {
+        Objects.requireNonNull(futureQueue);
+        if(running || alreadyRunOnce || !future.isEmpty()){
+            throw new IllegalStateException("The future queue can only be changed before any event is sent.");
+        }
+
+        this.future = futureQueue;
+    }
+
     @Override
     public NetworkTopology getNetworkTopology() {
         return networkTopology;
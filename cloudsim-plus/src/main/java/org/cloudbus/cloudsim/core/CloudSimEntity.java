@@ -8,6 +8,7 @@
 package org.cloudbus.cloudsim.core;
 
 import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.core.events.SimEventPool;
 import org.cloudbus.cloudsim.util.Log;
 
 import java.util.Objects;
@@ -411,6 +412,7 @@ public abstract class CloudSimEntity implements SimEntity {
 
         while (ev != null) {
             processEvent(ev);
+            SimEventPool.release(ev);
             if (state != State.RUNNABLE) {
                 break;
             }
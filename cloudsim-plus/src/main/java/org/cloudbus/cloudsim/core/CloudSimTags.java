@@ -97,6 +97,13 @@ public final class CloudSimTags {
      */
     public static final int ICMP_PKT_RETURN = NETBASE + 6;
 
+    /**
+     * Denotes an event a {@link org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter}
+     * using a {@link org.cloudbus.cloudsim.network.FlowLevelNetwork} sends to itself
+     * when the transfer of some network flow is expected to finish.
+     */
+    public static final int NETWORK_FLOW_FINISH = NETBASE + 7;
+
     /**
      * Denotes the return of a finished Cloudlet back to the sender.
      * This tag is normally used by Datacenter entity.
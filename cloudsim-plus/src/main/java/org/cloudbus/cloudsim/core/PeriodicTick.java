@@ -0,0 +1,93 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core;
+
+import org.cloudsimplus.listeners.EventInfo;
+import org.cloudsimplus.listeners.EventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Stores the listeners that have to be notified by a {@link CloudSim} instance
+ * at every multiple of a given interval.
+ *
+ * @see Simulation#addOnPeriodicTickListener(double, EventListener)
+ * @since CloudSim Plus 1.2.0
+ */
+final class PeriodicTick {
+    private final double interval;
+
+    /**
+     * The number of intervals elapsed until the next tick,
+     * used to compute the next tick time without accumulating rounding errors.
+     */
+    private long count;
+
+    private final Set<EventListener<EventInfo>> listeners = new LinkedHashSet<>();
+
+    /**
+     * Creates a periodic tick whose first time is the
+     * first multiple of the interval after a given time.
+     *
+     * @param interval the interval between ticks
+     * @param currentTime the current simulation time
+     */
+    PeriodicTick(final double interval, final double currentTime) {
+        if(!(interval > 0)){
+            throw new IllegalArgumentException("The periodic tick interval must be a positive number.");
+        }
+
+        this.interval = interval;
+        this.count = (long)Math.floor(currentTime / interval) + 1;
+    }
+
+    double getInterval() {
+        return interval;
+    }
+
+    /**
+     * Gets the time of the next tick.
+     * @return
+     */
+    double nextTime() {
+        return count * interval;
+    }
+
+    Set<EventListener<EventInfo>> getListeners() {
+        return listeners;
+    }
+
+    /**
+     * Notifies the listeners that the next tick happened,
+     * then schedules the following one.
+     */
+    void fire() {
+        final EventInfo info = EventInfo.of(nextTime());
+        count++;
+        /* Iterates over a copy, since a listener may unregister itself. */
+        new ArrayList<>(listeners).forEach(listener -> listener.update(info));
+    }
+}
@@ -16,6 +16,7 @@ import org.cloudbus.cloudsim.core.predicates.PredicateAny;
 import org.cloudbus.cloudsim.core.predicates.PredicateNone;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.network.topologies.NetworkTopology;
+import org.cloudbus.cloudsim.util.SimulationLogger;
 import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
 
@@ -235,6 +236,39 @@ public interface Simulation {
      */
     boolean removeOnClockTickListener(EventListener<EventInfo> listener);
 
+    /**
+     * Adds a {@link EventListener} object that will be notified periodically,
+     * every time the simulation clock reaches a multiple of a given interval,
+     * while there are future events to be processed.
+     *
+     * <p>It enables entities to perform recurring tasks without sending an event to themselves
+     * for every period. Listeners registered with intervals that
+     * lead to the same time are notified together, without creating any {@link SimEvent}.
+     * Periodic ticks happening at the same time of an event are notified before such an event is processed.</p>
+     *
+     * @param interval the interval between notifications (in seconds)
+     * @param listener the event listener to add
+     * @throws IllegalArgumentException when the interval is not a positive number
+     */
+    Simulation addOnPeriodicTickListener(double interval, EventListener<EventInfo> listener);
+
+    /**
+     * Removes a listener from the periodic tick listeners, for all the intervals it was registered with.
+     *
+     * @param listener the listener to remove
+     * @return true if the listener was found and removed, false otherwise
+     * @see #addOnPeriodicTickListener(double, EventListener)
+     */
+    boolean removeOnPeriodicTickListener(EventListener<EventInfo> listener);
+
+    /**
+     * Gets the logger of this simulation instance, which can be enabled, disabled
+     * or redirected without affecting other simulations running concurrently.
+     *
+     * @return the simulation logger
+     */
+    SimulationLogger getLogger();
+
     /**
      * Pauses an entity for some time.
      *
@@ -498,6 +532,9 @@ public interface Simulation {
         @Override public Simulation addOnEventProcessingListener(EventListener<SimEvent> listener) { return this; }
         @Override public Simulation addOnClockTickListener(EventListener<EventInfo> listener) { return this; }
         @Override public boolean removeOnClockTickListener(EventListener<EventInfo> listener) { return false; }
+        @Override public Simulation addOnPeriodicTickListener(double interval, EventListener<EventInfo> listener) { return this; }
+        @Override public boolean removeOnPeriodicTickListener(EventListener<EventInfo> listener) { return false; }
+        @Override public SimulationLogger getLogger() { return SimulationLogger.NULL; }
         @Override public double start() throws RuntimeException { return 0; }
         @Override public boolean terminate() {
             return false;
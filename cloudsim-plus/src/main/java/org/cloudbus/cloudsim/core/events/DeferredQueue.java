@@ -9,13 +9,18 @@
 package org.cloudbus.cloudsim.core.events;
 
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.predicates.PredicateAny;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
  * This class implements the deferred event queue used by {@link CloudSim}.
- * The event queue uses a linked list to store the events.
+ * The events are stored into FIFO buckets, one for each destination entity,
+ * using a linked list for each bucket. Events inside a bucket are kept in temporal order,
+ * so that an entity gets its deferred events without checking the ones
+ * sent to other entities.
  *
  * @author Marcos Dias de Assuncao
  * @since CloudSim Toolkit 1.0
@@ -24,29 +29,41 @@ import java.util.stream.Stream;
  */
 public class DeferredQueue implements EventQueue {
 
-	/** The list of events. */
-	private final List<SimEvent> list = new LinkedList<>();
+	/**
+	 * Orders events by time and, for the same time, by serial number,
+	 * which is the order they were added to the future event queue.
+	 */
+	private static final Comparator<SimEvent> EVENT_ORDER =
+		Comparator.comparingDouble(SimEvent::eventTime).thenComparingLong(SimEvent::getSerial);
+
+	/**
+	 * The lists of events, where each key is the id of the destination entity
+	 * of the events in the list.
+	 */
+	private final Map<Integer, LinkedList<SimEvent>> buckets = new HashMap<>();
 
-	/** The max time that an added event is scheduled. */
-	private double maxTime = -1;
+	/** The number of events in all buckets. */
+	private int size;
 
 	/**
 	 * Adds a new event to the queue. Adding a new event to the queue preserves the temporal order
-	 * of the events.
+	 * of the events sent to the same destination entity.
 	 *
 	 * @param newEvent The event to be added to the queue.
 	 */
 	public void addEvent(SimEvent newEvent) {
+		final LinkedList<SimEvent> bucket = buckets.computeIfAbsent(newEvent.getDestination(), dest -> new LinkedList<>());
+		size++;
+
 		// The event has to be inserted as the last of all events
 		// with the same event_time(). Yes, this matters.
 		double eventTime = newEvent.eventTime();
-		if (eventTime >= maxTime) {
-			list.add(newEvent);
-			maxTime = eventTime;
+		if (bucket.isEmpty() || eventTime >= bucket.getLast().eventTime()) {
+			bucket.add(newEvent);
 			return;
 		}
 
-		ListIterator<SimEvent> iterator = list.listIterator();
+		ListIterator<SimEvent> iterator = bucket.listIterator();
 		SimEvent event;
 		while (iterator.hasNext()) {
 			event = iterator.next();
@@ -57,7 +74,7 @@ public class DeferredQueue implements EventQueue {
 			}
 		}
 
-		list.add(newEvent);
+		bucket.add(newEvent);
 	}
 
 	/**
@@ -66,16 +83,34 @@ public class DeferredQueue implements EventQueue {
 	 * @return the iterator
 	 */
 	public Iterator<SimEvent> iterator() {
-		return list.iterator();
+		return stream().iterator();
 	}
 
     /**
-     * Returns a stream to the elements into the queue.
+     * Returns a stream to the elements into the queue, ordered by time.
+     * Events happening at the same time are ordered by their {@link SimEvent#getSerial() serial number}.
      *
      * @return the stream
      */
     public Stream<SimEvent> stream() {
-        return list.stream();
+        return buckets.values().stream()
+                      .flatMap(List::stream)
+                      .sorted(EVENT_ORDER);
+    }
+
+    /**
+     * Returns a stream to the events sent to a given entity, in temporal order.
+     *
+     * @param dest the id of the destination entity
+     * @return the stream
+     */
+    public Stream<SimEvent> stream(int dest) {
+        return getBucket(dest).stream();
+    }
+
+    private List<SimEvent> getBucket(int dest) {
+        final List<SimEvent> bucket = buckets.get(dest);
+        return bucket == null ? Collections.emptyList() : bucket;
     }
 
 	/**
@@ -84,12 +119,71 @@ public class DeferredQueue implements EventQueue {
 	 * @return the number of events in the queue.
 	 */
 	public int size() {
-		return list.size();
+		return size;
 	}
 
     @Override
     public boolean isEmpty() {
-        return list.isEmpty();
+        return size == 0;
+    }
+
+    /**
+     * Counts the events sent to a given entity that match a predicate.
+     * It's just required to check the events when a predicate other than
+     * {@link CloudSim#SIM_ANY} is given.
+     *
+     * @param dest the id of the destination entity
+     * @param p the event selection predicate
+     * @return the number of matching events
+     */
+    public long count(int dest, Predicate<SimEvent> p) {
+        if (p instanceof PredicateAny) {
+            return getBucket(dest).size();
+        }
+
+        return stream(dest).filter(p).count();
+    }
+
+    /**
+     * Gets the first event sent to a given entity that matches a predicate.
+     *
+     * @param dest the id of the destination entity
+     * @param p the event selection predicate
+     * @return the first matching event or {@link SimEvent#NULL} if none is found
+     */
+    public SimEvent first(int dest, Predicate<SimEvent> p) {
+        final List<SimEvent> bucket = getBucket(dest);
+        if (p instanceof PredicateAny) {
+            return bucket.isEmpty() ? SimEvent.NULL : bucket.get(0);
+        }
+
+        return bucket.stream().filter(p).findFirst().orElse(SimEvent.NULL);
+    }
+
+    /**
+     * Removes the first event sent to a given entity that matches a predicate.
+     * The bucket of the entity is removed when its last event is taken.
+     *
+     * @param dest the id of the destination entity
+     * @param p the event selection predicate
+     * @return the removed event or {@link SimEvent#NULL} if no matching event is found
+     */
+    public SimEvent removeFirst(int dest, Predicate<SimEvent> p) {
+        final LinkedList<SimEvent> bucket = buckets.get(dest);
+        if (bucket == null) {
+            return SimEvent.NULL;
+        }
+
+        for (final Iterator<SimEvent> it = bucket.iterator(); it.hasNext(); ) {
+            final SimEvent event = it.next();
+            if (p instanceof PredicateAny || p.test(event)) {
+                it.remove();
+                removedFromBucket(dest, bucket);
+                return event;
+            }
+        }
+
+        return SimEvent.NULL;
     }
 
     /**
@@ -99,23 +193,44 @@ public class DeferredQueue implements EventQueue {
      * @return true, if successful
      */
     public boolean remove(SimEvent event) {
-        return list.remove(event);
+        final LinkedList<SimEvent> bucket = buckets.get(event.getDestination());
+        if (bucket != null && bucket.remove(event)) {
+            removedFromBucket(event.getDestination(), bucket);
+            return true;
+        }
+
+        return false;
     }
 
+    /**
+     * Updates the queue size after an event was removed from a bucket,
+     * removing the bucket if it became empty, so that buckets of entities
+     * that don't receive deferred events anymore don't stay in the queue.
+     *
+     * @param dest the id of the destination entity of the bucket
+     * @param bucket the bucket an event was removed from
+     */
+    private void removedFromBucket(int dest, LinkedList<SimEvent> bucket) {
+        size--;
+        if (bucket.isEmpty()) {
+            buckets.remove(dest);
+        }
+    }
 
     @Override
     public SimEvent first() throws NoSuchElementException {
-	    if(list.isEmpty())
-	        throw new NoSuchElementException("The Deferred Queue is empty.");
-
-        return list.get(0);
+        return buckets.values().stream()
+                      .map(LinkedList::getFirst)
+                      .min(EVENT_ORDER)
+                      .orElseThrow(() -> new NoSuchElementException("The Deferred Queue is empty."));
     }
 
     /**
 	 * Clears the queue.
 	 */
 	public void clear() {
-		list.clear();
+		buckets.clear();
+		size = 0;
 	}
 
 }
@@ -11,67 +11,50 @@ package org.cloudbus.cloudsim.core.events;
 import org.cloudbus.cloudsim.core.CloudSim;
 
 import java.util.Collection;
-import java.util.Iterator;
-import java.util.NoSuchElementException;
-import java.util.SortedSet;
-import java.util.TreeSet;
-import java.util.stream.Stream;
+import java.util.List;
 
 /**
- * This class implements the future event queue used by {@link CloudSim}.
- * The event queue uses a {@link TreeSet} in order to store the events.
+ * An interface to be implemented by the future event queue used by {@link CloudSim}.
+ * Events are kept ordered by their {@link SimEvent#eventTime() time} and,
+ * for events happening at the same time, by their {@link SimEvent#getSerial() serial}.
+ * Events with the same time and serial are served in the order they were added.
+ *
+ * <p>Different implementations provide different trade-offs for the
+ * priority queue that stores the events, enabling the simulation
+ * to be configured with the one that better fits the event pattern of a given scenario
+ * (see {@link CloudSim#setFutureQueue(FutureQueue)}).
+ * Unless an implementation states otherwise, {@link #iterator()} and {@link #stream()}
+ * don't return the events in any specific order. Use {@link #first()} to get the next event
+ * to be processed.</p>
  *
  * @author Marcos Dias de Assuncao
- * @see java.util.TreeSet
+ * @author Manoel Campos da Silva Filho
+ * @see FutureQueueTreeSet
+ * @see FutureQueueDaryHeap
+ * @see FutureQueueCalendar
+ * @see FutureQueueLadder
  * @since CloudSim Toolkit 1.0
  */
-public class FutureQueue implements EventQueue {
-
-    /**
-     * The sorted set of events.
-     */
-    private final SortedSet<SimEvent> sortedSet = new TreeSet<>();
-
+public interface FutureQueue extends EventQueue {
     /**
-     * A incremental number used for {@link SimEvent#getSerial()} event attribute.
+     * Adds a new event to the head of the queue,
+     * that is, before all other events scheduled to the same time.
+     *
+     * @param newEvent The event to be put in the queue.
      */
-    private long serial = 0;
-
-    @Override
-    public void addEvent(SimEvent newEvent) {
-        newEvent.setSerial(serial++);
-        sortedSet.add(newEvent);
-    }
+    void addEventFirst(SimEvent newEvent);
 
     /**
-     * Adds a new event to the head of the queue.
+     * Removes all the events at the head of the queue that happen at a given time,
+     * adding them to a list in the order they have to be processed.
+     * Just such leading events are visited, instead of the entire queue.
      *
-     * @param newEvent The event to be put in the queue.
+     * @param time the time of the events to remove
+     * @param buffer the list to add the removed events to,
+     *               which is not cleared in order to allow it to be reused by the caller
+     * @return the number of removed events
      */
-    public void addEventFirst(SimEvent newEvent) {
-        newEvent.setSerial(0);
-        sortedSet.add(newEvent);
-    }
-
-    @Override
-    public Iterator<SimEvent> iterator() {
-        return sortedSet.iterator();
-    }
-
-    @Override
-    public Stream<SimEvent> stream() {
-        return sortedSet.stream();
-    }
-
-    @Override
-    public int size() {
-        return sortedSet.size();
-    }
-
-    @Override
-    public boolean isEmpty() {
-        return sortedSet.isEmpty();
-    }
+    int pollFirstEventsAt(double time, List<SimEvent> buffer);
 
     /**
      * Removes the event from the queue.
@@ -79,9 +62,7 @@ public class FutureQueue implements EventQueue {
      * @param event the event
      * @return true, if successful
      */
-    public boolean remove(SimEvent event) {
-        return sortedSet.remove(event);
-    }
+    boolean remove(SimEvent event);
 
     /**
      * Removes all the events from the queue.
@@ -89,20 +70,10 @@ public class FutureQueue implements EventQueue {
      * @param events the events
      * @return true, if successful
      */
-    public boolean removeAll(Collection<SimEvent> events) {
-        return sortedSet.removeAll(events);
-    }
-
-    @Override
-    public SimEvent first() throws NoSuchElementException {
-        return sortedSet.first();
-    }
+    boolean removeAll(Collection<SimEvent> events);
 
     /**
      * Clears the queue.
      */
-    public void clear() {
-        sortedSet.clear();
-    }
-
+    void clear();
 }
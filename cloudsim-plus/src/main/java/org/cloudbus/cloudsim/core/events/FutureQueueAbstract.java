@@ -0,0 +1,102 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.List;
+
+/**
+ * A base class for {@link FutureQueue} implementations that
+ * assigns the {@link SimEvent#getSerial() serial number} of added events,
+ * leaving to subclasses just the storage of such events.
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public abstract class FutureQueueAbstract implements FutureQueue {
+    /**
+     * A incremental number used for {@link SimEvent#getSerial()} event attribute.
+     */
+    private long serial = 0;
+
+    @Override
+    public void addEvent(SimEvent newEvent) {
+        newEvent.setSerial(serial++);
+        insert(newEvent);
+    }
+
+    @Override
+    public void addEventFirst(SimEvent newEvent) {
+        newEvent.setSerial(0);
+        insert(newEvent);
+    }
+
+    @Override
+    public int pollFirstEventsAt(double time, List<SimEvent> buffer) {
+        int count = 0;
+        while (!isEmpty() && first().eventTime() == time) {
+            buffer.add(pollFirst());
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Removes and returns the first event in the queue.
+     * Implementations may override it to avoid searching
+     * the event that is being removed.
+     *
+     * @return the removed event
+     * @throws java.util.NoSuchElementException when the queue is empty
+     */
+    protected SimEvent pollFirst() {
+        final SimEvent event = first();
+        remove(event);
+        return event;
+    }
+
+    /**
+     * Stores an event into the queue, after its serial number was already assigned.
+     * The event must be placed after all events having the same time and serial.
+     *
+     * @param newEvent the event to store
+     */
+    protected abstract void insert(SimEvent newEvent);
+
+    /**
+     * Compares two events just by their time and serial.
+     * Differently from {@link SimEvent#compareTo(SimEvent)}, this method
+     * returns 0 for distinct events having equal time and serial,
+     * enabling implementations to decide by themselves how to keep such events
+     * in insertion order.
+     *
+     * @param event1 the first event to compare
+     * @param event2 the second event to compare
+     * @return a negative number, zero or a positive number if the first event
+     * happens before, together or after the second one
+     */
+    protected static int compare(SimEvent event1, SimEvent event2) {
+        final int cmp = Double.compare(event1.eventTime(), event2.eventTime());
+        return cmp != 0 ? cmp : Long.compare(event1.getSerial(), event2.getSerial());
+    }
+}
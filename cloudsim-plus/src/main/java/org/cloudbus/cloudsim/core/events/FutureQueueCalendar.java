@@ -0,0 +1,279 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureQueue} implemented as a Calendar Queue, which distributes events
+ * into an array of buckets (the days of a year), where each bucket
+ * stores the events happening into a given time interval (the day width).
+ * The number of buckets and their width are adjusted
+ * as the queue grows or shrinks, providing O(1) average time for
+ * insertions and removals when event times are reasonably well distributed.
+ *
+ * <p>If events are very unevenly distributed along time
+ * (such as a burst of near events and a few ones in the distant future),
+ * the performance may degrade. In such cases, a {@link FutureQueueLadder} may be a better choice.</p>
+ *
+ * @see <a href="https://doi.org/10.1145/63039.63045">R. Brown, Calendar queues: a fast O(1) priority queue
+ * implementation for the simulation event set problem. Communications of the ACM, 1988</a>
+ * @since CloudSim Plus 1.2.0
+ */
+public class FutureQueueCalendar extends FutureQueueAbstract {
+    private static final int MIN_BUCKETS = 2;
+
+    /**
+     * The maximum number of events near the head of the queue
+     * used to estimate the bucket width when the calendar is resized.
+     */
+    private static final int WIDTH_SAMPLE_SIZE = 25;
+
+    private SortedEventList[] buckets;
+
+    /**
+     * The time interval covered by each bucket.
+     */
+    private double width;
+
+    /**
+     * The number of the bucket, as if there were infinite buckets, where the search
+     * for the first event starts. No event has a time before such a bucket.
+     */
+    private long currentVirtualBucket;
+
+    private int size;
+
+    /**
+     * Creates an empty calendar queue.
+     */
+    public FutureQueueCalendar() {
+        reset();
+    }
+
+    private void reset() {
+        buckets = newBuckets(MIN_BUCKETS);
+        width = 1.0;
+        currentVirtualBucket = 0;
+        size = 0;
+    }
+
+    private static SortedEventList[] newBuckets(final int count) {
+        final SortedEventList[] array = new SortedEventList[count];
+        for (int i = 0; i < count; i++) {
+            array[i] = new SortedEventList();
+        }
+
+        return array;
+    }
+
+    private long virtualBucketOf(final double time) {
+        return (long)Math.floor(time / width);
+    }
+
+    /**
+     * Gets the index of the actual bucket for a virtual one.
+     * Since the number of buckets is a power of 2, this works even for negative virtual buckets.
+     */
+    private int indexOf(final long virtualBucket) {
+        return (int)(virtualBucket & (buckets.length - 1));
+    }
+
+    @Override
+    protected void insert(SimEvent newEvent) {
+        final long virtualBucket = virtualBucketOf(newEvent.eventTime());
+        if(size == 0 || virtualBucket < currentVirtualBucket){
+            currentVirtualBucket = virtualBucket;
+        }
+
+        buckets[indexOf(virtualBucket)].add(newEvent);
+        if(++size > 2 * buckets.length){
+            resize(buckets.length * 2);
+        }
+    }
+
+    /**
+     * Gets the index of the bucket containing the first event in the queue,
+     * updating the {@link #currentVirtualBucket}.
+     */
+    private int firstBucketIndex() {
+        if(size == 0){
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        for (int i = 0; i < buckets.length; i++) {
+            final long virtualBucket = currentVirtualBucket + i;
+            final int index = indexOf(virtualBucket);
+            final SortedEventList bucket = buckets[index];
+            if(!bucket.isEmpty() && virtualBucketOf(bucket.first().eventTime()) == virtualBucket){
+                currentVirtualBucket = virtualBucket;
+                return index;
+            }
+        }
+
+        /* A whole year was checked without finding an event into the current one.
+         * The next event is far in the future, thus a direct search is performed. */
+        int first = -1;
+        for (int i = 0; i < buckets.length; i++) {
+            if(!buckets[i].isEmpty() && (first < 0 || compare(buckets[i].first(), buckets[first].first()) < 0)){
+                first = i;
+            }
+        }
+
+        currentVirtualBucket = virtualBucketOf(buckets[first].first().eventTime());
+        return first;
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        return buckets[firstBucketIndex()].first();
+    }
+
+    @Override
+    protected SimEvent pollFirst() {
+        final SimEvent event = buckets[firstBucketIndex()].pollFirst();
+        decreaseSize();
+        return event;
+    }
+
+    @Override
+    public boolean remove(SimEvent event) {
+        if(!buckets[indexOf(virtualBucketOf(event.eventTime()))].remove(event)){
+            return false;
+        }
+
+        decreaseSize();
+        return true;
+    }
+
+    /**
+     * Decreases the queue size after an event is removed,
+     * shrinking the calendar when there are too many buckets for the remaining events.
+     */
+    private void decreaseSize() {
+        if(--size < buckets.length / 2 - 2 && buckets.length > MIN_BUCKETS){
+            resize(buckets.length / 2);
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<SimEvent> events) {
+        boolean removed = false;
+        for (final SimEvent event : events) {
+            removed |= remove(event);
+        }
+
+        return removed;
+    }
+
+    /**
+     * Changes the number of buckets, estimating a new bucket width
+     * from the separation between the first events, then redistributes the events.
+     *
+     * @param bucketsNumber the new number of buckets (a power of 2)
+     */
+    private void resize(final int bucketsNumber) {
+        final SortedEventList[] oldBuckets = buckets;
+        width = newWidth();
+        buckets = newBuckets(bucketsNumber);
+        boolean first = true;
+        for (final SortedEventList bucket : oldBuckets) {
+            /* Events are moved keeping their relative order,
+             * so that the ones with the same time and serial stay in insertion order. */
+            for (final Iterator<SimEvent> it = bucket.stream().iterator(); it.hasNext(); ) {
+                final SimEvent event = it.next();
+                final long virtualBucket = virtualBucketOf(event.eventTime());
+                if(first || virtualBucket < currentVirtualBucket){
+                    currentVirtualBucket = virtualBucket;
+                    first = false;
+                }
+                buckets[indexOf(virtualBucket)].add(event);
+            }
+        }
+    }
+
+    /**
+     * Computes the bucket width as 3 times the average separation
+     * between the first events, ignoring separations much larger than the average.
+     * If all such events happen at the same time, the average separation
+     * between all events is used instead.
+     *
+     * @return the new width or the current one if it cannot be estimated
+     */
+    private double newWidth() {
+        final double[] times = stream().mapToDouble(SimEvent::eventTime).toArray();
+        if(times.length < 2){
+            return width;
+        }
+
+        Arrays.sort(times);
+        final int samples = Math.min(times.length, WIDTH_SAMPLE_SIZE);
+        final double average = (times[samples - 1] - times[0]) / (samples - 1);
+        double total = 0;
+        int count = 0;
+        for (int i = 1; i < samples; i++) {
+            final double separation = times[i] - times[i - 1];
+            if (separation <= 2 * average) {
+                total += separation;
+                count++;
+            }
+        }
+
+        double newWidth = count == 0 ? 0 : 3 * total / count;
+        if(newWidth <= 0){
+            newWidth = 3 * (times[times.length - 1] - times[0]) / (times.length - 1);
+        }
+
+        return newWidth > 0 && !Double.isInfinite(newWidth) ? newWidth : width;
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        return Arrays.stream(buckets).flatMap(SortedEventList::stream);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        reset();
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureQueue} implemented as an array-based
+ * <a href="https://en.wikipedia.org/wiki/D-ary_heap">d-ary heap</a>.
+ * Insertions and removals of the first event are O(log<sub>d</sub> n)
+ * and, apart from the occasional growth of the internal arrays,
+ * don't allocate any object.
+ *
+ * <p>A larger arity makes the heap shallower, reducing the cost of insertions
+ * (that are usually more frequent than removals in a simulation),
+ * at the price of more comparisons when the first event is removed.</p>
+ *
+ * <p>Removing an arbitrary event (such as when an event is cancelled) requires a linear search.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class FutureQueueDaryHeap extends FutureQueueAbstract {
+    /**
+     * The default number of children of each heap node.
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * @see #getArity()
+     */
+    private final int arity;
+
+    /**
+     * The heap of events.
+     */
+    private SimEvent[] heap;
+
+    /**
+     * The time of each event in the {@link #heap}, stored
+     * in a primitive array to avoid calling {@link SimEvent#eventTime()}
+     * for every comparison.
+     */
+    private double[] times;
+
+    /**
+     * The serial of each event in the {@link #heap}.
+     */
+    private long[] serials;
+
+    /**
+     * The order each event in the {@link #heap} was inserted,
+     * used to keep the insertion order for events with the same time and serial,
+     * since a heap isn't a stable structure.
+     */
+    private long[] insertionOrders;
+
+    /**
+     * A counter to define the {@link #insertionOrders} of inserted events.
+     */
+    private long insertionCounter;
+
+    private int size;
+
+    /**
+     * Creates a heap where each node has {@link #DEFAULT_ARITY} children.
+     */
+    public FutureQueueDaryHeap() {
+        this(DEFAULT_ARITY);
+    }
+
+    /**
+     * Creates a heap where each node has a given number of children.
+     *
+     * @param arity the number of children of each heap node (at least 2)
+     */
+    public FutureQueueDaryHeap(final int arity) {
+        if(arity < 2){
+            throw new IllegalArgumentException("The heap arity must be at least 2.");
+        }
+
+        this.arity = arity;
+        this.heap = new SimEvent[INITIAL_CAPACITY];
+        this.times = new double[INITIAL_CAPACITY];
+        this.serials = new long[INITIAL_CAPACITY];
+        this.insertionOrders = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Gets the number of children of each heap node.
+     * @return
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    @Override
+    protected void insert(SimEvent newEvent) {
+        if(size == heap.length){
+            grow();
+        }
+
+        set(size, newEvent, insertionCounter++);
+        siftUp(size++);
+    }
+
+    private void grow() {
+        final int capacity = heap.length * 2;
+        heap = Arrays.copyOf(heap, capacity);
+        times = Arrays.copyOf(times, capacity);
+        serials = Arrays.copyOf(serials, capacity);
+        insertionOrders = Arrays.copyOf(insertionOrders, capacity);
+    }
+
+    private void set(final int index, final SimEvent event, final long insertionOrder) {
+        heap[index] = event;
+        times[index] = event.eventTime();
+        serials[index] = event.getSerial();
+        insertionOrders[index] = insertionOrder;
+    }
+
+    /**
+     * Moves the event at a given position to another one.
+     * @param from the index of the event to move
+     * @param to the index to move the event to
+     */
+    private void move(final int from, final int to) {
+        heap[to] = heap[from];
+        times[to] = times[from];
+        serials[to] = serials[from];
+        insertionOrders[to] = insertionOrders[from];
+    }
+
+    /**
+     * Checks if the event at a given position must be processed
+     * before the event at another position.
+     */
+    private boolean isBefore(final int i, final int j) {
+        if(times[i] != times[j]) {
+            return times[i] < times[j];
+        }
+
+        if(serials[i] != serials[j]) {
+            return serials[i] < serials[j];
+        }
+
+        return insertionOrders[i] < insertionOrders[j];
+    }
+
+    private void swap(final int i, final int j) {
+        final SimEvent event = heap[i];
+        final double time = times[i];
+        final long serial = serials[i];
+        final long order = insertionOrders[i];
+        move(j, i);
+        heap[j] = event;
+        times[j] = time;
+        serials[j] = serial;
+        insertionOrders[j] = order;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            final int parent = (index - 1) / arity;
+            if (!isBefore(index, parent)) {
+                return;
+            }
+
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            final int firstChild = index * arity + 1;
+            if (firstChild >= size) {
+                return;
+            }
+
+            int smallest = firstChild;
+            final int lastChild = Math.min(firstChild + arity, size);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (isBefore(child, smallest)) {
+                    smallest = child;
+                }
+            }
+
+            if (!isBefore(smallest, index)) {
+                return;
+            }
+
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    /**
+     * Removes the event at a given position of the heap,
+     * replacing it by the last one.
+     *
+     * @param index the position of the event to remove
+     */
+    private void removeAt(final int index) {
+        final int last = --size;
+        if (index != last) {
+            move(last, index);
+            siftDown(index);
+            siftUp(index);
+        }
+
+        heap[last] = null;
+    }
+
+    private int indexOf(final SimEvent event) {
+        for (int i = 0; i < size; i++) {
+            if (heap[i] == event) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean remove(SimEvent event) {
+        final int index = indexOf(event);
+        if(index < 0){
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The events are removed in a single pass over the heap
+     * that is then rebuilt in O(n).
+     *
+     * @param events {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(Collection<SimEvent> events) {
+        if(events.isEmpty()){
+            return false;
+        }
+
+        final Set<SimEvent> toRemove = Collections.newSetFromMap(new IdentityHashMap<>(events.size()));
+        toRemove.addAll(events);
+
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (!toRemove.contains(heap[i])) {
+                move(i, newSize++);
+            }
+        }
+
+        if(newSize == size){
+            return false;
+        }
+
+        Arrays.fill(heap, newSize, size, null);
+        size = newSize;
+        for (int i = size / arity; i >= 0; i--) {
+            siftDown(i);
+        }
+
+        return true;
+    }
+
+    @Override
+    protected SimEvent pollFirst() {
+        final SimEvent event = first();
+        removeAt(0);
+        return event;
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        if(size == 0){
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        return heap[0];
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        return Arrays.stream(heap, 0, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+}
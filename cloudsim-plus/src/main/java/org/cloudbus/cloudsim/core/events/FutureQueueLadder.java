@@ -0,0 +1,429 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureQueue} implemented as a Ladder Queue, which is composed of 3 tiers:
+ * <ul>
+ *     <li><b>Top</b>: an unsorted list that receives the events happening after all the other ones;</li>
+ *     <li><b>Ladder</b>: a set of rungs, each one being an array of unsorted buckets.
+ *     When a bucket has too many events to be sorted, it is spread into a new rung
+ *     with finer buckets;</li>
+ *     <li><b>Bottom</b>: a sorted list with the next events to be processed.</li>
+ * </ul>
+ *
+ * <p>Events are just sorted when they reach the bottom, in small sets,
+ * giving O(1) amortized time for insertions and removals
+ * that, differently from a {@link FutureQueueCalendar},
+ * doesn't depend on how events are distributed along time.</p>
+ *
+ * @see <a href="https://doi.org/10.1145/1103323.1103324">W. T. Tang, R. S. M. Goh and I. L.-J. Thng,
+ * Ladder queue: An O(1) priority queue structure for large-scale discrete event simulation.
+ * ACM Transactions on Modeling and Computer Simulation, 2005</a>
+ * @since CloudSim Plus 1.2.0
+ */
+public class FutureQueueLadder extends FutureQueueAbstract {
+    /**
+     * The default maximum number of events in a bucket
+     * to be sorted into the bottom, instead of being spread into a new rung.
+     */
+    public static final int DEFAULT_THRESHOLD = 50;
+
+    private static final int MAX_RUNGS = 8;
+
+    /**
+     * @see #getThreshold()
+     */
+    private final int threshold;
+
+    /**
+     * The unsorted list of events happening after the {@link #topStart}.
+     */
+    private List<SimEvent> top;
+    private double topMin;
+    private double topMax;
+
+    /**
+     * The time after which new events are added to the {@link #top}.
+     * All events in the rungs and bottom happen before or at this time.
+     */
+    private double topStart;
+
+    private final Rung[] rungs;
+    private int rungsNumber;
+
+    private final SortedEventList bottom;
+
+    private int size;
+
+    /**
+     * A rung in the ladder, where each bucket stores the unsorted events
+     * happening in a time interval of a given width.
+     */
+    private static final class Rung {
+        private final double start;
+        private final double width;
+        private final List<SimEvent>[] buckets;
+
+        /**
+         * The index of the first bucket that may have events.
+         * Buckets before it were already moved to lower rungs or to the bottom.
+         */
+        private int current;
+
+        private int count;
+
+        @SuppressWarnings("unchecked")
+        private Rung(final double start, final double width, final int bucketsNumber) {
+            this.start = start;
+            this.width = width;
+            this.buckets = (List<SimEvent>[]) new List<?>[bucketsNumber];
+        }
+
+        /**
+         * Gets the index of the bucket for a given time, which is -1 if the time
+         * is before the rung start. Times after the rung end are placed into the last bucket.
+         */
+        private int bucketOf(final double time) {
+            final double index = Math.floor((time - start) / width);
+            if(index < 0){
+                return -1;
+            }
+
+            return index >= buckets.length ? buckets.length - 1 : (int)index;
+        }
+
+        private void add(final int index, final SimEvent event) {
+            if(buckets[index] == null){
+                buckets[index] = new ArrayList<>();
+            }
+
+            buckets[index].add(event);
+            count++;
+        }
+
+        private Stream<SimEvent> stream() {
+            return Arrays.stream(buckets, current, buckets.length)
+                         .filter(Objects::nonNull)
+                         .flatMap(List::stream);
+        }
+    }
+
+    /**
+     * Creates a ladder queue using the {@link #DEFAULT_THRESHOLD}.
+     */
+    public FutureQueueLadder() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a ladder queue using a given threshold.
+     *
+     * @param threshold the maximum number of events in a bucket
+     *                  to be sorted into the bottom, instead of being spread into a new rung
+     */
+    public FutureQueueLadder(final int threshold) {
+        if(threshold < 1){
+            throw new IllegalArgumentException("The threshold must be a positive number.");
+        }
+
+        this.threshold = threshold;
+        this.rungs = new Rung[MAX_RUNGS];
+        this.bottom = new SortedEventList();
+        reset();
+    }
+
+    private void reset() {
+        top = new ArrayList<>();
+        resetTopBounds();
+        topStart = Double.NEGATIVE_INFINITY;
+        Arrays.fill(rungs, null);
+        rungsNumber = 0;
+        bottom.clear();
+        size = 0;
+    }
+
+    private void resetTopBounds() {
+        topMin = Double.POSITIVE_INFINITY;
+        topMax = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Gets the maximum number of events in a bucket
+     * to be sorted into the bottom, instead of being spread into a new rung.
+     * @return
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    protected void insert(SimEvent newEvent) {
+        size++;
+        final double time = newEvent.eventTime();
+        if(time > topStart){
+            top.add(newEvent);
+            topMin = Math.min(topMin, time);
+            topMax = Math.max(topMax, time);
+            return;
+        }
+
+        for (int i = 0; i < rungsNumber; i++) {
+            final int index = rungs[i].bucketOf(time);
+            if(index >= rungs[i].current){
+                rungs[i].add(index, newEvent);
+                return;
+            }
+        }
+
+        bottom.add(newEvent);
+        if(bottom.size() > threshold && rungsNumber < MAX_RUNGS){
+            spreadBottomIntoNewRung();
+        }
+    }
+
+    /**
+     * Moves the events from the bottom to a new rung when there are too many events to be kept sorted.
+     * Such a rung becomes the lowest one and its last bucket receives all events
+     * happening after the last event in the bottom and before the current bucket of the upper rung.
+     */
+    private void spreadBottomIntoNewRung() {
+        final double start = bottom.first().eventTime();
+        final double width = (bottom.last().eventTime() - start) / bottom.size();
+        if(width <= 0){
+            return;
+        }
+
+        final List<SimEvent> events = new ArrayList<>(bottom.size());
+        bottom.stream().forEach(events::add);
+        bottom.clear();
+        spreadIntoNewRung(events, start, width, events.size());
+    }
+
+    /**
+     * Moves events from the upper tiers to the bottom when it is empty.
+     *
+     * @return true if the bottom has events, false if the queue is empty
+     */
+    private boolean fillBottom() {
+        while (bottom.isEmpty()) {
+            if(rungsNumber == 0){
+                if(top.isEmpty()){
+                    return false;
+                }
+
+                moveTopToLadder();
+                continue;
+            }
+
+            final Rung rung = rungs[rungsNumber - 1];
+            if(rung.count == 0){
+                rungs[--rungsNumber] = null;
+                continue;
+            }
+
+            while (rung.buckets[rung.current] == null || rung.buckets[rung.current].isEmpty()) {
+                rung.current++;
+            }
+
+            final List<SimEvent> bucket = rung.buckets[rung.current];
+            final double bucketStart = rung.start + rung.current * rung.width;
+            rung.buckets[rung.current++] = null;
+            rung.count -= bucket.size();
+            if(bucket.size() > threshold && rungsNumber < MAX_RUNGS && !isAllEventsAtSameTime(bucket)){
+                spreadIntoNewRung(bucket, bucketStart, rung.width / bucket.size(), bucket.size());
+            } else {
+                moveToBottom(bucket);
+            }
+        }
+
+        return true;
+    }
+
+    private void moveTopToLadder() {
+        final List<SimEvent> events = top;
+        final double width = (topMax - topMin) / events.size();
+        topStart = topMax;
+        top = new ArrayList<>();
+        if(events.size() <= threshold || width <= 0) {
+            moveToBottom(events);
+        } else {
+            spreadIntoNewRung(events, topMin, width, events.size());
+        }
+
+        resetTopBounds();
+    }
+
+    /**
+     * Creates a new rung and distributes a list of events into its buckets.
+     * Events that happen before the rung start (due to rounding) are moved to the bottom,
+     * which is always empty when this method is called.
+     */
+    private void spreadIntoNewRung(final List<SimEvent> events, final double start, final double width, final int bucketsNumber) {
+        final Rung rung = new Rung(start, width, bucketsNumber);
+        for (final SimEvent event : events) {
+            final int index = rung.bucketOf(event.eventTime());
+            if(index < 0) {
+                bottom.add(event);
+            } else {
+                rung.add(index, event);
+            }
+        }
+
+        rungs[rungsNumber++] = rung;
+    }
+
+    /**
+     * Sorts a list of events (keeping the insertion order of events with the same time and serial)
+     * and adds them to the bottom, which is always empty when this method is called.
+     */
+    private void moveToBottom(final List<SimEvent> events) {
+        events.sort(FutureQueueAbstract::compare);
+        events.forEach(bottom::add);
+    }
+
+    private boolean isAllEventsAtSameTime(final List<SimEvent> events) {
+        final double time = events.get(0).eventTime();
+        return events.stream().allMatch(event -> event.eventTime() == time);
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        if(!fillBottom()){
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        return bottom.first();
+    }
+
+    @Override
+    protected SimEvent pollFirst() {
+        final SimEvent event = first();
+        bottom.pollFirst();
+        decreaseSize();
+        return event;
+    }
+
+    @Override
+    public boolean remove(SimEvent event) {
+        if(!removeFromTiers(event)){
+            return false;
+        }
+
+        decreaseSize();
+        return true;
+    }
+
+    private void decreaseSize() {
+        /* When the queue becomes empty, the tiers are reset, so that
+         * the boundaries of the previous events don't affect where new events are placed. */
+        if(--size == 0){
+            reset();
+        }
+    }
+
+    /**
+     * Removes an event from the tier where it is supposed to be,
+     * according to its time.
+     */
+    private boolean removeFromTiers(final SimEvent event) {
+        final double time = event.eventTime();
+        if(time > topStart){
+            if(!removeByIdentity(top, event)){
+                return false;
+            }
+
+            if(top.isEmpty()){
+                resetTopBounds();
+            }
+
+            return true;
+        }
+
+        for (int i = 0; i < rungsNumber; i++) {
+            final Rung rung = rungs[i];
+            final int index = rung.bucketOf(time);
+            if(index >= rung.current){
+                if(rung.buckets[index] != null && removeByIdentity(rung.buckets[index], event)){
+                    rung.count--;
+                    return true;
+                }
+
+                return false;
+            }
+        }
+
+        return bottom.remove(event);
+    }
+
+    private static boolean removeByIdentity(final List<SimEvent> events, final SimEvent event) {
+        for (int i = 0; i < events.size(); i++) {
+            if(events.get(i) == event){
+                events.remove(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(Collection<SimEvent> events) {
+        boolean removed = false;
+        for (final SimEvent event : events) {
+            removed |= remove(event);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        final Stream<SimEvent> ladder = Arrays.stream(rungs, 0, rungsNumber).flatMap(Rung::stream);
+        return Stream.concat(Stream.concat(bottom.stream(), ladder), top.stream());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        reset();
+    }
+}
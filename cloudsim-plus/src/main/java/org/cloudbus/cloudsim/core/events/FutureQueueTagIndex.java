@@ -0,0 +1,143 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.*;
+
+/**
+ * An index of the events into a {@link FutureQueue} by their
+ * {@link SimEvent#getSource() source entity} and {@link SimEvent#getTag() tag},
+ * that enables cancelling such events without checking the entire queue.
+ *
+ * <p>Just the events having a pair of source entity and tag that was previously
+ * {@link #track(int, int) tracked} are indexed. This way, simulations that don't
+ * cancel events by their tags don't pay the price of keeping the index up-to-date.
+ * Events with negative tags are not indexed.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class FutureQueueTagIndex {
+    /**
+     * The tags that were tracked for at least one source entity,
+     * used to quickly check if an event must be indexed.
+     */
+    private final BitSet trackedTags = new BitSet();
+
+    /**
+     * The indexed events, where each key is made of a source entity id and a tag
+     * (see {@link #key(int, int)}). A key exists for each tracked pair, even if there is no event.
+     */
+    private final Map<Long, Set<SimEvent>> events = new HashMap<>();
+
+    private static long key(final int src, final int tag) {
+        return ((long) src << 32) | (tag & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Checks if events with a given source entity and tag are indexed.
+     *
+     * @param src the id of the source entity
+     * @param tag the event tag
+     * @return true if such events are indexed, false otherwise
+     */
+    public boolean isTracked(final int src, final int tag) {
+        return tag >= 0 && trackedTags.get(tag) && events.containsKey(key(src, tag));
+    }
+
+    /**
+     * Starts indexing new events with a given source entity and tag.
+     * Events of this kind that were already added to the queue are not indexed.
+     *
+     * @param src the id of the source entity
+     * @param tag the event tag
+     * @return true if such events can be indexed, false if the tag is negative
+     */
+    public boolean track(final int src, final int tag) {
+        if(tag < 0){
+            return false;
+        }
+
+        trackedTags.set(tag);
+        events.computeIfAbsent(key(src, tag), k -> new HashSet<>());
+        return true;
+    }
+
+    /**
+     * Indexes an event that was added to the queue, if its source entity and tag are tracked.
+     *
+     * @param event the added event
+     */
+    public void add(final SimEvent event) {
+        final Set<SimEvent> set = getEvents(event);
+        if(set != null){
+            set.add(event);
+        }
+    }
+
+    /**
+     * Removes an event from the index, after it was removed from the queue.
+     *
+     * @param event the removed event
+     */
+    public void remove(final SimEvent event) {
+        final Set<SimEvent> set = getEvents(event);
+        if(set != null){
+            set.remove(event);
+        }
+    }
+
+    private Set<SimEvent> getEvents(final SimEvent event) {
+        final int tag = event.getTag();
+        if(tag < 0 || !trackedTags.get(tag)){
+            return null;
+        }
+
+        return events.get(key(event.getSource(), tag));
+    }
+
+    /**
+     * Removes from the index all the events with a given source entity and tag.
+     *
+     * @param src the id of the source entity
+     * @param tag the event tag
+     * @return the removed events, which must be removed from the queue by the caller
+     */
+    public Collection<SimEvent> removeAll(final int src, final int tag) {
+        final Set<SimEvent> set = events.get(key(src, tag));
+        if(set == null || set.isEmpty()){
+            return Collections.emptyList();
+        }
+
+        final List<SimEvent> removed = new ArrayList<>(set);
+        set.clear();
+        return removed;
+    }
+
+    /**
+     * Removes all events from the index, keeping the tracked source entities and tags.
+     */
+    public void clear() {
+        events.values().forEach(Set::clear);
+    }
+}
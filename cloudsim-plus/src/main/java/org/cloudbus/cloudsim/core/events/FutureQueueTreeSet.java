@@ -0,0 +1,104 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureQueue} that uses a {@link TreeSet} in order to store the events.
+ * It was the only future queue available until CloudSim Plus 1.2.
+ * Each insertion and removal is O(log n) and allocates a tree node.
+ *
+ * <p>Differently from other implementations, the {@link #iterator()} and {@link #stream()}
+ * return events in the order they will be processed.</p>
+ *
+ * @see java.util.TreeSet
+ * @since CloudSim Plus 1.2.0
+ */
+public class FutureQueueTreeSet extends FutureQueueAbstract {
+
+    /**
+     * The sorted set of events.
+     */
+    private final TreeSet<SimEvent> sortedSet = new TreeSet<>();
+
+    @Override
+    protected void insert(SimEvent newEvent) {
+        sortedSet.add(newEvent);
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return sortedSet.iterator();
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        return sortedSet.stream();
+    }
+
+    @Override
+    public int size() {
+        return sortedSet.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return sortedSet.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Since {@link SimEvent#compareTo(SimEvent)} doesn't consider distinct events
+     * having the same time and serial as equal, the TreeSet may not find such events.
+     * In this case, a linear search is performed.
+     *
+     * @param event {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean remove(SimEvent event) {
+        return sortedSet.remove(event) || sortedSet.removeIf(e -> e == event);
+    }
+
+    @Override
+    public boolean removeAll(Collection<SimEvent> events) {
+        boolean removed = false;
+        for (final SimEvent event : events) {
+            removed |= remove(event);
+        }
+
+        return removed;
+    }
+
+    @Override
+    protected SimEvent pollFirst() {
+        final SimEvent event = sortedSet.pollFirst();
+        if(event == null){
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        return event;
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        return sortedSet.first();
+    }
+
+    @Override
+    public void clear() {
+        sortedSet.clear();
+    }
+
+}
@@ -0,0 +1,323 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimEntity;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudsimplus.listeners.EventListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * A pool of mutable {@link SimEvent}s that are recycled by a {@link CloudSim} instance
+ * after being processed, avoiding the allocation of a new object for every sent event.
+ *
+ * <p>An event is returned to the pool after it is processed by the
+ * {@link CloudSimEntity#processEvent(SimEvent) destination entity}
+ * or, for internal events, after the simulation processes it.
+ * Therefore, entities and {@link Simulation#addOnEventProcessingListener(EventListener) listeners}
+ * must not keep references to received events. If an event is required after that,
+ * a copy must be created using {@link CloudSimEvent#CloudSimEvent(SimEvent)}.</p>
+ *
+ * <p>When the retention check is enabled, accessing an event that was already
+ * returned to the pool throws an {@link IllegalStateException}. Released events are then
+ * reused in FIFO order, keeping them in the pool as long as possible to increase the chance
+ * of detecting such an access.</p>
+ *
+ * @see CloudSim#enableEventRecycling(boolean)
+ * @since CloudSim Plus 1.2.0
+ */
+public class SimEventPool {
+    private final Simulation simulation;
+
+    /**
+     * @see #isRetentionChecked()
+     */
+    private final boolean retentionChecked;
+
+    /**
+     * The events available to be reused.
+     */
+    private final Deque<PooledEvent> available;
+
+    /**
+     * @see #getCreatedEvents()
+     */
+    private long createdEvents;
+
+    /**
+     * Creates an event pool for a given simulation.
+     *
+     * @param simulation the simulation the events belong to
+     * @param retentionChecked if accessing events that were already returned to the pool must throw an exception
+     */
+    public SimEventPool(final Simulation simulation, final boolean retentionChecked) {
+        this.simulation = Objects.requireNonNull(simulation);
+        this.retentionChecked = retentionChecked;
+        this.available = new ArrayDeque<>();
+    }
+
+    /**
+     * Gets an event from the pool, creating a new one if there is no available event.
+     *
+     * @param type the event type
+     * @param time the time the event has to be processed
+     * @param src the id of the entity that is sending the event
+     * @param dest the id of the entity that will receive the event
+     * @param tag the event tag
+     * @param data the event data
+     * @return the event with the given attributes
+     */
+    public SimEvent acquire(final SimEvent.Type type, final double time, final int src, final int dest, final int tag, final Object data) {
+        PooledEvent event = available.pollFirst();
+        if(event == null){
+            event = new PooledEvent(this);
+            createdEvents++;
+        }
+
+        event.set(type, time, src, dest, tag, data);
+        return event;
+    }
+
+    /**
+     * Returns an event to the pool it was got from, if it's a pooled event.
+     * Events that aren't pooled are just ignored.
+     *
+     * @param event the event to release
+     * @return true if the event was returned to a pool, false otherwise
+     * @throws IllegalStateException when the retention check is enabled and the event was already released
+     */
+    public static boolean release(final SimEvent event) {
+        if(!(event instanceof PooledEvent)){
+            return false;
+        }
+
+        final PooledEvent pooled = (PooledEvent) event;
+        return pooled.pool.add(pooled);
+    }
+
+    private boolean add(final PooledEvent event) {
+        if(event.released){
+            if(retentionChecked){
+                throw new IllegalStateException("The event was already returned to the pool.");
+            }
+
+            return false;
+        }
+
+        event.release();
+        if(retentionChecked){
+            available.addLast(event);
+        } else {
+            available.addFirst(event);
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if accessing events that were already returned to the pool throws an exception.
+     * @return
+     */
+    public boolean isRetentionChecked() {
+        return retentionChecked;
+    }
+
+    /**
+     * Gets the total number of event objects created by the pool,
+     * that is, the ones that couldn't be recycled.
+     * @return
+     */
+    public long getCreatedEvents() {
+        return createdEvents;
+    }
+
+    /**
+     * Gets the number of events in the pool that are available to be reused.
+     * @return
+     */
+    public int getAvailableEvents() {
+        return available.size();
+    }
+
+    /**
+     * A mutable event that is recycled by a {@link SimEventPool}.
+     */
+    private static final class PooledEvent implements SimEvent {
+        private final SimEventPool pool;
+        private boolean released;
+
+        private Type type;
+        private double time;
+        private int src;
+        private int dest;
+        private int tag;
+        private Object data;
+        private long serial;
+
+        private PooledEvent(final SimEventPool pool) {
+            this.pool = pool;
+        }
+
+        private void set(final Type type, final double time, final int src, final int dest, final int tag, final Object data) {
+            this.released = false;
+            this.type = type;
+            this.time = time;
+            this.src = src;
+            this.dest = dest;
+            this.tag = tag;
+            this.data = data;
+            this.serial = -1;
+        }
+
+        /**
+         * Marks the event as released, clearing the reference to its data
+         * so that it can be garbage collected.
+         */
+        private void release() {
+            this.released = true;
+            this.data = null;
+        }
+
+        private void checkRetention() {
+            if(released && pool.retentionChecked){
+                throw new IllegalStateException(
+                    "A recycled event was accessed after being processed. " +
+                    "Copy the event using new CloudSimEvent(event) if you need to keep it.");
+            }
+        }
+
+        @Override
+        public Type getType() {
+            checkRetention();
+            return type;
+        }
+
+        @Override
+        public int getDestination() {
+            checkRetention();
+            return dest;
+        }
+
+        @Override
+        public int getSource() {
+            checkRetention();
+            return src;
+        }
+
+        @Override
+        public double eventTime() {
+            checkRetention();
+            return time;
+        }
+
+        @Override
+        public double endWaitingTime() {
+            checkRetention();
+            return -1;
+        }
+
+        @Override
+        public int scheduledBy() {
+            checkRetention();
+            return src;
+        }
+
+        @Override
+        public int getTag() {
+            checkRetention();
+            return tag;
+        }
+
+        @Override
+        public Object getData() {
+            checkRetention();
+            return data;
+        }
+
+        @Override
+        public SimEvent setSource(final int source) {
+            checkRetention();
+            this.src = source;
+            return this;
+        }
+
+        @Override
+        public SimEvent setDestination(final int destination) {
+            checkRetention();
+            this.dest = destination;
+            return this;
+        }
+
+        @Override
+        public double getTime() {
+            checkRetention();
+            return time;
+        }
+
+        @Override
+        public long getSerial() {
+            checkRetention();
+            return serial;
+        }
+
+        @Override
+        public void setSerial(final long serial) {
+            checkRetention();
+            this.serial = serial;
+        }
+
+        @Override
+        public Simulation getSimulation() {
+            return pool.simulation;
+        }
+
+        @Override
+        public int compareTo(final SimEvent event) {
+            checkRetention();
+            if (Objects.isNull(event)) {
+                return 1;
+            } else if (time < event.getTime()) {
+                return -1;
+            } else if (time > event.getTime()) {
+                return 1;
+            } else if (serial < event.getSerial()) {
+                return -1;
+            } else if (this == event) {
+                return 0;
+            } else {
+                return 1;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Event tag = " + tag + " source = " + pool.simulation.getEntity(src).getName() + " destination = "
+                    + pool.simulation.getEntity(dest).getName();
+        }
+    }
+}
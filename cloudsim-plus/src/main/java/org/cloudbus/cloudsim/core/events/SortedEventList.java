@@ -0,0 +1,196 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * An array-backed list of events sorted by {@link FutureQueueAbstract#compare(SimEvent, SimEvent)}
+ * that is used as a bucket by some {@link FutureQueue} implementations.
+ * Events with the same time and serial are kept in insertion order.
+ *
+ * <p>Appending an event that happens after all the existing ones and removing the first event
+ * are O(1), which are the common operations in a simulation.
+ * Inserting an event in the middle of the list is O(n).</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+final class SortedEventList {
+    private static final SimEvent[] EMPTY = new SimEvent[0];
+
+    private SimEvent[] events = EMPTY;
+
+    /**
+     * The index of the first event in the {@link #events} array.
+     */
+    private int head;
+
+    /**
+     * The index after the last event in the {@link #events} array.
+     */
+    private int tail;
+
+    int size() {
+        return tail - head;
+    }
+
+    boolean isEmpty() {
+        return tail == head;
+    }
+
+    SimEvent first() {
+        if(isEmpty()){
+            throw new NoSuchElementException("The event list is empty.");
+        }
+
+        return events[head];
+    }
+
+    SimEvent last() {
+        if(isEmpty()){
+            throw new NoSuchElementException("The event list is empty.");
+        }
+
+        return events[tail - 1];
+    }
+
+    SimEvent pollFirst() {
+        final SimEvent event = first();
+        events[head++] = null;
+        if(head == tail){
+            head = tail = 0;
+        }
+
+        return event;
+    }
+
+    /**
+     * Adds an event after all the ones that happen before or at the same time and serial of it.
+     * @param event the event to add
+     */
+    void add(final SimEvent event) {
+        if(tail == events.length){
+            makeRoom();
+        }
+
+        if(isEmpty() || FutureQueueAbstract.compare(events[tail-1], event) <= 0){
+            events[tail++] = event;
+            return;
+        }
+
+        final int index = upperBound(event);
+        System.arraycopy(events, index, events, index + 1, tail - index);
+        events[index] = event;
+        tail++;
+    }
+
+    /**
+     * Removes a given event, comparing them by identity.
+     *
+     * @param event the event to remove
+     * @return true if the event was found and removed, false otherwise
+     */
+    boolean remove(final SimEvent event) {
+        for (int i = lowerBound(event); i < tail && FutureQueueAbstract.compare(events[i], event) == 0; i++) {
+            if (events[i] == event) {
+                removeAt(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void removeAt(final int index) {
+        if(index == head){
+            pollFirst();
+            return;
+        }
+
+        System.arraycopy(events, index + 1, events, index, tail - index - 1);
+        events[--tail] = null;
+    }
+
+    /**
+     * Gets the index of the first event that happens after a given one.
+     */
+    private int upperBound(final SimEvent event) {
+        int low = head, high = tail;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (FutureQueueAbstract.compare(events[mid], event) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Gets the index of the first event that doesn't happen before a given one.
+     */
+    private int lowerBound(final SimEvent event) {
+        int low = head, high = tail;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (FutureQueueAbstract.compare(events[mid], event) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Moves the events to the beginning of the array
+     * or grows it if there isn't enough free space.
+     */
+    private void makeRoom() {
+        final int size = size();
+        if(head > 0 && size < events.length / 2){
+            System.arraycopy(events, head, events, 0, size);
+            Arrays.fill(events, size, tail, null);
+        } else {
+            events = Arrays.copyOfRange(events, head, head + Math.max(size * 2, 4));
+        }
+
+        head = 0;
+        tail = size;
+    }
+
+    Stream<SimEvent> stream() {
+        return Arrays.stream(events, head, tail);
+    }
+
+    void clear() {
+        events = EMPTY;
+        head = tail = 0;
+    }
+}
@@ -12,6 +12,7 @@ import org.cloudbus.cloudsim.core.events.SimEvent;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -50,6 +51,15 @@ public class PredicateType implements Predicate<SimEvent> {
         this.tags = Arrays.stream(tags).boxed().collect(Collectors.toList());
     }
 
+    /**
+     * Gets a read-only list of the tags that events have to match.
+     *
+     * @return the list of tags
+     */
+    public List<Integer> getTags() {
+        return Collections.unmodifiableList(tags);
+    }
+
     /**
      * Matches any event that has one of the specified {@link #tags}.
      *
@@ -54,6 +54,40 @@ public interface Datacenter extends SimEntity {
 
     Host getHost(final int index);
 
+    /**
+     * Updates the set of hosts that are {@link Host#isActive() active},
+     * which are the only ones to have their processing updated.
+     * It must be called by a Host every time its active state may have changed.
+     *
+     * @param host the Host to update the active state
+     */
+    void updateActiveHost(Host host);
+
+    /**
+     * Gets the times, in ascending order, when the processing of
+     * {@link Host#isActive() active} hosts was updated
+     * inside a given time interval.
+     * Hosts that were inactive during some interval can use such times to
+     * fill the gap in their history.
+     *
+     * @param after the time after which the processing times have to be returned (exclusive)
+     * @param before the time before which the processing times have to be returned (exclusive)
+     * @return an array with the processing times inside the given interval
+     */
+    double[] getHostsProcessingTimes(double after, double before);
+
+    /**
+     * Gets the percentage of its requested MIPS a VM gets from the Host it is migrating out of.
+     * By default, the VM just loses the {@link org.cloudbus.cloudsim.schedulers.vm.VmScheduler#getCpuOverheadDueToVmMigration()
+     * CPU overhead} applied by the VmScheduler of such a Host.
+     *
+     * @param sourceHost the Host the VM is migrating out of
+     * @param vm the migrating VM
+     * @return the percentage of MIPS in scale from 0 to 1
+     */
+    default double getVmMigrationMipsPercent(Host sourceHost, Vm vm) {
+        return 1 - sourceHost.getVmScheduler().getCpuOverheadDueToVmMigration();
+    }
 
     /**
      * Gets the policy to be used by the Datacenter to allocate VMs into hosts.
@@ -147,6 +181,8 @@ public interface Datacenter extends SimEntity {
         @Override public Host getHost(final int index) {
             return Host.NULL;
         }
+        @Override public void updateActiveHost(Host host) {}
+        @Override public double[] getHostsProcessingTimes(double after, double before) { return new double[0]; }
         @Override public double getSchedulingInterval() {
             return 0;
         }
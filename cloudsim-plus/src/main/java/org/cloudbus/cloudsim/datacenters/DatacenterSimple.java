@@ -10,6 +10,7 @@ import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.network.IcmpPacket;
 import org.cloudbus.cloudsim.util.DataCloudTags;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.util.DeferredActions;
 import org.cloudbus.cloudsim.util.Log;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
@@ -19,9 +20,13 @@ import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.cloudbus.cloudsim.resources.FileStorage;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
+import org.cloudsimplus.listeners.EventInfo;
+import org.cloudsimplus.listeners.EventListener;
 
 /**
  * Implements the basic features of a Virtualized Cloud Datacenter. It deals
@@ -54,6 +59,56 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     /** @see #getSchedulingInterval() */
     private double schedulingInterval;
 
+    /** @see #isPeriodicTickEnabled() */
+    private boolean periodicTickEnabled;
+
+    /**
+     * The listener that updates the processing of Cloudlets at every periodic tick of the simulation.
+     * @see #setPeriodicTickEnabled(boolean)
+     */
+    private final EventListener<EventInfo> periodicTickListener = info -> updateCloudletProcessing();
+
+    /**
+     * The interval the {@link #periodicTickListener} is registered with, or 0 if it isn't registered.
+     */
+    private double periodicTickInterval;
+
+    /**
+     * The time of the last update of Cloudlets processing scheduled by {@link #updateCloudletProcessing()}.
+     */
+    private double nextProcessingUpdateTime;
+
+    /** @see #getHostsProcessingPool() */
+    private ForkJoinPool hostsProcessingPool;
+
+    /**
+     * The indexes, inside the {@link #getHostList()}, of the hosts that are {@link Host#isActive() active}.
+     * @see #getActiveHostList()
+     */
+    private final BitSet activeHosts = new BitSet();
+
+    /**
+     * Maps each host to its index inside the {@link #getHostList()}.
+     */
+    private final Map<Host, Integer> hostIndexes = new IdentityHashMap<>();
+
+    /**
+     * The hosts in the order they were inside the {@link #getHostList()}
+     * when the {@link #hostIndexes} were mapped,
+     * used to find out when such indexes have to be mapped again.
+     */
+    private Host[] indexedHosts = new Host[0];
+
+    /**
+     * The times, in ascending order, when the processing of active hosts was updated.
+     * Just the first {@link #hostsProcessingTimesCount} positions are used.
+     * @see #getHostsProcessingTimes(double, double)
+     */
+    private double[] hostsProcessingTimes = new double[0];
+
+    /** @see #hostsProcessingTimes */
+    private int hostsProcessingTimesCount;
+
     /**
      * Creates a Datacenter.
      *
@@ -129,6 +184,96 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
     private void assignHostsToCurrentDatacenter() {
         getCharacteristics().getHostList().forEach(host -> host.setDatacenter(this));
+        getCharacteristics().getHostList().forEach(this::updateActiveHost);
+    }
+
+    @Override
+    public void updateActiveHost(Host host) {
+        final List<Host> list = getHostList();
+        final Integer index = hostIndexes.get(host);
+        if (index == null || index >= list.size() || list.get(index) != host) {
+            mapHostIndexes();
+            return;
+        }
+
+        activeHosts.set(index, host.isActive());
+    }
+
+    /**
+     * Maps each host to its current index inside the {@link #getHostList()}
+     * and rebuilds the set of active hosts according to such indexes.
+     */
+    private void mapHostIndexes() {
+        final List<Host> list = getHostList();
+        hostIndexes.clear();
+        activeHosts.clear();
+        indexedHosts = list.toArray(new Host[list.size()]);
+        for (int i = 0; i < indexedHosts.length; i++) {
+            hostIndexes.put(indexedHosts[i], i);
+            activeHosts.set(i, indexedHosts[i].isActive());
+        }
+    }
+
+    /**
+     * Gets the list of hosts that are {@link Host#isActive() active},
+     * in the same order they appear inside the {@link #getHostList()}.
+     * Inactive hosts have no VMs running, so that there is no processing to update
+     * or finished Cloudlets to check.
+     *
+     * <p>Changes in the {@link #getHostList()} (such as hosts added, removed or the list sorted)
+     * are detected by comparing its size and the hosts at the active indexes
+     * with the ones mapped, so that checking it costs no more than building the active list.
+     * Other changes are detected when the changed hosts {@link #updateActiveHost(Host) are updated}.</p>
+     *
+     * @param <T> the class of hosts inside the list
+     * @return the list of active hosts
+     */
+    protected <T extends Host> List<T> getActiveHostList() {
+        final List<T> list = getHostList();
+        if (list.size() != indexedHosts.length) {
+            mapHostIndexes();
+        }
+
+        final List<T> activeList = new ArrayList<>(activeHosts.cardinality());
+        for (int i = activeHosts.nextSetBit(0); i >= 0; i = activeHosts.nextSetBit(i + 1)) {
+            final T host = list.get(i);
+            if (host != indexedHosts[i]) {
+                mapHostIndexes();
+                return getActiveHostList();
+            }
+
+            activeList.add(host);
+        }
+
+        return activeList;
+    }
+
+    /**
+     * Adds a time when the processing of the {@link #getActiveHostList() active hosts} was updated.
+     * Times must be added in ascending order and repeated times are ignored.
+     *
+     * @param time the time to add
+     * @see #getHostsProcessingTimes(double, double)
+     */
+    protected void addHostsProcessingTime(final double time) {
+        if (hostsProcessingTimesCount > 0 && hostsProcessingTimes[hostsProcessingTimesCount - 1] >= time) {
+            return;
+        }
+
+        if (hostsProcessingTimesCount == hostsProcessingTimes.length) {
+            hostsProcessingTimes = Arrays.copyOf(hostsProcessingTimes, Math.max(16, hostsProcessingTimesCount * 2));
+        }
+
+        hostsProcessingTimes[hostsProcessingTimesCount++] = time;
+    }
+
+    @Override
+    public double[] getHostsProcessingTimes(final double after, final double before) {
+        int from = Arrays.binarySearch(hostsProcessingTimes, 0, hostsProcessingTimesCount, after);
+        from = from < 0 ? -from - 1 : from + 1;
+        int to = Arrays.binarySearch(hostsProcessingTimes, 0, hostsProcessingTimesCount, before);
+        to = to < 0 ? -to - 1 : to;
+        return from < to ? Arrays.copyOfRange(hostsProcessingTimes, from, to) : new double[0];
     }
 
     @Override
@@ -651,12 +796,13 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * (that is a future simulation time), or {@link Double#MAX_VALUE} if there is no next Cloudlet to execute
      * @return the minimum value between the {@link #getSchedulingInterval()} and the given time (if the scheduling interval
      * is enable, that is, is greate than 0), that represents when the next update of Cloudlets processing
-     * has to be performed
+     * has to be performed. If the {@link #isPeriodicTickEnabled() periodic tick is enabled}, the updates
+     * at every scheduling interval are performed by the simulation ticks, thus the given time is returned.
      *
      * @see #updateCloudletProcessing()
      */
     protected double getCloudletProcessingUpdateInterval(double completionTimeNextFinishingCloudlet){
-        return (schedulingInterval == 0 ?
+        return (schedulingInterval == 0 || periodicTickEnabled ?
             completionTimeNextFinishingCloudlet :
             Math.min(completionTimeNextFinishingCloudlet, schedulingInterval));
     }
@@ -814,13 +960,29 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         double nextSimulationTime = updateVmsProcessingOfAllHosts();
         if (nextSimulationTime != Double.MAX_VALUE) {
             nextSimulationTime = getCloudletProcessingUpdateInterval(nextSimulationTime);
-            schedule(getId(),
-                nextSimulationTime,
-                CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
+            scheduleCloudletProcessingUpdate(nextSimulationTime);
         }
         setLastProcessTime(getSimulation().clock());
     }
 
+    /**
+     * Schedules the next update of Cloudlets processing.
+     * If the {@link #isPeriodicTickEnabled() periodic tick is enabled}, the update is not scheduled
+     * when there is already one scheduled until the given delay,
+     * since the ticks would make every update to schedule a new event otherwise.
+     *
+     * @param delay the delay to update the Cloudlets processing
+     */
+    private void scheduleCloudletProcessingUpdate(double delay) {
+        final double time = getSimulation().clock() + delay;
+        if (periodicTickEnabled && nextProcessingUpdateTime > getSimulation().clock() && nextProcessingUpdateTime <= time) {
+            return;
+        }
+
+        nextProcessingUpdateTime = time;
+        schedule(getId(), delay, CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT);
+    }
+
     protected boolean isTimeToUpdateCloudletsProcessing() {
         // if some time passed since last processing
         // R: for term is to allow loop at simulation start. Otherwise, one initial
@@ -830,7 +992,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     }
 
     /**
-     * Updates the processing of VMs inside all active hosts,
+     * Updates the processing of VMs inside all {@link #getActiveHostList() active hosts},
      * that makes the processing of cloudlets inside such VMs to be updated.
      *
      * @return the predicted completion time of the earliest finishing cloudlet
@@ -839,12 +1001,11 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      *
      */
     protected double updateVmsProcessingOfAllHosts() {
-        List<? extends Host> list = getVmAllocationPolicy().getHostList();
-        double nextSimulationTime = Double.MAX_VALUE;
-        for (Host host : list) {
-            double time = host.updateProcessing(getSimulation().clock());
-            nextSimulationTime = Math.min(time, nextSimulationTime);
-        }
+        addHostsProcessingTime(getSimulation().clock());
+        List<? extends Host> list = getActiveHostList();
+        double nextSimulationTime = hostsProcessingPool == null || list.size() < 2 ?
+                                        updateHostsProcessingSequentially(list) :
+                                        updateHostsProcessingInParallel(list);
 
         // Guarantees a minimal interval before scheduling the event
         final double minTimeBetweenEvents = getSimulation().clock()+getSimulation().getMinTimeBetweenEvents()+0.01;
@@ -857,15 +1018,56 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         return nextSimulationTime;
     }
 
+    private double updateHostsProcessingSequentially(List<? extends Host> list) {
+        double nextSimulationTime = Double.MAX_VALUE;
+        for (Host host : list) {
+            double time = host.updateProcessing(getSimulation().clock());
+            nextSimulationTime = Math.min(time, nextSimulationTime);
+        }
+
+        return nextSimulationTime;
+    }
+
+    /**
+     * Updates the processing of hosts in parallel using the {@link #getHostsProcessingPool()}.
+     * Events sent, listeners notified and messages logged while a host is processed
+     * are deferred and, after all hosts are updated, performed in the simulation thread
+     * following the hosts order. That makes results to be the same as the sequential processing,
+     * except that listeners see all hosts already updated.
+     * Events can't be cancelled while a host is processed, as described in {@link #setHostsProcessingPool(ForkJoinPool)}.
+     *
+     * @param list the hosts to update
+     * @return the predicted completion time of the earliest finishing cloudlet
+     */
+    private double updateHostsProcessingInParallel(List<? extends Host> list) {
+        final double currentTime = getSimulation().clock();
+        final DeferredActions[] actions = new DeferredActions[list.size()];
+        final double[] times = new double[list.size()];
+        hostsProcessingPool.submit(() ->
+            IntStream.range(0, list.size()).parallel().forEach(i -> {
+                actions[i] = new DeferredActions();
+                times[i] = actions[i].collect(() -> list.get(i).updateProcessing(currentTime));
+            })
+        ).join();
+
+        double nextSimulationTime = Double.MAX_VALUE;
+        for (int i = 0; i < times.length; i++) {
+            actions[i].runAll();
+            nextSimulationTime = Math.min(times[i], nextSimulationTime);
+        }
+
+        return nextSimulationTime;
+    }
+
     /**
-     * Verifies if some cloudlet inside the hosts of this Datacenter have already finished.
+     * Verifies if some cloudlet inside the {@link #getActiveHostList() active hosts} of this Datacenter have already finished.
      * If yes, send them to the User/Broker
      *
      * @pre $none
      * @post $none
      */
     protected void checkCloudletsCompletionForAllHosts() {
-        List<? extends Host> list = getVmAllocationPolicy().getHostList();
+        List<? extends Host> list = getActiveHostList();
         list.forEach(this::checkCloudletsCompletionForGivenHost);
     }
 
@@ -958,6 +1160,11 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
     @Override
     public void shutdownEntity() {
+        if (periodicTickInterval > 0) {
+            getSimulation().removeOnPeriodicTickListener(periodicTickListener);
+            periodicTickInterval = 0;
+        }
+
         Log.printConcatLine(getName(), " is shutting down...");
     }
 
@@ -1109,6 +1316,97 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     @Override
     public final Datacenter setSchedulingInterval(double schedulingInterval) {
         this.schedulingInterval = schedulingInterval;
+        updatePeriodicTickListener();
+        return this;
+    }
+
+    /**
+     * Checks if the processing of Cloudlets is updated at every {@link #getSchedulingInterval() scheduling interval}
+     * by the periodic ticks of the simulation, instead of events the Datacenter sends to itself.
+     *
+     * @return true if the periodic tick is enabled, false otherwise
+     * @see #setPeriodicTickEnabled(boolean)
+     */
+    public boolean isPeriodicTickEnabled() {
+        return periodicTickEnabled;
+    }
+
+    /**
+     * Enables or disables the update of Cloudlets processing at every {@link #getSchedulingInterval() scheduling interval}
+     * by a {@link org.cloudbus.cloudsim.core.Simulation#addOnPeriodicTickListener(double, EventListener) periodic tick}
+     * of the simulation. It is disabled by default.
+     *
+     * <p>When enabled, the Datacenter doesn't send an event to itself for every scheduling interval,
+     * but only for the time the next Cloudlet is expected to finish.
+     * Datacenters with the same scheduling interval are updated by the same tick, reducing the number of
+     * events in the simulation. Ticks happen at multiples of the scheduling interval,
+     * not at the scheduling interval after the last update.
+     * It has no effect when the scheduling interval is 0
+     * or when a subclass schedules the processing updates by itself.</p>
+     *
+     * @param enabled true to enable the periodic tick, false to disable it
+     * @return
+     */
+    public final Datacenter setPeriodicTickEnabled(boolean enabled) {
+        this.periodicTickEnabled = enabled;
+        updatePeriodicTickListener();
+        return this;
+    }
+
+    /**
+     * Registers the {@link #periodicTickListener} for the current scheduling interval
+     * if the periodic tick is enabled, or unregisters it otherwise.
+     */
+    private void updatePeriodicTickListener() {
+        final double interval = periodicTickEnabled && schedulingInterval > 0 ? schedulingInterval : 0;
+        if (interval == periodicTickInterval) {
+            return;
+        }
+
+        if (periodicTickInterval > 0) {
+            getSimulation().removeOnPeriodicTickListener(periodicTickListener);
+        }
+
+        if (interval > 0) {
+            getSimulation().addOnPeriodicTickListener(interval, periodicTickListener);
+        }
+
+        periodicTickInterval = interval;
+    }
+
+    /**
+     * Gets the pool used to update the processing of hosts in parallel,
+     * or null if hosts are updated sequentially (the default).
+     *
+     * @return the hosts processing pool or null
+     * @see #setHostsProcessingPool(ForkJoinPool)
+     */
+    public ForkJoinPool getHostsProcessingPool() {
+        return hostsProcessingPool;
+    }
+
+    /**
+     * Sets a pool to update the processing of hosts in parallel, at every
+     * Datacenter processing update. This may reduce the simulation time
+     * for Datacenters with many hosts and VMs, since the processing of each host is independent.
+     *
+     * <p>Events sent, listeners notified and messages logged during the update of a host
+     * are deferred until all hosts are updated, being then performed in the simulation thread
+     * in the same order as in a sequential update. This way, simulation results are the same
+     * for both modes. However, listeners called during a host update
+     * (such as the ones notified when a Cloudlet finishes) see all hosts already updated
+     * and must not expect to run in the thread that is processing such a host.</p>
+     *
+     * <p>Cancelling events can't be deferred, since its result depends on the events sent before.
+     * Therefore, code called during the update of a host must not cancel events:
+     * {@link org.cloudbus.cloudsim.core.Simulation#cancel} and {@link org.cloudbus.cloudsim.core.Simulation#cancelAll}
+     * throw an {@link IllegalStateException} in such a case.</p>
+     *
+     * @param pool the pool to update hosts in parallel, or null to update them sequentially
+     * @return
+     */
+    public final Datacenter setHostsProcessingPool(ForkJoinPool pool) {
+        this.hostsProcessingPool = pool;
         return this;
     }
 
@@ -13,9 +13,14 @@ import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.FlowLevelNetwork;
+import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.NetworkFlow;
 import org.cloudbus.cloudsim.network.switches.AbstractSwitch;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
 import org.cloudbus.cloudsim.network.switches.Switch;
@@ -56,6 +61,22 @@ public class NetworkDatacenter extends DatacenterSimple {
      */
     private final List<Switch> switchMap;
 
+    /**
+     * @see #getFlowLevelNetwork()
+     */
+    private FlowLevelNetwork flowLevelNetwork;
+
+    /**
+     * @see #getVmHostIndex()
+     */
+    private final VmHostIndex vmHostIndex;
+
+    /**
+     * The time of the scheduled {@link CloudSimTags#NETWORK_FLOW_FINISH} event
+     * or {@link Double#MAX_VALUE} if no such event is scheduled.
+     */
+    private double nextFlowFinishTime = Double.MAX_VALUE;
+
     /**
      * Creates a NetworkDatacenter with the given parameters.
      *
@@ -78,6 +99,7 @@ public class NetworkDatacenter extends DatacenterSimple {
         super(simulation, characteristics, vmAllocationPolicy);
 
         switchMap = new ArrayList<>();
+        vmHostIndex = new VmHostIndex();
     }
 
     /**
@@ -212,6 +234,104 @@ public class NetworkDatacenter extends DatacenterSimple {
         checkCloudletsCompletionForAllHosts();
     }
 
+    @Override
+    protected void processOtherEvent(SimEvent ev) {
+        if (ev.getTag() == CloudSimTags.NETWORK_FLOW_FINISH) {
+            processFlowFinish();
+            return;
+        }
+
+        super.processOtherEvent(ev);
+    }
+
+    /**
+     * Starts the transfer of packets between hosts as flows of the {@link #getFlowLevelNetwork() flow-level network},
+     * which will be delivered to the destination hosts when their transfer finishes.
+     *
+     * @param packets the packets to send
+     * @throws IllegalStateException when the flow-level network is not enabled
+     */
+    public void startFlows(List<HostPacket> packets) {
+        if (!isFlowLevelNetworkEnabled()) {
+            throw new IllegalStateException("The flow-level network is not enabled for " + getName());
+        }
+
+        flowLevelNetwork.start(packets, getSimulation().clock());
+        scheduleFlowFinish();
+    }
+
+    /**
+     * Delivers the packets of flows that have finished their transfer to the
+     * edge switch of the destination hosts, after the switching delay of the flow path.
+     */
+    private void processFlowFinish() {
+        nextFlowFinishTime = Double.MAX_VALUE;
+        for (NetworkFlow flow : flowLevelNetwork.finishTransfers(getSimulation().clock())) {
+            send(flow.getDestination().getEdgeSwitch().getId(),
+                flow.getLatency(), CloudSimTags.NETWORK_EVENT_HOST, flow.getPacket());
+        }
+
+        scheduleFlowFinish();
+    }
+
+    /**
+     * Schedules the event for the next time some flow is expected to finish,
+     * cancelling the previous event if such a time has changed.
+     */
+    private void scheduleFlowFinish() {
+        final double finishTime = flowLevelNetwork.getNextTransferFinishTime();
+        if (finishTime == nextFlowFinishTime) {
+            return;
+        }
+
+        getSimulation().cancelAll(getId(), new PredicateType(CloudSimTags.NETWORK_FLOW_FINISH));
+        nextFlowFinishTime = finishTime;
+        if (finishTime < Double.MAX_VALUE) {
+            send(getId(), Math.max(0, finishTime - getSimulation().clock()), CloudSimTags.NETWORK_FLOW_FINISH);
+        }
+    }
+
+    /**
+     * Gets the index of the hosts where each VM is placed,
+     * which is kept current by {@link NetworkHost}s when VMs are created, destroyed or migrated.
+     * @return
+     */
+    public VmHostIndex getVmHostIndex() {
+        return vmHostIndex;
+    }
+
+    /**
+     * Checks if packets between hosts are transferred using a {@link FlowLevelNetwork}
+     * instead of being sent through each switch in their path.
+     * @return
+     */
+    public boolean isFlowLevelNetworkEnabled() {
+        return flowLevelNetwork != null;
+    }
+
+    /**
+     * Gets the flow-level network used to transfer packets between hosts.
+     *
+     * @return the flow-level network or null if packets are sent through each switch (the default)
+     * @see #isFlowLevelNetworkEnabled()
+     */
+    public FlowLevelNetwork getFlowLevelNetwork() {
+        return flowLevelNetwork;
+    }
+
+    /**
+     * Sets a flow-level network to transfer packets between hosts as flows sharing the bandwidth
+     * of the links in their path, so that just the start and finish of each transfer generate events.
+     * By default, packets are sent through each switch in their path.
+     *
+     * @param flowLevelNetwork the flow-level network to set or null to send packets through each switch
+     * @return
+     */
+    public NetworkDatacenter setFlowLevelNetwork(FlowLevelNetwork flowLevelNetwork) {
+        this.flowLevelNetwork = flowLevelNetwork;
+        return this;
+    }
+
     /**
      * Gets a <b>read-only</b> list of network Datacenter's Switches.
      * @return
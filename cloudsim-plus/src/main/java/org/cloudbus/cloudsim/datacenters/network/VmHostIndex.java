@@ -0,0 +1,126 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters.network;
+
+import java.util.*;
+
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * An index of the {@link NetworkHost}s where each VM of a {@link NetworkDatacenter} is placed,
+ * that enables finding the host of a VM in constant time, instead of searching the VM list of every host.
+ * The index is kept current by hosts when a VM is created, destroyed or migrated.
+ *
+ * <p>While a VM is migrating, it's placed into both the source and the target host.
+ * The VM is indexed by its ID, as hosts identify the VMs they hold.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class VmHostIndex {
+    /**
+     * The hosts where each VM is placed, in the order the VM was placed into them.
+     * The map key is the VM ID.
+     */
+    private final Map<Integer, List<NetworkHost>> vmHosts;
+
+    public VmHostIndex() {
+        this.vmHosts = new HashMap<>();
+    }
+
+    /**
+     * Indexes a VM that was placed into a host.
+     *
+     * @param vm the placed VM
+     * @param host the host where the VM was placed
+     */
+    public void add(Vm vm, NetworkHost host) {
+        final List<NetworkHost> hosts = vmHosts.computeIfAbsent(vm.getId(), id -> new ArrayList<>(2));
+        if (!hosts.contains(host)) {
+            hosts.add(host);
+        }
+    }
+
+    /**
+     * Removes a VM from the index of a host where it was placed.
+     *
+     * @param vm the VM removed from the host
+     * @param host the host where the VM was placed
+     */
+    public void remove(Vm vm, NetworkHost host) {
+        final List<NetworkHost> hosts = vmHosts.get(vm.getId());
+        if (Objects.isNull(hosts)) {
+            return;
+        }
+
+        hosts.remove(host);
+        if (hosts.isEmpty()) {
+            vmHosts.remove(vm.getId());
+        }
+    }
+
+    /**
+     * Checks if a VM is placed into a given host.
+     *
+     * @param vmId the ID of the VM to check
+     * @param host the host to check
+     * @return true if the VM is placed into the host, false otherwise
+     */
+    public boolean contains(int vmId, NetworkHost host) {
+        final List<NetworkHost> hosts = vmHosts.get(vmId);
+        return !Objects.isNull(hosts) && hosts.contains(host);
+    }
+
+    /**
+     * Gets the host where a VM was most recently placed,
+     * which is the migration target host when the VM is migrating.
+     *
+     * @param vmId the ID of the VM to get its host
+     * @return the host of the VM or null if the VM isn't placed into any host
+     */
+    public NetworkHost getHost(int vmId) {
+        final List<NetworkHost> hosts = vmHosts.get(vmId);
+        return Objects.isNull(hosts) ? null : hosts.get(hosts.size() - 1);
+    }
+
+    /**
+     * Gets a <b>read-only</b> list of the hosts where a VM is placed,
+     * in the order the VM was placed into them.
+     *
+     * @param vmId the ID of the VM to get its hosts
+     * @return the hosts of the VM or an empty list if the VM isn't placed into any host
+     */
+    public List<NetworkHost> getHosts(int vmId) {
+        final List<NetworkHost> hosts = vmHosts.get(vmId);
+        return Objects.isNull(hosts) ? Collections.emptyList() : Collections.unmodifiableList(hosts);
+    }
+
+    /**
+     * Gets the number of VMs placed into some host.
+     * @return
+     */
+    public int size() {
+        return vmHosts.size();
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters.power;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
+import org.cloudbus.cloudsim.hosts.power.PowerHostSimple;
+import org.cloudbus.cloudsim.power.models.PowerCurveTable;
+import org.cloudbus.cloudsim.power.models.PowerModel;
+
+/**
+ * Computes the energy consumed by the hosts of a {@link PowerDatacenter} at each time frame
+ * between two updates of the hosts processing, keeping the total energy consumed by each host
+ * and, optionally, the {@link HostEnergy#getEnergy(int) energy of each time frame}.
+ *
+ * <p>The CPU utilization of the hosts is stored into primitive arrays while hosts are updated
+ * and the energy of a time frame is computed in a single pass over such arrays,
+ * using a {@link PowerCurveTable} for each distinct {@link PowerModel}, which is shared by all hosts
+ * using the same model instance.
+ * The energy of a host is computed by the host itself
+ * (using {@link PowerHost#getEnergyLinearInterpolation(double, double, double)})
+ * when its class overrides how power or energy is computed by {@link PowerHostSimple}.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class EnergyMeter {
+    /**
+     * The hosts measured in the current time frame.
+     */
+    private HostEnergy[] hosts;
+
+    /**
+     * The power curve table of each host in the {@link #hosts} array,
+     * or null for hosts that compute their own energy.
+     */
+    private PowerCurveTable[] curves;
+
+    private double[] previousUtilization;
+    private double[] utilization;
+    private double[] timeFrameEnergy;
+
+    /**
+     * The number of hosts in the current time frame.
+     */
+    private int size;
+
+    /**
+     * The power curve table of each distinct power model.
+     */
+    private final Map<PowerModel, PowerCurveTable> curveTables;
+
+    /**
+     * Indicates, for each class of host, if the class computes energy as the {@link PowerHostSimple} does.
+     */
+    private final Map<Class<?>, Boolean> defaultEnergyHostClasses;
+
+    /**
+     * The energy consumed by each host measured so far.
+     */
+    private final Map<PowerHost, HostEnergy> hostEnergyMap;
+
+    /**
+     * @see #isHistoryEnabled()
+     */
+    private boolean historyEnabled;
+
+    /**
+     * Creates an EnergyMeter that doesn't keep the history of energy consumed by each host.
+     */
+    public EnergyMeter() {
+        this.hosts = new HostEnergy[0];
+        this.curves = new PowerCurveTable[0];
+        this.previousUtilization = new double[0];
+        this.utilization = new double[0];
+        this.timeFrameEnergy = new double[0];
+        this.curveTables = new IdentityHashMap<>();
+        this.defaultEnergyHostClasses = new HashMap<>();
+        this.hostEnergyMap = new HashMap<>();
+    }
+
+    /**
+     * Starts a time frame, defining the number of hosts to be measured.
+     * The CPU utilization of each one must be set by {@link #setUtilization(int, PowerHost, double, double)}
+     * before {@link #finishTimeFrame(double, double) finishing} the time frame.
+     *
+     * @param hostsNumber the number of hosts
+     */
+    public void startTimeFrame(final int hostsNumber) {
+        if (hostsNumber > hosts.length) {
+            hosts = Arrays.copyOf(hosts, hostsNumber);
+            curves = Arrays.copyOf(curves, hostsNumber);
+            previousUtilization = Arrays.copyOf(previousUtilization, hostsNumber);
+            utilization = Arrays.copyOf(utilization, hostsNumber);
+            timeFrameEnergy = Arrays.copyOf(timeFrameEnergy, hostsNumber);
+        }
+
+        this.size = hostsNumber;
+    }
+
+    /**
+     * Sets the CPU utilization of a host at the beginning and at the end of the current time frame.
+     *
+     * @param index the index of the host, between 0 and the number of hosts given
+     *              when {@link #startTimeFrame(int) starting} the time frame
+     * @param host the host
+     * @param previousUtilization the CPU utilization percentage at the beginning of the time frame
+     * @param utilization the CPU utilization percentage at the end of the time frame
+     */
+    public void setUtilization(final int index, final PowerHost host, final double previousUtilization, final double utilization) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        final HostEnergy hostEnergy = hosts[index];
+        if (hostEnergy == null || hostEnergy.host != host) {
+            hosts[index] = hostEnergyMap.computeIfAbsent(host, HostEnergy::new);
+            curves[index] = getCurveTable(host);
+        } else if (curves[index] != null && curves[index].getPowerModel() != host.getPowerModel()) {
+            curves[index] = getCurveTable(host);
+        }
+
+        this.previousUtilization[index] = previousUtilization;
+        this.utilization[index] = utilization;
+    }
+
+    /**
+     * Gets the power curve table to compute the energy of a host.
+     * @return the table or null if the host computes its own energy
+     */
+    private PowerCurveTable getCurveTable(final PowerHost host) {
+        if (!defaultEnergyHostClasses.computeIfAbsent(host.getClass(), EnergyMeter::isDefaultEnergyHostClass)) {
+            return null;
+        }
+
+        return curveTables.computeIfAbsent(host.getPowerModel(), PowerCurveTable::new);
+    }
+
+    /**
+     * Checks if a class of host computes the power and energy as the {@link PowerHostSimple}.
+     */
+    private static boolean isDefaultEnergyHostClass(final Class<?> hostClass) {
+        if (!PowerHostSimple.class.isAssignableFrom(hostClass)) {
+            return false;
+        }
+
+        try {
+            return hostClass.getMethod("getPower", double.class).getDeclaringClass() == PowerHostSimple.class &&
+                   hostClass.getMethod("getEnergyLinearInterpolation", double.class, double.class, double.class)
+                            .getDeclaringClass() == PowerHostSimple.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Finishes the current time frame, computing the energy consumed by each host
+     * using the linear interpolation of its power consumption between
+     * the beginning and the end of the time frame.
+     *
+     * @param fromTime the time the time frame started
+     * @param toTime the time the time frame finished
+     * @return the energy consumed by all hosts in the time frame (in Watts-sec)
+     * @see PowerHost#getEnergyLinearInterpolation(double, double, double)
+     */
+    public double finishTimeFrame(final double fromTime, final double toTime) {
+        final double time = toTime - fromTime;
+        double datacenterEnergy = 0;
+        for (int i = 0; i < size; i++) {
+            final PowerCurveTable curve = curves[i];
+            final double fromUtilization = previousUtilization[i];
+            final double energy;
+            if (curve == null) {
+                energy = hosts[i].host.getEnergyLinearInterpolation(fromUtilization, utilization[i], time);
+            } else if (fromUtilization == 0) {
+                energy = 0;
+            } else {
+                final double fromPower = curve.getPower(fromUtilization);
+                final double toPower = curve.getPower(utilization[i]);
+                energy = (fromPower + (toPower - fromPower) / 2) * time;
+            }
+
+            timeFrameEnergy[i] = energy;
+            datacenterEnergy += energy;
+            hosts[i].add(toTime, energy, historyEnabled);
+        }
+
+        return datacenterEnergy;
+    }
+
+    /**
+     * Gets the CPU utilization percentage of a host at the beginning of the last time frame.
+     *
+     * @param index the index of the host in the last time frame
+     * @return
+     */
+    public double getPreviousUtilization(final int index) {
+        return previousUtilization[checkIndex(index)];
+    }
+
+    /**
+     * Gets the CPU utilization percentage of a host at the end of the last time frame.
+     *
+     * @param index the index of the host in the last time frame
+     * @return
+     */
+    public double getUtilization(final int index) {
+        return utilization[checkIndex(index)];
+    }
+
+    /**
+     * Gets the energy consumed by a host in the last time frame (in Watts-sec).
+     *
+     * @param index the index of the host in the last time frame
+     * @return
+     */
+    public double getTimeFrameEnergy(final int index) {
+        return timeFrameEnergy[checkIndex(index)];
+    }
+
+    private int checkIndex(final int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return index;
+    }
+
+    /**
+     * Gets the energy consumed by a host since it started being measured.
+     *
+     * @param host the host to get its energy
+     * @return the energy measurements of the host, which are empty if the host wasn't measured yet
+     */
+    public HostEnergy getHostEnergy(final PowerHost host) {
+        final HostEnergy hostEnergy = hostEnergyMap.get(host);
+        return hostEnergy == null ? new HostEnergy(host) : hostEnergy;
+    }
+
+    /**
+     * Checks if the energy consumed by each host at each time frame is stored,
+     * enabling getting the energy consumed in a given time interval.
+     * Otherwise, just the total energy consumed by each host is stored.
+     *
+     * @return true if the history is enabled, false otherwise (the default)
+     * @see HostEnergy#getEnergy(double, double)
+     */
+    public boolean isHistoryEnabled() {
+        return historyEnabled;
+    }
+
+    /**
+     * Enables or disables storing the energy consumed by each host at each time frame.
+     * Just time frames measured while the history is enabled are stored.
+     *
+     * @param historyEnabled true to enable the history, false to disable it
+     * @return
+     * @see #isHistoryEnabled()
+     */
+    public EnergyMeter setHistoryEnabled(final boolean historyEnabled) {
+        this.historyEnabled = historyEnabled;
+        return this;
+    }
+
+    /**
+     * The energy consumed by a host, which includes the total energy and
+     * the time series of energy consumed at each time frame
+     * when the {@link EnergyMeter#isHistoryEnabled() history is enabled}.
+     * Time frames when the host consumed no energy aren't stored.
+     */
+    public static final class HostEnergy {
+        private final PowerHost host;
+
+        /**
+         * @see #getTotalEnergy()
+         */
+        private double totalEnergy;
+
+        /**
+         * The time each stored time frame finished.
+         */
+        private double[] times;
+
+        /**
+         * The energy consumed from the first stored time frame up to each stored time frame,
+         * enabling getting the energy consumed in any interval by a subtraction.
+         */
+        private double[] cumulativeEnergy;
+
+        /**
+         * @see #size()
+         */
+        private int size;
+
+        private HostEnergy(final PowerHost host) {
+            this.host = host;
+            this.times = new double[0];
+            this.cumulativeEnergy = new double[0];
+        }
+
+        private void add(final double time, final double energy, final boolean store) {
+            totalEnergy += energy;
+            if (!store || energy == 0) {
+                return;
+            }
+
+            if (size == times.length) {
+                final int capacity = Math.max(16, size * 2);
+                times = Arrays.copyOf(times, capacity);
+                cumulativeEnergy = Arrays.copyOf(cumulativeEnergy, capacity);
+            }
+
+            times[size] = time;
+            cumulativeEnergy[size] = (size == 0 ? 0 : cumulativeEnergy[size - 1]) + energy;
+            size++;
+        }
+
+        /**
+         * Gets the host the energy was consumed by.
+         * @return
+         */
+        public PowerHost getHost() {
+            return host;
+        }
+
+        /**
+         * Gets the total energy consumed by the host (in Watts-sec),
+         * including time frames when the history was disabled.
+         * @return
+         */
+        public double getTotalEnergy() {
+            return totalEnergy;
+        }
+
+        /**
+         * Gets the number of stored time frames.
+         * @return
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Gets the time a stored time frame finished.
+         *
+         * @param index the index of the time frame, from 0 (the oldest one) to {@link #size()}-1
+         * @return
+         */
+        public double getTime(final int index) {
+            return times[checkIndex(index)];
+        }
+
+        /**
+         * Gets the energy consumed by the host in a stored time frame (in Watts-sec).
+         *
+         * @param index the index of the time frame, from 0 (the oldest one) to {@link #size()}-1
+         * @return
+         */
+        public double getEnergy(final int index) {
+            return cumulativeEnergy[checkIndex(index)] - (index == 0 ? 0 : cumulativeEnergy[index - 1]);
+        }
+
+        private int checkIndex(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+
+            return index;
+        }
+
+        /**
+         * Gets the energy consumed by the host in the stored time frames
+         * which finished in a given time interval, in O(log n) for n stored time frames.
+         *
+         * @param fromTime the beginning of the interval (exclusive)
+         * @param toTime the end of the interval (inclusive)
+         * @return the energy consumed in the interval (in Watts-sec)
+         */
+        public double getEnergy(final double fromTime, final double toTime) {
+            if (toTime <= fromTime) {
+                return 0;
+            }
+
+            return getEnergyUntil(toTime) - getEnergyUntil(fromTime);
+        }
+
+        /**
+         * Gets the energy of the stored time frames finished until a given time (inclusive).
+         */
+        private double getEnergyUntil(final double time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (times[middle] <= time) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low == 0 ? 0 : cumulativeEnergy[low - 1];
+        }
+    }
+}
@@ -7,6 +7,8 @@
  */
 package org.cloudbus.cloudsim.datacenters.power;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -16,6 +18,7 @@ import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.util.Log;
+import org.cloudbus.cloudsim.util.SimulationLogger;
 import org.cloudbus.cloudsim.hosts.power.PowerHostSimple;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
@@ -66,6 +69,22 @@ public class PowerDatacenter extends DatacenterSimple {
      */
     private int migrationCount;
 
+    /**
+     * @see #getEnergyMeter()
+     */
+    private final EnergyMeter energyMeter;
+
+    /**
+     * @see #getMigrationEngine()
+     */
+    private VmMigrationEngine migrationEngine;
+
+    /**
+     * The {@link CloudSimTags#VM_MIGRATE} events sent for each VM
+     * migrating through the {@link #migrationEngine}.
+     */
+    private final Map<Vm, MigrationEngineEvents> migrationEvents = new HashMap<>();
+
     /**
      * Creates a PowerDatacenter.
      *
@@ -80,6 +99,7 @@ public class PowerDatacenter extends DatacenterSimple {
         VmAllocationPolicy vmAllocationPolicy)
     {
         super(simulation, characteristics, vmAllocationPolicy);
+        this.energyMeter = new EnergyMeter();
         setPower(0.0);
         setMigrationsEnabled(true);
         setCloudletSubmitted(-1);
@@ -149,6 +169,11 @@ public class PowerDatacenter extends DatacenterSimple {
                     targetHost.addMigratingInVm(migrate.getKey());
                     incrementMigrationCount();
 
+                    if (migrationEngine != null) {
+                        migrationEngine.start(migrate.getKey(), oldHost, targetHost, currentTime);
+                        continue;
+                    }
+
                     //VM migration delay = RAM / bandwidth
                     /*We use BW / 2 to model BW available for migration purposes, the other
                     half of BW is for VM communication
@@ -160,6 +185,8 @@ public class PowerDatacenter extends DatacenterSimple {
                         migrate.getKey().getRam().getCapacity() / ((double) targetHost.getBw().getCapacity() / (2 * 8000)),
                         CloudSimTags.VM_MIGRATE, migrate);
                 }
+
+                sendMigrationEngineEvents();
             }
 
             // schedules an event to the next time
@@ -199,61 +226,74 @@ public class PowerDatacenter extends DatacenterSimple {
     protected double updateCloudetProcessingWithoutSchedulingFutureEvents() {
         double minTime = Double.MAX_VALUE;
         final double currentTime = getSimulation().clock();
-        final double timeDiff = currentTime - getLastProcessTime();
+        final double lastProcessTime = getLastProcessTime();
+        final double timeDiff = currentTime - lastProcessTime;
+        final SimulationLogger logger = getSimulation().getLogger();
         double timeFrameDatacenterEnergy = 0.0;
 
-        Log.printLine("\n\n--------------------------------------------------------------\n\n");
-        Log.printFormattedLine("New resource usage for the time frame starting at %.2f:", currentTime);
+        logger.printLine("\n\n--------------------------------------------------------------\n\n");
+        logger.printLine(() -> String.format("New resource usage for the time frame starting at %.2f:", currentTime));
 
-        for (PowerHostSimple host : this.<PowerHostSimple>getHostList()) {
-            Log.printLine();
+        addHostsProcessingTime(currentTime);
+        if (migrationEngine != null) {
+            migrationEngine.update(currentTime);
+        }
 
-            double time = host.updateProcessing(currentTime); // inform VMs to update processing
+        final List<PowerHostSimple> hostList = getHostList();
+        energyMeter.startTimeFrame(hostList.size());
+        for (int i = 0; i < hostList.size(); i++) {
+            final PowerHostSimple host = hostList.get(i);
+            logger.printLine();
+
+            /* Inactive hosts have no utilization to update,
+             * but their current utilization is still used to compute the energy consumption. */
+            final double time = host.isActive() ? host.updateProcessing(currentTime) : Double.MAX_VALUE;
             if (time < minTime) {
                 minTime = time;
             }
 
-            Log.printFormattedLine(
+            energyMeter.setUtilization(i, host, host.getPreviousUtilizationOfCpu(), host.getUtilizationOfCpu());
+
+            logger.printLine(() -> String.format(
                     "%.2f: [Host #%d] utilization is %.2f%%",
                     currentTime,
                     host.getId(),
-                    host.getUtilizationOfCpu() * 100);
+                    host.getUtilizationOfCpu() * 100));
         }
 
         if (timeDiff > 0) {
-            Log.printFormattedLine(
+            timeFrameDatacenterEnergy = energyMeter.finishTimeFrame(lastProcessTime, currentTime);
+            logger.printLine(() -> String.format(
                     "\nEnergy consumption for the last time frame from %.2f to %.2f:",
-                    getLastProcessTime(),
-                    currentTime);
-
-            for (PowerHostSimple host : this.<PowerHostSimple>getHostList()) {
-                double previousUtilizationOfCpu = host.getPreviousUtilizationOfCpu();
-                double utilizationOfCpu = host.getUtilizationOfCpu();
-                double timeFrameHostEnergy = host.getEnergyLinearInterpolation(
-                        previousUtilizationOfCpu,
-                        utilizationOfCpu,
-                        timeDiff);
-                timeFrameDatacenterEnergy += timeFrameHostEnergy;
-
-                Log.printLine();
-                Log.printFormattedLine(
+                    lastProcessTime,
+                    currentTime));
+
+            for (int i = 0; logger.isEnabled() && i < hostList.size(); i++) {
+                final PowerHostSimple host = hostList.get(i);
+                final double previousUtilizationOfCpu = energyMeter.getPreviousUtilization(i);
+                final double utilizationOfCpu = energyMeter.getUtilization(i);
+                final double timeFrameHostEnergy = energyMeter.getTimeFrameEnergy(i);
+
+                logger.printLine();
+                logger.printLine(() -> String.format(
                         "%.2f: [Host #%d] utilization at %.2f was %.2f%%, now is %.2f%%",
                         currentTime,
                         host.getId(),
-                        getLastProcessTime(),
+                        lastProcessTime,
                         previousUtilizationOfCpu * 100,
-                        utilizationOfCpu * 100);
-                Log.printFormattedLine(
+                        utilizationOfCpu * 100));
+                logger.printLine(() -> String.format(
                         "%.2f: [Host #%d] energy is %.2f W*sec",
                         currentTime,
                         host.getId(),
-                        timeFrameHostEnergy);
+                        timeFrameHostEnergy));
             }
 
-            Log.printFormattedLine(
+            final double datacenterEnergy = timeFrameDatacenterEnergy;
+            logger.printLine(() -> String.format(
                     "\n%.2f: Data center's energy is %.2f W*sec\n",
                     currentTime,
-                    timeFrameDatacenterEnergy);
+                    datacenterEnergy));
         }
 
         setPower(getPower() + timeFrameDatacenterEnergy);
@@ -261,8 +301,9 @@ public class PowerDatacenter extends DatacenterSimple {
         checkCloudletsCompletionForAllHosts();
 
         removeFinishedVmsFromEveryHost();
+        sendMigrationEngineEvents();
 
-        Log.printLine();
+        logger.printLine();
 
         setLastProcessTime(currentTime);
         return minTime;
@@ -278,9 +319,88 @@ public class PowerDatacenter extends DatacenterSimple {
         }
     }
 
+    /**
+     * Sends {@link CloudSimTags#VM_MIGRATE} events for each VM migrating through the {@link #getMigrationEngine()
+     * migration engine}, to be received when the stop-and-copy phase of the migration is expected to start
+     * (so that the VM stops getting MIPS from its host) and when the migration is expected to finish.
+     * An event is just sent when such an expected time changed since the last event was sent for the VM,
+     * cancelling the previous one.
+     */
+    private void sendMigrationEngineEvents() {
+        if (migrationEngine == null) {
+            return;
+        }
+
+        for (final VmMigration migration : migrationEngine.getActiveMigrations()) {
+            final Vm vm = migration.getVm();
+            final MigrationEngineEvents events =
+                migrationEvents.computeIfAbsent(vm, key -> new MigrationEngineEvents(key, migration.getTargetHost()));
+            events.stopAndCopyTime = sendMigrationEngineEvent(
+                events.stopAndCopyData, events.stopAndCopyTime, migrationEngine.getExpectedStopAndCopyTime(vm));
+            events.finishTime = sendMigrationEngineEvent(
+                events.finishData, events.finishTime, migrationEngine.getExpectedFinishTime(vm));
+        }
+    }
+
+    /**
+     * Sends a {@link CloudSimTags#VM_MIGRATE} event to be received at a given time,
+     * cancelling the event previously sent with the same data.
+     *
+     * @param data the data of the event
+     * @param sentTime the time the previous event with such data was sent to be received or -1 if there is no such event
+     * @param time the time the event has to be received, {@link Double#MAX_VALUE} or -1 if it's unknown
+     * @return the time the event with the given data is going to be received or -1 if there is no such event
+     */
+    private double sendMigrationEngineEvent(final Entry<Vm, Host> data, final double sentTime, final double time) {
+        if (time == sentTime) {
+            return sentTime;
+        }
+
+        /* If the previous event isn't in the future queue anymore,
+         * it is being received at the current time and can't be cancelled. */
+        if (sentTime >= 0 && getSimulation().cancel(getId(), ev -> ev.getData() == data) == SimEvent.NULL) {
+            return sentTime;
+        }
+
+        if (time < 0 || time == Double.MAX_VALUE) {
+            return -1;
+        }
+
+        send(getId(), time - getSimulation().clock(), CloudSimTags.VM_MIGRATE, data);
+        return time;
+    }
+
+    /**
+     * Gets the events sent for the migration of a VM through the {@link #getMigrationEngine() migration engine}
+     * that a received {@link CloudSimTags#VM_MIGRATE} event belongs to.
+     *
+     * @param ev the received event
+     * @return the events of the VM migration or null if the received event wasn't sent for the migration engine
+     */
+    private MigrationEngineEvents getMigrationEngineEvents(final SimEvent ev) {
+        if (!(ev.getData() instanceof Entry<?, ?>)) {
+            return null;
+        }
+
+        final MigrationEngineEvents events = migrationEvents.get(((Entry<?, ?>) ev.getData()).getKey());
+        return events != null && events.contains(ev) ? events : null;
+    }
+
     @Override
     protected void processVmMigrate(SimEvent ev, boolean ack) {
+        final MigrationEngineEvents events = getMigrationEngineEvents(ev);
+        if (events != null && ev.getData() == events.stopAndCopyData) {
+            //Updates the hosts so that the VM stops getting MIPS from the time its downtime starts
+            events.stopAndCopyTime = -1;
+            updateCloudetProcessingWithoutSchedulingFutureEventsIfClockWasUpdated();
+            return;
+        }
+
         updateCloudetProcessingWithoutSchedulingFutureEventsIfClockWasUpdated();
+        if (events != null) {
+            finishMigrationFromEngine(events.finishData.getKey());
+        }
+
         super.processVmMigrate(ev, ack);
         SimEvent event = getSimulation().findFirstDeferred(getId(), new PredicateType(CloudSimTags.VM_MIGRATE));
         if (Objects.isNull(event) || event.eventTime() > getSimulation().clock()) {
@@ -288,6 +408,23 @@ public class PowerDatacenter extends DatacenterSimple {
         }
     }
 
+    /**
+     * Finishes the migration of a VM performed by the {@link #getMigrationEngine() migration engine},
+     * cancelling the events that were sent for it and rescheduling the events of the other migrations,
+     * since the bandwidth it was using is shared among them.
+     *
+     * @param vm the VM to finish the migration
+     */
+    private void finishMigrationFromEngine(final Vm vm) {
+        final MigrationEngineEvents events = migrationEvents.remove(vm);
+        sendMigrationEngineEvent(events.stopAndCopyData, events.stopAndCopyTime, -1);
+
+        final double currentTime = getSimulation().clock();
+        migrationEngine.update(currentTime);
+        migrationEngine.finish(vm, currentTime);
+        sendMigrationEngineEvents();
+    }
+
     @Override
     protected void processCloudletSubmit(SimEvent ev, boolean ack) {
         super.processCloudletSubmit(ev, ack);
@@ -312,6 +449,60 @@ public class PowerDatacenter extends DatacenterSimple {
         this.power = power;
     }
 
+    /**
+     * Gets the meter that computes the energy consumed by each host at every time frame
+     * the hosts processing is updated. It enables getting the energy consumed by each host
+     * and, when its {@link EnergyMeter#setHistoryEnabled(boolean) history} is enabled,
+     * the energy consumed in a given time interval.
+     *
+     * @return the energy meter of this Datacenter
+     * @see #getPower()
+     */
+    public EnergyMeter getEnergyMeter() {
+        return energyMeter;
+    }
+
+    /**
+     * Gets the engine that models the live migration of VMs.
+     *
+     * @return the migration engine or null if VMs are migrated after a fixed delay
+     * @see #setMigrationEngine(VmMigrationEngine)
+     */
+    public VmMigrationEngine getMigrationEngine() {
+        return migrationEngine;
+    }
+
+    /**
+     * Sets an engine to model the live migration of VMs, using iterative pre-copy rounds
+     * and sharing the bandwidth of hosts among concurrent migrations.
+     * It enables getting the migration time, downtime and transferred data of each migration.
+     *
+     * <p>If no engine is set, each VM is migrated after a fixed delay
+     * given by its RAM capacity divided by half of the target host BW,
+     * regardless of other migrations happening at the same time.</p>
+     *
+     * @param migrationEngine the migration engine to set or null to migrate VMs after a fixed delay
+     * @return
+     */
+    public final PowerDatacenter setMigrationEngine(VmMigrationEngine migrationEngine) {
+        this.migrationEngine = migrationEngine;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * If a {@link #getMigrationEngine() migration engine} is set, the percentage
+     * depends on the {@link VmMigrationEngine#getMipsPercent(Vm) phase of the migration}.
+     *
+     * @param sourceHost {@inheritDoc}
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public double getVmMigrationMipsPercent(Host sourceHost, Vm vm) {
+        return migrationEngine == null ? super.getVmMigrationMipsPercent(sourceHost, vm) : migrationEngine.getMipsPercent(vm);
+    }
+
     /**
      * Checks if PowerDatacenter has any VM in migration.
      *
@@ -383,4 +574,35 @@ public class PowerDatacenter extends DatacenterSimple {
         setMigrationCount(getMigrationCount() + 1);
     }
 
+    /**
+     * The {@link CloudSimTags#VM_MIGRATE} events sent for a VM migrating through the
+     * {@link #getMigrationEngine() migration engine}. The data of each kind of event
+     * is a distinct object, so that the event can be identified and cancelled.
+     */
+    private static final class MigrationEngineEvents {
+        private final Entry<Vm, Host> stopAndCopyData;
+        private final Entry<Vm, Host> finishData;
+
+        /**
+         * The time the event for the start of the stop-and-copy phase is going to be received
+         * or -1 if there is no such event.
+         */
+        private double stopAndCopyTime = -1;
+
+        /**
+         * The time the event for the migration finish is going to be received
+         * or -1 if there is no such event.
+         */
+        private double finishTime = -1;
+
+        private MigrationEngineEvents(final Vm vm, final Host targetHost) {
+            this.stopAndCopyData = new SimpleImmutableEntry<>(vm, targetHost);
+            this.finishData = new SimpleImmutableEntry<>(vm, targetHost);
+        }
+
+        private boolean contains(final SimEvent ev) {
+            return ev.getData() == stopAndCopyData || ev.getData() == finishData;
+        }
+    }
+
 }
@@ -0,0 +1,346 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters.power;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * A live migration of a {@link Vm} performed by a {@link VmMigrationEngine},
+ * that copies the VM memory to the target {@link Host} in pre-copy rounds,
+ * while the VM keeps running, and then stops the VM to copy the memory dirtied
+ * during the last round (the stop-and-copy phase).
+ *
+ * <p>It provides the migration time, the VM downtime and the amount of data
+ * transferred, that are updated as the migration progresses.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class VmMigration {
+    /**
+     * The time (in seconds) within which a pre-copy round or stop-and-copy phase
+     * is considered finished.
+     */
+    private static final double TIME_TOLERANCE = 1e-9;
+
+    private final Vm vm;
+    private final Host sourceHost;
+    private final Host targetHost;
+    private final double startTime;
+    private double finishTime = -1;
+
+    /**
+     * The number of pre-copy rounds already finished.
+     */
+    private int preCopyRounds;
+
+    /**
+     * Indicates if the migration is at the stop-and-copy phase.
+     */
+    private boolean stopAndCopy;
+
+    /**
+     * The amount of data (in Megabytes) to be copied in the current round or in the stop-and-copy phase.
+     */
+    private double roundData;
+
+    /**
+     * The amount of data (in Megabytes) of the current round or stop-and-copy phase yet to be copied.
+     */
+    private double remainingRoundData;
+
+    /**
+     * The time elapsed since the current round started (in seconds).
+     */
+    private double roundElapsedTime;
+
+    private double transferredData;
+    private double downtime;
+
+    /**
+     * The bandwidth (in Megabytes/second) currently allocated to the migration.
+     */
+    private double bandwidth;
+
+    /**
+     * The rate (in Megabytes/second) the VM memory is currently being dirtied.
+     */
+    private double dirtyRate;
+
+    /**
+     * Creates a migration that is starting at a given time.
+     *
+     * @param vm the VM to migrate
+     * @param sourceHost the host the VM is migrating from
+     * @param targetHost the host the VM is migrating to
+     * @param startTime the time the migration starts
+     */
+    VmMigration(final Vm vm, final Host sourceHost, final Host targetHost, final double startTime) {
+        this.vm = vm;
+        this.sourceHost = sourceHost;
+        this.targetHost = targetHost;
+        this.startTime = startTime;
+        this.roundData = vm.getRam().getCapacity();
+        this.remainingRoundData = roundData;
+    }
+
+    /**
+     * Advances the migration by a given time, copying data using the
+     * current {@link #bandwidth} and {@link #dirtyRate}.
+     *
+     * @param time the time to advance (in seconds)
+     * @param engine the engine defining when the pre-copy rounds finish
+     */
+    void advance(double time, final VmMigrationEngine engine) {
+        while (time > 0 && !isCopyFinished() && bandwidth > 0) {
+            final double roundRemainingTime = remainingRoundData / bandwidth;
+            /* A round finishing within the tolerance is finished now, since the time events are received
+             * may slightly differ from the expected one due to floating-point errors. */
+            if (time < roundRemainingTime - TIME_TOLERANCE) {
+                copy(time * bandwidth, time);
+                return;
+            }
+
+            copy(remainingRoundData, roundRemainingTime);
+            time -= roundRemainingTime;
+            finishRound(engine);
+        }
+    }
+
+    /**
+     * Gets the time (in seconds) to finish copying all data if the current
+     * {@link #bandwidth} and {@link #dirtyRate} don't change.
+     *
+     * @param engine the engine defining when the pre-copy rounds finish
+     * @return the remaining time or {@link Double#MAX_VALUE} if there is no bandwidth allocated to the migration
+     */
+    double getRemainingTime(final VmMigrationEngine engine) {
+        return getRemainingTime(engine, true);
+    }
+
+    /**
+     * Gets the time (in seconds) to finish the pre-copy rounds and start the stop-and-copy phase
+     * if the current {@link #bandwidth} and {@link #dirtyRate} don't change.
+     *
+     * @param engine the engine defining when the pre-copy rounds finish
+     * @return the remaining time, 0 if the migration is already at the stop-and-copy phase
+     * or {@link Double#MAX_VALUE} if there is no bandwidth allocated to the migration
+     */
+    double getRemainingPreCopyTime(final VmMigrationEngine engine) {
+        return stopAndCopy ? 0 : getRemainingTime(engine, false);
+    }
+
+    /**
+     * Gets the time (in seconds) to finish copying data if the current
+     * {@link #bandwidth} and {@link #dirtyRate} don't change.
+     *
+     * @param engine the engine defining when the pre-copy rounds finish
+     * @param includeStopAndCopy true to include the time of the stop-and-copy phase,
+     *                           false to get just the time until such a phase starts
+     * @return the remaining time or {@link Double#MAX_VALUE} if there is no bandwidth allocated to the migration
+     */
+    private double getRemainingTime(final VmMigrationEngine engine, final boolean includeStopAndCopy) {
+        if (isCopyFinished()) {
+            return 0;
+        }
+
+        if (bandwidth <= 0) {
+            return Double.MAX_VALUE;
+        }
+
+        double time = remainingRoundData / bandwidth;
+        boolean stopped = stopAndCopy;
+        double data = roundData;
+        double elapsed = roundElapsedTime + time;
+        for (int rounds = preCopyRounds + 1; !stopped; rounds++) {
+            final double nextData = dirtyRate * elapsed;
+            stopped = engine.isStopAndCopyTime(rounds, data, nextData);
+            if (stopped && !includeStopAndCopy) {
+                return time;
+            }
+
+            data = nextData;
+            elapsed = data / bandwidth;
+            time += elapsed;
+        }
+
+        return time;
+    }
+
+    private void copy(final double data, final double time) {
+        remainingRoundData -= data;
+        roundElapsedTime += time;
+        transferredData += data;
+        if (stopAndCopy) {
+            downtime += time;
+        }
+    }
+
+    /**
+     * Finishes the current pre-copy round, starting a new one or the stop-and-copy phase
+     * to copy the memory dirtied during the finished round.
+     */
+    private void finishRound(final VmMigrationEngine engine) {
+        remainingRoundData = 0;
+        if (stopAndCopy) {
+            return;
+        }
+
+        preCopyRounds++;
+        final double nextData = dirtyRate * roundElapsedTime;
+        stopAndCopy = engine.isStopAndCopyTime(preCopyRounds, roundData, nextData);
+        roundData = nextData;
+        remainingRoundData = nextData;
+        roundElapsedTime = 0;
+    }
+
+    /**
+     * Checks if all data was copied, including the data of the stop-and-copy phase.
+     * @return
+     */
+    boolean isCopyFinished() {
+        return stopAndCopy && remainingRoundData <= 0;
+    }
+
+    /**
+     * Checks if the migration is at the stop-and-copy phase, when the VM is stopped
+     * to copy the memory dirtied during the last pre-copy round.
+     * @return
+     */
+    boolean isStopAndCopy() {
+        return stopAndCopy;
+    }
+
+    void finish(final double time) {
+        remainingRoundData = 0;
+        finishTime = time;
+    }
+
+    void setBandwidth(final double bandwidth) {
+        this.bandwidth = bandwidth;
+    }
+
+    void setDirtyRate(final double dirtyRate) {
+        this.dirtyRate = dirtyRate;
+    }
+
+    /**
+     * Gets the VM being migrated.
+     * @return
+     */
+    public Vm getVm() {
+        return vm;
+    }
+
+    /**
+     * Gets the host the VM is migrating from.
+     * @return
+     */
+    public Host getSourceHost() {
+        return sourceHost;
+    }
+
+    /**
+     * Gets the host the VM is migrating to.
+     * @return
+     */
+    public Host getTargetHost() {
+        return targetHost;
+    }
+
+    /**
+     * Gets the time the migration started.
+     * @return
+     */
+    public double getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Gets the time the migration finished.
+     *
+     * @return the finish time or -1 if the migration is not finished yet
+     */
+    public double getFinishTime() {
+        return finishTime;
+    }
+
+    /**
+     * Checks if the migration is finished.
+     * @return
+     */
+    public boolean isFinished() {
+        return finishTime >= 0;
+    }
+
+    /**
+     * Gets the total time the migration took (in seconds).
+     *
+     * @return the migration time or -1 if the migration is not finished yet
+     */
+    public double getMigrationTime() {
+        return isFinished() ? finishTime - startTime : -1;
+    }
+
+    /**
+     * Gets the time (in seconds) the VM was stopped to copy the memory dirtied during the last pre-copy round.
+     * @return
+     */
+    public double getDowntime() {
+        return downtime;
+    }
+
+    /**
+     * Gets the amount of data (in Megabytes) transferred from the source to the target host,
+     * including the memory pages copied again because they were dirtied during previous rounds.
+     * @return
+     */
+    public double getTransferredData() {
+        return transferredData;
+    }
+
+    /**
+     * Gets the number of pre-copy rounds performed before the stop-and-copy phase.
+     * @return
+     */
+    public int getPreCopyRounds() {
+        return preCopyRounds;
+    }
+
+    /**
+     * Gets the bandwidth (in Megabytes/second) currently allocated to the migration,
+     * which is shared with other migrations from the same source host or to the same target host.
+     * @return
+     */
+    public double getBandwidth() {
+        return bandwidth;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "VmMigration(vm: %d, from host: %d, to host: %d)",
+            vm.getId(), sourceHost.getId(), targetHost.getId());
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters.power;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.util.MaxMinFairShare;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * Models the live migration of VMs using iterative pre-copy, where the bandwidth of source and target hosts
+ * is shared among concurrent migrations.
+ *
+ * <p>Each {@link VmMigration} first copies the entire VM memory while the VM keeps running.
+ * The memory dirtied during a round, according to the {@link #setDirtyRateFunction(ToDoubleFunction) dirty rate}
+ * of the VM, is copied in the next round, until such an amount of memory is small enough,
+ * it doesn't reduce anymore or the {@link #getMaxPreCopyRounds() max number of rounds} is reached.
+ * Then, the VM is stopped to copy the remaining dirty memory (the stop-and-copy phase),
+ * which defines the VM downtime.</p>
+ *
+ * <p>A {@link #getBandwidthPercent() percentage} of the BW of each host is used for migrations,
+ * as upload bandwidth for migrations from the host and download bandwidth for migrations to the host.
+ * Such bandwidths are shared by the migrations using a max-min fair allocation:
+ * the migrations at the most congested host get equal shares of it and
+ * the bandwidth they can't use at the other end of the migration is shared by the remaining migrations.
+ * The bandwidth is reallocated every time a migration starts or finishes.</p>
+ *
+ * <p>The host BW capacity is converted to Megabytes/second in the same way
+ * the fixed migration delay of the {@link PowerDatacenter} does. This way, a single migration of a VM
+ * that doesn't dirty its memory takes the same time as such a delay.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ * @see PowerDatacenter#setMigrationEngine(VmMigrationEngine)
+ */
+public class VmMigrationEngine {
+    /**
+     * The number to divide the host BW capacity to get the BW in Megabytes/second.
+     */
+    private static final double BW_TO_MEGABYTES_PER_SECOND = 8000;
+
+    /**
+     * @see #getBandwidthPercent()
+     */
+    private double bandwidthPercent;
+
+    /**
+     * @see #getMaxPreCopyRounds()
+     */
+    private int maxPreCopyRounds;
+
+    /**
+     * @see #getStopAndCopyThreshold()
+     */
+    private double stopAndCopyThreshold;
+
+    /**
+     * @see #getDirtyRatePercent()
+     */
+    private double dirtyRatePercent;
+
+    /**
+     * @see #getPreCopySlowdown()
+     */
+    private double preCopySlowdown;
+
+    /**
+     * @see #setDirtyRateFunction(ToDoubleFunction)
+     */
+    private ToDoubleFunction<Vm> dirtyRateFunction;
+
+    /**
+     * The migrations in progress, in the order they started.
+     */
+    private final Map<Vm, VmMigration> activeMigrations;
+
+    private final List<VmMigration> finishedMigrations;
+
+    /**
+     * The last time the migrations in progress were advanced.
+     */
+    private double lastUpdateTime;
+
+    /**
+     * Creates a migration engine that uses 50% of the hosts BW for migrations
+     * (as the fixed migration delay of the {@link PowerDatacenter} considers),
+     * performs up to 30 pre-copy rounds and stops the VM when the dirty memory
+     * to copy is up to 1 Megabyte. VMs dirty 1% of their memory per second
+     * when their CPU is fully used and are slowed down by 10% while their memory is pre-copied
+     * (as the hosts consider when there is no migration engine).
+     */
+    public VmMigrationEngine() {
+        this.activeMigrations = new LinkedHashMap<>();
+        this.finishedMigrations = new ArrayList<>();
+        this.dirtyRateFunction = this::getDefaultDirtyRate;
+        setBandwidthPercent(0.5);
+        setMaxPreCopyRounds(30);
+        setStopAndCopyThreshold(1);
+        setDirtyRatePercent(0.01);
+        setPreCopySlowdown(0.1);
+    }
+
+    /**
+     * Starts the migration of a VM and reallocates the bandwidth among all migrations in progress.
+     *
+     * @param vm the VM to migrate
+     * @param sourceHost the host the VM is migrating from
+     * @param targetHost the host the VM is migrating to
+     * @param time the current simulation time
+     * @return the started migration
+     * @throws IllegalStateException if the VM is already migrating
+     */
+    public VmMigration start(final Vm vm, final Host sourceHost, final Host targetHost, final double time) {
+        if (activeMigrations.containsKey(vm)) {
+            throw new IllegalStateException(vm + " is already migrating.");
+        }
+
+        update(time);
+        final VmMigration migration = new VmMigration(vm, sourceHost, targetHost, time);
+        activeMigrations.put(vm, migration);
+        updateDirtyRate(migration);
+        allocateBandwidth();
+        return migration;
+    }
+
+    /**
+     * Advances all migrations in progress up to a given time, using the bandwidth allocated
+     * at the last update. The dirty rate of the VMs is updated after that.
+     *
+     * @param time the current simulation time
+     */
+    public void update(final double time) {
+        final double elapsedTime = time - lastUpdateTime;
+        lastUpdateTime = Math.max(lastUpdateTime, time);
+        for (final VmMigration migration : activeMigrations.values()) {
+            migration.advance(elapsedTime, this);
+            updateDirtyRate(migration);
+        }
+    }
+
+    private void updateDirtyRate(final VmMigration migration) {
+        migration.setDirtyRate(Math.max(0, dirtyRateFunction.applyAsDouble(migration.getVm())));
+    }
+
+    /**
+     * Finishes the migration of a VM, reallocating the bandwidth it was using among the other migrations in progress.
+     * It must be called just after the {@link #update(double) migrations were updated}
+     * to the current time.
+     *
+     * @param vm the VM to finish the migration
+     * @param time the current simulation time
+     * @return the finished migration or null if the VM is not migrating
+     */
+    public VmMigration finish(final Vm vm, final double time) {
+        final VmMigration migration = activeMigrations.remove(vm);
+        if (migration == null) {
+            return null;
+        }
+
+        migration.finish(time);
+        finishedMigrations.add(migration);
+        allocateBandwidth();
+        return migration;
+    }
+
+    /**
+     * Gets the time the migration of a VM is expected to finish if the
+     * bandwidth allocated to it and its dirty rate don't change.
+     *
+     * @param vm the VM to get the migration finish time
+     * @return the expected finish time, {@link Double#MAX_VALUE} if the migration has no bandwidth allocated
+     * or -1 if the VM is not migrating
+     */
+    public double getExpectedFinishTime(final Vm vm) {
+        final VmMigration migration = activeMigrations.get(vm);
+        if (migration == null) {
+            return -1;
+        }
+
+        final double remainingTime = migration.getRemainingTime(this);
+        return remainingTime == Double.MAX_VALUE ? Double.MAX_VALUE : lastUpdateTime + remainingTime;
+    }
+
+    /**
+     * Gets the time the stop-and-copy phase of the migration of a VM is expected to start if the
+     * bandwidth allocated to it and its dirty rate don't change.
+     *
+     * @param vm the VM to get the stop-and-copy start time
+     * @return the expected start time, {@link Double#MAX_VALUE} if the migration has no bandwidth allocated
+     * or -1 if the VM is not migrating or its migration is already at the stop-and-copy phase
+     */
+    public double getExpectedStopAndCopyTime(final Vm vm) {
+        final VmMigration migration = activeMigrations.get(vm);
+        if (migration == null || migration.isStopAndCopy()) {
+            return -1;
+        }
+
+        final double remainingTime = migration.getRemainingPreCopyTime(this);
+        return remainingTime == Double.MAX_VALUE ? Double.MAX_VALUE : lastUpdateTime + remainingTime;
+    }
+
+    /**
+     * Gets the percentage of its requested MIPS a VM gets from the host it is migrating from.
+     * The VM is slowed down by the {@link #getPreCopySlowdown() pre-copy slowdown} while its memory is pre-copied
+     * and gets no MIPS during the stop-and-copy phase, when it is stopped.
+     * It considers the state of the migration at the last time the migrations were {@link #update(double) updated}.
+     *
+     * @param vm the VM to get the percentage of MIPS
+     * @return the percentage of MIPS in scale from 0 to 1, that is 1 if the VM is not migrating
+     */
+    public double getMipsPercent(final Vm vm) {
+        final VmMigration migration = activeMigrations.get(vm);
+        if (migration == null) {
+            return 1;
+        }
+
+        return migration.isStopAndCopy() ? 0 : 1 - preCopySlowdown;
+    }
+
+    /**
+     * Checks if a VM is migrating.
+     *
+     * @param vm the VM to check
+     * @return
+     */
+    public boolean isMigrating(final Vm vm) {
+        return activeMigrations.containsKey(vm);
+    }
+
+    /**
+     * Gets a read-only list of the migrations in progress, in the order they started.
+     * @return
+     */
+    public List<VmMigration> getActiveMigrations() {
+        return Collections.unmodifiableList(new ArrayList<>(activeMigrations.values()));
+    }
+
+    /**
+     * Gets a read-only list of the finished migrations, in the order they finished.
+     * @return
+     */
+    public List<VmMigration> getFinishedMigrations() {
+        return Collections.unmodifiableList(finishedMigrations);
+    }
+
+    /**
+     * Gets the finished migrations of a given VM.
+     *
+     * @param vm the VM to get its finished migrations
+     * @return
+     */
+    public List<VmMigration> getFinishedMigrations(final Vm vm) {
+        return finishedMigrations.stream()
+            .filter(migration -> migration.getVm().equals(vm))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Allocates the bandwidth of the hosts among the migrations in progress
+     * using a max-min fair allocation (progressive filling).
+     * Each host has an upload link, shared by migrations from it,
+     * and a download link, shared by migrations to it.
+     */
+    private void allocateBandwidth() {
+        final List<VmMigration> migrations = new ArrayList<>(activeMigrations.values());
+        final Map<Host, Integer> uploadLinks = new HashMap<>();
+        final Map<Host, Integer> downloadLinks = new HashMap<>();
+        final List<Double> capacities = new ArrayList<>();
+        final int[][] migrationLinks = new int[migrations.size()][];
+        for (int i = 0; i < migrations.size(); i++) {
+            final VmMigration migration = migrations.get(i);
+            migrationLinks[i] = new int[]{
+                getLink(uploadLinks, capacities, migration.getSourceHost()),
+                getLink(downloadLinks, capacities, migration.getTargetHost())
+            };
+        }
+
+        final double[] bandwidths = MaxMinFairShare.allocate(
+            capacities.stream().mapToDouble(Double::doubleValue).toArray(), migrationLinks);
+        for (int i = 0; i < migrations.size(); i++) {
+            migrations.get(i).setBandwidth(bandwidths[i]);
+        }
+    }
+
+    /**
+     * Gets the index of the upload or download link of a host,
+     * adding the link capacity (in Megabytes/second) to the list of capacities if it's the first time
+     * the link is used.
+     */
+    private int getLink(final Map<Host, Integer> hostLinks, final List<Double> capacities, final Host host) {
+        return hostLinks.computeIfAbsent(host, h -> {
+            capacities.add(h.getBw().getCapacity() * bandwidthPercent / BW_TO_MEGABYTES_PER_SECOND);
+            return capacities.size() - 1;
+        });
+    }
+
+    /**
+     * Checks if a migration must move to the stop-and-copy phase after a pre-copy round is finished.
+     *
+     * @param finishedRounds the number of pre-copy rounds already finished
+     * @param roundData the data (in Megabytes) copied in the last finished round
+     * @param dirtyData the memory (in Megabytes) dirtied during the last finished round, that has to be copied next
+     * @return true if the dirty memory has to be copied with the VM stopped, false to perform a new pre-copy round
+     */
+    boolean isStopAndCopyTime(final int finishedRounds, final double roundData, final double dirtyData) {
+        return dirtyData <= stopAndCopyThreshold || dirtyData >= roundData || finishedRounds >= maxPreCopyRounds;
+    }
+
+    /**
+     * Gets the default dirty rate of a VM (in Megabytes/second), which is the
+     * {@link #getDirtyRatePercent() dirty rate percentage} of the VM RAM capacity,
+     * proportional to the VM CPU utilization (given by the {@link org.cloudbus.cloudsim.utilizationmodels.UtilizationModel}
+     * of its Cloudlets).
+     *
+     * @param vm the VM to get the dirty rate
+     * @return
+     */
+    private double getDefaultDirtyRate(final Vm vm) {
+        return vm.getRam().getCapacity() * dirtyRatePercent * vm.getCpuPercentUse(lastUpdateTime);
+    }
+
+    /**
+     * Gets the percentage of the BW of each host that is used for migrations, in scale from 0 to 1.
+     * @return
+     */
+    public double getBandwidthPercent() {
+        return bandwidthPercent;
+    }
+
+    /**
+     * Sets the percentage of the BW of each host that is used for migrations.
+     *
+     * @param bandwidthPercent the percentage to set, in scale from 0 (exclusive) to 1
+     * @return
+     */
+    public final VmMigrationEngine setBandwidthPercent(final double bandwidthPercent) {
+        if (bandwidthPercent <= 0 || bandwidthPercent > 1) {
+            throw new IllegalArgumentException("The bandwidth percentage must be greater than 0 and up to 1.");
+        }
+
+        this.bandwidthPercent = bandwidthPercent;
+        return this;
+    }
+
+    /**
+     * Gets the max number of pre-copy rounds performed before stopping a VM.
+     * @return
+     */
+    public int getMaxPreCopyRounds() {
+        return maxPreCopyRounds;
+    }
+
+    /**
+     * Sets the max number of pre-copy rounds performed before stopping a VM.
+     *
+     * @param maxPreCopyRounds the number of rounds to set, that must be at least 1
+     * @return
+     */
+    public final VmMigrationEngine setMaxPreCopyRounds(final int maxPreCopyRounds) {
+        if (maxPreCopyRounds < 1) {
+            throw new IllegalArgumentException("The max number of pre-copy rounds must be at least 1.");
+        }
+
+        this.maxPreCopyRounds = maxPreCopyRounds;
+        return this;
+    }
+
+    /**
+     * Gets the amount of dirty memory (in Megabytes) up to which a VM is stopped
+     * to copy such a memory, finishing the pre-copy rounds.
+     * @return
+     */
+    public double getStopAndCopyThreshold() {
+        return stopAndCopyThreshold;
+    }
+
+    /**
+     * Sets the amount of dirty memory (in Megabytes) up to which a VM is stopped
+     * to copy such a memory, finishing the pre-copy rounds.
+     *
+     * @param stopAndCopyThreshold the amount of memory to set
+     * @return
+     */
+    public final VmMigrationEngine setStopAndCopyThreshold(final double stopAndCopyThreshold) {
+        if (stopAndCopyThreshold < 0) {
+            throw new IllegalArgumentException("The stop-and-copy threshold cannot be negative.");
+        }
+
+        this.stopAndCopyThreshold = stopAndCopyThreshold;
+        return this;
+    }
+
+    /**
+     * Gets the percentage of the RAM capacity a VM dirties per second when its CPU is fully used,
+     * in scale from 0 to 1, that is used by the default {@link #setDirtyRateFunction(ToDoubleFunction) dirty rate function}.
+     * @return
+     */
+    public double getDirtyRatePercent() {
+        return dirtyRatePercent;
+    }
+
+    /**
+     * Sets the percentage of the RAM capacity a VM dirties per second when its CPU is fully used,
+     * that is used by the default {@link #setDirtyRateFunction(ToDoubleFunction) dirty rate function}.
+     *
+     * @param dirtyRatePercent the percentage to set, in scale from 0 to 1
+     * @return
+     */
+    public final VmMigrationEngine setDirtyRatePercent(final double dirtyRatePercent) {
+        if (dirtyRatePercent < 0 || dirtyRatePercent > 1) {
+            throw new IllegalArgumentException("The dirty rate percentage must be between 0 and 1.");
+        }
+
+        this.dirtyRatePercent = dirtyRatePercent;
+        return this;
+    }
+
+    /**
+     * Gets the percentage of its requested MIPS a VM loses while its memory is pre-copied,
+     * in scale from 0 to 1.
+     * @return
+     * @see #getMipsPercent(Vm)
+     */
+    public double getPreCopySlowdown() {
+        return preCopySlowdown;
+    }
+
+    /**
+     * Sets the percentage of its requested MIPS a VM loses while its memory is pre-copied.
+     *
+     * @param preCopySlowdown the percentage to set, in scale from 0 to 1 (exclusive)
+     * @return
+     */
+    public final VmMigrationEngine setPreCopySlowdown(final double preCopySlowdown) {
+        if (preCopySlowdown < 0 || preCopySlowdown >= 1) {
+            throw new IllegalArgumentException("The pre-copy slowdown must be at least 0 and less than 1.");
+        }
+
+        this.preCopySlowdown = preCopySlowdown;
+        return this;
+    }
+
+    /**
+     * Sets a function that gives the rate (in Megabytes/second) a VM dirties its memory,
+     * which is called every time the migrations are {@link #update(double) updated}.
+     * By default, the rate is the {@link #getDirtyRatePercent() dirty rate percentage} of the VM RAM capacity,
+     * proportional to the VM CPU utilization.
+     *
+     * @param dirtyRateFunction the function to set
+     * @return
+     */
+    public VmMigrationEngine setDirtyRateFunction(final ToDoubleFunction<Vm> dirtyRateFunction) {
+        this.dirtyRateFunction = Objects.requireNonNull(dirtyRateFunction);
+        return this;
+    }
+}
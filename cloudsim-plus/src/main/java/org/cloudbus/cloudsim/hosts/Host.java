@@ -291,6 +291,19 @@ public interface Host extends Identificable, Resourceful, Comparable<Host> {
      */
     boolean setPeStatus(int peId, Pe.Status status);
 
+    /**
+     * Checks if the Host is active, that is, if it has VMs placed into it, VMs migrating into it
+     * or anything else that requires its processing to be updated.
+     * Just active Hosts have their processing updated by the {@link Datacenter}.
+     *
+     * <p>Implementations must call {@link Datacenter#updateActiveHost(Host)}
+     * every time this state may have changed.</p>
+     *
+     * @return true if the Host is active, false otherwise
+     * @see #updateProcessing(double)
+     */
+    boolean isActive();
+
     /**
      * Updates the processing of VMs running on this Host,
      * that makes the processing of cloudlets inside such VMs to be updated.
@@ -414,6 +427,7 @@ public interface Host extends Identificable, Resourceful, Comparable<Host> {
         @Override public void removeMigratingInVm(Vm vm) {}
         @Override public void setDatacenter(Datacenter datacenter) {}
         @Override public boolean setPeStatus(int peId, Pe.Status status) { return false; }
+        @Override public boolean isActive() { return false; }
         @Override public double updateProcessing(double currentTime) { return 0.0; }
         @Override public boolean vmCreate(Vm vm) { return false; }
         @Override public void destroyVm(Vm vm) {}
@@ -7,17 +7,20 @@
  */
 package org.cloudbus.cloudsim.hosts;
 
+import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.lists.PeList;
 import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
-import org.cloudbus.cloudsim.util.Log;
+import org.cloudbus.cloudsim.util.DeferredActions;
+import org.cloudbus.cloudsim.util.InMemoryStateHistory;
+import org.cloudbus.cloudsim.util.SimulationLogger;
+import org.cloudbus.cloudsim.util.StateHistory;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmStateHistoryEntry;
 
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -39,9 +42,15 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
     private double previousUtilizationMips;
 
     /**
-     * The host utilization state history.
+     * @see #getStateHistory()
      */
-    private final List<HostStateHistoryEntry> stateHistory;
+    private StateHistory<HostStateHistoryEntry> stateHistory;
+
+    /**
+     * The time of the last state added to the {@link #getStateHistory() history}
+     * by the {@link #updateProcessing(double)} method.
+     */
+    private double lastStateHistoryTime = -1;
 
     /**
      * Creates a host.
@@ -55,7 +64,7 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
         super(id, storage, peList);
         setUtilizationMips(0);
         setPreviousUtilizationMips(0);
-        stateHistory = new LinkedList<>();
+        stateHistory = new InMemoryStateHistory<>(HostStateHistoryEntry::new);
     }
 
     /**
@@ -87,8 +96,25 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
         setVmScheduler(vmScheduler);
     }
 
+    /**
+     * {@inheritDoc}
+     * This Host is also active while its current or previous CPU utilization is not zero,
+     * since such values are still used to compute its resource usage
+     * (for instance, the energy consumed during the last time frame).
+     * The state history of an inactive Host is filled
+     * with idle states when it becomes active again.
+     *
+     * @return {@inheritDoc}
+     * @see #getStateHistory()
+     */
+    @Override
+    public boolean isActive() {
+        return super.isActive() || utilizationMips > 0 || previousUtilizationMips > 0;
+    }
+
     @Override
     public double updateProcessing(double currentTime) {
+        addIdleStateHistoryEntries(currentTime);
         double smallerTime = super.updateProcessing(currentTime);
         setPreviousUtilizationMips(getUtilizationOfCpuMips());
         setUtilizationMips(0);
@@ -99,15 +125,16 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
         }
 
         for (Vm vm : getVmList()) {
-            getVmScheduler().allocatePesForVm(vm, vm.getCurrentRequestedMips());
+            getVmScheduler().allocatePesForVm(vm, getRequestedMips(vm));
         }
 
+        final SimulationLogger logger = getSimulation().getLogger();
         for (Vm vm : getVmList()) {
-            double totalRequestedMips = vm.getCurrentRequestedTotalMips();
+            final double totalRequestedMips = vm.getCurrentRequestedTotalMips();
             double totalAllocatedMips = getVmScheduler().getTotalAllocatedMipsForVm(vm);
 
-            if (!Log.isDisabled() && vm.getHost() != Host.NULL) {
-                Log.printFormattedLine(
+            if (logger.isEnabled() && vm.getHost() != Host.NULL) {
+                logger.printFormattedLine(
                         "%.2f: [Host #" + getId() + "] Total allocated MIPS for VM #" + vm.getId()
                         + " (Host #" + vm.getHost().getId()
                         + ") is %.2f, was requested %.2f out of total %.2f (%.2f%%)",
@@ -123,7 +150,7 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
                     pesString.append(String.format(" PE #%d: %d.", pe.getId(), pe.getPeProvisioner()
                             .getAllocatedResourceForVm(vm)));
                 }
-                Log.printFormattedLine(
+                logger.printFormattedLine(
                         "%.2f: [Host #" + getId() + "] MIPS for VM #" + vm.getId() + " by PEs ("
                         + getNumberOfPes() + " * " + getVmScheduler().getPeCapacity() + ")."
                         + pesString,
@@ -131,12 +158,13 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
             }
 
             if (getVmsMigratingIn().contains(vm)) {
-                Log.printFormattedLine("%.2f: [Host #" + getId() + "] VM #" + vm.getId()
-                        + " is being migrated to Host #" + getId(), getSimulation().clock());
+                logger.printLine(() -> String.format("%.2f: [Host #" + getId() + "] VM #" + vm.getId()
+                        + " is being migrated to Host #" + getId(), getSimulation().clock()));
             } else {
                 if (totalAllocatedMips + 0.1 < totalRequestedMips) {
-                    Log.printFormattedLine("%.2f: [Host #" + getId() + "] Under allocated MIPS for VM #" + vm.getId()
-                            + ": %.2f", getSimulation().clock(), totalRequestedMips - totalAllocatedMips);
+                    final double underAllocatedMips = totalRequestedMips - totalAllocatedMips;
+                    logger.printLine(() -> String.format("%.2f: [Host #" + getId() + "] Under allocated MIPS for VM #" + vm.getId()
+                            + ": %.2f", getSimulation().clock(), underAllocatedMips));
                 }
 
                 VmStateHistoryEntry entry = new VmStateHistoryEntry(
@@ -147,10 +175,10 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
                 vm.addStateHistoryEntry(entry);
 
                 if (vm.isInMigration()) {
-                    Log.printFormattedLine(
+                    logger.printLine(() -> String.format(
                             "%.2f: [Host #" + getId() + "] VM #" + vm.getId() + " is in migration",
-                            getSimulation().clock());
-                    totalAllocatedMips /= 0.9; // performance degradation due to migration - 10%
+                            getSimulation().clock()));
+                    totalAllocatedMips = getUsedMipsDuringMigration(vm, totalAllocatedMips);
                 }
             }
 
@@ -159,10 +187,81 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
         }
 
         addStateHistoryEntry(currentTime, getUtilizationOfCpuMips(), hostTotalRequestedMips, (getUtilizationOfCpuMips() > 0));
+        lastStateHistoryTime = currentTime;
+        if (!isActive()) {
+            DeferredActions.run(() -> getDatacenter().updateActiveHost(this));
+        }
 
         return smallerTime;
     }
 
+    /**
+     * Gets the MIPS requested by a VM to the {@link #getVmScheduler() VmScheduler}.
+     * When the VM is migrating out of this Host, the MIPS are reduced according to the
+     * {@link Datacenter#getVmMigrationMipsPercent(Host, Vm) percentage of MIPS} given by the Datacenter.
+     * Since the VmScheduler already reduces the MIPS of VMs migrating out by its
+     * {@link VmScheduler#getCpuOverheadDueToVmMigration() CPU overhead}, the requested MIPS
+     * are adjusted so that just the reduction given by the Datacenter is applied.
+     *
+     * @param vm the VM to get the requested MIPS
+     * @return the list of MIPS requested for each VM PE
+     */
+    private List<Double> getRequestedMips(final Vm vm) {
+        final double mipsPercent = getMigrationMipsPercent(vm);
+        if (mipsPercent == 1) {
+            return vm.getCurrentRequestedMips();
+        }
+
+        final double schedulerMipsPercent = 1 - getVmScheduler().getCpuOverheadDueToVmMigration();
+        final double factor = schedulerMipsPercent > 0 ? mipsPercent / schedulerMipsPercent : 0;
+        if (factor == 1) {
+            return vm.getCurrentRequestedMips();
+        }
+
+        return vm.getCurrentRequestedMips().stream().map(mips -> mips * factor).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the MIPS of this Host used by a VM migrating out of it, including the MIPS used to perform the migration.
+     *
+     * @param vm the VM migrating out of this Host
+     * @param allocatedMips the MIPS allocated to the VM
+     * @return the MIPS used by the VM and its migration
+     */
+    private double getUsedMipsDuringMigration(final Vm vm, final double allocatedMips) {
+        //The VM may be stopped during the migration, such as in the stop-and-copy phase
+        final double mipsPercent = getMigrationMipsPercent(vm);
+        return mipsPercent > 0 ? allocatedMips / mipsPercent : 0;
+    }
+
+    /**
+     * Gets the percentage of its requested MIPS a VM migrating out of this Host gets,
+     * according to the {@link Datacenter#getVmMigrationMipsPercent(Host, Vm) Datacenter}.
+     *
+     * @param vm the VM to get the percentage of MIPS
+     * @return the percentage of MIPS in scale from 0 to 1, that is 1 if the VM isn't migrating out of this Host
+     */
+    private double getMigrationMipsPercent(final Vm vm) {
+        if (!vm.isInMigration() || getVmsMigratingIn().contains(vm)) {
+            return 1;
+        }
+
+        return getDatacenter().getVmMigrationMipsPercent(this, vm);
+    }
+
+    /**
+     * Adds idle states to the history for the times the {@link #getDatacenter() Datacenter}
+     * updated the processing of its active hosts while this Host was inactive,
+     * that is, since its last state was added until the given time (exclusive).
+     *
+     * @param time the time until which idle states have to be added
+     */
+    private void addIdleStateHistoryEntries(final double time) {
+        for (final double idleTime : getDatacenter().getHostsProcessingTimes(lastStateHistoryTime, time)) {
+            addStateHistoryEntry(idleTime, 0, 0, false);
+        }
+    }
+
     @Override
     public List<Vm> getFinishedVms() {
         return getVmList().stream()
@@ -279,11 +378,34 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
     /**
      * Gets the host state history.
      *
-     * @return the state history
+     * @return the state history, that is empty if the
+     * {@link #setStateHistory(StateHistory) history} doesn't keep the states in memory
      */
     @Override
     public List<HostStateHistoryEntry> getStateHistory() {
-        return Collections.unmodifiableList(stateHistory);
+        if (!isActive()) {
+            addIdleStateHistoryEntries(Double.MAX_VALUE);
+        }
+
+        return stateHistory.asList();
+    }
+
+    /**
+     * Sets how the host state history is stored.
+     * By default, all states are kept in memory using an {@link InMemoryStateHistory}.
+     * Since a state is added at every processing update, long simulations with many hosts
+     * may use a bounded {@link InMemoryStateHistory}, a {@link org.cloudbus.cloudsim.util.StreamingStateHistory}
+     * or a {@link StateHistory#disabled() disabled} history.
+     *
+     * <p>The history should be set before the simulation starts,
+     * since the states already added aren't copied to the new history.</p>
+     *
+     * @param stateHistory the state history to set
+     * @return
+     */
+    public HostDynamicWorkloadSimple setStateHistory(final StateHistory<HostStateHistoryEntry> stateHistory) {
+        this.stateHistory = Objects.requireNonNull(stateHistory);
+        return this;
     }
 
     /**
@@ -296,16 +418,7 @@ public class HostDynamicWorkloadSimple extends HostSimple implements HostDynamic
      */
     @Override
     public void addStateHistoryEntry(double time, double allocatedMips, double requestedMips, boolean isActive) {
-        HostStateHistoryEntry newState = new HostStateHistoryEntry(time, allocatedMips, requestedMips, isActive);
-        if (!stateHistory.isEmpty()) {
-            HostStateHistoryEntry previousState = stateHistory.get(stateHistory.size() - 1);
-            if (previousState.getTime() == time) {
-                stateHistory.set(stateHistory.size() - 1, newState);
-                return;
-            }
-        }
-
-        stateHistory.add(newState);
+        stateHistory.add(time, allocatedMips, requestedMips, isActive);
     }
 
 }
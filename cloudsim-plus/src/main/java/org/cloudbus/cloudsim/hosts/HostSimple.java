@@ -7,6 +7,7 @@
 package org.cloudbus.cloudsim.hosts;
 
 import org.cloudbus.cloudsim.resources.*;
+import org.cloudbus.cloudsim.util.DeferredActions;
 import org.cloudbus.cloudsim.util.Log;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
@@ -154,6 +155,18 @@ public class HostSimple implements Host {
         setVmScheduler(vmScheduler);
     }
 
+    /**
+     * {@inheritDoc}
+     * A HostSimple is active when it has VMs placed or migrating into it,
+     * or listeners to be notified when its processing is updated.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isActive() {
+        return !vmList.isEmpty() || !vmsMigratingIn.isEmpty() || !onUpdateProcessingListeners.isEmpty();
+    }
+
     @Override
     public double updateProcessing(double currentTime) {
         double nextSimulationTime = Double.MAX_VALUE;
@@ -167,8 +180,12 @@ public class HostSimple implements Host {
     }
 
     private void notifyOnUpdateProcessingListeners(double nextSimulationTime) {
+        if(onUpdateProcessingListeners.isEmpty()){
+            return;
+        }
+
         final HostUpdatesVmsProcessingEventInfo info = HostUpdatesVmsProcessingEventInfo.of(this, nextSimulationTime);
-        onUpdateProcessingListeners.forEach(l -> l.update(info));
+        DeferredActions.run(() -> onUpdateProcessingListeners.forEach(l -> l.update(info)));
     }
 
     @Override
@@ -209,6 +226,7 @@ public class HostSimple implements Host {
             storage.allocateResource(vm.getStorage());
 
             getVmsMigratingIn().add(vm);
+            getDatacenter().updateActiveHost(this);
             updateProcessing(simulation.clock());
             vm.getHost().updateProcessing(simulation.clock());
         }
@@ -221,6 +239,7 @@ public class HostSimple implements Host {
         getVmList().remove(vm);
         getVmScheduler().removeVmMigratingIn(vm);
         vm.setInMigration(false);
+        getDatacenter().updateActiveHost(this);
     }
 
     @Override
@@ -235,6 +254,8 @@ public class HostSimple implements Host {
             getVmScheduler().allocatePesForVm(vm, vm.getCurrentRequestedMips());
             storage.allocateResource(vm.getStorage());
         }
+
+        getDatacenter().updateActiveHost(this);
     }
 
     @Override
@@ -277,6 +298,7 @@ public class HostSimple implements Host {
         storage.allocateResource(vm.getStorage());
         getVmList().add(vm);
         vm.setHost(this);
+        getDatacenter().updateActiveHost(this);
         vm.notifyOnHostAllocationListeners();
         return true;
     }
@@ -286,6 +308,7 @@ public class HostSimple implements Host {
         if (!Objects.isNull(vm)) {
             deallocateResourcesOfVm(vm);
             getVmList().remove(vm);
+            getDatacenter().updateActiveHost(this);
             vm.notifyOnHostDeallocationListeners(this);
         }
     }
@@ -312,6 +335,7 @@ public class HostSimple implements Host {
         }
 
         getVmList().clear();
+        getDatacenter().updateActiveHost(this);
     }
 
     /**
@@ -518,13 +542,16 @@ public class HostSimple implements Host {
 
     @Override
     public boolean removeOnUpdateProcessingListener(EventListener<HostUpdatesVmsProcessingEventInfo> listener) {
-        return onUpdateProcessingListeners.remove(listener);
+        final boolean removed = onUpdateProcessingListeners.remove(listener);
+        getDatacenter().updateActiveHost(this);
+        return removed;
     }
 
     @Override
     public Host addOnUpdateProcessingListener(EventListener<HostUpdatesVmsProcessingEventInfo> listener) {
         Objects.requireNonNull(listener);
         this.onUpdateProcessingListeners.add(listener);
+        getDatacenter().updateActiveHost(this);
         return this;
     }
 
@@ -9,14 +9,20 @@ package org.cloudbus.cloudsim.hosts.network;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.datacenters.network.VmHostIndex;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.NetworkTelemetry;
 import org.cloudbus.cloudsim.schedulers.cloudlet.network.PacketScheduler;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.schedulers.cloudlet.network.PacketSchedulerSimple;
 import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.util.DeferredActions;
 import org.cloudbus.cloudsim.util.Log;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
 import org.cloudbus.cloudsim.network.VmPacket;
@@ -52,7 +58,10 @@ import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
  */
 public class NetworkHost extends HostSimple {
 
-    private int totalDataTransferBytes = 0;
+    /**
+     * @see #getTelemetry()
+     */
+    private final NetworkTelemetry telemetry;
 
     /**
      * A buffer of packets to send for VMs inside this Host.
@@ -95,6 +104,7 @@ public class NetworkHost extends HostSimple {
         hostPacketsReceived = new ArrayList<>();
         packetsToSendForExternalVms = new ArrayList<>();
         packetsToSendForLocalVms = new ArrayList<>();
+        telemetry = new NetworkTelemetry();
     }
 
     /**
@@ -144,7 +154,7 @@ public class NetworkHost extends HostSimple {
                 hostPkt.getVmPacket().setReceiveTime(getSimulation().clock());
 
                 //Checks if the destinationVm is inside this host
-                Vm destinationVm = VmList.getById(getVmList(), hostPkt.getVmPacket().getDestination().getId());
+                Vm destinationVm = getVm(hostPkt.getVmPacket().getDestination());
                 if(destinationVm.equals(Vm.NULL)){
                     Log.println(
                         Log.Level.ERROR, getClass(), getSimulation().clock(),
@@ -210,10 +220,28 @@ public class NetworkHost extends HostSimple {
      * to VMs outside this host.
      */
     private void sendPacketsToExternalVms() {
+        if (packetsToSendForExternalVms.isEmpty()) {
+            return;
+        }
+
+        final Optional<NetworkDatacenter> flowLevelDatacenter =
+            getNetworkDatacenter().filter(NetworkDatacenter::isFlowLevelNetworkEnabled);
+        if (flowLevelDatacenter.isPresent()) {
+            final NetworkDatacenter datacenter = flowLevelDatacenter.get();
+            packetsToSendForExternalVms.forEach(
+                hostPkt -> telemetry.addSentPacket(getSimulation().clock(), hostPkt.getVmPacket().getSize()));
+            /* The flows are shared by all hosts of the datacenter,
+             * so they are just started after the processing of hosts updated in parallel has finished. */
+            final List<HostPacket> packets = new ArrayList<>(packetsToSendForExternalVms);
+            DeferredActions.run(() -> datacenter.startFlows(packets));
+            packetsToSendForExternalVms.clear();
+            return;
+        }
+
         final double availableBwByPacket = getBandwidthByPacket(packetsToSendForExternalVms.size());
         for (HostPacket hostPkt : packetsToSendForExternalVms) {
             double delay = Conversion.bytesToMegaBites(hostPkt.getVmPacket().getSize()) / availableBwByPacket;
-            totalDataTransferBytes += hostPkt.getVmPacket().getSize();
+            telemetry.addSentPacket(getSimulation().clock(), hostPkt.getVmPacket().getSize());
 
             // send to Datacenter with delay
             getSimulation().send(
@@ -251,9 +279,76 @@ public class NetworkHost extends HostSimple {
     public boolean vmCreate(Vm vm) {
         final boolean isVmCreated = super.vmCreate(vm);
         setPacketScheduler(vm);
+        if (isVmCreated) {
+            getVmHostIndex().ifPresent(index -> index.add(vm, this));
+        }
+
         return isVmCreated;
     }
 
+    @Override
+    public void destroyVm(Vm vm) {
+        super.destroyVm(vm);
+        if (!Objects.isNull(vm)) {
+            getVmHostIndex().ifPresent(index -> index.remove(vm, this));
+        }
+    }
+
+    @Override
+    public void destroyAllVms() {
+        final List<Vm> vms = new ArrayList<>(getVmList());
+        super.destroyAllVms();
+        getVmHostIndex().ifPresent(index -> vms.forEach(vm -> index.remove(vm, this)));
+    }
+
+    @Override
+    public void removeMigratingInVm(Vm vm) {
+        super.removeMigratingInVm(vm);
+        getVmHostIndex().ifPresent(index -> index.remove(vm, this));
+    }
+
+    @Override
+    public void reallocateMigratingInVms() {
+        super.reallocateMigratingInVms();
+        getVmHostIndex().ifPresent(index -> getVmsMigratingIn().forEach(vm -> index.add(vm, this)));
+    }
+
+    /**
+     * Gets the index of VMs' hosts of the Datacenter this host belongs to.
+     * @return an Optional containing the index or an empty Optional if the host isn't inside a {@link NetworkDatacenter}
+     */
+    private Optional<VmHostIndex> getVmHostIndex() {
+        return getNetworkDatacenter().map(NetworkDatacenter::getVmHostIndex);
+    }
+
+    /**
+     * Gets the Datacenter this host belongs to, if it is a {@link NetworkDatacenter}.
+     * @return an Optional containing the Datacenter or an empty Optional if the host isn't inside a {@link NetworkDatacenter}
+     */
+    private Optional<NetworkDatacenter> getNetworkDatacenter() {
+        if (getDatacenter() instanceof NetworkDatacenter) {
+            return Optional.of((NetworkDatacenter) getDatacenter());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Gets a VM placed into this host, using the {@link VmHostIndex} of the Datacenter
+     * when available, instead of searching the host VM list.
+     *
+     * @param vm the VM to get from this host
+     * @return the VM placed into this host or {@link Vm#NULL} if it's not placed here
+     */
+    private Vm getVm(Vm vm) {
+        final Optional<VmHostIndex> index = getVmHostIndex();
+        if (index.isPresent()) {
+            return index.get().contains(vm.getId(), this) ? vm : Vm.NULL;
+        }
+
+        return VmList.getById(getVmList(), vm.getId());
+    }
+
     private void setPacketScheduler(Vm vm) {
         CloudletScheduler cs = vm.getCloudletScheduler();
         if(!cs.isTherePacketScheduler()){
@@ -286,8 +381,7 @@ public class NetworkHost extends HostSimple {
     private void collectPacketToSendFromVm(VmPacket vmPkt) {
         HostPacket hostPkt = new HostPacket(this, vmPkt);
         //Checks if the VM is inside this Host
-        Vm receiverVm = VmList.getById(this.getVmList(), vmPkt.getDestination().getId());
-        if (receiverVm != Vm.NULL) {
+        if (getVm(vmPkt.getDestination()) != Vm.NULL) {
             packetsToSendForLocalVms.add(hostPkt);
         } else {
             packetsToSendForExternalVms.add(hostPkt);
@@ -313,8 +407,24 @@ public class NetworkHost extends HostSimple {
         this.bandwidth = sw.getDownlinkBandwidth();
     }
 
-    public int getTotalDataTransferBytes() {
-        return totalDataTransferBytes;
+    /**
+     * Gets the total number of bytes sent by this Host to VMs in other Hosts.
+     * @return
+     * @see #getTelemetry()
+     */
+    public long getTotalDataTransferBytes() {
+        return telemetry.getSentBytes();
+    }
+
+    /**
+     * Gets the telemetry of the Host, with the number of bytes and packets
+     * it sent to and received from other Hosts and, if a
+     * {@link NetworkTelemetry#setSampleInterval(double) sample interval} is set, its throughput along the time.
+     *
+     * @return the Host telemetry
+     */
+    public NetworkTelemetry getTelemetry() {
+        return telemetry;
     }
 
     /**
@@ -325,6 +435,7 @@ public class NetworkHost extends HostSimple {
      */
     public void addReceivedNetworkPacket(HostPacket hostPacket){
         hostPacketsReceived.add(hostPacket);
+        telemetry.addReceivedPacket(hostPacket.getVmPacket().getSize());
     }
 
     /**
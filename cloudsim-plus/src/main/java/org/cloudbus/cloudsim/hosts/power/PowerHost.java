@@ -61,6 +61,27 @@ public interface PowerHost extends HostDynamicWorkload {
      */
     double getPower();
 
+    /**
+     * Gets the power consumption of the host at a given CPU utilization, according to its {@link #getPowerModel() power model}.
+     * It can be used to estimate the power the host would consume if its utilization changes,
+     * without changing the host state.
+     *
+     * @param utilization the CPU utilization percentage (between [0 and 1])
+     * @return the power consumption at the given utilization
+     */
+    double getPower(double utilization);
+
+    /**
+     * Checks if a VM can be created into the host, considering all the resources the VM requires,
+     * without actually creating it.
+     * Differently from {@link #vmCreate(Vm)}, the state of the host and the VM is not changed,
+     * so that it can be used to evaluate a supposed VM placement (a "what-if" analysis).
+     *
+     * @param vm the VM to check
+     * @return true if the VM can be created into the host, false otherwise
+     */
+    boolean isSuitableForVmCreation(Vm vm);
+
     /**
      * Gets the power model.
      *
@@ -87,6 +108,8 @@ public interface PowerHost extends HostDynamicWorkload {
         @Override public double getEnergyLinearInterpolation(double fromUtilization, double toUtilization, double time) { return 0; }
         @Override public double getMaxPower() { return 0; }
         @Override public double getPower() { return 0; }
+        @Override public double getPower(double utilization) { return 0; }
+        @Override public boolean isSuitableForVmCreation(Vm vm) { return false; }
         @Override public PowerModel getPowerModel() { return PowerModel.NULL; }
         @Override public PowerHost setPowerModel(PowerModel powerModel) { return PowerHost.NULL; }
         @Override public void addStateHistoryEntry(double time, double allocatedMips, double requestedMips, boolean isActive) {}
@@ -100,6 +123,7 @@ public interface PowerHost extends HostDynamicWorkload {
         @Override public double getUtilizationOfCpu() { return 0; }
         @Override public double getUtilizationOfCpuMips() { return 0; }
         @Override public long getUtilizationOfRam() { return 0; }
+        @Override public boolean isActive() { return false; }
         @Override public double updateProcessing(double currentTime) { return 0; }
         @Override public void addMigratingInVm(Vm vm) {}
         @Override public boolean allocatePesForVm(Vm vm, List<Double> mipsShare) { return false; }
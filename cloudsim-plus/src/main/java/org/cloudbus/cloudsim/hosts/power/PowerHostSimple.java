@@ -11,9 +11,11 @@ import java.util.List;
 
 import org.cloudbus.cloudsim.hosts.HostDynamicWorkloadSimple;
 import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.Resource;
 import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
 import org.cloudbus.cloudsim.power.models.PowerModel;
 import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
+import org.cloudbus.cloudsim.vms.Vm;
 
 /**
  * PowerHost class enables simulation of power-aware hosts.
@@ -91,13 +93,14 @@ public class PowerHostSimple extends HostDynamicWorkloadSimple implements PowerH
     }
 
     /**
-     * Gets the power consumption of the host. For this moment it only computes the power consumed by PEs.
+     * {@inheritDoc}
+     * For this moment it only computes the power consumed by PEs.
      *
-     * @param utilization the utilization percentage (between [0 and 1]) of a
-     * resource that is critical for power consumption
-     * @return the power consumption
+     * @param utilization {@inheritDoc}
+     * @return {@inheritDoc}
      */
-    protected double getPower(double utilization) {
+    @Override
+    public double getPower(double utilization) {
         try {
             return getPowerModel().getPower(utilization);
         } catch (Exception e) {
@@ -105,6 +108,33 @@ public class PowerHostSimple extends HostDynamicWorkloadSimple implements PowerH
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * It performs the same checks of {@link #vmCreate(Vm)}: the available storage,
+     * RAM and bandwidth, the resizing of the VM RAM and bandwidth to the currently requested
+     * amounts and the allocation of PEs by the {@link #getVmScheduler() VmScheduler}.
+     *
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isSuitableForVmCreation(Vm vm) {
+        final long requestedRam = vm.getCurrentRequestedRam();
+        final long requestedBw = vm.getCurrentRequestedBw();
+        return getStorage().isResourceAmountAvailable(vm.getStorage()) &&
+               getRamProvisioner().isSuitableForVm(vm, requestedRam) && isResizable(vm.getRam(), requestedRam) &&
+               getBwProvisioner().isSuitableForVm(vm, requestedBw) && isResizable(vm.getBw(), requestedBw) &&
+               getVmScheduler().isSuitableForVm(vm);
+    }
+
+    /**
+     * Checks if the capacity of a VM resource can be changed to a given value,
+     * as it is done when the resource is allocated to the VM.
+     */
+    private boolean isResizable(Resource vmResource, long newCapacity) {
+        return newCapacity > 0 && vmResource.getAllocatedResource() <= newCapacity;
+    }
+
     /**
      * Gets the max power that can be consumed by the host.
      *
@@ -8,8 +8,10 @@
 
 package org.cloudbus.cloudsim.hosts.power;
 
+import java.util.Arrays;
 import java.util.List;
 
+import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.power.PowerVm;
 import org.cloudbus.cloudsim.resources.Pe;
 
@@ -17,6 +19,7 @@ import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
 import org.cloudbus.cloudsim.power.models.PowerModel;
 import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
 import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.OrderStatistics;
 
 /**
  * A host that stores its CPU utilization percentage history. The history is used by VM allocation
@@ -36,6 +39,28 @@ import org.cloudbus.cloudsim.util.MathUtil;
  * @since CloudSim Toolkit 2.0
  */
 public class PowerHostUtilizationHistory extends PowerHostSimple {
+    /**
+     * @see #getUtilizationHistoryStatistics()
+     */
+    private OrderStatistics utilizationHistoryStatistics;
+
+    /**
+     * A counter increased every time VMs are placed into or removed from the host.
+     */
+    private long vmListVersion;
+
+    /**
+     * The {@link #vmListVersion} from which the {@link #utilizationHistoryStatistics} were computed.
+     */
+    private long statisticsVmListVersion = -1;
+
+    /**
+     * The sum of the number of values added to the history of the host VMs
+     * when the {@link #utilizationHistoryStatistics} were computed.
+     * @see #getVmsHistoryAddedCount()
+     */
+    private long statisticsVmsHistoryAddedCount = -1;
+
     /**
      * Creates a PowerHostUtilizationHistory.
      *
@@ -81,18 +106,151 @@ public class PowerHostUtilizationHistory extends PowerHostSimple {
     }
 
 	/**
-	 * Gets the host CPU utilization percentage history.
+	 * Gets the host CPU utilization percentage history,
+	 * from the newest to the oldest value, which is computed
+	 * from the history of its current VMs.
+	 * Trailing zero values are removed.
 	 *
+	 * @return a new array with the utilization history, which can be changed by the caller
 	 */
 	public double[] getUtilizationHistory() {
-		double[] utilizationHistory = new double[PowerVm.MAX_HISTORY_ENTRIES];
-		double hostMips = getTotalMips();
-		for (PowerVm vm : this.<PowerVm>getVmList()) {
-			for (int i = 0; i < vm.getUtilizationHistory().size(); i++) {
-				utilizationHistory[i] += vm.getUtilizationHistory().get(i) * vm.getMips() / hostMips;
-			}
+		return computeUtilizationHistory(Vm.NULL);
+	}
+
+	/**
+	 * Gets the host CPU utilization percentage history as if a given VM were placed into the host,
+	 * without actually placing it (so that the host state is not changed).
+	 * The history of such a VM is added to the history of the current VMs,
+	 * as it happens when it is placed into the host.
+	 * Trailing zero values are removed.
+	 *
+	 * @param vm the VM to supposedly place into the host
+	 * @return a new array with the utilization history after the supposed VM placement
+	 * @see #getUtilizationHistory()
+	 */
+	public double[] getUtilizationHistoryAfterAllocation(Vm vm) {
+		return computeUtilizationHistory(vm);
+	}
+
+	/**
+	 * Computes the host CPU utilization percentage history from the history of its VMs
+	 * and of an additional VM, which is considered after all the host VMs.
+	 *
+	 * @param additionalVm a VM to consider as placed into the host or {@link Vm#NULL}
+	 * @return a new array with the utilization history
+	 */
+	private double[] computeUtilizationHistory(Vm additionalVm) {
+		final List<PowerVm> vmList = getVmList();
+		final PowerVm powerVm = additionalVm instanceof PowerVm ? (PowerVm) additionalVm : null;
+		int historySize = powerVm == null ? 0 : powerVm.getUtilizationHistory().size();
+		for (final PowerVm vm : vmList) {
+			historySize = Math.max(historySize, vm.getUtilizationHistory().size());
+		}
+
+		final double[] utilizationHistory = new double[historySize];
+		final double hostMips = getTotalMips();
+		for (final PowerVm vm : vmList) {
+			addUtilizationHistory(utilizationHistory, vm, hostMips);
+		}
+
+		if (powerVm != null) {
+			addUtilizationHistory(utilizationHistory, powerVm, hostMips);
+		}
+
+		final int nonZeroValues = MathUtil.countNonZeroBeginning(utilizationHistory);
+		return nonZeroValues == historySize ? utilizationHistory : Arrays.copyOf(utilizationHistory, nonZeroValues);
+	}
+
+	/**
+	 * Adds the CPU utilization history of a VM to a host utilization history,
+	 * proportionally to the VM capacity.
+	 */
+	private static void addUtilizationHistory(final double[] utilizationHistory, final PowerVm vm, final double hostMips) {
+		final int vmHistorySize = vm.getUtilizationHistory().size();
+		for (int i = 0; i < vmHistorySize; i++) {
+			utilizationHistory[i] += vm.getUtilizationHistoryValue(i) * vm.getMips() / hostMips;
+		}
+	}
+
+	/**
+	 * Gets the order statistics (such as median, IQR and MAD) of the host
+	 * {@link #getUtilizationHistory() CPU utilization percentage history}.
+	 * The statistics are just computed again when the history changes,
+	 * which usually happens once at each scheduling interval
+	 * or when VMs are placed into or removed from the host
+	 * (including the VMs migrating into it).
+	 *
+	 * @return the utilization history statistics
+	 */
+	public OrderStatistics getUtilizationHistoryStatistics() {
+		final long vmsHistoryAddedCount = getVmsHistoryAddedCount();
+		if (utilizationHistoryStatistics == null ||
+		    statisticsVmListVersion != vmListVersion ||
+		    statisticsVmsHistoryAddedCount != vmsHistoryAddedCount)
+		{
+			utilizationHistoryStatistics = new OrderStatistics(getUtilizationHistory());
+			statisticsVmListVersion = vmListVersion;
+			statisticsVmsHistoryAddedCount = vmsHistoryAddedCount;
+		}
+
+		return utilizationHistoryStatistics;
+	}
+
+	/**
+	 * Gets the sum of the number of values ever added to the history of each host VM,
+	 * which changes every time a value is added to the history of any of them.
+	 *
+	 * @return the sum of the {@link PowerVm#getUtilizationHistoryAddedCount()} of the host VMs
+	 */
+	private long getVmsHistoryAddedCount() {
+		long count = 0;
+		for (final PowerVm vm : this.<PowerVm>getVmList()) {
+			count += vm.getUtilizationHistoryAddedCount();
 		}
-		return MathUtil.trimZeroTail(utilizationHistory);
+
+		return count;
+	}
+
+	/**
+	 * Indicates that VMs were placed into or removed from the host,
+	 * so that the {@link #getUtilizationHistoryStatistics() statistics} are computed again when requested.
+	 */
+	private void updateVmListVersion() {
+		vmListVersion++;
+	}
+
+	@Override
+	public boolean vmCreate(Vm vm) {
+		final boolean created = super.vmCreate(vm);
+		if (created) {
+			updateVmListVersion();
+		}
+
+		return created;
+	}
+
+	@Override
+	public void destroyVm(Vm vm) {
+		super.destroyVm(vm);
+		updateVmListVersion();
+	}
+
+	@Override
+	public void destroyAllVms() {
+		super.destroyAllVms();
+		updateVmListVersion();
+	}
+
+	@Override
+	public void removeMigratingInVm(Vm vm) {
+		super.removeMigratingInVm(vm);
+		updateVmListVersion();
+	}
+
+	@Override
+	public void reallocateMigratingInVms() {
+		super.reallocateMigratingInVms();
+		updateVmListVersion();
 	}
 
 }
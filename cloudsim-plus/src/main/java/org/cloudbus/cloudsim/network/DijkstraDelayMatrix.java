@@ -0,0 +1,334 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
+import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
+
+/**
+ * Gives the delay between every pair of nodes inside a network topology,
+ * as a {@link DelayMatrix} does, but computing the delays from a source node just when they are requested.
+ *
+ * <p>The links are stored into a sparse adjacency structure and the delays from a source node
+ * are computed using the Dijkstra algorithm in O(E log V), instead of computing the delays
+ * between all pairs of nodes in O(V<sup>3</sup>) using the {@link FloydWarshall} algorithm.
+ * The delays computed for the most recently used source nodes are kept into a cache of limited size,
+ * so that the memory used is O(V+E) plus the cache, instead of a dense V x V matrix.</p>
+ *
+ * <p>As in the {@link DelayMatrix}, links with zero delay are ignored, the delay from a node to itself is zero,
+ * the delay between disconnected nodes is {@link Double#MAX_VALUE} and, if there are multiple links
+ * between the same nodes, the last one is used.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class DijkstraDelayMatrix {
+    /**
+     * The default maximum number of source nodes whose delays are kept in the cache.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final int numberOfNodes;
+
+    /**
+     * Indicates if the links are directed or not.
+     * For undirected links, the delays from the destination node can be used if they are in the cache.
+     */
+    private final boolean directed;
+
+    /**
+     * The position in the {@link #neighbors} and {@link #linkDelays} arrays where the links of each node start.
+     * The links of a node {@code i} are between positions {@code offsets[i]} (inclusive)
+     * and {@code offsets[i+1]} (exclusive).
+     */
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final double[] linkDelays;
+
+    /**
+     * The delays from the most recently used source nodes to every node,
+     * where each key is the source node ID.
+     */
+    private final LruCache cache;
+
+    /**
+     * The binary heap used by the Dijkstra algorithm, storing the delay and the ID of nodes.
+     */
+    private double[] heapDelays;
+    private int[] heapNodes;
+    private int heapSize;
+
+    /**
+     * Creates a delay matrix with the {@link #DEFAULT_CACHE_SIZE default cache size}.
+     *
+     * @param graph the network topological graph
+     * @param directed indicates if the links are directed (true) or not (false)
+     */
+    public DijkstraDelayMatrix(final TopologicalGraph graph, final boolean directed) {
+        this(graph, directed, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a delay matrix.
+     *
+     * @param graph the network topological graph
+     * @param directed indicates if the links are directed (true) or not (false)
+     * @param cacheSize the maximum number of source nodes whose delays are kept in the cache
+     */
+    public DijkstraDelayMatrix(final TopologicalGraph graph, final boolean directed, final int cacheSize) {
+        if(cacheSize <= 0){
+            throw new IllegalArgumentException("The cache size must be a positive number.");
+        }
+
+        this.numberOfNodes = graph.getNumberOfNodes();
+        this.directed = directed;
+        final Map<Long, Double> links = getLinkDelays(graph, directed);
+        this.offsets = new int[numberOfNodes + 1];
+        this.neighbors = new int[links.size()];
+        this.linkDelays = new double[links.size()];
+        createAdjacency(links);
+
+        this.cache = new LruCache(cacheSize);
+        this.heapDelays = new double[16];
+        this.heapNodes = new int[16];
+    }
+
+    /**
+     * Gets the delay of the links between every pair of connected nodes,
+     * where each key is a pair of source and destination node IDs.
+     */
+    private Map<Long, Double> getLinkDelays(final TopologicalGraph graph, final boolean directed) {
+        final Map<Long, Double> links = new LinkedHashMap<>(graph.getNumberOfLinks() * 2);
+        final Iterator<TopologicalLink> it = graph.getLinkIterator();
+        while (it.hasNext()) {
+            final TopologicalLink link = it.next();
+            putLinkDelay(links, link.getSrcNodeID(), link.getDestNodeID(), link.getLinkDelay());
+            if (!directed) {
+                putLinkDelay(links, link.getDestNodeID(), link.getSrcNodeID(), link.getLinkDelay());
+            }
+        }
+
+        links.values().removeIf(delay -> delay == 0);
+        return links;
+    }
+
+    private void putLinkDelay(final Map<Long, Double> links, final int srcID, final int destID, final double delay) {
+        checkNodeId(srcID);
+        checkNodeId(destID);
+        if (srcID != destID) {
+            links.put((long) srcID * numberOfNodes + destID, delay);
+        }
+    }
+
+    /**
+     * Stores the links of every node into the adjacency arrays, in the Compressed Sparse Row (CSR) format.
+     */
+    private void createAdjacency(final Map<Long, Double> links) {
+        for (final long key : links.keySet()) {
+            offsets[(int) (key / numberOfNodes) + 1]++;
+        }
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        final int[] next = Arrays.copyOf(offsets, numberOfNodes);
+        for (final Map.Entry<Long, Double> link : links.entrySet()) {
+            final int src = (int) (link.getKey() / numberOfNodes);
+            final int position = next[src]++;
+            neighbors[position] = (int) (link.getKey() % numberOfNodes);
+            linkDelays[position] = link.getValue();
+        }
+    }
+
+    /**
+     * Gets the delay between two nodes.
+     *
+     * @param srcID the id of the source node
+     * @param destID the id of the destination node
+     * @return the delay between the given two nodes
+     * @throws ArrayIndexOutOfBoundsException if some node ID is invalid
+     */
+    public double getDelay(final int srcID, final int destID) {
+        checkNodeId(srcID);
+        checkNodeId(destID);
+        if (!directed && !cache.containsKey(srcID)) {
+            final double[] delaysFromDest = cache.get(destID);
+            if (delaysFromDest != null) {
+                return delaysFromDest[srcID];
+            }
+        }
+
+        return getDelays(srcID)[destID];
+    }
+
+    private void checkNodeId(final int nodeID) {
+        if (nodeID < 0 || nodeID >= numberOfNodes) {
+            throw new ArrayIndexOutOfBoundsException("Node ID " + nodeID + " is not between 0 and " + (numberOfNodes - 1));
+        }
+    }
+
+    /**
+     * Gets the delays from a source node to every node,
+     * which are computed if they aren't in the cache.
+     *
+     * @param srcID the id of the source node
+     * @return
+     */
+    private double[] getDelays(final int srcID) {
+        double[] delays = cache.get(srcID);
+        if (delays == null) {
+            delays = computeDelays(srcID);
+            cache.put(srcID, delays);
+        }
+
+        return delays;
+    }
+
+    /**
+     * Computes the delays from a source node to every node using the Dijkstra algorithm.
+     *
+     * @param srcID the id of the source node
+     * @return
+     */
+    private double[] computeDelays(final int srcID) {
+        final double[] delays = new double[numberOfNodes];
+        Arrays.fill(delays, Double.MAX_VALUE);
+        delays[srcID] = 0;
+        heapSize = 0;
+        push(0, srcID);
+        while (heapSize > 0) {
+            final double delay = heapDelays[0];
+            final int node = pop();
+            if (delay > delays[node]) {
+                continue;
+            }
+
+            for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                final double newDelay = delay + linkDelays[i];
+                if (newDelay < delays[neighbors[i]]) {
+                    delays[neighbors[i]] = newDelay;
+                    push(newDelay, neighbors[i]);
+                }
+            }
+        }
+
+        return delays;
+    }
+
+    private void push(final double delay, final int node) {
+        if (heapSize == heapDelays.length) {
+            heapDelays = Arrays.copyOf(heapDelays, heapSize * 2);
+            heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+        }
+
+        int i = heapSize++;
+        while (i > 0) {
+            final int parent = (i - 1) / 2;
+            if (heapDelays[parent] <= delay) {
+                break;
+            }
+
+            heapDelays[i] = heapDelays[parent];
+            heapNodes[i] = heapNodes[parent];
+            i = parent;
+        }
+
+        heapDelays[i] = delay;
+        heapNodes[i] = node;
+    }
+
+    /**
+     * Removes the node with the smallest delay from the heap.
+     * @return the removed node ID
+     */
+    private int pop() {
+        final int first = heapNodes[0];
+        final double delay = heapDelays[--heapSize];
+        final int node = heapNodes[heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+
+            if (child + 1 < heapSize && heapDelays[child + 1] < heapDelays[child]) {
+                child++;
+            }
+
+            if (delay <= heapDelays[child]) {
+                break;
+            }
+
+            heapDelays[i] = heapDelays[child];
+            heapNodes[i] = heapNodes[child];
+            i = child;
+        }
+
+        heapDelays[i] = delay;
+        heapNodes[i] = node;
+        return first;
+    }
+
+    /**
+     * Gets the number of nodes in the topology.
+     * @return
+     */
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    /**
+     * Gets the number of source nodes whose delays are currently in the cache.
+     * @return
+     */
+    public int getCachedSources() {
+        return cache.size();
+    }
+
+    /**
+     * A map that keeps up to a maximum number of entries,
+     * removing the least recently accessed one when such a number is exceeded.
+     */
+    private static final class LruCache extends LinkedHashMap<Integer, double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        LruCache(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Integer, double[]> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
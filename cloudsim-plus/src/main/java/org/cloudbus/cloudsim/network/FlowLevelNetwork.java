@@ -0,0 +1,371 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import java.util.*;
+
+import org.cloudbus.cloudsim.core.Identificable;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.AbstractSwitch;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.util.MaxMinFairShare;
+
+/**
+ * A flow-level network model for a {@link org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter},
+ * where each {@link HostPacket} sent between hosts is a {@link NetworkFlow} over the links
+ * of the switch hierarchy, instead of an event sent by every switch in the path.
+ *
+ * <p>Each directed link between a host and a switch or between two switches has the bandwidth
+ * of the port it is connected to. Every time a flow starts or finishes,
+ * the rate of all active flows is re-computed as the {@link MaxMinFairShare max-min fair share}
+ * of the links they use, so that the simulation of a transfer just needs
+ * the events for its start and finish, despite the number of switches in its path.</p>
+ *
+ * <p>The {@link AbstractSwitch#getTelemetry() telemetry} of the switches in the path of a flow is updated as well:
+ * each switch counts the packet as received when the flow starts and as sent when it finishes.
+ * This way, the bytes of a flow are accounted in the sample interval in which its transfer finishes.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class FlowLevelNetwork {
+    /**
+     * The links indexed by their source and destination.
+     */
+    private final Map<Identificable, Map<Identificable, Link>> links;
+
+    /**
+     * @see #getActiveFlows()
+     */
+    private final List<NetworkFlow> activeFlows;
+
+    /**
+     * @see #getFinishedFlowsNumber()
+     */
+    private long finishedFlowsNumber;
+
+    /**
+     * The last time the data transferred by the active flows was updated.
+     */
+    private double lastUpdateTime;
+
+    public FlowLevelNetwork() {
+        this.links = new HashMap<>();
+        this.activeFlows = new ArrayList<>();
+    }
+
+    /**
+     * Starts the transfer of a list of packets, creating one flow for each one
+     * and re-computing the rate of all active flows just once.
+     *
+     * @param packets the packets to transfer
+     * @param time the current simulation time
+     * @return the created flows
+     */
+    public List<NetworkFlow> start(final List<HostPacket> packets, final double time) {
+        update(time);
+        final List<NetworkFlow> flows = new ArrayList<>(packets.size());
+        for (final HostPacket packet : packets) {
+            final NetworkHost destination = (NetworkHost) packet.getVmPacket().getDestination().getHost();
+            packet.setDestination(destination);
+            final NetworkFlow flow = new NetworkFlow(packet, destination, getPath(packet), time);
+            flow.getPath().forEach(link -> link.flows++);
+            addReceivedPacketToSwitches(flow);
+            flows.add(flow);
+        }
+
+        activeFlows.addAll(flows);
+        allocateBandwidth();
+        return flows;
+    }
+
+    /**
+     * Updates the data transferred by the active flows until a given time.
+     *
+     * @param time the current simulation time
+     */
+    public void update(final double time) {
+        final double elapsedTime = time - lastUpdateTime;
+        if (elapsedTime > 0) {
+            for (final NetworkFlow flow : activeFlows) {
+                final double data = flow.transfer(elapsedTime);
+                flow.getPath().forEach(link -> link.transferredData += data);
+            }
+        }
+
+        lastUpdateTime = Math.max(lastUpdateTime, time);
+    }
+
+    /**
+     * Updates the active flows and removes the ones whose data was entirely transferred,
+     * giving their bandwidth to the remaining flows.
+     *
+     * @param time the current simulation time
+     * @return the flows that have finished
+     */
+    public List<NetworkFlow> finishTransfers(final double time) {
+        update(time);
+        final List<NetworkFlow> finished = new ArrayList<>();
+        final Iterator<NetworkFlow> it = activeFlows.iterator();
+        while (it.hasNext()) {
+            final NetworkFlow flow = it.next();
+            if (flow.isTransferFinished()) {
+                it.remove();
+                flow.finishTransfer(time);
+                flow.getPath().forEach(link -> link.flows--);
+                addSentPacketToSwitches(flow, time);
+                finished.add(flow);
+            }
+        }
+
+        if (!finished.isEmpty()) {
+            finishedFlowsNumber += finished.size();
+            allocateBandwidth();
+        }
+
+        return finished;
+    }
+
+    /**
+     * Records the packet of a starting flow as received by every switch in its path.
+     *
+     * @param flow the started flow
+     */
+    private void addReceivedPacketToSwitches(final NetworkFlow flow) {
+        final long size = flow.getPacket().getVmPacket().getSize();
+        flow.getPath().stream()
+            .filter(link -> link.destination instanceof AbstractSwitch)
+            .forEach(link -> ((AbstractSwitch) link.destination).getTelemetry().addReceivedPacket(size));
+    }
+
+    /**
+     * Records the packet of a finished flow as sent by every switch in its path.
+     *
+     * @param flow the finished flow
+     * @param time the time the flow finished
+     */
+    private void addSentPacketToSwitches(final NetworkFlow flow, final double time) {
+        final long size = flow.getPacket().getVmPacket().getSize();
+        flow.getPath().stream()
+            .filter(link -> link.source instanceof AbstractSwitch)
+            .forEach(link -> ((AbstractSwitch) link.source).getTelemetry().addSentPacket(time, size));
+    }
+
+    /**
+     * Gets the time the first of the active flows is expected to finish its transfer,
+     * considering the current rates.
+     *
+     * @return the expected finish time or {@link Double#MAX_VALUE} if there is no active flow
+     */
+    public double getNextTransferFinishTime() {
+        final double remainingTime = activeFlows.stream()
+            .mapToDouble(NetworkFlow::getRemainingTime)
+            .min()
+            .orElse(Double.MAX_VALUE);
+
+        return remainingTime == Double.MAX_VALUE ? Double.MAX_VALUE : lastUpdateTime + remainingTime;
+    }
+
+    /**
+     * Computes the max-min fair rate of every active flow.
+     */
+    private void allocateBandwidth() {
+        final Map<Link, Integer> linkIndexes = new IdentityHashMap<>();
+        final List<Link> usedLinks = new ArrayList<>();
+        final int[][] flowLinks = new int[activeFlows.size()][];
+        for (int flow = 0; flow < flowLinks.length; flow++) {
+            final List<Link> path = activeFlows.get(flow).getPath();
+            flowLinks[flow] = new int[path.size()];
+            for (int i = 0; i < path.size(); i++) {
+                flowLinks[flow][i] = linkIndexes.computeIfAbsent(path.get(i), link -> {
+                    usedLinks.add(link);
+                    return usedLinks.size() - 1;
+                });
+            }
+        }
+
+        final double[] capacities = usedLinks.stream().mapToDouble(Link::getBandwidth).toArray();
+        final double[] rates = MaxMinFairShare.allocate(capacities, flowLinks);
+        for (int flow = 0; flow < rates.length; flow++) {
+            activeFlows.get(flow).setRate(rates[flow]);
+        }
+    }
+
+    /**
+     * Gets the links from the source to the destination host of a packet.
+     * The path goes up from the edge switch of the source host until the first switch
+     * connected (directly or not) to the edge switch of the destination host,
+     * then goes down to the destination host.
+     * When there are multiple switches to go up or down to, one is selected by ECMP
+     * (see {@link Switch#selectUplinkSwitch(HostPacket)} and {@link Switch#selectDownlinkSwitch(HostPacket, Switch)}),
+     * as the packet-level network does.
+     * If the switches aren't connected, the last switch reached is linked directly to the destination host.
+     *
+     * @param packet the packet to get the path, whose source and destination hosts must be set
+     * @return the links from the source to the destination host
+     */
+    protected List<Link> getPath(final HostPacket packet) {
+        final NetworkHost source = packet.getSource();
+        final NetworkHost destination = packet.getDestination();
+        final List<Link> path = new ArrayList<>();
+        final Switch sourceEdge = source.getEdgeSwitch();
+        path.add(getLink(source, sourceEdge, source.getBandwidth()));
+
+        Switch previous = sourceEdge;
+        for (final Switch sw : getSwitchPath(sourceEdge, destination.getEdgeSwitch(), packet)) {
+            final boolean up = previous.getUplinkSwitches().contains(sw);
+            path.add(getLink(previous, sw, up ? previous.getUplinkBandwidth() : previous.getDownlinkBandwidth()));
+            previous = sw;
+        }
+
+        path.add(getLink(previous, destination, previous.getDownlinkBandwidth()));
+        return path;
+    }
+
+    /**
+     * Gets the switches between two edge switches, excluding the source and including the destination one.
+     */
+    private List<Switch> getSwitchPath(final Switch sourceEdge, final Switch destinationEdge, final HostPacket packet) {
+        if (sourceEdge.equals(destinationEdge)) {
+            return Collections.emptyList();
+        }
+
+        final List<Switch> path = new ArrayList<>();
+        Switch current = sourceEdge;
+        Switch next = current.selectDownlinkSwitch(packet, destinationEdge);
+        while (next == Switch.NULL && !current.getUplinkSwitches().isEmpty()) {
+            current = current.selectUplinkSwitch(packet);
+            path.add(current);
+            next = current.selectDownlinkSwitch(packet, destinationEdge);
+        }
+
+        while (next != Switch.NULL) {
+            path.add(next);
+            next = next.equals(destinationEdge) ? Switch.NULL : next.selectDownlinkSwitch(packet, destinationEdge);
+        }
+
+        return path;
+    }
+
+    /**
+     * Gets the link from a source to a destination, creating it the first time it's requested.
+     */
+    private Link getLink(final Identificable source, final Identificable destination, final double bandwidth) {
+        return links
+            .computeIfAbsent(source, src -> new HashMap<>())
+            .computeIfAbsent(destination, dst -> new Link(source, destination, bandwidth));
+    }
+
+    /**
+     * Gets the links used by some flow, which enables finding the most used links of the network.
+     * @return a new list with the used links
+     */
+    public List<Link> getLinks() {
+        final List<Link> list = new ArrayList<>();
+        links.values().forEach(destinations -> list.addAll(destinations.values()));
+        return list;
+    }
+
+    /**
+     * Gets a <b>read-only</b> list of the flows whose transfer is not finished yet.
+     * @return
+     */
+    public List<NetworkFlow> getActiveFlows() {
+        return Collections.unmodifiableList(activeFlows);
+    }
+
+    /**
+     * Gets the number of flows that have already finished their transfer.
+     * @return
+     */
+    public long getFinishedFlowsNumber() {
+        return finishedFlowsNumber;
+    }
+
+    /**
+     * A directed link between two network elements (hosts or switches) in a {@link FlowLevelNetwork}.
+     */
+    public static final class Link {
+        private final Identificable source;
+        private final Identificable destination;
+        private final double bandwidth;
+
+        /**
+         * @see #getFlowsNumber()
+         */
+        private int flows;
+
+        /**
+         * @see #getTransferredData()
+         */
+        private double transferredData;
+
+        private Link(final Identificable source, final Identificable destination, final double bandwidth) {
+            this.source = source;
+            this.destination = destination;
+            this.bandwidth = bandwidth;
+        }
+
+        public Identificable getSource() {
+            return source;
+        }
+
+        public Identificable getDestination() {
+            return destination;
+        }
+
+        /**
+         * Gets the link bandwidth in Megabits/s.
+         * @return
+         */
+        public double getBandwidth() {
+            return bandwidth;
+        }
+
+        /**
+         * Gets the number of active flows using the link.
+         * @return
+         */
+        public int getFlowsNumber() {
+            return flows;
+        }
+
+        /**
+         * Gets the data (in Megabits) transferred through the link by all flows.
+         * @return
+         */
+        public double getTransferredData() {
+            return transferredData;
+        }
+
+        /**
+         * Gets the link utilization from the simulation start until a given time.
+         *
+         * @param time the time to compute the utilization until (usually the current simulation time)
+         * @return the link utilization, from 0 to 1
+         */
+        public double getUtilization(final double time) {
+            return time <= 0 || bandwidth <= 0 ? 0 : transferredData / (bandwidth * time);
+        }
+    }
+}
@@ -98,24 +98,36 @@ public class FloydWarshall {
                             pk[i][j] = pk_minus_one[k][j];
                         }
                     } else {
+                        dk[i][j] = 0;
                         pk[i][j] = -1;
                     }
                 }
             }
 
-            for (int i = 0; i < numVertices; i++) {
-                for (int j = 0; j < numVertices; j++) {
-                    dk_minus_one[i][j] = dk[i][j];
-                    pk_minus_one[i][j] = pk[i][j];
-                }
-            }
-
+            // the matrices of the current iteration are the previous ones in the next iteration
+            swapMatrices();
         }
 
+        // after the last swap, the result is in the previous matrices
+        swapMatrices();
         return dk;
 
     }
 
+    /**
+     * Swaps the matrices of the current and the previous iteration,
+     * instead of copying the current matrices.
+     */
+    private void swapMatrices() {
+        final double[][] d = dk;
+        dk = dk_minus_one;
+        dk_minus_one = d;
+
+        final int[][] p = pk;
+        pk = pk_minus_one;
+        pk_minus_one = p;
+    }
+
     /**
      * Gets predecessor matrix.
      *
@@ -0,0 +1,213 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.util.Conversion;
+
+/**
+ * The transfer of a {@link HostPacket} between two hosts in a {@link FlowLevelNetwork},
+ * over the links of the switch path between such hosts.
+ * The rate of the flow is defined by the max-min fair share of such links among all the active flows.
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class NetworkFlow {
+    /**
+     * The fraction of the flow size up to which the remaining data is considered transferred,
+     * to avoid floating-point rounding errors.
+     */
+    private static final double FINISHED_DATA_TOLERANCE = 1e-9;
+
+    private final HostPacket packet;
+    private final NetworkHost destination;
+    private final List<FlowLevelNetwork.Link> path;
+
+    /**
+     * @see #getSize()
+     */
+    private final double size;
+
+    /**
+     * @see #getRemainingData()
+     */
+    private double remainingData;
+
+    /**
+     * @see #getRate()
+     */
+    private double rate;
+
+    private final double startTime;
+
+    /**
+     * @see #getTransferFinishTime()
+     */
+    private double transferFinishTime;
+
+    /**
+     * @see #getLatency()
+     */
+    private final double latency;
+
+    /**
+     * Creates a flow.
+     *
+     * @param packet the packet to transfer
+     * @param destination the host to receive the packet
+     * @param path the links between the source and destination hosts
+     * @param startTime the time the transfer started
+     */
+    NetworkFlow(final HostPacket packet, final NetworkHost destination, final List<FlowLevelNetwork.Link> path, final double startTime) {
+        this.packet = packet;
+        this.destination = destination;
+        this.path = path;
+        this.startTime = startTime;
+        this.transferFinishTime = -1;
+        this.size = Conversion.bytesToMegaBites(packet.getVmPacket().getSize());
+        this.remainingData = size;
+        this.latency = path.stream()
+            .filter(link -> link.getDestination() instanceof Switch)
+            .mapToDouble(link -> ((Switch) link.getDestination()).getSwitchingDelay())
+            .sum();
+    }
+
+    /**
+     * Transfers data during a given time at the current rate.
+     *
+     * @param elapsedTime the time elapsed since the last transfer
+     * @return the transferred data (in Megabits)
+     */
+    double transfer(final double elapsedTime) {
+        final double data = Math.min(remainingData, rate * elapsedTime);
+        remainingData -= data;
+        return data;
+    }
+
+    /**
+     * Gets the time to transfer the remaining data at the current rate.
+     *
+     * @return the remaining time or {@link Double#MAX_VALUE} if the flow has no rate
+     */
+    double getRemainingTime() {
+        if (isTransferFinished()) {
+            return 0;
+        }
+
+        return rate > 0 ? remainingData / rate : Double.MAX_VALUE;
+    }
+
+    /**
+     * Checks if all the data was transferred.
+     * @return
+     */
+    public boolean isTransferFinished() {
+        return remainingData <= size * FINISHED_DATA_TOLERANCE;
+    }
+
+    void finishTransfer(final double time) {
+        this.remainingData = 0;
+        this.transferFinishTime = time;
+    }
+
+    void setRate(final double rate) {
+        this.rate = rate;
+    }
+
+    public HostPacket getPacket() {
+        return packet;
+    }
+
+    public NetworkHost getSource() {
+        return packet.getSource();
+    }
+
+    public NetworkHost getDestination() {
+        return destination;
+    }
+
+    /**
+     * Gets a <b>read-only</b> list of the links from the source to the destination host.
+     * @return
+     */
+    public List<FlowLevelNetwork.Link> getPath() {
+        return Collections.unmodifiableList(path);
+    }
+
+    /**
+     * Gets the size of the flow in Megabits.
+     * @return
+     */
+    public double getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the data (in Megabits) not transferred yet.
+     * @return
+     */
+    public double getRemainingData() {
+        return remainingData;
+    }
+
+    /**
+     * Gets the current transfer rate of the flow in Megabits/s.
+     * @return
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    public double getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Gets the time the last bit of the flow was sent or -1 if the transfer isn't finished yet.
+     * @return
+     */
+    public double getTransferFinishTime() {
+        return transferFinishTime;
+    }
+
+    /**
+     * Gets the total switching delay of the switches in the path of the flow,
+     * which is added to the transfer time to get the time the packet is received.
+     * @return
+     */
+    public double getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Flow from Host %d to Host %d: %.2f Megabits at %.2f Megabits/s",
+            getSource().getId(), destination.getId(), size, rate);
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.util.Conversion;
+
+import java.util.Arrays;
+
+/**
+ * Low-overhead network metrics of a switch or host, such as the number of bytes and packets
+ * sent, received and dropped, the time-weighted occupancy of packet queues
+ * and the number of bytes sent at each time interval (which gives the throughput along the simulation).
+ * All metrics are kept in primitive arrays and updated in constant time,
+ * so that no object is created for each packet.
+ *
+ * <p>The per-interval samples are just collected after a {@link #setSampleInterval(double) sample interval} is set.
+ * Only the intervals in which some bytes were sent are stored, as pairs of interval index and number of bytes,
+ * so that the memory used doesn't depend on how long the simulation runs, but on how many intervals had traffic.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ * @see NetworkTelemetryWriter
+ */
+public class NetworkTelemetry {
+    /**
+     * The queues of packets waiting to be sent, whose occupancy is tracked.
+     */
+    public enum Queue {
+        /** Packets waiting to be sent to uplink switches. */
+        UPLINK,
+        /** Packets waiting to be sent to downlink switches. */
+        DOWNLINK,
+        /** Packets waiting to be sent to hosts. */
+        HOST
+    }
+
+    private static final int SENT = 0;
+    private static final int RECEIVED = 1;
+    private static final int DROPPED = 2;
+
+    /**
+     * The initial number of per-interval samples that can be stored
+     * before the samples arrays need to grow.
+     */
+    private static final int INITIAL_SAMPLES_CAPACITY = 16;
+
+    /**
+     * The number of bytes sent, received and dropped, indexed by {@link #SENT}, {@link #RECEIVED} and {@link #DROPPED}.
+     */
+    private final long[] bytes;
+
+    /**
+     * The number of packets sent, received and dropped, indexed by {@link #SENT}, {@link #RECEIVED} and {@link #DROPPED}.
+     */
+    private final long[] packets;
+
+    /**
+     * The current number of packets in each {@link Queue}, indexed by its ordinal.
+     */
+    private final int[] queueLength;
+
+    /**
+     * The max number of packets each {@link Queue} had at the same time.
+     */
+    private final int[] maxQueueLength;
+
+    /**
+     * The sum of the number of packets in each {@link Queue} multiplied by the time such packets were there,
+     * up to the {@link #lastQueueChangeTime last change} of the queue.
+     */
+    private final double[] queueArea;
+
+    /**
+     * The last time each {@link Queue} had packets added or removed.
+     */
+    private final double[] lastQueueChangeTime;
+
+    /**
+     * @see #getSampleInterval()
+     */
+    private double sampleInterval;
+
+    /**
+     * The index of each {@link #getSampleInterval() interval} in which some bytes were sent,
+     * in ascending order, where the interval i starts at time {@code i * sampleInterval}.
+     * The bytes sent in the interval at a given position are at the same position of {@link #sentBytesSamples}.
+     */
+    private long[] sampleIntervals;
+
+    /**
+     * The number of bytes sent at each interval in {@link #sampleIntervals}.
+     */
+    private long[] sentBytesSamples;
+
+    /**
+     * @see #getSamplesNumber()
+     */
+    private int samplesNumber;
+
+    /**
+     * Creates a telemetry without collecting per-interval samples.
+     */
+    public NetworkTelemetry() {
+        final int queues = Queue.values().length;
+        this.bytes = new long[3];
+        this.packets = new long[3];
+        this.queueLength = new int[queues];
+        this.maxQueueLength = new int[queues];
+        this.queueArea = new double[queues];
+        this.lastQueueChangeTime = new double[queues];
+        this.sampleIntervals = new long[0];
+        this.sentBytesSamples = new long[0];
+    }
+
+    /**
+     * Records a sent packet.
+     *
+     * @param time the time the packet was sent
+     * @param size the size of the packet (in bytes)
+     */
+    public void addSentPacket(final double time, final long size) {
+        add(SENT, size);
+        if(sampleInterval <= 0){
+            return;
+        }
+
+        final long interval = (long) (time / sampleInterval);
+        //Packets are usually sent in time order, so the sample is the last one or a new one after it
+        if(samplesNumber > 0 && sampleIntervals[samplesNumber - 1] == interval){
+            sentBytesSamples[samplesNumber - 1] += size;
+            return;
+        }
+
+        final int i = Arrays.binarySearch(sampleIntervals, 0, samplesNumber, interval);
+        if(i >= 0){
+            sentBytesSamples[i] += size;
+            return;
+        }
+
+        insertSample(-i - 1, interval, size);
+    }
+
+    /**
+     * Inserts a sample for an interval in which no bytes were sent before.
+     *
+     * @param position the position to insert the sample, keeping the intervals in ascending order
+     * @param interval the index of the interval
+     * @param size the number of bytes sent in the interval
+     */
+    private void insertSample(final int position, final long interval, final long size) {
+        if(samplesNumber == sampleIntervals.length){
+            final int capacity = Math.max(INITIAL_SAMPLES_CAPACITY, samplesNumber * 2);
+            sampleIntervals = Arrays.copyOf(sampleIntervals, capacity);
+            sentBytesSamples = Arrays.copyOf(sentBytesSamples, capacity);
+        }
+
+        final int moved = samplesNumber - position;
+        System.arraycopy(sampleIntervals, position, sampleIntervals, position + 1, moved);
+        System.arraycopy(sentBytesSamples, position, sentBytesSamples, position + 1, moved);
+        sampleIntervals[position] = interval;
+        sentBytesSamples[position] = size;
+        samplesNumber++;
+    }
+
+    /**
+     * Records a received packet.
+     *
+     * @param size the size of the packet (in bytes)
+     */
+    public void addReceivedPacket(final long size) {
+        add(RECEIVED, size);
+    }
+
+    /**
+     * Records a packet that was dropped because it couldn't be forwarded.
+     *
+     * @param size the size of the packet (in bytes)
+     */
+    public void addDroppedPacket(final long size) {
+        add(DROPPED, size);
+    }
+
+    private void add(final int counter, final long size) {
+        bytes[counter] += size;
+        packets[counter]++;
+    }
+
+    /**
+     * Records that a number of packets were added to or removed from a queue.
+     *
+     * @param queue the queue that was changed
+     * @param time the time of the change
+     * @param delta the number of packets added to the queue (positive) or removed from it (negative)
+     */
+    public void changeQueueLength(final Queue queue, final double time, final int delta) {
+        final int i = queue.ordinal();
+        queueArea[i] += queueLength[i] * (time - lastQueueChangeTime[i]);
+        lastQueueChangeTime[i] = time;
+        queueLength[i] += delta;
+        maxQueueLength[i] = Math.max(maxQueueLength[i], queueLength[i]);
+    }
+
+    /**
+     * Gets the total number of bytes sent.
+     * @return
+     */
+    public long getSentBytes() {
+        return bytes[SENT];
+    }
+
+    /**
+     * Gets the total number of packets sent.
+     * @return
+     */
+    public long getSentPackets() {
+        return packets[SENT];
+    }
+
+    /**
+     * Gets the total number of bytes received.
+     * @return
+     */
+    public long getReceivedBytes() {
+        return bytes[RECEIVED];
+    }
+
+    /**
+     * Gets the total number of packets received.
+     * @return
+     */
+    public long getReceivedPackets() {
+        return packets[RECEIVED];
+    }
+
+    /**
+     * Gets the total number of bytes of the packets that were dropped.
+     * @return
+     */
+    public long getDroppedBytes() {
+        return bytes[DROPPED];
+    }
+
+    /**
+     * Gets the total number of packets that were dropped.
+     * @return
+     */
+    public long getDroppedPackets() {
+        return packets[DROPPED];
+    }
+
+    /**
+     * Gets the current number of packets in a queue.
+     *
+     * @param queue the queue to get its length
+     * @return
+     */
+    public int getQueueLength(final Queue queue) {
+        return queueLength[queue.ordinal()];
+    }
+
+    /**
+     * Gets the max number of packets a queue had at the same time.
+     *
+     * @param queue the queue to get its max length
+     * @return
+     */
+    public int getMaxQueueLength(final Queue queue) {
+        return maxQueueLength[queue.ordinal()];
+    }
+
+    /**
+     * Gets the time-weighted average number of packets in a queue,
+     * from the beginning of the simulation up to a given time.
+     *
+     * @param queue the queue to get its average length
+     * @param time the time to compute the average up to, usually the current simulation time
+     * @return the average queue length or 0 if the time is not greater than 0
+     */
+    public double getAverageQueueLength(final Queue queue, final double time) {
+        if(time <= 0){
+            return 0;
+        }
+
+        final int i = queue.ordinal();
+        return (queueArea[i] + queueLength[i] * (time - lastQueueChangeTime[i])) / time;
+    }
+
+    /**
+     * Gets the length of the time intervals (in seconds) in which the number of sent bytes is sampled,
+     * or 0 if samples aren't collected.
+     * @return
+     */
+    public double getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Sets the length of the time intervals (in seconds) in which the number of sent bytes is sampled.
+     * It should be set before the simulation starts, since the samples collected so far are discarded.
+     *
+     * @param sampleInterval the interval length to set or 0 to disable the samples
+     * @return
+     */
+    public NetworkTelemetry setSampleInterval(final double sampleInterval) {
+        if(sampleInterval < 0){
+            throw new IllegalArgumentException("The sample interval cannot be negative.");
+        }
+
+        this.sampleInterval = sampleInterval;
+        this.sampleIntervals = new long[0];
+        this.sentBytesSamples = new long[0];
+        this.samplesNumber = 0;
+        return this;
+    }
+
+    /**
+     * Gets the number of collected per-interval samples, that is,
+     * the number of intervals in which some packet was sent.
+     * @return
+     */
+    public int getSamplesNumber() {
+        return samplesNumber;
+    }
+
+    /**
+     * Gets the time each {@link #getSampleInterval() interval} in which some packet was sent starts,
+     * in ascending order. Intervals without sent packets are omitted.
+     *
+     * @return a new array with the start time of each {@link #getSamplesNumber() collected sample}
+     */
+    public double[] getSampleStartTimes() {
+        final double[] times = new double[samplesNumber];
+        for (int i = 0; i < samplesNumber; i++) {
+            times[i] = sampleIntervals[i] * sampleInterval;
+        }
+
+        return times;
+    }
+
+    /**
+     * Gets the number of bytes sent at each {@link #getSampleInterval() interval},
+     * where the sample at index i is for the interval starting at the time
+     * at the same index of {@link #getSampleStartTimes()}.
+     *
+     * @return a new array with the {@link #getSamplesNumber() collected samples}
+     */
+    public long[] getSentBytesSamples() {
+        return Arrays.copyOf(sentBytesSamples, samplesNumber);
+    }
+
+    /**
+     * Gets the throughput (in Megabits/s) at each {@link #getSampleInterval() interval},
+     * where the sample at index i is for the interval starting at the time
+     * at the same index of {@link #getSampleStartTimes()}.
+     *
+     * @return a new array with the throughput of each {@link #getSamplesNumber() collected sample}
+     */
+    public double[] getThroughputSamples() {
+        final double[] throughput = new double[samplesNumber];
+        for (int i = 0; i < samplesNumber; i++) {
+            throughput[i] = Conversion.bytesToMegaBites(sentBytesSamples[i]) / sampleInterval;
+        }
+
+        return throughput;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.NetworkTelemetry.Queue;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Writes the {@link NetworkTelemetry} of several switches or hosts to a single CSV output,
+ * usually at the end of the simulation. The first line has the column names.
+ *
+ * <p>In the {@link Content#SUMMARY summary} content, each line has the counters and
+ * the average and max length of each {@link Queue} of an entity.
+ * In the {@link Content#SAMPLES samples} content, each line has the number of bytes sent by an entity
+ * and its throughput (in Megabits/s) at a time interval. Intervals in which the entity sent nothing are omitted.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class NetworkTelemetryWriter implements Closeable {
+    /**
+     * The contents the telemetry can be written.
+     */
+    public enum Content {SUMMARY, SAMPLES}
+
+    private final Writer out;
+    private final Content content;
+    private final StringBuilder line;
+
+    /**
+     * Creates a writer to a given output.
+     *
+     * @param out the output to write the telemetry
+     * @param content the content to write
+     */
+    public NetworkTelemetryWriter(final OutputStream out, final Content content) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII));
+        this.content = Objects.requireNonNull(content);
+        this.line = new StringBuilder();
+        writeHeader();
+    }
+
+    /**
+     * Creates a writer to a given file, that is overwritten if it already exists.
+     *
+     * @param file the file to write the telemetry
+     * @param content the content to write
+     * @throws UncheckedIOException when the file cannot be created
+     */
+    public NetworkTelemetryWriter(final Path file, final Content content) {
+        this(newOutputStream(file), content);
+    }
+
+    private static OutputStream newOutputStream(final Path file) {
+        try {
+            return Files.newOutputStream(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeHeader() {
+        line.setLength(0);
+        if(content == Content.SAMPLES) {
+            line.append("entity,intervalStart,sentBytes,throughput");
+        } else {
+            line.append("entity,sentBytes,sentPackets,receivedBytes,receivedPackets,droppedBytes,droppedPackets");
+            for (Queue queue : Queue.values()) {
+                final String name = queue.name().toLowerCase();
+                line.append(',').append(name).append("QueueAvg,").append(name).append("QueueMax");
+            }
+        }
+
+        writeLine();
+    }
+
+    /**
+     * Writes the telemetry of an entity.
+     *
+     * @param entity the name of the entity (such as "EdgeSwitch3" or "Host0")
+     * @param telemetry the telemetry to write
+     * @param time the time up to which the average queue lengths are computed,
+     *             usually the simulation time at the end of the simulation
+     * @throws UncheckedIOException when the telemetry cannot be written
+     */
+    public void write(final String entity, final NetworkTelemetry telemetry, final double time) {
+        if(content == Content.SAMPLES) {
+            writeSamples(entity, telemetry);
+            return;
+        }
+
+        line.setLength(0);
+        line.append(entity).append(',')
+            .append(telemetry.getSentBytes()).append(',').append(telemetry.getSentPackets()).append(',')
+            .append(telemetry.getReceivedBytes()).append(',').append(telemetry.getReceivedPackets()).append(',')
+            .append(telemetry.getDroppedBytes()).append(',').append(telemetry.getDroppedPackets());
+        for (Queue queue : Queue.values()) {
+            line.append(',').append(telemetry.getAverageQueueLength(queue, time))
+                .append(',').append(telemetry.getMaxQueueLength(queue));
+        }
+
+        writeLine();
+    }
+
+    private void writeSamples(final String entity, final NetworkTelemetry telemetry) {
+        final double[] startTimes = telemetry.getSampleStartTimes();
+        final long[] sentBytes = telemetry.getSentBytesSamples();
+        final double[] throughput = telemetry.getThroughputSamples();
+        for (int i = 0; i < sentBytes.length; i++) {
+            line.setLength(0);
+            line.append(entity).append(',').append(startTimes[i]).append(',')
+                .append(sentBytes[i]).append(',').append(throughput[i]);
+            writeLine();
+        }
+    }
+
+    private void writeLine() {
+        try {
+            out.append(line).append('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Content getContent() {
+        return content;
+    }
+
+    /**
+     * Closes the output.
+     *
+     * @throws IOException when the output cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
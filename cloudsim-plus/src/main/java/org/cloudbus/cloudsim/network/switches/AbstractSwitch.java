@@ -13,9 +13,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.NetworkTelemetry;
+import org.cloudbus.cloudsim.network.NetworkTelemetry.Queue;
+import org.cloudbus.cloudsim.network.VmPacket;
 import org.cloudbus.cloudsim.util.Conversion;
 import org.cloudbus.cloudsim.util.Log;
 import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
@@ -93,6 +97,29 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      */
     private double switchingDelay;
 
+    /**
+     * The number of bytes and packets sent through each link of the switch,
+     * where each key is the switch or host at the other end of the link
+     * and the value is an array with the bytes at index 0 and the packets at index 1.
+     *
+     * @see #getSentBytes(Identificable)
+     * @see #getSentPackets(Identificable)
+     */
+    private final Map<Identificable, long[]> sentBytes;
+
+    /**
+     * @see #getTelemetry()
+     */
+    private final NetworkTelemetry telemetry;
+
+    /**
+     * The downlink switches from which each switch can be reached,
+     * computed just once for each destination switch.
+     *
+     * @see #selectDownlinkSwitch(HostPacket, Switch)
+     */
+    private final Map<Switch, List<Switch>> downlinksToSwitch;
+
     public AbstractSwitch(CloudSim simulation, NetworkDatacenter dc) {
         super(simulation);
         this.packetList = new ArrayList<>();
@@ -102,6 +129,9 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
         this.downlinkSwitchPacketMap = new HashMap<>();
         this.downlinkSwitches = new ArrayList<>();
         this.uplinkSwitches = new ArrayList<>();
+        this.sentBytes = new HashMap<>();
+        this.telemetry = new NetworkTelemetry();
+        this.downlinksToSwitch = new HashMap<>();
         this.datacenter = dc;
     }
 
@@ -160,6 +190,7 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
         // add packet in the switch list
         // add packet in the host list
         // int src=ev.getSource();
+        addReceivedPacket(ev);
         getSimulation().cancelAll(getId(), new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
         schedule(getId(), getSwitchingDelay(), CloudSimTags.NETWORK_EVENT_SEND);
     }
@@ -181,10 +212,25 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
     protected void processPacketUp(SimEvent ev) {
         // packet coming from down level router has to be sent up.
         // check which switch to forward to and add packet in the switch list
+        addReceivedPacket(ev);
         getSimulation().cancelAll(getId(), new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
         schedule(getId(), switchingDelay, CloudSimTags.NETWORK_EVENT_SEND);
     }
 
+    private void addReceivedPacket(SimEvent ev) {
+        telemetry.addReceivedPacket(((HostPacket) ev.getData()).getVmPacket().getSize());
+    }
+
+    /**
+     * Logs and records that a packet was dropped because there is no switch to forward it to.
+     *
+     * @param pkt the dropped packet
+     */
+    protected void dropPacket(HostPacket pkt) {
+        Log.printLine("No destination switch for this packet");
+        telemetry.addDroppedPacket(pkt.getVmPacket().getSize());
+    }
+
     /**
      * Register a host that is connected to the switch.
      *
@@ -227,8 +273,10 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
             List<HostPacket> netPktList = getDownlinkSwitchPacketList(destinationSwitch);
             for (HostPacket pkt : netPktList) {
                 double delay = networkDelayForPacketTransmission(pkt, downlinkBandwidth, netPktList);
+                addSentBytes(destinationSwitch, pkt);
                 this.send(destinationSwitch.getId(), delay, CloudSimTags.NETWORK_EVENT_DOWN, pkt);
             }
+            telemetry.changeQueueLength(Queue.DOWNLINK, getSimulation().clock(), -netPktList.size());
             netPktList.clear();
         }
     }
@@ -244,8 +292,10 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
             List<HostPacket> packetList = getUplinkSwitchPacketList(destinationSwitch);
             for(HostPacket pkt: packetList) {
                 double delay = networkDelayForPacketTransmission(pkt, uplinkBandwidth, packetList);
+                addSentBytes(destinationSwitch, pkt);
                 this.send(destinationSwitch.getId(), delay, CloudSimTags.NETWORK_EVENT_UP, pkt);
             }
+            telemetry.changeQueueLength(Queue.UPLINK, getSimulation().clock(), -packetList.size());
             packetList.clear();
         }
     }
@@ -261,12 +311,153 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
             List<HostPacket> packetList = getHostPacketList(host);
             for (HostPacket pkt: packetList) {
                 double delay = networkDelayForPacketTransmission(pkt, downlinkBandwidth, packetList);
+                addSentBytes(host, pkt);
                 this.send(getId(), delay, CloudSimTags.NETWORK_EVENT_HOST, pkt);
             }
+            telemetry.changeQueueLength(Queue.HOST, getSimulation().clock(), -packetList.size());
             packetList.clear();
         }
     }
 
+    /**
+     * Adds a packet to the bytes and packets sent through the link to a given switch or host
+     * and to the switch {@link #getTelemetry() telemetry}.
+     */
+    private void addSentBytes(Identificable destination, HostPacket pkt) {
+        final long size = pkt.getVmPacket().getSize();
+        final long[] counters = sentBytes.computeIfAbsent(destination, key -> new long[2]);
+        counters[0] += size;
+        counters[1]++;
+        telemetry.addSentPacket(getSimulation().clock(), size);
+    }
+
+    @Override
+    public long getSentBytes(Identificable destination) {
+        final long[] bytes = sentBytes.get(destination);
+        return Objects.isNull(bytes) ? 0 : bytes[0];
+    }
+
+    /**
+     * Gets the number of packets sent through the link to a given switch or host.
+     *
+     * @param destination the switch or host at the other end of the link
+     * @return the number of packets sent through the link
+     */
+    public long getSentPackets(Identificable destination) {
+        final long[] counters = sentBytes.get(destination);
+        return Objects.isNull(counters) ? 0 : counters[1];
+    }
+
+    /**
+     * Gets the telemetry of the switch, with the number of bytes and packets it sent, received and dropped,
+     * the occupancy of its queues of packets waiting to be sent to uplink switches, downlink switches and hosts
+     * and, if a {@link NetworkTelemetry#setSampleInterval(double) sample interval} is set, its throughput along the time.
+     *
+     * @return the switch telemetry
+     */
+    public NetworkTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    @Override
+    public double getLinkUtilization(Identificable destination, double time) {
+        final double bandwidth = uplinkSwitches.contains(destination) ? uplinkBandwidth : downlinkBandwidth;
+        if (time <= 0 || bandwidth <= 0) {
+            return 0;
+        }
+
+        return Conversion.bytesToMegaBites(getSentBytes(destination)) / (bandwidth * time);
+    }
+
+    /**
+     * Gets a map with the number of bytes sent through each link of the switch,
+     * where each key is the switch or host at the other end of the link.
+     * It enables finding the most used links of the network.
+     *
+     * @return a new map with the bytes sent through each link that was used
+     */
+    public Map<Identificable, Long> getSentBytesByLink() {
+        final Map<Identificable, Long> map = new HashMap<>();
+        sentBytes.forEach((destination, bytes) -> map.put(destination, bytes[0]));
+        return map;
+    }
+
+    @Override
+    public Switch selectUplinkSwitch(HostPacket packet) {
+        return selectSwitchByFlowHash(uplinkSwitches, packet);
+    }
+
+    @Override
+    public Switch selectDownlinkSwitch(HostPacket packet, Switch destination) {
+        if (downlinkSwitches.contains(destination)) {
+            return destination;
+        }
+
+        return selectSwitchByFlowHash(downlinksToSwitch.computeIfAbsent(destination, this::findDownlinksToSwitch), packet);
+    }
+
+    /**
+     * Finds the downlink switches from which a given switch can be reached.
+     */
+    private List<Switch> findDownlinksToSwitch(Switch destination) {
+        final List<Switch> list = new ArrayList<>();
+        for (Switch downlink : downlinkSwitches) {
+            if (isReachable(downlink, destination)) {
+                list.add(downlink);
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Checks if a destination switch is a given switch or can be reached going down from it.
+     */
+    private static boolean isReachable(Switch sw, Switch destination) {
+        return sw.equals(destination) || sw.getDownlinkSwitches().stream().anyMatch(downlink -> isReachable(downlink, destination));
+    }
+
+    /**
+     * Selects one switch from a list of equal-cost next hops to forward a packet to,
+     * according to the {@link #getFlowHash(HostPacket) hash of the packet flow}.
+     *
+     * @param switches the switches to select one from
+     * @param packet the packet to forward
+     * @return the selected switch or {@link Switch#NULL} if the list is empty
+     */
+    protected Switch selectSwitchByFlowHash(List<Switch> switches, HostPacket packet) {
+        switch (switches.size()) {
+            case 0: return Switch.NULL;
+            case 1: return switches.get(0);
+            default: return switches.get(Math.floorMod(getFlowHash(packet), switches.size()));
+        }
+    }
+
+    /**
+     * Computes the hash of the flow a packet belongs to, which is used to select an uplink switch by ECMP.
+     * The switch ID is included into the hash, so that switches at different levels
+     * don't select uplinks in the same way, which would make some paths to be never used.
+     *
+     * @param packet the packet to get the hash of its flow
+     * @return the flow hash
+     */
+    protected int getFlowHash(HostPacket packet) {
+        final VmPacket vmPacket = packet.getVmPacket();
+        int hash = getId();
+        hash = 31 * hash + vmPacket.getSource().getId();
+        hash = 31 * hash + vmPacket.getDestination().getId();
+        hash = 31 * hash + (Objects.isNull(vmPacket.getSenderCloudlet()) ? 0 : vmPacket.getSenderCloudlet().getId());
+        hash = 31 * hash + (Objects.isNull(vmPacket.getReceiverCloudlet()) ? 0 : vmPacket.getReceiverCloudlet().getId());
+
+        //Mixes the bits so that close IDs are spread among uplinks (MurmurHash3 finalizer)
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
     /**
      * Computes the network delay to send a packet through the network.
      *
@@ -296,12 +487,21 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
     }
 
     /**
-     * Gets the host of a given VM.
+     * Gets the host connected to this switch where a given VM is placed.
+     * It uses the {@link org.cloudbus.cloudsim.datacenters.network.VmHostIndex} of the Datacenter
+     * when available, instead of searching the VM list of every connected host.
      *
      * @param vmId The id of the VM
-     * @return the host of the VM
+     * @return the host of the VM or null if the VM isn't placed into a host connected to this switch
      */
     protected NetworkHost getHostOfVm(int vmId) {
+        if (!Objects.isNull(datacenter)) {
+            return datacenter.getVmHostIndex().getHosts(vmId).stream()
+                .filter(host -> this.equals(host.getEdgeSwitch()))
+                .findFirst()
+                .orElse(null);
+        }
+
         for (NetworkHost host : hostList) {
             Vm vm = VmList.getById(host.getVmList(), vmId);
             if (vm != Vm.NULL) {
@@ -413,16 +613,19 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
     @Override
     public void addPacketToBeSentToDownlinkSwitch(Switch downlinkSwitch, HostPacket packet) {
         getDownlinkSwitchPacketList(downlinkSwitch).add(packet);
+        telemetry.changeQueueLength(Queue.DOWNLINK, getSimulation().clock(), 1);
     }
 
     @Override
     public void addPacketToBeSentToUplinkSwitch(Switch uplinkSwitch, HostPacket packet) {
         getUplinkSwitchPacketList(uplinkSwitch).add(packet);
+        telemetry.changeQueueLength(Queue.UPLINK, getSimulation().clock(), 1);
     }
 
     @Override
     public void addPacketToBeSentToHost(NetworkHost host, HostPacket packet) {
         getHostPacketList(host).add(packet);
+        telemetry.changeQueueLength(Queue.HOST, getSimulation().clock(), 1);
     }
 
     @Override
@@ -100,7 +100,12 @@ public class AggregateSwitch extends AbstractSwitch {
         if (findConnectedEdgeSwitch(edgeSwitch)) {
             addPacketToBeSentToDownlinkSwitch(edgeSwitch, netPkt);
         } else { // send to up
-            Switch sw = getUplinkSwitches().get(0);
+            Switch sw = selectUplinkSwitch(netPkt);
+            if (sw == Switch.NULL) {
+                dropPacket(netPkt);
+                return;
+            }
+
             addPacketToBeSentToUplinkSwitch(sw, netPkt);
         }
     }
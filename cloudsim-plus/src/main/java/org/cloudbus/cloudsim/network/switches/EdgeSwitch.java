@@ -107,17 +107,14 @@ public class EdgeSwitch extends AbstractSwitch {
         hostPkt.setDestination(host);
 
         // packet needs to go to a host which is connected directly to switch
-        if (!Objects.isNull(host)) {
+        // (or to any host when there is no upper switch to forward the packet to)
+        if (!Objects.isNull(host) && (this.equals(host.getEdgeSwitch()) || getUplinkSwitches().isEmpty())) {
             addPacketToBeSentToHost(host, hostPkt);
             return;
         }
 
-        // otherwise, packet is to be sent to upper switch
-        /**
-         * ASSUMPTION: Each Edge is connected to one Aggregate Switch.
-         * If there are more than one Aggregate Switch, the following code has to be modified.
-        */
-        Switch aggregateSwitch = getUplinkSwitches().get(0);
+        // otherwise, packet is to be sent to upper switch, selected by ECMP if there are multiple ones
+        Switch aggregateSwitch = selectUplinkSwitch(hostPkt);
         addPacketToBeSentToUplinkSwitch(aggregateSwitch, hostPkt);
     }
 
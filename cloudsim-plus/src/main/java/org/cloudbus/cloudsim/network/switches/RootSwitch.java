@@ -10,7 +10,6 @@ package org.cloudbus.cloudsim.network.switches;
 import org.cloudbus.cloudsim.hosts.network.NetworkHost;
 import org.cloudbus.cloudsim.network.HostPacket;
 import org.cloudbus.cloudsim.util.Conversion;
-import org.cloudbus.cloudsim.util.Log;
 
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.events.SimEvent;
@@ -83,34 +82,16 @@ public class RootSwitch extends AbstractSwitch {
         HostPacket netPkt = (HostPacket) ev.getData();
         Vm receiverVm = netPkt.getVmPacket().getDestination();
         Switch edgeSwitch = getVmEdgeSwitch(receiverVm);
-        Switch aggSwitch = findAggregateSwitchConnectedToGivenEdgeSwitch(edgeSwitch);
+        // the aggregate switch is selected by ECMP if multiple ones are connected to the edge switch
+        Switch aggSwitch = selectDownlinkSwitch(netPkt, edgeSwitch);
 
         if (aggSwitch == Switch.NULL) {
-            Log.printLine("No destination switch for this packet");
+            dropPacket(netPkt);
         } else {
             addPacketToBeSentToDownlinkSwitch(aggSwitch, netPkt);
         }
     }
 
-    /**
-     * Finds which aggregate switch is connected to a given edge switch
-     * @param edgeSwitch the id of the edge switch to find the aggregate switch
-     * that it is connected to
-     * @return the id of the aggregate switch that is connected to the given
-     * edge switch or {@link Switch#NULL} if not found.
-     */
-    private Switch findAggregateSwitchConnectedToGivenEdgeSwitch(Switch edgeSwitch) {
-        for (Switch aggregateSw : getDownlinkSwitches()) {
-            for (Switch edgeSw : aggregateSw.getDownlinkSwitches()) {
-                if (edgeSw.getId() == edgeSwitch.getId()) {
-                    return aggregateSw;
-                }
-            }
-        }
-
-        return Switch.NULL;
-    }
-
     @Override
     public int getLevel() {
         return LEVEL;
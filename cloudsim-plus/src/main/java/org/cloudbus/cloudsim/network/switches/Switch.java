@@ -1,9 +1,7 @@
 package org.cloudbus.cloudsim.network.switches;
 
-import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.Identificable;
-import org.cloudbus.cloudsim.core.Simulation;
-import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.network.NetworkHost;
 import org.cloudbus.cloudsim.network.HostPacket;
@@ -55,6 +53,47 @@ public interface Switch extends Identificable {
 
     List<Switch> getUplinkSwitches();
 
+    /**
+     * Selects one of the {@link #getUplinkSwitches() uplink switches} to forward a packet to.
+     * When there are multiple uplinks, it uses Equal-Cost Multi-Path (ECMP) routing,
+     * choosing the uplink by a hash of the packet flow (its source and destination VMs and Cloudlets),
+     * so that all packets of the same flow follow the same path.
+     *
+     * @param packet the packet to forward
+     * @return the selected uplink switch or {@link #NULL} if the switch has no uplinks
+     */
+    Switch selectUplinkSwitch(HostPacket packet);
+
+    /**
+     * Selects one of the {@link #getDownlinkSwitches() downlink switches} from which a given switch can be reached,
+     * to forward a packet to. When there are multiple ones, it uses ECMP as {@link #selectUplinkSwitch(HostPacket)} does.
+     *
+     * @param packet the packet to forward
+     * @param destination the switch the packet has to reach, which is usually the edge switch of the destination host
+     * @return the destination switch if it's a downlink switch, the selected downlink switch
+     * or {@link #NULL} if the destination can't be reached going down from this switch
+     */
+    Switch selectDownlinkSwitch(HostPacket packet, Switch destination);
+
+    /**
+     * Gets the number of bytes sent through the link between this switch and a given
+     * switch or host connected to it.
+     *
+     * @param destination the switch or host at the other end of the link
+     * @return the number of sent bytes
+     */
+    long getSentBytes(Identificable destination);
+
+    /**
+     * Gets the utilization of the link between this switch and a given switch or host connected to it,
+     * from the simulation start until a given time.
+     *
+     * @param destination the switch or host at the other end of the link
+     * @param time the time to compute the utilization until (usually the current simulation time)
+     * @return the link utilization, from 0 to 1
+     */
+    double getLinkUtilization(Identificable destination, double time);
+
     /**
      * Gets a <b>read-only</b> list of Hosts connected to the switch.
      * @return
@@ -121,9 +160,9 @@ public interface Switch extends Identificable {
 
     /**
      * Gets the Datacenter where the switch is connected to.
-     * @return
+     * @return the Datacenter or {@link Datacenter#NULL} if the switch isn't connected to any one
      */
-    NetworkDatacenter getDatacenter();
+    Datacenter getDatacenter();
 
     /**
      * Sets the Datacenter where the switch is connected to.
@@ -147,9 +186,6 @@ public interface Switch extends Identificable {
      * objects.
      */
     Switch NULL = new Switch() {
-        private final NetworkDatacenter dc =
-            new NetworkDatacenter(Simulation.NULL, DatacenterCharacteristics.NULL, VmAllocationPolicy.NULL);
-
         @Override  public int getId() { return 0; }
         @Override public double getUplinkBandwidth() { return 0; }
         @Override public void setUplinkBandwidth(double uplinkBandwidth) {}
@@ -160,6 +196,10 @@ public interface Switch extends Identificable {
         @Override public double getSwitchingDelay() { return 0; }
         @Override public void setSwitchingDelay(double switchingDelay) {}
         @Override public List<Switch> getUplinkSwitches() { return Collections.EMPTY_LIST; }
+        @Override public Switch selectUplinkSwitch(HostPacket packet) { return Switch.NULL; }
+        @Override public Switch selectDownlinkSwitch(HostPacket packet, Switch destination) { return Switch.NULL; }
+        @Override public long getSentBytes(Identificable destination) { return 0; }
+        @Override public double getLinkUtilization(Identificable destination, double time) { return 0; }
         @Override public List<NetworkHost> getHostList() { return Collections.EMPTY_LIST; }
         @Override public void connectHost(NetworkHost host) {}
         @Override public boolean disconnectHost(NetworkHost host) { return false; }
@@ -172,7 +212,7 @@ public interface Switch extends Identificable {
         @Override public void addPacketToBeSentToDownlinkSwitch(Switch downlinkSwitch, HostPacket packet) {}
         @Override public void addPacketToBeSentToUplinkSwitch(Switch uplinkSwitch, HostPacket packet) {}
         @Override public void addPacketToBeSentToHost(NetworkHost host, HostPacket packet) {}
-        @Override public NetworkDatacenter getDatacenter() { return dc; }
+        @Override public Datacenter getDatacenter() { return Datacenter.NULL; }
         @Override public void setDatacenter(NetworkDatacenter datacenter) {}
         @Override public List<HostPacket> getPacketList() { return Collections.emptyList(); }
         @Override public int getLevel() { return 0; }
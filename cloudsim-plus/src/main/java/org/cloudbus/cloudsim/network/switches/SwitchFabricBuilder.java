@@ -0,0 +1,322 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network.switches;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+
+/**
+ * Builds the switch fabric of a {@link NetworkDatacenter}, creating the switches,
+ * connecting them and connecting the Datacenter hosts to the edge switches.
+ * It builds multi-path topologies, where packets are forwarded through
+ * one of the multiple uplinks of a switch using ECMP (see {@link Switch#selectUplinkSwitch(org.cloudbus.cloudsim.network.HostPacket)}):
+ *
+ * <ul>
+ *     <li>a k-ary fat-tree, with k pods of k/2 {@link EdgeSwitch}es and k/2 {@link AggregateSwitch}es each
+ *     and (k/2)² core {@link RootSwitch}es, supporting up to k³/4 hosts;</li>
+ *     <li>a leaf-spine fabric, where every leaf ({@link EdgeSwitch}) is connected
+ *     to every spine ({@link AggregateSwitch}).</li>
+ * </ul>
+ *
+ * <p>Hosts are connected to edge switches in the order they are in the Datacenter.
+ * The bandwidth of the links from edge switches up to the next level is defined by the
+ * {@link #setOversubscription(double) oversubscription ratio}, which is the ratio between the bandwidth of the hosts
+ * connected to an edge switch and the total bandwidth of its uplinks.
+ * The links above such a level have the same bandwidth of the edge uplinks.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class SwitchFabricBuilder {
+    private final CloudSim simulation;
+    private final NetworkDatacenter datacenter;
+
+    /**
+     * @see #getHostBandwidth()
+     */
+    private double hostBandwidth;
+
+    /**
+     * @see #getOversubscription()
+     */
+    private double oversubscription;
+
+    private final List<EdgeSwitch> edgeSwitches;
+    private final List<AggregateSwitch> aggregateSwitches;
+    private final List<RootSwitch> rootSwitches;
+
+    /**
+     * Creates a builder for the switch fabric of a Datacenter.
+     *
+     * @param simulation The CloudSim instance that represents the simulation the switches are related to
+     * @param datacenter the Datacenter to build the fabric, whose hosts must be {@link NetworkHost}s
+     */
+    public SwitchFabricBuilder(CloudSim simulation, NetworkDatacenter datacenter) {
+        this.simulation = simulation;
+        this.datacenter = datacenter;
+        this.hostBandwidth = EdgeSwitch.DOWNLINK_BW;
+        this.oversubscription = 1;
+        this.edgeSwitches = new ArrayList<>();
+        this.aggregateSwitches = new ArrayList<>();
+        this.rootSwitches = new ArrayList<>();
+    }
+
+    /**
+     * Builds a k-ary fat-tree. Each pod has k/2 edge switches, each one connected to k/2 hosts
+     * and to the k/2 aggregate switches of the pod. The i-th aggregate switch of every pod
+     * is connected to the same k/2 core switches.
+     *
+     * @param k the number of ports of each switch, which must be an even number
+     * @return
+     * @throws IllegalArgumentException when k isn't a positive even number or the Datacenter has more than k³/4 hosts
+     * @throws IllegalStateException when the fabric was already built
+     */
+    public SwitchFabricBuilder buildFatTree(int k) {
+        if (k < 2 || k % 2 != 0) {
+            throw new IllegalArgumentException("The number of ports of a fat-tree must be a positive even number.");
+        }
+
+        final List<NetworkHost> hosts = getHosts();
+        final int half = k / 2;
+        if (hosts.size() > k * half * half) {
+            throw new IllegalArgumentException(
+                String.format("A %d-ary fat-tree supports up to %d hosts, but the Datacenter has %d.", k, k * half * half, hosts.size()));
+        }
+
+        final double uplinkBandwidth = getEdgeUplinkBandwidth(half, half);
+        for (int i = 0; i < half * half; i++) {
+            final RootSwitch core = new RootSwitch(simulation, datacenter);
+            core.setDownlinkBandwidth(uplinkBandwidth);
+            core.setPorts(k);
+            addSwitch(core, rootSwitches);
+        }
+
+        for (int pod = 0; pod < k; pod++) {
+            final List<AggregateSwitch> podAggregateSwitches = new ArrayList<>(half);
+            for (int i = 0; i < half; i++) {
+                final AggregateSwitch aggregate = createAggregateSwitch(k, uplinkBandwidth);
+                aggregate.setUplinkBandwidth(uplinkBandwidth);
+                for (int j = 0; j < half; j++) {
+                    connect(rootSwitches.get(i * half + j), aggregate);
+                }
+                podAggregateSwitches.add(aggregate);
+            }
+
+            for (int i = 0; i < half; i++) {
+                final EdgeSwitch edge = createEdgeSwitch(half, uplinkBandwidth);
+                podAggregateSwitches.forEach(aggregate -> connect(aggregate, edge));
+            }
+        }
+
+        connectHosts(hosts, half);
+        return this;
+    }
+
+    /**
+     * Builds a leaf-spine fabric, where every leaf (edge) switch is connected to every
+     * spine (aggregate) switch. Hosts are evenly distributed among the leaf switches.
+     *
+     * @param spines the number of spine switches
+     * @param leaves the number of leaf switches
+     * @return
+     * @throws IllegalArgumentException when the number of spines or leaves isn't positive
+     * @throws IllegalStateException when the fabric was already built
+     */
+    public SwitchFabricBuilder buildLeafSpine(int spines, int leaves) {
+        if (spines <= 0 || leaves <= 0) {
+            throw new IllegalArgumentException("The number of spine and leaf switches must be greater than zero.");
+        }
+
+        final List<NetworkHost> hosts = getHosts();
+        final int hostsByLeaf = Math.max(1, (hosts.size() + leaves - 1) / leaves);
+        final double uplinkBandwidth = getEdgeUplinkBandwidth(hostsByLeaf, spines);
+        for (int i = 0; i < spines; i++) {
+            createAggregateSwitch(leaves, uplinkBandwidth);
+        }
+
+        for (int i = 0; i < leaves; i++) {
+            final EdgeSwitch leaf = createEdgeSwitch(hostsByLeaf, uplinkBandwidth);
+            aggregateSwitches.forEach(spine -> connect(spine, leaf));
+        }
+
+        connectHosts(hosts, hostsByLeaf);
+        return this;
+    }
+
+    /**
+     * Gets the bandwidth of each uplink of an edge switch.
+     *
+     * @param hostsByEdge the number of hosts connected to each edge switch
+     * @param uplinks the number of uplinks of each edge switch
+     */
+    private double getEdgeUplinkBandwidth(int hostsByEdge, int uplinks) {
+        return hostsByEdge * hostBandwidth / (uplinks * oversubscription);
+    }
+
+    private AggregateSwitch createAggregateSwitch(int ports, double downlinkBandwidth) {
+        final AggregateSwitch aggregate = new AggregateSwitch(simulation, datacenter);
+        aggregate.setUplinkBandwidth(0);
+        aggregate.setDownlinkBandwidth(downlinkBandwidth);
+        aggregate.setPorts(ports);
+        addSwitch(aggregate, aggregateSwitches);
+        return aggregate;
+    }
+
+    private EdgeSwitch createEdgeSwitch(int ports, double uplinkBandwidth) {
+        final EdgeSwitch edge = new EdgeSwitch(simulation, datacenter);
+        edge.setUplinkBandwidth(uplinkBandwidth);
+        edge.setDownlinkBandwidth(hostBandwidth);
+        edge.setPorts(ports);
+        addSwitch(edge, edgeSwitches);
+        return edge;
+    }
+
+    private <T extends Switch> void addSwitch(T sw, List<T> list) {
+        list.add(sw);
+        datacenter.addSwitch(sw);
+    }
+
+    /**
+     * Connects a lower level switch to an upper level one.
+     */
+    private static void connect(Switch upper, Switch lower) {
+        upper.getDownlinkSwitches().add(lower);
+        lower.getUplinkSwitches().add(upper);
+    }
+
+    /**
+     * Connects the Datacenter hosts to the edge switches, in the order they are in the Datacenter.
+     *
+     * @param hosts the hosts to connect
+     * @param hostsByEdge the number of hosts to connect to each edge switch
+     */
+    private void connectHosts(List<NetworkHost> hosts, int hostsByEdge) {
+        for (int i = 0; i < hosts.size(); i++) {
+            final EdgeSwitch edge = edgeSwitches.get(i / hostsByEdge);
+            edge.connectHost(hosts.get(i));
+            hosts.get(i).setEdgeSwitch(edge);
+        }
+    }
+
+    /**
+     * Gets the Datacenter hosts, checking if the fabric can be built for them.
+     */
+    private List<NetworkHost> getHosts() {
+        if (!edgeSwitches.isEmpty()) {
+            throw new IllegalStateException("The switch fabric was already built.");
+        }
+
+        final List<NetworkHost> hosts = new ArrayList<>(datacenter.getHostList().size());
+        for (final Host host : datacenter.getHostList()) {
+            if (!(host instanceof NetworkHost)) {
+                throw new IllegalArgumentException("The hosts of the Datacenter must be NetworkHosts.");
+            }
+            hosts.add((NetworkHost) host);
+        }
+
+        return hosts;
+    }
+
+    /**
+     * Gets the bandwidth (in Megabits/s) of the link between each host and its edge switch.
+     * @return
+     */
+    public double getHostBandwidth() {
+        return hostBandwidth;
+    }
+
+    /**
+     * Sets the bandwidth (in Megabits/s) of the link between each host and its edge switch.
+     * The default value is {@link EdgeSwitch#DOWNLINK_BW}.
+     *
+     * @param hostBandwidth the bandwidth to set
+     * @return
+     * @throws IllegalArgumentException when the bandwidth isn't positive
+     */
+    public SwitchFabricBuilder setHostBandwidth(double hostBandwidth) {
+        if (hostBandwidth <= 0) {
+            throw new IllegalArgumentException("The host bandwidth must be greater than zero.");
+        }
+
+        this.hostBandwidth = hostBandwidth;
+        return this;
+    }
+
+    /**
+     * Gets the ratio between the bandwidth of the hosts connected to an edge switch
+     * and the total bandwidth of its uplinks.
+     * @return
+     */
+    public double getOversubscription() {
+        return oversubscription;
+    }
+
+    /**
+     * Sets the ratio between the bandwidth of the hosts connected to an edge switch
+     * and the total bandwidth of its uplinks. The default value is 1,
+     * which gives full bisection bandwidth. A value of 3, for instance, means
+     * a 3:1 oversubscription.
+     *
+     * @param oversubscription the oversubscription ratio to set
+     * @return
+     * @throws IllegalArgumentException when the ratio is less than 1
+     */
+    public SwitchFabricBuilder setOversubscription(double oversubscription) {
+        if (oversubscription < 1) {
+            throw new IllegalArgumentException("The oversubscription ratio must be at least 1.");
+        }
+
+        this.oversubscription = oversubscription;
+        return this;
+    }
+
+    /**
+     * Gets a <b>read-only</b> list of the built edge (or leaf) switches.
+     * @return
+     */
+    public List<EdgeSwitch> getEdgeSwitches() {
+        return Collections.unmodifiableList(edgeSwitches);
+    }
+
+    /**
+     * Gets a <b>read-only</b> list of the built aggregate (or spine) switches.
+     * @return
+     */
+    public List<AggregateSwitch> getAggregateSwitches() {
+        return Collections.unmodifiableList(aggregateSwitches);
+    }
+
+    /**
+     * Gets a <b>read-only</b> list of the built root (or core) switches.
+     * @return
+     */
+    public List<RootSwitch> getRootSwitches() {
+        return Collections.unmodifiableList(rootSwitches);
+    }
+}
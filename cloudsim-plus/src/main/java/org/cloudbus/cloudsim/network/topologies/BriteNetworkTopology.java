@@ -9,12 +9,11 @@ package org.cloudbus.cloudsim.network.topologies;
 
 import java.io.IOException;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 
+import org.cloudbus.cloudsim.network.DijkstraDelayMatrix;
 import org.cloudbus.cloudsim.util.Log;
-import org.cloudbus.cloudsim.network.DelayMatrix;
 import org.cloudbus.cloudsim.network.topologies.readers.TopologyReaderBrite;
 
 /**
@@ -30,6 +29,10 @@ import org.cloudbus.cloudsim.network.topologies.readers.TopologyReaderBrite;
  * changing the topology file. Nevertheless, each CloudSim entity must be mapped
  * to one (and only one) BRITE node to allow proper work of the network
  * simulation. Each BRITE node can be mapped to only one entity at a time.
+ * <p/>
+ * The delays between nodes are computed just when they are requested
+ * after links are added, using a {@link DijkstraDelayMatrix}.
+ * This way, adding several links doesn't compute the delays again after each link.
  *
  * @author Rodrigo N. Calheiros
  * @author Anton Beloglazov
@@ -45,15 +48,15 @@ public class BriteNetworkTopology implements NetworkTopology {
     private boolean networkEnabled = false;
 
     /**
-     * A matrix containing the delay between every pair of nodes in the network.
+     * A matrix containing the delay between every pair of nodes in the network,
+     * that is null when it has to be created again because links were added.
      */
-    private DelayMatrix delayMatrix;
+    private DijkstraDelayMatrix delayMatrix;
 
     /**
-     * A matrix containing the bandwidth between every pair of nodes in the
-     * network.
+     * @see #getDelayCacheSize()
      */
-    private double[][] bwMatrix;
+    private int delayCacheSize;
 
     /**
      * The Topological Graph of the network.
@@ -72,9 +75,8 @@ public class BriteNetworkTopology implements NetworkTopology {
      */
     public BriteNetworkTopology() {
         map = new HashMap<>();
-        bwMatrix = new double[0][0];
         graph = new TopologicalGraph();
-        delayMatrix = new DelayMatrix();
+        delayCacheSize = DijkstraDelayMatrix.DEFAULT_CACHE_SIZE;
     }
 
     /**
@@ -100,54 +102,54 @@ public class BriteNetworkTopology implements NetworkTopology {
     }
 
     /**
-     * Generates the matrices used internally to set latency and bandwidth
-     * between elements.
+     * Indicates that the matrices used internally to set latency
+     * between elements have to be generated again, what is just performed
+     * when a delay is requested.
      */
     private void generateMatrices() {
-        // creates the delay matrix
-        delayMatrix = new DelayMatrix(getTopologycalGraph(), false);
-
-        // creates the bw matrix
-        bwMatrix = createBwMatrix(getTopologycalGraph(), false);
-
+        delayMatrix = null;
         networkEnabled = true;
     }
 
     /**
-     * Creates the matrix containing the available bandwidth between every pair
-     * of nodes.
+     * Gets the matrix containing the delay between every pair of nodes in the network,
+     * creating it if links were added since the last time it was created.
      *
-     * @param graph topological graph describing the topology
-     * @param directed true if the graph is directed; false otherwise
-     * @return the bandwidth graph
+     * @return
      */
-    private double[][] createBwMatrix(TopologicalGraph graph, boolean directed) {
-        int nodes = graph.getNumberOfNodes();
-
-        double[][] mtx = new double[nodes][nodes];
-
-        // cleanup matrix
-        for (int i = 0; i < nodes; i++) {
-            for (int j = 0; j < nodes; j++) {
-                mtx[i][j] = 0.0;
-            }
+    private DijkstraDelayMatrix getDelayMatrix() {
+        if (Objects.isNull(delayMatrix)) {
+            delayMatrix = new DijkstraDelayMatrix(getTopologycalGraph(), false, delayCacheSize);
         }
 
-        Iterator<TopologicalLink> iter = graph.getLinkIterator();
-        while (iter.hasNext()) {
-            TopologicalLink edge = iter.next();
+        return delayMatrix;
+    }
 
-            mtx[edge.getSrcNodeID()][edge.getDestNodeID()] = edge.getLinkBw();
+    /**
+     * Gets the maximum number of nodes whose delays to every other node are kept in memory.
+     * @return
+     */
+    public int getDelayCacheSize() {
+        return delayCacheSize;
+    }
 
-            if (!directed) {
-                mtx[edge.getDestNodeID()][edge.getSrcNodeID()] = edge.getLinkBw();
-            }
+    /**
+     * Sets the maximum number of nodes whose delays to every other node are kept in memory.
+     * The delays from other nodes are computed again when requested.
+     *
+     * @param delayCacheSize the number of nodes to set
+     * @return
+     */
+    public BriteNetworkTopology setDelayCacheSize(final int delayCacheSize) {
+        if (delayCacheSize <= 0) {
+            throw new IllegalArgumentException("The delay cache size must be a positive number.");
         }
 
-        return mtx;
+        this.delayCacheSize = delayCacheSize;
+        this.delayMatrix = null;
+        return this;
     }
 
-
     @Override
     public void addLink(int srcId, int destId, double bw, double lat) {
         if (Objects.isNull(getTopologycalGraph())) {
@@ -216,7 +218,7 @@ public class BriteNetworkTopology implements NetworkTopology {
         if (networkEnabled) {
             try {
                 // add the network latency
-                return delayMatrix.getDelay(map.get(srcID), map.get(destID));
+                return getDelayMatrix().getDelay(map.get(srcID), map.get(destID));
             } catch (Exception e) {
                 // in case of error, just keep running and return 0.0
             }
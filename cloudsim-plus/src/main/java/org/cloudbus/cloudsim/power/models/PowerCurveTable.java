@@ -0,0 +1,165 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.power.models;
+
+/**
+ * A precomputed table of the power consumed at equally spaced utilization percentages,
+ * for power models whose power consumption is linear between such percentages,
+ * namely {@link PowerModelSpecPower} (which interpolates the power measured at every 10% of utilization)
+ * and {@link PowerModelLinear}.
+ * Getting the power from the table doesn't call the model and performs
+ * the same interpolation the model does, giving the same results.
+ *
+ * <p>For other models, such as {@link PowerModelCubic} and {@link PowerModelSqrt},
+ * or models that override the {@link PowerModel#getPower(double)} method of the mentioned classes,
+ * the table just calls the model, since an interpolated value would be an approximation.</p>
+ *
+ * <p>A table can be shared by all hosts using the same power model instance.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public final class PowerCurveTable {
+    private final PowerModel powerModel;
+
+    /**
+     * The power consumed at each utilization percentage {@code i / steps} of the table,
+     * or null if the {@link #powerModel} isn't linear between such percentages.
+     */
+    private final double[] power;
+
+    /**
+     * The number of intervals the utilization range [0..1] is divided into.
+     */
+    private final int steps;
+
+    /**
+     * The utilization percentage of each interval, in the scale from [0 to 100].
+     */
+    private final double percentPerStep;
+
+    /**
+     * The power consumed when the utilization is zero, which may be different from the
+     * power at the beginning of the first interval (for instance, a {@link PowerModelLinear}
+     * consumes no power when idle).
+     */
+    private final double idlePower;
+
+    /**
+     * The power consumed when the utilization is full, taken from the model
+     * since it may not be exactly the power at the end of the last interval
+     * (for instance, a {@link PowerModelLinear} computes it from the static power
+     * and the power increment by utilization percentage, which may differ by rounding
+     * from the max power).
+     */
+    private final double fullPower;
+
+    /**
+     * Creates the power curve table of a power model.
+     *
+     * @param powerModel the power model
+     */
+    public PowerCurveTable(final PowerModel powerModel) {
+        this.powerModel = powerModel;
+        if (isGetPowerDeclaredBy(powerModel, PowerModelSpecPower.class)) {
+            final PowerModelSpecPower specPower = (PowerModelSpecPower) powerModel;
+            this.steps = 10;
+            this.power = new double[steps + 1];
+            for (int i = 0; i <= steps; i++) {
+                power[i] = specPower.getPowerData(i);
+            }
+        } else if (isGetPowerDeclaredBy(powerModel, PowerModelLinear.class)) {
+            final PowerModelLinear linear = (PowerModelLinear) powerModel;
+            this.steps = 1;
+            this.power = new double[]{linear.getStaticPower(), linear.getMaxPower()};
+        } else {
+            this.steps = 0;
+            this.power = null;
+        }
+
+        this.percentPerStep = steps == 0 ? 0 : 100.0 / steps;
+        this.idlePower = power == null ? 0 : powerModel.getPower(0);
+        this.fullPower = power == null ? 0 : powerModel.getPower(1);
+    }
+
+    private static boolean isGetPowerDeclaredBy(final PowerModel powerModel, final Class<? extends PowerModel> modelClass) {
+        if (!modelClass.isInstance(powerModel)) {
+            return false;
+        }
+
+        try {
+            return powerModel.getClass().getMethod("getPower", double.class).getDeclaringClass() == modelClass;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the power model the table was created from.
+     * @return
+     */
+    public PowerModel getPowerModel() {
+        return powerModel;
+    }
+
+    /**
+     * Checks if the power is computed from the table, or by calling the power model
+     * because it isn't linear between equally spaced utilization percentages.
+     * @return
+     */
+    public boolean isTabulated() {
+        return power != null;
+    }
+
+    /**
+     * Gets the power consumption for a given utilization percentage.
+     *
+     * @param utilization the utilization percentage (between [0 and 1])
+     * @return the power consumption
+     * @throws IllegalArgumentException when the utilization percentage is not between [0 and 1]
+     * @see PowerModel#getPower(double)
+     */
+    public double getPower(final double utilization) {
+        if (power == null) {
+            return powerModel.getPower(utilization);
+        }
+
+        if (utilization < 0 || utilization > 1) {
+            throw new IllegalArgumentException("Utilization value must be between 0 and 1");
+        }
+
+        if (utilization == 0) {
+            return idlePower;
+        }
+
+        if (utilization == 1) {
+            return fullPower;
+        }
+
+        final double position = utilization * steps;
+        final int lower = (int) position;
+        final int upper = (int) Math.ceil(position);
+        final double delta = (power[upper] - power[lower]) / percentPerStep;
+        return power[lower] + delta * (utilization - (double) lower / steps) * 100;
+    }
+}
@@ -10,7 +10,6 @@ package org.cloudbus.cloudsim.schedulers.cloudlet;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
@@ -86,6 +85,19 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      */
     private Vm vm;
 
+    /**
+     * An index of all Cloudlets inside any of the scheduler lists
+     * (execution, waiting, paused, finished and failed), where each key is a Cloudlet ID.
+     * @see #findCloudletInAllLists(double)
+     */
+    private final Map<Integer, CloudletExecutionInfo> cloudletsById;
+
+    /**
+     * A reusable list of Cloudlets that finished during the last
+     * {@link #updateCloudletsProcessing(double) processing update}.
+     */
+    private final List<CloudletExecutionInfo> finishedCloudletsBuffer;
+
     /**
      * Creates a new CloudletScheduler object. A CloudletScheduler must be
      * created before starting the actual simulation.
@@ -105,6 +117,8 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         cloudletWaitingList = new ArrayList<>();
         currentMipsShare = new ArrayList<>();
         packetScheduler = PacketScheduler.NULL;
+        cloudletsById = new HashMap<>();
+        finishedCloudletsBuffer = new ArrayList<>();
     }
 
     @Override
@@ -155,6 +169,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 
         cloudlet.setCloudletStatus(Cloudlet.Status.QUEUED);
         cloudletWaitingList.add(cloudlet);
+        cloudletsById.put(cloudlet.getCloudletId(), cloudlet);
     }
 
     protected boolean removeCloudletFromWaitingList(CloudletExecutionInfo cloudlet) {
@@ -244,6 +259,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         cloudlet.setCloudletStatus(Cloudlet.Status.INEXEC);
         cloudlet.setLastProcessingTime(getVm().getSimulation().clock());
         cloudletExecList.add(cloudlet);
+        cloudletsById.put(cloudlet.getCloudletId(), cloudlet);
         addUsedPes(cloudlet.getNumberOfPes());
     }
 
@@ -263,7 +279,9 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
             return Cloudlet.NULL;
         }
 
-        return getCloudletFinishedList().remove(0).getCloudlet();
+        final CloudletExecutionInfo rcl = getCloudletFinishedList().remove(0);
+        cloudletsById.remove(rcl.getCloudletId());
+        return rcl.getCloudlet();
     }
 
     /**
@@ -300,12 +318,22 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 
     /**
      * Search for a Cloudlet into all Cloudlet lists.
+     * The search is performed in constant time using an index of the Cloudlets
+     * added to such lists by the scheduler methods. Cloudlets that were directly
+     * added to the lists are searched into each list.
      *
      * @param cloudletId the id of the Cloudlet to search for
      * @return an {@link Optional} value that is able to indicate if the
      * Cloudlet was found or not
      */
     protected Optional<CloudletExecutionInfo> findCloudletInAllLists(double cloudletId) {
+        if ((int) cloudletId == cloudletId) {
+            final CloudletExecutionInfo rcl = cloudletsById.get((int) cloudletId);
+            if (rcl != null) {
+                return Optional.of(rcl);
+            }
+        }
+
         //Concatenate all lists into a strem
         Stream<List<CloudletExecutionInfo>> streamOfAllLists
             = Stream.of(getCloudletExecList(), getCloudletPausedList(), getCloudletWaitingList(),
@@ -360,6 +388,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         cloudlet = changeStatusOfCloudletIntoList(getCloudletFinishedList(), cloudletId, (c) -> {
         });
         if (cloudlet != Cloudlet.NULL) {
+            cloudletsById.remove(cloudletId);
             return cloudlet;
         }
 
@@ -402,6 +431,9 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
             cloudletFinish(cloudlet);
         } else {
             cloudlet.setCloudletStatus(newStatus);
+            if (newStatus == Status.CANCELED) {
+                cloudletsById.remove(cloudlet.getCloudletId());
+            }
         }
 
         switch (newStatus) {
@@ -461,12 +493,19 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 
     /**
      * Updates the processing of all cloudlets of the Vm using this scheduler
-     * that are in the {@link #getCloudletExecList() cloudlet execution list}.
+     * that are in the {@link #getCloudletExecList() cloudlet execution list},
+     * collecting the ones that have finished.
      *
      * @param currentTime current simulation time
      */
     private void updateCloudletsProcessing(double currentTime) {
-        getCloudletExecList().forEach(rcl -> updateCloudletProcessingAndPacketsDispatch(rcl, currentTime));
+        finishedCloudletsBuffer.clear();
+        for (final CloudletExecutionInfo rcl : getCloudletExecList()) {
+            updateCloudletProcessingAndPacketsDispatch(rcl, currentTime);
+            if (rcl.getCloudlet().isFinished()) {
+                finishedCloudletsBuffer.add(rcl);
+            }
+        }
     }
 
     /**
@@ -600,7 +639,8 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     }
 
     /**
-     * Removes finished cloudlets from the
+     * Removes the cloudlets that have finished during the last
+     * {@link #updateCloudletsProcessing(double) processing update} from the
      * {@link #getCloudletExecList() list of cloudlets to execute}
      * and adds them to finished list.
      *
@@ -608,16 +648,13 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * {@link #getCloudletExecList() execution list}
      */
     private int removeFinishedCloudletsFromExecutionListAndAddToFinishedList() {
-        List<CloudletExecutionInfo> finishedCloudlets
-            = getCloudletExecList().stream()
-            .filter(c -> c.getCloudlet().isFinished())
-            .collect(Collectors.toList());
-
-        for (CloudletExecutionInfo c : finishedCloudlets) {
+        for (CloudletExecutionInfo c : finishedCloudletsBuffer) {
             removeCloudletFromExecListAndAddToFinishedList(c);
         }
 
-        return finishedCloudlets.size();
+        final int finishedCloudlets = finishedCloudletsBuffer.size();
+        finishedCloudletsBuffer.clear();
+        return finishedCloudlets;
     }
 
     private void removeCloudletFromExecListAndAddToFinishedList(CloudletExecutionInfo cloudlet) {
@@ -655,10 +692,12 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * @return the estimated finish time of sooner finishing cloudlet, that represents a future simulation time
      */
     protected double getEstimatedFinishTimeOfSoonerFinishingCloudlet(double currentTime) {
-        return getCloudletExecList()
-            .stream()
-            .mapToDouble(c -> getEstimatedFinishTimeOfCloudlet(c, currentTime))
-            .min().orElse(Double.MAX_VALUE);
+        double soonerFinishTime = Double.MAX_VALUE;
+        for (final CloudletExecutionInfo c : getCloudletExecList()) {
+            soonerFinishTime = Math.min(soonerFinishTime, getEstimatedFinishTimeOfCloudlet(c, currentTime));
+        }
+
+        return soonerFinishTime;
     }
 
     /**
@@ -61,7 +61,7 @@ public class PowerVmSelectionPolicyMaximumCorrelation extends PowerVmSelectionPo
 
         List<Double> metrics;
         try {
-            metrics = getCorrelationCoefficients(getUtilizationMatrix(migratableVms));
+            metrics = getCorrelationCoefficients(host, migratableVms);
         } catch (IllegalArgumentException e) { // the degrees of freedom must be greater than zero
             return getFallbackPolicy().getVmToMigrate(host);
         }
@@ -79,6 +79,18 @@ public class PowerVmSelectionPolicyMaximumCorrelation extends PowerVmSelectionPo
         return migratableVms.get(maxIndex);
     }
 
+    /**
+     * Gets the correlation coefficients of the CPU utilization of the migratable VMs of a host.
+     *
+     * @param host the host the VMs are placed into
+     * @param migratableVms the migratable VMs of the host
+     * @return the correlation coefficients, in the same order of the VMs
+     * @throws IllegalArgumentException when there isn't enough data to compute the coefficients
+     */
+    protected List<Double> getCorrelationCoefficients(final PowerHost host, final List<PowerVm> migratableVms) {
+        return getCorrelationCoefficients(getUtilizationMatrix(migratableVms));
+    }
+
     /**
      * Gets the CPU utilization percentage matrix for a given list of VMs.
      *
@@ -92,9 +104,9 @@ public class PowerVmSelectionPolicyMaximumCorrelation extends PowerVmSelectionPo
         double[][] utilization = new double[numberVms][minHistorySize];
 
         for (int i = 0; i < numberVms; i++) {
-            List<Double> vmUtilization = vmList.get(i).getUtilizationHistory();
+            final PowerVm vm = vmList.get(i);
             for (int j = 0; j < minHistorySize; j++) {
-                utilization[i][j] = vmUtilization.get(j);
+                utilization[i][j] = vm.getUtilizationHistoryValue(j);
             }
         }
         return utilization;
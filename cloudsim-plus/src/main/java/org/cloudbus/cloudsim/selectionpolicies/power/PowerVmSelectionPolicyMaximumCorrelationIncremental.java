@@ -0,0 +1,235 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.selectionpolicies.power;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
+import org.cloudbus.cloudsim.util.RunningCovariance;
+import org.cloudbus.cloudsim.vms.power.PowerVm;
+
+/**
+ * A {@link PowerVmSelectionPolicyMaximumCorrelation} that computes the correlation coefficients
+ * of all VMs from a single covariance matrix of their CPU utilization history,
+ * instead of performing a multiple linear regression for each VM.
+ *
+ * <p>The covariance matrix of each host is kept in a {@link RunningCovariance}
+ * and incrementally updated as new values are added to the VMs' utilization history:
+ * just the newest values are added and the ones leaving the history window are removed.
+ * The matrix is built again when the migratable VMs of the host change
+ * and after as many observations were removed as there are in the window,
+ * so that rounding errors of the removals don't accumulate.
+ * The windows of other hosts whose VMs were destroyed or migrated away are dropped
+ * whenever a window is built.</p>
+ *
+ * <p>The coefficients are the same as the ones computed by the super class, except for rounding errors.
+ * When they can't be computed from the covariance matrix, such as when the VMs' history has
+ * no more values than the number of VMs, they are computed by the super class.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class PowerVmSelectionPolicyMaximumCorrelationIncremental extends PowerVmSelectionPolicyMaximumCorrelation {
+    /**
+     * The utilization history window of the migratable VMs of each host,
+     * used in the last computation of correlation coefficients.
+     */
+    private final Map<PowerHost, UtilizationWindow> windows = new HashMap<>();
+
+    /**
+     * Instantiates a new PowerVmSelectionPolicyMaximumCorrelationIncremental.
+     *
+     * @param fallbackPolicy the fallback policy
+     */
+    public PowerVmSelectionPolicyMaximumCorrelationIncremental(final PowerVmSelectionPolicy fallbackPolicy) {
+        super(fallbackPolicy);
+    }
+
+    @Override
+    protected List<Double> getCorrelationCoefficients(final PowerHost host, final List<PowerVm> migratableVms) {
+        UtilizationWindow window = windows.get(host);
+        if(window == null || !window.update(migratableVms)){
+            windows.remove(host);
+            windows.values().removeIf(UtilizationWindow::isStale);
+            window = new UtilizationWindow(host, migratableVms);
+            windows.put(host, window);
+        }
+
+        try {
+            return toList(window.covariance.getMultipleCorrelationCoefficients());
+        } catch (IllegalArgumentException e) {
+            return super.getCorrelationCoefficients(getUtilizationMatrix(migratableVms));
+        }
+    }
+
+    @Override
+    protected List<Double> getCorrelationCoefficients(final double[][] data) {
+        final RunningCovariance covariance = new RunningCovariance(data.length);
+        final double[] observation = new double[data.length];
+        for (int j = 0; j < data[0].length; j++) {
+            for (int i = 0; i < data.length; i++) {
+                observation[i] = data[i][j];
+            }
+
+            covariance.add(observation);
+        }
+
+        try {
+            return toList(covariance.getMultipleCorrelationCoefficients());
+        } catch (IllegalArgumentException e) {
+            return super.getCorrelationCoefficients(data);
+        }
+    }
+
+    private static List<Double> toList(final double[] values) {
+        final List<Double> list = new ArrayList<>(values.length);
+        for (final double value : values) {
+            list.add(value);
+        }
+
+        return list;
+    }
+
+    /**
+     * The newest values of the utilization history of a list of VMs,
+     * as many as the shortest VM history, and their covariance matrix.
+     */
+    private final class UtilizationWindow {
+        private final PowerHost host;
+
+        private final List<PowerVm> vmList;
+
+        /**
+         * The number of values added to the history of each VM when the window was last updated.
+         */
+        private final long[] addedCounts;
+
+        /**
+         * The utilization of all VMs at each time in the window, from the newest to the oldest time.
+         */
+        private final Deque<double[]> observations;
+
+        private final RunningCovariance covariance;
+
+        /**
+         * The number of observations removed from the covariance matrix since it was last built.
+         */
+        private int removedObservations;
+
+        UtilizationWindow(final PowerHost host, final List<PowerVm> vmList) {
+            this.host = host;
+            this.vmList = new ArrayList<>(vmList);
+            this.addedCounts = new long[vmList.size()];
+            this.observations = new ArrayDeque<>();
+            this.covariance = new RunningCovariance(vmList.size());
+            saveAddedCounts();
+            addNewestObservations(getMinUtilizationHistorySize(vmList));
+        }
+
+        /**
+         * Updates the window with the values added to the VMs' history since the last update.
+         *
+         * @param vmList the current list of VMs
+         * @return true if the window was updated, false if it has to be built again
+         * because the VMs changed or they didn't get the same number of new values
+         */
+        boolean update(final List<PowerVm> vmList) {
+            if(!this.vmList.equals(vmList)){
+                return false;
+            }
+
+            final long newValues = vmList.get(0).getUtilizationHistoryAddedCount() - addedCounts[0];
+            for (int i = 1; i < vmList.size(); i++) {
+                if(vmList.get(i).getUtilizationHistoryAddedCount() - addedCounts[i] != newValues){
+                    return false;
+                }
+            }
+
+            final int size = getMinUtilizationHistorySize(vmList);
+            final long oldValues = observations.size() + newValues - size;
+            if(newValues < 0 || newValues > size || oldValues < 0){
+                return false;
+            }
+
+            for (long i = 0; i < oldValues; i++) {
+                covariance.remove(observations.removeLast());
+            }
+
+            removedObservations += oldValues;
+            addNewestObservations((int)newValues);
+            saveAddedCounts();
+            if(removedObservations >= observations.size()){
+                rebuildCovariance();
+            }
+
+            return true;
+        }
+
+        /**
+         * Builds the covariance matrix again from the observations in the window,
+         * discarding the rounding errors accumulated by removals.
+         */
+        private void rebuildCovariance() {
+            covariance.clear();
+            observations.descendingIterator().forEachRemaining(covariance::add);
+            removedObservations = 0;
+        }
+
+        /**
+         * Checks if any VM of the window was destroyed or migrated to another host.
+         *
+         * @return true if the window is stale, false otherwise
+         */
+        boolean isStale() {
+            return vmList.stream().anyMatch(vm -> vm.getHost() != host || !host.getVmList().contains(vm));
+        }
+
+        /**
+         * Adds the newest values of the VMs' history to the window, from the oldest to the newest one.
+         *
+         * @param count the number of values to add
+         */
+        private void addNewestObservations(final int count) {
+            for (int j = count - 1; j >= 0; j--) {
+                final double[] observation = new double[vmList.size()];
+                for (int i = 0; i < observation.length; i++) {
+                    observation[i] = vmList.get(i).getUtilizationHistoryValue(j);
+                }
+
+                covariance.add(observation);
+                observations.addFirst(observation);
+            }
+        }
+
+        private void saveAddedCounts() {
+            for (int i = 0; i < addedCounts.length; i++) {
+                addedCounts[i] = vmList.get(i).getUtilizationHistoryAddedCount();
+            }
+        }
+    }
+}
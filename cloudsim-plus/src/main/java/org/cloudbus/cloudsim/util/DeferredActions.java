@@ -0,0 +1,103 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Collects actions that have side effects outside of the object being processed
+ * (such as sending events, notifying listeners or printing logs) while a task runs in a worker thread,
+ * so that such actions can be later executed in the simulation thread.
+ *
+ * <p>It enables independent objects, such as Hosts, to be processed in parallel,
+ * while keeping the actions they perform in the same order as if the objects were
+ * processed sequentially. Code that may be called from such a task uses
+ * {@link #run(Runnable)} to perform those actions, which are executed immediately when
+ * no task is {@link #collect(DoubleSupplier) collecting} actions in the current thread.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public final class DeferredActions {
+    /**
+     * The object collecting the actions in the current thread, if any.
+     */
+    private static final ThreadLocal<DeferredActions> CURRENT = new ThreadLocal<>();
+
+    private final List<Runnable> actions = new ArrayList<>();
+
+    /**
+     * Executes an action immediately or, if a task is collecting actions in the current thread,
+     * defers it until such actions are {@link #runAll() run}.
+     *
+     * @param action the action to execute
+     */
+    public static void run(final Runnable action) {
+        final DeferredActions current = CURRENT.get();
+        if (current == null) {
+            action.run();
+        } else {
+            current.actions.add(action);
+        }
+    }
+
+    /**
+     * Checks if a task is collecting actions in the current thread,
+     * meaning that actions given to {@link #run(Runnable)} will be deferred.
+     *
+     * @return true if actions are being deferred, false otherwise
+     */
+    public static boolean isDeferring() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Executes a task in the current thread, collecting the actions it gives to {@link #run(Runnable)}.
+     *
+     * @param task the task to execute
+     * @return the value returned by the task
+     */
+    public double collect(final DoubleSupplier task) {
+        final DeferredActions previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.getAsDouble();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Executes the collected actions in the order they were collected, then clears them.
+     */
+    public void runAll() {
+        actions.forEach(Runnable::run);
+        actions.clear();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A fixed-capacity history of primitive double values, where adding a value
+ * when the buffer is full overwrites the oldest one.
+ * Values are indexed from the newest to the oldest one, that is,
+ * the value at index 0 is the last added one.
+ *
+ * <p>Adding and getting values are O(1) operations that don't allocate objects,
+ * differently from keeping a history of {@link Double} objects in a {@link java.util.LinkedList}.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class DoubleRingBuffer {
+    private final double[] values;
+
+    /**
+     * The index in the {@link #values} array where the next value will be stored.
+     */
+    private int next;
+
+    /**
+     * @see #size()
+     */
+    private int size;
+
+    /**
+     * @see #getAddedCount()
+     */
+    private long addedCount;
+
+    /**
+     * @see #asList()
+     */
+    private final List<Double> listView;
+
+    /**
+     * Creates a ring buffer with a given capacity.
+     *
+     * @param capacity the maximum number of values to store
+     */
+    public DoubleRingBuffer(final int capacity) {
+        if(capacity <= 0){
+            throw new IllegalArgumentException("The capacity must be a positive number.");
+        }
+
+        this.values = new double[capacity];
+        this.listView = new ListView();
+    }
+
+    /**
+     * Adds a value as the newest one, removing the oldest value if the buffer is full.
+     *
+     * @param value the value to add
+     */
+    public void add(final double value) {
+        values[next] = value;
+        next = next + 1 == values.length ? 0 : next + 1;
+        if(size < values.length){
+            size++;
+        }
+
+        addedCount++;
+    }
+
+    /**
+     * Gets a value from the buffer.
+     *
+     * @param index the index of the value, where 0 is the newest one and {@link #size()}-1 is the oldest one
+     * @return the value at the given index
+     * @throws IndexOutOfBoundsException when the index is not between 0 and {@link #size()}-1
+     */
+    public double get(final int index) {
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        final int position = next - 1 - index;
+        return values[position < 0 ? position + values.length : position];
+    }
+
+    /**
+     * Gets the number of values in the buffer.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of values the buffer stores.
+     * @return
+     */
+    public int getCapacity() {
+        return values.length;
+    }
+
+    /**
+     * Gets the number of values added to the buffer since it was created or last {@link #clear() cleared},
+     * including the ones already overwritten.
+     * It enables checking how many values were added between two moments.
+     * @return
+     */
+    public long getAddedCount() {
+        return addedCount;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values from the buffer.
+     */
+    public void clear() {
+        next = 0;
+        size = 0;
+        addedCount = 0;
+    }
+
+    /**
+     * Copies the newest values to an array, from the newest to the oldest one.
+     *
+     * @param length the number of values to copy,
+     *               which is limited to the {@link #size()} of the buffer
+     * @return a new array with the copied values
+     */
+    public double[] toArray(final int length) {
+        final double[] array = new double[Math.max(0, Math.min(length, size))];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = get(i);
+        }
+
+        return array;
+    }
+
+    /**
+     * Copies all values to an array, from the newest to the oldest one.
+     *
+     * @return a new array with the copied values
+     */
+    public double[] toArray() {
+        return toArray(size);
+    }
+
+    /**
+     * Gets a <b>read-only</b> {@link List} view of the buffer, that reflects
+     * any further change in it, without copying its values.
+     * A window with just the newest values can be obtained by
+     * {@link List#subList(int, int) subList(0, length)}, which doesn't copy values either.
+     *
+     * @return a read-only list view of the values, from the newest to the oldest one
+     */
+    public List<Double> asList() {
+        return listView;
+    }
+
+    /**
+     * A read-only view of the buffer values.
+     */
+    private final class ListView extends AbstractList<Double> implements RandomAccess {
+        @Override
+        public Double get(final int index) {
+            return DoubleRingBuffer.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
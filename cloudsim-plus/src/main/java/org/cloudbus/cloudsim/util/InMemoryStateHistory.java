@@ -0,0 +1,256 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A {@link StateHistory} that stores the state values in primitive arrays (one for each value),
+ * instead of keeping an object for each state.
+ * The entry objects are just created when the {@link #asList() list} of states is accessed.
+ *
+ * <p>The history may be unbounded or keep just a maximum number of the newest states,
+ * working as a ring buffer where adding a state when the history is full overwrites the oldest one.
+ * The arrays grow as states are added, up to such a maximum size.</p>
+ *
+ * @param <T> the type of the state entries
+ * @since CloudSim Plus 1.2.0
+ */
+public class InMemoryStateHistory<T> implements StateHistory<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final EntryFactory<T> entryFactory;
+
+    /**
+     * @see #getMaxSize()
+     */
+    private final int maxSize;
+
+    private double[] times;
+    private double[] allocatedMips;
+    private double[] requestedMips;
+    private boolean[] flags;
+
+    /**
+     * The index in the arrays of the oldest state.
+     */
+    private int first;
+
+    /**
+     * @see #size()
+     */
+    private int size;
+
+    private final List<T> listView;
+
+    /**
+     * Creates an unbounded history.
+     *
+     * @param entryFactory a function to create an entry from the stored state values
+     */
+    public InMemoryStateHistory(final EntryFactory<T> entryFactory) {
+        this(entryFactory, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a history that keeps just a maximum number of the newest states.
+     *
+     * @param entryFactory a function to create an entry from the stored state values
+     * @param maxSize the maximum number of states to keep
+     */
+    public InMemoryStateHistory(final EntryFactory<T> entryFactory, final int maxSize) {
+        if(maxSize <= 0){
+            throw new IllegalArgumentException("The max size must be a positive number.");
+        }
+
+        this.entryFactory = Objects.requireNonNull(entryFactory);
+        this.maxSize = maxSize;
+        this.times = new double[0];
+        this.allocatedMips = new double[0];
+        this.requestedMips = new double[0];
+        this.flags = new boolean[0];
+        this.listView = new ListView();
+    }
+
+    @Override
+    public void add(final double time, final double allocatedMips, final double requestedMips, final boolean flag) {
+        final int index;
+        if(size > 0 && times[position(size - 1)] == time){
+            index = position(size - 1);
+        } else if(size < maxSize) {
+            if(size == times.length){
+                grow();
+            }
+
+            index = position(size++);
+        } else {
+            index = first;
+            first = position(1);
+        }
+
+        this.times[index] = time;
+        this.allocatedMips[index] = allocatedMips;
+        this.requestedMips[index] = requestedMips;
+        this.flags[index] = flag;
+    }
+
+    /**
+     * Increases the capacity of the arrays, placing the oldest state at the first position.
+     */
+    private void grow() {
+        final int capacity = (int)Math.min(maxSize, Math.max(INITIAL_CAPACITY, times.length * 3L / 2));
+        final boolean[] newFlags = new boolean[capacity];
+        for (int i = 0; i < size; i++) {
+            newFlags[i] = flags[position(i)];
+        }
+
+        flags = newFlags;
+        times = grow(times, capacity);
+        allocatedMips = grow(allocatedMips, capacity);
+        requestedMips = grow(requestedMips, capacity);
+        first = 0;
+    }
+
+    private double[] grow(final double[] values, final int capacity) {
+        final double[] newValues = Arrays.copyOf(values, capacity);
+        if(first > 0) {
+            final int firstPart = values.length - first;
+            System.arraycopy(values, first, newValues, 0, firstPart);
+            System.arraycopy(values, 0, newValues, firstPart, first);
+        }
+
+        return newValues;
+    }
+
+    /**
+     * Gets the position in the arrays of the state at a given index.
+     *
+     * @param index the index of the state, where 0 is the oldest one
+     */
+    private int position(final int index) {
+        final int position = first + index;
+        return position < times.length ? position : position - times.length;
+    }
+
+    private int checkedPosition(final int index) {
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return position(index);
+    }
+
+    /**
+     * Gets the time of a state.
+     *
+     * @param index the index of the state, where 0 is the oldest one and {@link #size()}-1 is the newest one
+     * @return
+     * @throws IndexOutOfBoundsException when the index is not valid
+     */
+    public double getTime(final int index) {
+        return times[checkedPosition(index)];
+    }
+
+    /**
+     * Gets the MIPS allocated in a state.
+     *
+     * @param index the index of the state, where 0 is the oldest one and {@link #size()}-1 is the newest one
+     * @return
+     * @throws IndexOutOfBoundsException when the index is not valid
+     */
+    public double getAllocatedMips(final int index) {
+        return allocatedMips[checkedPosition(index)];
+    }
+
+    /**
+     * Gets the MIPS requested in a state.
+     *
+     * @param index the index of the state, where 0 is the oldest one and {@link #size()}-1 is the newest one
+     * @return
+     * @throws IndexOutOfBoundsException when the index is not valid
+     */
+    public double getRequestedMips(final int index) {
+        return requestedMips[checkedPosition(index)];
+    }
+
+    /**
+     * Gets the flag of a state.
+     *
+     * @param index the index of the state, where 0 is the oldest one and {@link #size()}-1 is the newest one
+     * @return
+     * @throws IndexOutOfBoundsException when the index is not valid
+     */
+    public boolean getFlag(final int index) {
+        return flags[checkedPosition(index)];
+    }
+
+    /**
+     * Gets the number of states in the history.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of states the history keeps,
+     * that is {@link Integer#MAX_VALUE} when it's unbounded.
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The list is a view of the history that reflects further changes in it
+     * and creates the entries when they are accessed.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public List<T> asList() {
+        return listView;
+    }
+
+    /**
+     * A read-only view of the history states.
+     */
+    private final class ListView extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(final int index) {
+            final int position = checkedPosition(index);
+            return entryFactory.create(times[position], allocatedMips[position], requestedMips[position], flags[position]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -42,18 +42,13 @@ public final class Log {
     /**
      * The stream where the log will the outputted.
      */
-    private static OutputStream output;
+    private static volatile OutputStream output;
 
     /**
      * Indicates if the logger is disabled or not. If set to true, the call for
      * any print method has no effect.
      */
-    private static boolean disabled;
-
-    /**
-     * Buffer to avoid creating new string builder upon every print.
-     */
-    private static StringBuilder buffer = new StringBuilder();
+    private static volatile boolean disabled;
 
     /**
      * Checks if application is running in debug mode.
@@ -69,11 +64,19 @@ public final class Log {
 
     /**
      * Prints a message.
+     * If the message is logged while {@link DeferredActions} are being collected,
+     * it is just printed when such actions are run,
+     * keeping messages in the order they would be printed in a sequential execution.
      *
      * @param message the message
      */
     public static void print(String message) {
         if (isEnabled()) {
+            if (DeferredActions.isDeferring()) {
+                DeferredActions.run(() -> print(message));
+                return;
+            }
+
             try {
                 getOutput().write(message.getBytes());
             } catch (IOException e) {
@@ -123,7 +126,7 @@ public final class Log {
      */
     public static void printConcat(Object... messages) {
         if (isEnabled()) {
-            buffer = new StringBuilder(messages.length);
+            final StringBuilder buffer = new StringBuilder(messages.length);
             for (Object message : messages) {
                 buffer.append(String.valueOf(message));
             }
@@ -139,7 +142,7 @@ public final class Log {
      */
     public static void printConcatLine(Object... messages) {
         if (isEnabled()) {
-            buffer = new StringBuilder(messages.length);
+            final StringBuilder buffer = new StringBuilder(messages.length);
             for (Object message : messages) {
                 buffer.append(String.valueOf(message));
             }
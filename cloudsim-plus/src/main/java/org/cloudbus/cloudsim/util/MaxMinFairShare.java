@@ -0,0 +1,127 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+/**
+ * Computes a max-min fair allocation of the capacity of links (such as network links or the BW of hosts)
+ * to flows (such as data transfers) that use one or more of such links,
+ * using the progressive filling algorithm.
+ *
+ * <p>The flows using the most congested link (the one with the smallest capacity share for each flow)
+ * get equal shares of it. The capacity they use at the other links is subtracted and the remaining flows
+ * share the remaining capacity in the same way, until every flow has its rate.
+ * This way, no flow can get a higher rate without decreasing the rate of a flow that already has a lower or equal one.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public final class MaxMinFairShare {
+
+    /**
+     * A private constructor to avoid class instantiation.
+     */
+    private MaxMinFairShare(){}
+
+    /**
+     * Computes the rate of each flow.
+     *
+     * @param capacities the capacity of each link
+     * @param flowLinks the indexes in the capacities array of the links used by each flow,
+     *                  where each flow must use at least one link
+     * @return the rate of each flow, in the same unit of the capacities
+     * @throws IllegalArgumentException when some flow doesn't use any link
+     */
+    public static double[] allocate(final double[] capacities, final int[][] flowLinks) {
+        for (final int[] links : flowLinks) {
+            if (links.length == 0) {
+                throw new IllegalArgumentException("Each flow must use at least one link.");
+            }
+        }
+
+        final double[] remaining = capacities.clone();
+        final int[] unallocatedFlows = new int[capacities.length];
+        for (final int[] links : flowLinks) {
+            for (final int link : links) {
+                unallocatedFlows[link]++;
+            }
+        }
+
+        final int[][] linkFlows = getLinkFlows(flowLinks, unallocatedFlows);
+        final double[] rates = new double[flowLinks.length];
+        final boolean[] allocated = new boolean[flowLinks.length];
+        for (int allocatedCount = 0; allocatedCount < flowLinks.length; ) {
+            final int bottleneck = getBottleneck(remaining, unallocatedFlows);
+            final double share = remaining[bottleneck] / unallocatedFlows[bottleneck];
+            for (final int flow : linkFlows[bottleneck]) {
+                if (allocated[flow]) {
+                    continue;
+                }
+
+                rates[flow] = share;
+                allocated[flow] = true;
+                allocatedCount++;
+                for (final int link : flowLinks[flow]) {
+                    remaining[link] = Math.max(0, remaining[link] - share);
+                    unallocatedFlows[link]--;
+                }
+            }
+        }
+
+        return rates;
+    }
+
+    /**
+     * Gets the indexes of the flows using each link.
+     */
+    private static int[][] getLinkFlows(final int[][] flowLinks, final int[] flowsByLink) {
+        final int[][] linkFlows = new int[flowsByLink.length][];
+        for (int link = 0; link < linkFlows.length; link++) {
+            linkFlows[link] = new int[flowsByLink[link]];
+        }
+
+        final int[] next = new int[flowsByLink.length];
+        for (int flow = 0; flow < flowLinks.length; flow++) {
+            for (final int link : flowLinks[flow]) {
+                linkFlows[link][next[link]++] = flow;
+            }
+        }
+
+        return linkFlows;
+    }
+
+    /**
+     * Gets the index of the link having the smallest capacity share for each unallocated flow using it.
+     */
+    private static int getBottleneck(final double[] remaining, final int[] unallocatedFlows) {
+        int bottleneck = -1;
+        for (int link = 0; link < remaining.length; link++) {
+            if (unallocatedFlows[link] > 0 &&
+                (bottleneck < 0 || remaining[link] / unallocatedFlows[link] < remaining[bottleneck] / unallocatedFlows[bottleneck]))
+            {
+                bottleneck = link;
+            }
+        }
+
+        return bottleneck;
+    }
+}
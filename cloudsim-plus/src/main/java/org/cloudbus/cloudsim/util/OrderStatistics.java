@@ -0,0 +1,176 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.Arrays;
+
+/**
+ * Order statistics (such as median, percentiles, IQR and MAD) of a set of values,
+ * which are sorted just once when the object is created.
+ * After that, percentiles and the IQR are computed in O(1)
+ * and the MAD in O(n), without sorting any other array.
+ *
+ * <p>The results are the same as the ones given by {@link MathUtil#median(double[])},
+ * {@link MathUtil#iqr(double[])} and {@link MathUtil#mad(double[])},
+ * which sort the values at every call.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class OrderStatistics {
+    private final double[] sortedValues;
+
+    /**
+     * @see #getMad()
+     */
+    private double mad = Double.NaN;
+
+    /**
+     * Creates the order statistics for a given array of values.
+     *
+     * @param values the values to compute the statistics, which aren't changed
+     */
+    public OrderStatistics(final double[] values) {
+        this.sortedValues = values.clone();
+        Arrays.sort(sortedValues);
+    }
+
+    /**
+     * Gets the number of values.
+     * @return
+     */
+    public int size() {
+        return sortedValues.length;
+    }
+
+    /**
+     * Gets the k-th smallest value.
+     *
+     * @param k the order of the value, from 0 (the min value) to {@link #size()}-1 (the max value)
+     * @return the k-th smallest value
+     */
+    public double get(final int k) {
+        return sortedValues[k];
+    }
+
+    /**
+     * Gets a percentile of the values, using the same estimation of
+     * {@link org.apache.commons.math3.stat.descriptive.DescriptiveStatistics#getPercentile(double)}.
+     *
+     * @param p the percentile to get, between 0 (exclusive) and 100 (inclusive)
+     * @return the percentile or {@link Double#NaN} if there are no values
+     */
+    public double getPercentile(final double p) {
+        if(p <= 0 || p > 100){
+            throw new IllegalArgumentException("The percentile must be between 0 (exclusive) and 100 (inclusive).");
+        }
+
+        return percentile(sortedValues, p);
+    }
+
+    /**
+     * Gets the median of the values.
+     *
+     * @return the median or {@link Double#NaN} if there are no values
+     */
+    public double getMedian() {
+        return percentile(sortedValues, 50);
+    }
+
+    /**
+     * Gets the Interquartile Range (IQR) of the values.
+     *
+     * @return the IQR
+     * @throws ArrayIndexOutOfBoundsException if there are less than 2 values
+     * @see MathUtil#iqr(double[])
+     */
+    public double getIqr() {
+        final int q1 = (int) Math.round(0.25 * (sortedValues.length + 1)) - 1;
+        final int q3 = (int) Math.round(0.75 * (sortedValues.length + 1)) - 1;
+        return sortedValues[q3] - sortedValues[q1];
+    }
+
+    /**
+     * Gets the Median Absolute Deviation (MAD) of the values,
+     * which is computed just in the first call.
+     *
+     * @return the MAD or 0 if there are no values
+     * @see MathUtil#mad(double[])
+     */
+    public double getMad() {
+        if(Double.isNaN(mad)){
+            mad = sortedValues.length == 0 ? 0 : percentile(sortedDeviationsFromMedian(), 50);
+        }
+
+        return mad;
+    }
+
+    /**
+     * Gets the absolute deviations of the values from the median, in ascending order.
+     * Since the values are sorted, the deviations of the values before and after the median
+     * are each one sorted too, so that they are just merged.
+     */
+    private double[] sortedDeviationsFromMedian() {
+        final double median = getMedian();
+        final double[] deviations = new double[sortedValues.length];
+        int after = 0;
+        while (after < sortedValues.length && sortedValues[after] <= median) {
+            after++;
+        }
+
+        int before = after - 1;
+        for (int i = 0; i < deviations.length; i++) {
+            final boolean takeBefore =
+                after == sortedValues.length ||
+                (before >= 0 && median - sortedValues[before] <= sortedValues[after] - median);
+            deviations[i] = Math.abs(median - sortedValues[takeBefore ? before-- : after++]);
+        }
+
+        return deviations;
+    }
+
+    /**
+     * Gets a percentile from sorted values, interpolating the two closest ones
+     * (using the legacy estimation of Apache Commons Math).
+     */
+    private static double percentile(final double[] sorted, final double p) {
+        final int length = sorted.length;
+        if(length == 0){
+            return Double.NaN;
+        }
+
+        final double pos = p / 100 * (length + 1);
+        if(pos < 1){
+            return sorted[0];
+        }
+
+        if(pos >= length){
+            return sorted[length - 1];
+        }
+
+        final double floorPos = Math.floor(pos);
+        final double lower = sorted[(int) floorPos - 1];
+        final double upper = sorted[(int) floorPos];
+        return lower + (pos - floorPos) * (upper - lower);
+    }
+}
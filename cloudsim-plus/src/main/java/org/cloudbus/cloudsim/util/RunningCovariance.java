@@ -0,0 +1,297 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.Arrays;
+
+/**
+ * The covariance matrix of a set of variables, computed from running sums and cross-products
+ * of their observations. Observations can be added and removed at any time,
+ * updating the matrix in O(n<sup>2</sup>) for n variables,
+ * so that a sliding window of observations doesn't need to be processed again
+ * when it moves.
+ *
+ * <p>Values are shifted by the first added observation before being summed,
+ * which reduces the precision loss when computing the covariance
+ * of values that are large compared to their variance.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class RunningCovariance {
+    private final int variables;
+
+    /**
+     * The value of each variable subtracted from observations before they are summed.
+     */
+    private final double[] shift;
+
+    /**
+     * The sum of the shifted values of each variable.
+     */
+    private final double[] sums;
+
+    /**
+     * The sum of the products between the shifted values of each pair of variables,
+     * where the sum for variables i and j is at the index {@code i * variables + j}.
+     */
+    private final double[] crossProducts;
+
+    /**
+     * @see #getCount()
+     */
+    private int count;
+
+    /**
+     * Creates a covariance matrix for a given number of variables, without any observation.
+     *
+     * @param variables the number of variables
+     */
+    public RunningCovariance(final int variables) {
+        if(variables <= 0){
+            throw new IllegalArgumentException("The number of variables must be a positive number.");
+        }
+
+        this.variables = variables;
+        this.shift = new double[variables];
+        this.sums = new double[variables];
+        this.crossProducts = new double[variables * variables];
+    }
+
+    /**
+     * Gets the number of variables.
+     * @return
+     */
+    public int getVariables() {
+        return variables;
+    }
+
+    /**
+     * Gets the number of observations currently considered.
+     * @return
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Adds an observation.
+     *
+     * @param observation the values of each variable
+     */
+    public void add(final double[] observation) {
+        checkObservation(observation);
+        if(count == 0){
+            System.arraycopy(observation, 0, shift, 0, variables);
+        }
+
+        update(observation, 1);
+        count++;
+    }
+
+    /**
+     * Removes an observation previously added.
+     *
+     * @param observation the values of each variable
+     */
+    public void remove(final double[] observation) {
+        checkObservation(observation);
+        if(count == 0){
+            throw new IllegalStateException("There is no observation to remove.");
+        }
+
+        if(--count == 0){
+            clear();
+            return;
+        }
+
+        update(observation, -1);
+    }
+
+    private void checkObservation(final double[] observation) {
+        if(observation.length != variables){
+            throw new IllegalArgumentException(
+                String.format("The observation has %d values but there are %d variables.", observation.length, variables));
+        }
+    }
+
+    private void update(final double[] observation, final int sign) {
+        for (int i = 0; i < variables; i++) {
+            final double x = sign * (observation[i] - shift[i]);
+            sums[i] += x;
+            final int row = i * variables;
+            for (int j = i; j < variables; j++) {
+                crossProducts[row + j] += x * (observation[j] - shift[j]);
+            }
+        }
+    }
+
+    /**
+     * Removes all observations.
+     */
+    public void clear() {
+        count = 0;
+        Arrays.fill(sums, 0);
+        Arrays.fill(crossProducts, 0);
+    }
+
+    /**
+     * Gets the sample covariance between two variables.
+     *
+     * @param i the index of a variable
+     * @param j the index of another variable
+     * @return the sample covariance or {@link Double#NaN} if there are less than 2 observations
+     */
+    public double getCovariance(final int i, final int j) {
+        if(count < 2){
+            return Double.NaN;
+        }
+
+        final int row = Math.min(i, j);
+        final int col = Math.max(i, j);
+        return (crossProducts[row * variables + col] - sums[row] * sums[col] / count) / (count - 1);
+    }
+
+    /**
+     * Gets the sample covariance matrix.
+     *
+     * @return a new matrix where the element at row i and column j is the covariance between variables i and j
+     * @see #getCovariance(int, int)
+     */
+    public double[][] getCovarianceMatrix() {
+        final double[][] matrix = new double[variables][variables];
+        for (int i = 0; i < variables; i++) {
+            for (int j = i; j < variables; j++) {
+                matrix[i][j] = matrix[j][i] = getCovariance(i, j);
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Gets the coefficient of determination (R<sup>2</sup>) of the linear regression (with intercept)
+     * of each variable on all the other ones, also known as the squared multiple correlation coefficient.
+     * The result for a variable i is the same as the {@code calculateRSquared()} of an
+     * {@link org.apache.commons.math3.stat.regression.OLSMultipleLinearRegression}
+     * where y is that variable and x are the other ones,
+     * but it is computed for all variables from a single inversion of the covariance matrix,
+     * as {@code 1 - 1/(S[i][i] * inverse(S)[i][i])}.
+     *
+     * @return an array with the coefficient of determination of each variable
+     * @throws IllegalArgumentException when there are less than 2 variables,
+     * the number of observations is not greater than the number of variables
+     * (which leaves no degree of freedom for the regression residuals)
+     * or the covariance matrix is singular (for instance, when a variable is constant
+     * or is a linear combination of the other ones)
+     */
+    public double[] getMultipleCorrelationCoefficients() {
+        if(variables < 2){
+            throw new IllegalArgumentException("There must be at least 2 variables to compute the correlation between them.");
+        }
+
+        if(count <= variables){
+            throw new IllegalArgumentException(
+                String.format("There are %d observations but at least %d are required for %d variables.", count, variables + 1, variables));
+        }
+
+        final double[][] lower = choleskyDecomposition(getCovarianceMatrix());
+        final double[] inverseDiagonal = inverseDiagonal(lower);
+        final double[] coefficients = new double[variables];
+        for (int i = 0; i < variables; i++) {
+            coefficients[i] = 1 - 1 / (getCovariance(i, i) * inverseDiagonal[i]);
+        }
+
+        return coefficients;
+    }
+
+    /**
+     * Computes the lower triangular matrix L such that {@code matrix = L * transpose(L)},
+     * overwriting the given matrix.
+     *
+     * @param matrix a symmetric matrix
+     * @return the lower triangular matrix
+     * @throws IllegalArgumentException when the matrix is not positive definite
+     */
+    private static double[][] choleskyDecomposition(final double[][] matrix) {
+        final int n = matrix.length;
+        for (int j = 0; j < n; j++) {
+            final double diagonal = matrix[j][j];
+            double sum = diagonal;
+            for (int k = 0; k < j; k++) {
+                sum -= matrix[j][k] * matrix[j][k];
+            }
+
+            //The relative threshold detects singular matrices despite rounding errors
+            if(sum <= diagonal * 1e-12){
+                throw new IllegalArgumentException("The covariance matrix is singular.");
+            }
+
+            final double pivot = Math.sqrt(sum);
+            matrix[j][j] = pivot;
+            for (int i = j + 1; i < n; i++) {
+                double value = matrix[i][j];
+                for (int k = 0; k < j; k++) {
+                    value -= matrix[i][k] * matrix[j][k];
+                }
+
+                matrix[i][j] = value / pivot;
+                matrix[j][i] = 0;
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Computes the diagonal of the inverse of a matrix from its Cholesky decomposition L,
+     * where {@code inverse[i][i]} is the sum of the squares of the column i of inverse(L).
+     *
+     * @param lower the lower triangular matrix of the Cholesky decomposition
+     * @return the diagonal of the inverse matrix
+     */
+    private static double[] inverseDiagonal(final double[][] lower) {
+        final int n = lower.length;
+        final double[] diagonal = new double[n];
+        final double[] column = new double[n];
+        for (int j = 0; j < n; j++) {
+            //Solves L * column = e_j by forward substitution, which is the column j of inverse(L)
+            Arrays.fill(column, 0, j, 0);
+            column[j] = 1 / lower[j][j];
+            double sum = column[j] * column[j];
+            for (int i = j + 1; i < n; i++) {
+                double value = 0;
+                for (int k = j; k < i; k++) {
+                    value -= lower[i][k] * column[k];
+                }
+
+                column[i] = value / lower[i][i];
+                sum += column[i] * column[i];
+            }
+
+            diagonal[j] = sum;
+        }
+
+        return diagonal;
+    }
+}
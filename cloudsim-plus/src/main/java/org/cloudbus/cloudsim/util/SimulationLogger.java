@@ -0,0 +1,210 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.cloudbus.cloudsim.core.Simulation;
+
+/**
+ * A logger that belongs to a single {@link Simulation} instance,
+ * enabling concurrent simulations to be independently enabled, disabled or redirected
+ * to different output streams, without changing the global {@link Log} state.
+ *
+ * <p>Messages are given as {@link Supplier} objects, which are just called
+ * when the logger is enabled. This way, hot paths don't pay for building format strings
+ * or boxing primitive values when logging is off.</p>
+ *
+ * <p>Each logger has its own enabled state and output stream, which are not affected by later changes
+ * in the global {@link Log}. Just the initial state of a logger created by the default constructor
+ * is copied from the global {@link Log}, so that disabling or redirecting it before creating a simulation
+ * keeps affecting the simulation messages.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class SimulationLogger {
+    /**
+     * A property that implements the Null Object Design Pattern for {@link SimulationLogger}
+     * objects, which never prints anything.
+     */
+    public static final SimulationLogger NULL = new SimulationLogger(false, System.out) {
+        @Override public boolean isEnabled() { return false; }
+        @Override public SimulationLogger setEnabled(boolean enabled) { return this; }
+        @Override public SimulationLogger setOutput(OutputStream output) { return this; }
+    };
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    /**
+     * @see #getOutput()
+     */
+    private volatile OutputStream output;
+
+    /**
+     * @see #isEnabled()
+     */
+    private volatile boolean enabled;
+
+    /**
+     * Creates a logger whose initial enabled state and output stream
+     * are the current ones from the global {@link Log}.
+     */
+    public SimulationLogger() {
+        this(Log.isEnabled(), Log.getOutput());
+    }
+
+    /**
+     * Creates a logger with a given enabled state and output stream.
+     *
+     * @param enabled true to create an enabled logger, false to create a disabled one
+     * @param output the stream where messages are printed to
+     */
+    public SimulationLogger(boolean enabled, OutputStream output) {
+        this.enabled = enabled;
+        this.output = Objects.requireNonNull(output);
+    }
+
+    /**
+     * Checks if messages given to this logger are printed.
+     *
+     * @return true if the logger is enabled, false otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables this logger, without changing the global {@link Log} state.
+     *
+     * @param enabled true to enable the logger, false to disable it
+     * @return
+     */
+    public SimulationLogger setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * Gets the stream where messages are printed to.
+     *
+     * @return the output stream of this logger
+     */
+    public OutputStream getOutput() {
+        return output;
+    }
+
+    /**
+     * Sets the stream where messages are printed to, without changing the global {@link Log} output.
+     *
+     * @param output the output stream
+     * @return
+     */
+    public SimulationLogger setOutput(OutputStream output) {
+        this.output = Objects.requireNonNull(output);
+        return this;
+    }
+
+    /**
+     * Prints a message if the logger is enabled.
+     *
+     * @param message a supplier of the message to print, that is just called if the logger is enabled
+     */
+    public void print(Supplier<String> message) {
+        if (isEnabled()) {
+            write(message.get());
+        }
+    }
+
+    /**
+     * Prints a message and a new line if the logger is enabled.
+     *
+     * @param message a supplier of the message to print, that is just called if the logger is enabled
+     */
+    public void printLine(Supplier<String> message) {
+        if (isEnabled()) {
+            write(message.get() + LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Prints a constant message and a new line if the logger is enabled.
+     *
+     * @param message the message to print
+     */
+    public void printLine(String message) {
+        if (isEnabled()) {
+            write(message + LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Prints an empty line if the logger is enabled.
+     */
+    public void printLine() {
+        if (isEnabled()) {
+            write(LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Prints a string formatted as in {@link String#format(String, Object...)}, followed by a new line.
+     * Since the arguments are created before calling this method, it should be used just when
+     * the caller has already checked the logger {@link #isEnabled() is enabled}.
+     * Otherwise, {@link #printLine(Supplier)} should be used.
+     *
+     * @param format the format string
+     * @param args the format arguments
+     */
+    public void printFormattedLine(String format, Object... args) {
+        if (isEnabled()) {
+            write(String.format(format, args) + LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Writes a message to the output.
+     * If the message is written while {@link DeferredActions} are being collected,
+     * it is just written when such actions are run.
+     *
+     * @param message the message to write
+     */
+    private void write(String message) {
+        if (DeferredActions.isDeferring()) {
+            DeferredActions.run(() -> write(message));
+            return;
+        }
+
+        final OutputStream out = getOutput();
+        try {
+            synchronized (out) {
+                out.write(message.getBytes());
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
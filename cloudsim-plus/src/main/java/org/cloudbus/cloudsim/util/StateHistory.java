@@ -0,0 +1,94 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A history of the states of an entity (such as the MIPS allocated to a VM or a Host along the simulation),
+ * where each state is defined by a time, the allocated and requested MIPS and a flag
+ * (such as if a VM is in migration or a Host is active).
+ *
+ * <p>Adding a state with the same time of the last added one replaces such a state.
+ * The history may keep all states in memory ({@link InMemoryStateHistory}),
+ * just the newest ones ({@link InMemoryStateHistory#InMemoryStateHistory(EntryFactory, int)}),
+ * write them to a file ({@link StreamingStateHistory}) or be {@link #disabled()}.</p>
+ *
+ * @param <T> the type of the state entries
+ * @since CloudSim Plus 1.2.0
+ */
+public interface StateHistory<T> {
+    /**
+     * Adds a state to the history, replacing the last added one
+     * if it has the same time.
+     *
+     * @param time the time of the state
+     * @param allocatedMips the MIPS allocated at such a time
+     * @param requestedMips the MIPS requested at such a time
+     * @param flag the flag of the state (such as if a VM is in migration or a Host is active)
+     */
+    void add(double time, double allocatedMips, double requestedMips, boolean flag);
+
+    /**
+     * Gets a <b>read-only</b> list of the states kept in memory, from the oldest to the newest one.
+     * It's empty if the states aren't kept in memory.
+     *
+     * @return
+     */
+    List<T> asList();
+
+    /**
+     * Gets a history that doesn't store any state.
+     *
+     * @param <T> the type of the state entries
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static <T> StateHistory<T> disabled() {
+        return (StateHistory<T>) Disabled.INSTANCE;
+    }
+
+    /**
+     * Creates the entries of a history from the stored state values.
+     *
+     * @param <T> the type of the state entries
+     */
+    @FunctionalInterface
+    interface EntryFactory<T> {
+        T create(double time, double allocatedMips, double requestedMips, boolean flag);
+    }
+
+    /**
+     * A history that doesn't store any state.
+     */
+    final class Disabled implements StateHistory<Object> {
+        private static final Disabled INSTANCE = new Disabled();
+
+        private Disabled(){}
+
+        @Override public void add(double time, double allocatedMips, double requestedMips, boolean flag) {}
+        @Override public List<Object> asList() { return Collections.emptyList(); }
+    }
+}
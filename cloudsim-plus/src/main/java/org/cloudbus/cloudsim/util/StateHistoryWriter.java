@@ -0,0 +1,163 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes the states of several entities (such as all VMs or all Hosts) to a single output,
+ * where each entity has its own {@link StreamingStateHistory}.
+ * The writer must be {@link #close() closed} at the end of the simulation
+ * to write the last state of each history.
+ *
+ * <p>Each state is written as a record containing the entity id, the time, the allocated and requested MIPS
+ * and the state flag. In the {@link Format#CSV CSV} format, the first line has the column names.
+ * In the {@link Format#BINARY binary} format, each record has 29 bytes:
+ * an int, 3 doubles and a boolean, written as in a {@link DataOutputStream}.</p>
+ *
+ * @since CloudSim Plus 1.2.0
+ */
+public class StateHistoryWriter implements Closeable {
+    /**
+     * The formats the states can be written.
+     */
+    public enum Format {CSV, BINARY}
+
+    private final DataOutputStream out;
+    private final Format format;
+    private final List<StreamingStateHistory<?>> histories;
+    private final StringBuilder line;
+
+    /**
+     * Creates a writer to a given output.
+     *
+     * @param out the output to write the states
+     * @param format the format to write the states
+     * @param flagName the name of the state flag (such as "inMigration" or "active"),
+     *                 used as the column name in the CSV format
+     */
+    public StateHistoryWriter(final OutputStream out, final Format format, final String flagName) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.format = Objects.requireNonNull(format);
+        this.histories = new ArrayList<>();
+        this.line = new StringBuilder();
+        if(format == Format.CSV) {
+            writeLine("id,time,allocatedMips,requestedMips," + flagName);
+        }
+    }
+
+    /**
+     * Creates a writer to a given file, that is overwritten if it already exists.
+     *
+     * @param file the file to write the states
+     * @param format the format to write the states
+     * @param flagName the name of the state flag (such as "inMigration" or "active"),
+     *                 used as the column name in the CSV format
+     * @throws UncheckedIOException when the file cannot be created
+     */
+    public StateHistoryWriter(final Path file, final Format format, final String flagName) {
+        this(newOutputStream(file), format, flagName);
+    }
+
+    private static OutputStream newOutputStream(final Path file) {
+        try {
+            return Files.newOutputStream(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Registers a history whose last state has to be written when the writer is closed.
+     * @param history the history to register
+     */
+    void register(final StreamingStateHistory<?> history) {
+        histories.add(history);
+    }
+
+    /**
+     * Writes a state of an entity.
+     *
+     * @param id the id of the entity
+     * @param time the time of the state
+     * @param allocatedMips the MIPS allocated at such a time
+     * @param requestedMips the MIPS requested at such a time
+     * @param flag the flag of the state
+     * @throws UncheckedIOException when the state cannot be written
+     */
+    public void write(final int id, final double time, final double allocatedMips, final double requestedMips, final boolean flag) {
+        if(format == Format.CSV) {
+            line.setLength(0);
+            line.append(id).append(',').append(time).append(',')
+                .append(allocatedMips).append(',').append(requestedMips).append(',').append(flag);
+            writeLine(line);
+            return;
+        }
+
+        try {
+            out.writeInt(id);
+            out.writeDouble(time);
+            out.writeDouble(allocatedMips);
+            out.writeDouble(requestedMips);
+            out.writeBoolean(flag);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(final CharSequence text) {
+        try {
+            out.writeBytes(text.toString());
+            out.writeByte('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Writes the last state of every history and closes the output.
+     *
+     * @throws IOException when the output cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        histories.forEach(StreamingStateHistory::flush);
+        histories.clear();
+        out.close();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link StateHistory} that writes the states of an entity using a {@link StateHistoryWriter},
+ * without keeping them in memory. Therefore, the {@link #asList() list of states} is always empty.
+ *
+ * <p>Since a state may be replaced by a new one with the same time,
+ * just the last added state is kept until a state with a different time is added
+ * or the writer is closed.</p>
+ *
+ * @param <T> the type of the state entries
+ * @since CloudSim Plus 1.2.0
+ */
+public class StreamingStateHistory<T> implements StateHistory<T> {
+    private final StateHistoryWriter writer;
+    private final int id;
+
+    /**
+     * Indicates if there is a state not written yet.
+     */
+    private boolean pending;
+    private double time;
+    private double allocatedMips;
+    private double requestedMips;
+    private boolean flag;
+
+    /**
+     * Creates a history that writes the states of an entity.
+     *
+     * @param writer the writer to write the states
+     * @param id the id of the entity, written with each state
+     */
+    public StreamingStateHistory(final StateHistoryWriter writer, final int id) {
+        this.writer = Objects.requireNonNull(writer);
+        this.id = id;
+        writer.register(this);
+    }
+
+    @Override
+    public void add(final double time, final double allocatedMips, final double requestedMips, final boolean flag) {
+        if(pending && this.time != time){
+            flush();
+        }
+
+        this.time = time;
+        this.allocatedMips = allocatedMips;
+        this.requestedMips = requestedMips;
+        this.flag = flag;
+        this.pending = true;
+    }
+
+    /**
+     * Writes the last added state, if it wasn't written yet.
+     */
+    void flush() {
+        if(pending) {
+            writer.write(id, time, allocatedMips, requestedMips, flag);
+            pending = false;
+        }
+    }
+
+    @Override
+    public List<T> asList() {
+        return Collections.emptyList();
+    }
+}
@@ -10,7 +10,10 @@ import java.util.*;
 
 import org.cloudbus.cloudsim.core.UniquelyIdentificable;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.util.DeferredActions;
+import org.cloudbus.cloudsim.util.InMemoryStateHistory;
 import org.cloudbus.cloudsim.util.Log;
+import org.cloudbus.cloudsim.util.StateHistory;
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.Simulation;
@@ -92,7 +95,7 @@ public class VmSimple implements Vm {
     /**
      * @see #getStateHistory()
      */
-    private final List<VmStateHistoryEntry> stateHistory;
+    private StateHistory<VmStateHistoryEntry> stateHistory;
 
     /**
      * The VM's storage resource that represents the Vm size in disk.
@@ -156,7 +159,7 @@ public class VmSimple implements Vm {
         setSubmissionDelay(0);
         setVmm("Xen");
         setCloudletScheduler(CloudletScheduler.NULL);
-        stateHistory = new LinkedList<>();
+        stateHistory = new InMemoryStateHistory<>(VmStateHistoryEntry::new);
 
         this.onHostAllocationListeners = new HashSet<>();
         this.onHostDeallocationListeners = new HashSet<>();
@@ -552,23 +555,35 @@ public class VmSimple implements Vm {
      * way, if one wants to get the history for a given time, he/she doesn't
      * have to iterate over the entire list to find the desired entry.
      *
-     * @return the state history
+     * @return a <b>read-only</b> state history, that is empty if the
+     * {@link #setStateHistory(StateHistory) history} doesn't keep the states in memory
      */
     @Override
     public List<VmStateHistoryEntry> getStateHistory() {
-        return stateHistory;
+        return stateHistory.asList();
+    }
+
+    /**
+     * Sets how the history of MIPS capacity allocated to the VM is stored.
+     * By default, all states are kept in memory using an {@link InMemoryStateHistory}.
+     * Since a state is added at every processing update, long simulations with many VMs
+     * may use a bounded {@link InMemoryStateHistory}, a {@link org.cloudbus.cloudsim.util.StreamingStateHistory}
+     * or a {@link StateHistory#disabled() disabled} history.
+     *
+     * <p>The history should be set before the simulation starts,
+     * since the states already added aren't copied to the new history.</p>
+     *
+     * @param stateHistory the state history to set
+     * @return
+     */
+    public Vm setStateHistory(final StateHistory<VmStateHistoryEntry> stateHistory) {
+        this.stateHistory = Objects.requireNonNull(stateHistory);
+        return this;
     }
 
     @Override
     public void addStateHistoryEntry(VmStateHistoryEntry entry) {
-        if (!getStateHistory().isEmpty()) {
-            VmStateHistoryEntry previousState = getStateHistory().get(getStateHistory().size() - 1);
-            if (previousState.getTime() == entry.getTime()) {
-                getStateHistory().set(getStateHistory().size() - 1, entry);
-                return;
-            }
-        }
-        getStateHistory().add(entry);
+        stateHistory.add(entry.getTime(), entry.getAllocatedMips(), entry.getRequestedMips(), entry.isInMigration());
     }
 
     @Override
@@ -729,8 +744,12 @@ public class VmSimple implements Vm {
          * Notifies all registered listeners when the processing of the Vm is updated in its {@link Host}.
          */
     public void notifyOnUpdateProcessingListeners() {
+        if(onUpdateProcessingListeners.isEmpty()){
+            return;
+        }
+
         final VmHostEventInfo info = VmHostEventInfo.of(this);
-        onUpdateProcessingListeners.forEach(l -> l.update(info));
+        DeferredActions.run(() -> onUpdateProcessingListeners.forEach(l -> l.update(info)));
     }
 
     @Override
@@ -7,13 +7,14 @@
  */
 package org.cloudbus.cloudsim.vms.power;
 
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.util.DoubleRingBuffer;
 import org.cloudbus.cloudsim.util.MathUtil;
 import org.cloudbus.cloudsim.vms.VmSimple;
 
@@ -47,7 +48,7 @@ public class PowerVm extends VmSimple {
     /**
      * @see #getUtilizationHistory()
      */
-    private final List<Double> utilizationHistory = new LinkedList<>();
+    private final DoubleRingBuffer utilizationHistory = new DoubleRingBuffer(MAX_HISTORY_ENTRIES);
 
     /**
      * @see #getPreviousTime()
@@ -138,12 +139,12 @@ public class PowerVm extends VmSimple {
      * Gets the utilization Median Absolute Deviation (MAD) in MIPS.
      */
     public double getUtilizationMad() {
-        if (!getUtilizationHistory().isEmpty()) {
-            int n = Math.min(MAX_HISTORY_ENTRIES, getUtilizationHistory().size());
-            double median = MathUtil.median(getUtilizationHistory());
-            double[] deviationSum = new double[n];
+        if (!utilizationHistory.isEmpty()) {
+            final int n = utilizationHistory.size();
+            final double median = MathUtil.median(utilizationHistory.toArray());
+            final double[] deviationSum = new double[n];
             for (int i = 0; i < n; i++) {
-                deviationSum[i] = Math.abs(median - getUtilizationHistory().get(i));
+                deviationSum[i] = Math.abs(median - utilizationHistory.get(i));
             }
             return MathUtil.median(deviationSum);
         }
@@ -155,11 +156,8 @@ public class PowerVm extends VmSimple {
      * Gets the utilization mean in MIPS.
      */
     public double getUtilizationMean() {
-        if (!getUtilizationHistory().isEmpty()) {
-	        final int maxNumOfEntriesToAverage = Math.min(MAX_HISTORY_ENTRIES, getUtilizationHistory().size());
-            final double usagePercentMean = getUtilizationHistory().stream()
-                .limit(maxNumOfEntriesToAverage)
-                .mapToDouble(usagePercent -> usagePercent)
+        if (!utilizationHistory.isEmpty()) {
+            final double usagePercentMean = utilizationHistoryStream()
                 .average()
                 .orElse(0);
 
@@ -175,12 +173,10 @@ public class PowerVm extends VmSimple {
      * @return the utilization variance in MIPS
      */
     public double getUtilizationVariance() {
-        if (!getUtilizationHistory().isEmpty()) {
+        if (!utilizationHistory.isEmpty()) {
 	        final double mean = getUtilizationMean();
-	        final int maxNumOfEntriesToAverage = Math.min(MAX_HISTORY_ENTRIES, getUtilizationHistory().size());
-            return getUtilizationHistory().stream()
-                .limit(maxNumOfEntriesToAverage)
-                .mapToDouble(usagePercent -> usagePercent * getMips())
+            return utilizationHistoryStream()
+                .map(usagePercent -> usagePercent * getMips())
                 .map(usageValue -> usageValue - mean)
                 .map(usageValue -> usageValue*usageValue)
                 .average().orElse(0);
@@ -189,24 +185,56 @@ public class PowerVm extends VmSimple {
         return 0;
     }
 
+    /**
+     * Gets a stream of the CPU utilization percentage history, without boxing the values.
+     */
+    private DoubleStream utilizationHistoryStream() {
+        return IntStream.range(0, utilizationHistory.size()).mapToDouble(utilizationHistory::get);
+    }
+
     /**
      * Adds a CPU utilization percentage history value.
+     * When the history already has {@link #MAX_HISTORY_ENTRIES},
+     * the oldest value is discarded.
      *
      * @param utilization the CPU utilization percentage to add
      */
     public void addUtilizationHistoryValue(final double utilization) {
-        utilizationHistory.add(0, utilization);
-        if (getUtilizationHistory().size() > MAX_HISTORY_ENTRIES) {
-            utilizationHistory.remove(MAX_HISTORY_ENTRIES);
-        }
+        utilizationHistory.add(utilization);
     }
 
     /**
-     * Gets a <b>read-only</b> CPU utilization percentage history.
+     * Gets a <b>read-only</b> CPU utilization percentage history,
+     * from the newest to the oldest value.
+     * The returned list is a view of the history, so it is not copied
+     * and reflects values added later.
      *
      */
     public List<Double> getUtilizationHistory() {
-	    return Collections.unmodifiableList(utilizationHistory);
+	    return utilizationHistory.asList();
+    }
+
+    /**
+     * Gets a value from the CPU utilization percentage history without boxing it,
+     * where the index 0 is the newest value.
+     *
+     * @param index the index of the value, between 0 and the {@link #getUtilizationHistory() history} size - 1
+     * @return the CPU utilization percentage at the given index
+     * @throws IndexOutOfBoundsException when the index is not valid
+     */
+    public double getUtilizationHistoryValue(final int index) {
+        return utilizationHistory.get(index);
+    }
+
+    /**
+     * Gets the number of values added to the CPU utilization percentage history
+     * since the VM was created, including the ones already discarded.
+     * It enables checking how many values were added to the history between two moments.
+     *
+     * @return the number of values added to the history
+     */
+    public long getUtilizationHistoryAddedCount() {
+        return utilizationHistory.getAddedCount();
     }
 
     /**
@@ -0,0 +1,110 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the {@link HostCapacityIndex} finds the same hosts
+ * as a linear search over the free resources of all hosts.
+ */
+public class HostCapacityIndexTest {
+    private static final int HOSTS = 37;
+    private static final int OPERATIONS = 5000;
+
+    @Test
+    public void testEmptyIndex() {
+        final HostCapacityIndex index = new HostCapacityIndex(0);
+        assertEquals(0, index.size());
+        assertEquals(-1, index.firstFit(1, 1, 1));
+        assertEquals(-1, index.bestFit(1, 1, 1));
+        assertEquals(-1, index.worstFit(1, 1, 1));
+    }
+
+    @Test
+    public void testHostsNotSetAreNotSelected() {
+        final HostCapacityIndex index = new HostCapacityIndex(3);
+        assertEquals(-1, index.firstFit(0, 0, 0));
+        index.set(2, 1, 10, 10);
+        assertEquals(2, index.firstFit(0, 0, 0));
+        index.remove(2);
+        assertEquals(-1, index.worstFit(0, 0, 0));
+    }
+
+    @Test
+    public void testTiesAreBrokenByHostPosition() {
+        final HostCapacityIndex index = new HostCapacityIndex(4);
+        index.set(0, 2, 10, 10);
+        index.set(1, 4, 10, 10);
+        index.set(2, 2, 10, 10);
+        index.set(3, 4, 10, 10);
+        assertEquals(0, index.firstFit(2, 10, 10));
+        assertEquals(0, index.bestFit(2, 10, 10));
+        assertEquals(1, index.worstFit(2, 10, 10));
+        assertEquals(1, index.bestFit(3, 10, 10));
+        assertEquals(-1, index.bestFit(2, 11, 10));
+    }
+
+    @Test
+    public void testRandomFewPes() {
+        checkRandomOperations(new Random(1), 8);
+    }
+
+    @Test
+    public void testRandomManyPes() {
+        checkRandomOperations(new Random(2), 3 * HostCapacityIndex.OVERFLOW_PES);
+    }
+
+    /**
+     * Randomly updates hosts in the index, checking if each query
+     * returns the same host as a linear search.
+     *
+     * @param random the random number generator
+     * @param maxPes the maximum number of free PEs of a host
+     */
+    private void checkRandomOperations(final Random random, final int maxPes) {
+        final HostCapacityIndex index = new HostCapacityIndex(HOSTS);
+        final int[] pes = new int[HOSTS];
+        final long[] ram = new long[HOSTS];
+        final long[] bw = new long[HOSTS];
+        Arrays.fill(pes, -1);
+        for (int i = 0; i < OPERATIONS; i++) {
+            final int position = random.nextInt(HOSTS);
+            if(random.nextInt(10) == 0) {
+                index.remove(position);
+                pes[position] = -1;
+            } else {
+                pes[position] = random.nextInt(maxPes + 1);
+                ram[position] = random.nextInt(100);
+                bw[position] = random.nextInt(100);
+                index.set(position, pes[position], ram[position], bw[position]);
+            }
+
+            final int requiredPes = random.nextInt(maxPes + 1);
+            final long requiredRam = random.nextInt(100);
+            final long requiredBw = random.nextInt(100);
+            int first = -1, best = -1, worst = -1;
+            for (int h = 0; h < HOSTS; h++) {
+                if(pes[h] < 0 || pes[h] < requiredPes || ram[h] < requiredRam || bw[h] < requiredBw) {
+                    continue;
+                }
+
+                if(first < 0) {
+                    first = h;
+                }
+                if(best < 0 || pes[h] < pes[best]) {
+                    best = h;
+                }
+                if(worst < 0 || pes[h] > pes[worst]) {
+                    worst = h;
+                }
+            }
+
+            assertEquals(first, index.firstFit(requiredPes, requiredRam, requiredBw));
+            assertEquals(best, index.bestFit(requiredPes, requiredRam, requiredBw));
+            assertEquals(worst, index.worstFit(requiredPes, requiredRam, requiredBw));
+        }
+    }
+}
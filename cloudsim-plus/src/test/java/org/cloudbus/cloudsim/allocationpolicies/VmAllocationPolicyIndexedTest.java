@@ -0,0 +1,93 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimpleTest;
+import org.easymock.EasyMock;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks the hosts selected by the {@link VmAllocationPolicyIndexedAbstract} subclasses.
+ */
+public class VmAllocationPolicyIndexedTest {
+    private static final int HOST_MIPS = 1000;
+    private static final int HOST_RAM = 10000;
+    private static final int HOST_BW = 100000;
+    private static final int HOST_BASE_STORAGE = 10000;
+    private static final int[] HOSTS_PES = {4, 2, 6, 6};
+
+    @Test
+    public void testFirstFit() {
+        final VmAllocationPolicy policy = createPolicy(new VmAllocationPolicyFirstFit());
+        assertAllocatedHost(policy, VmSimpleTest.createVm(0, 1000, 3), 0);
+        assertAllocatedHost(policy, VmSimpleTest.createVm(1, 1000, 2), 1);
+        assertAllocatedHost(policy, VmSimpleTest.createVm(2, 1000, 1), 0);
+    }
+
+    @Test
+    public void testBestFit() {
+        final VmAllocationPolicy policy = createPolicy(new VmAllocationPolicyBestFit());
+        assertAllocatedHost(policy, VmSimpleTest.createVm(0, 1000, 2), 1);
+        assertAllocatedHost(policy, VmSimpleTest.createVm(1, 1000, 3), 0);
+        assertAllocatedHost(policy, VmSimpleTest.createVm(2, 1000, 1), 0);
+    }
+
+    @Test
+    public void testWorstFit() {
+        final VmAllocationPolicy policy = createPolicy(new VmAllocationPolicyWorstFit());
+        assertAllocatedHost(policy, VmSimpleTest.createVm(0, 1000, 2), 2);
+        assertAllocatedHost(policy, VmSimpleTest.createVm(1, 1000, 2), 3);
+        assertAllocatedHost(policy, VmSimpleTest.createVm(2, 1000, 2), 0);
+    }
+
+    @Test
+    public void testDeallocatedHostIsSelectedAgain() {
+        final VmAllocationPolicy policy = createPolicy(new VmAllocationPolicyFirstFit());
+        final Vm vm = VmSimpleTest.createVm(0, 1000, 4);
+        assertAllocatedHost(policy, vm, 0);
+        assertAllocatedHost(policy, VmSimpleTest.createVm(1, 1000, 4), 2);
+        policy.deallocateHostForVm(vm);
+        assertAllocatedHost(policy, VmSimpleTest.createVm(2, 1000, 4), 0);
+    }
+
+    @Test
+    public void testHostWithoutEnoughStorageIsSkipped() {
+        final VmAllocationPolicy policy = createPolicy(new VmAllocationPolicyFirstFit());
+        final Vm vm = VmSimpleTest.createVm(0, 1000, 1, 1, 1, 3 * HOST_BASE_STORAGE, CloudletScheduler.NULL);
+        assertAllocatedHost(policy, vm, 2);
+        assertAllocatedHost(policy, VmSimpleTest.createVm(1, 1000, 4), 0);
+    }
+
+    @Test
+    public void testNoHostHasEnoughFreeResources() {
+        final VmAllocationPolicy policy = createPolicy(new VmAllocationPolicyBestFit());
+        assertFalse(policy.allocateHostForVm(VmSimpleTest.createVm(0, 1000, 10)));
+        assertFalse(policy.allocateHostForVm(VmSimpleTest.createVm(1, 1000, 1, HOST_RAM * 2, 1, 1, CloudletScheduler.NULL)));
+    }
+
+    private static void assertAllocatedHost(final VmAllocationPolicy policy, final Vm vm, final int expectedHostIndex) {
+        assertTrue(policy.allocateHostForVm(vm));
+        assertSame(policy.getHostList().get(expectedHostIndex), vm.getHost());
+    }
+
+    private static VmAllocationPolicy createPolicy(final VmAllocationPolicy policy) {
+        final List<Host> hosts = new ArrayList<>(HOSTS_PES.length);
+        for (int i = 0; i < HOSTS_PES.length; i++) {
+            hosts.add(HostSimpleTest.createHostSimple(
+                i, HOSTS_PES[i], HOST_MIPS, HOST_RAM, HOST_BW, (i + 1) * HOST_BASE_STORAGE));
+        }
+
+        final Datacenter datacenter = EasyMock.createMock(Datacenter.class);
+        EasyMock.expect(datacenter.getHostList()).andReturn(hosts).anyTimes();
+        EasyMock.replay(datacenter);
+        policy.setDatacenter(datacenter);
+        return policy;
+    }
+}
@@ -0,0 +1,250 @@
+package org.cloudbus.cloudsim.allocationpolicies.power;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
+import org.cloudbus.cloudsim.hosts.power.PowerHostSimple;
+import org.cloudbus.cloudsim.hosts.power.PowerHostTest;
+import org.cloudbus.cloudsim.hosts.power.PowerHostUtilizationHistory;
+import org.cloudbus.cloudsim.mocks.CloudSimMocker;
+import org.cloudbus.cloudsim.mocks.Mocks;
+import org.cloudbus.cloudsim.power.models.PowerModelLinear;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Bandwidth;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.resources.Ram;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.selectionpolicies.power.PowerVmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimpleTest;
+import org.cloudbus.cloudsim.vms.power.PowerVm;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PowerVmAllocationPolicyMigrationStaticThresholdTest {
+    private static final long VM_RAM = 512;
+    private static final long VM_BW = 1000;
+    private static final long VM_SIZE = 1000;
+
+    /**
+     * Number of hosts to evaluate in parallel, enough to be split among the threads of a pool.
+     */
+    private static final int SCORING_HOSTS = 32;
+
+    private PowerHostSimple host0;
+    private PowerHostSimple host1;
+    private PowerVmAllocationPolicyMigrationStaticThreshold policy;
+
+    @Before
+    public void setUp() {
+        host0 = PowerHostTest.createPowerHost(0, 2);
+        host1 = PowerHostTest.createPowerHost(1, 2);
+        policy = new PowerVmAllocationPolicyMigrationStaticThreshold(
+            new PowerVmSelectionPolicyMinimumUtilization(), 0.9);
+        policy.setDatacenter(createMockDatacenter(Arrays.asList(host0, host1)));
+    }
+
+    @Test
+    public void testFindHostForVmDoesNotChangeHostsAndVm() {
+        final Vm vm = VmSimpleTest.createVm(0, 1000, 1, VM_RAM, VM_BW, VM_SIZE, CloudletScheduler.NULL);
+        final long hostAvailableRam = host0.getRam().getAvailableResource();
+
+        assertSame(host0, policy.findHostForVm(vm, Collections.emptySet()));
+        for (final PowerHost host : Arrays.asList(host0, host1)) {
+            assertTrue(host.getVmList().isEmpty());
+            assertEquals(hostAvailableRam, host.getRam().getAvailableResource());
+        }
+
+        assertSame(Host.NULL, vm.getHost());
+        assertFalse(vm.isCreated());
+        assertEquals(VM_RAM, vm.getRam().getCapacity());
+        assertEquals(VM_BW, vm.getBw().getCapacity());
+    }
+
+    @Test
+    public void testFindHostForVmExcludedHost() {
+        final Vm vm = VmSimpleTest.createVm(0, 1000, 1, VM_RAM, VM_BW, VM_SIZE, CloudletScheduler.NULL);
+        assertSame(host1, policy.findHostForVm(vm, Collections.singleton(host0)));
+    }
+
+    @Test
+    public void testFindHostForVmWithHostScoringPool() {
+        /* Hosts with 4 PEs have the lowest power increase and tie among them,
+         * while the first ones are excluded or don't have enough RAM for the VM. */
+        final List<PowerHost> hostList = new ArrayList<>(SCORING_HOSTS);
+        for (int i = 0; i < SCORING_HOSTS; i++) {
+            hostList.add(PowerHostTest.createPowerHost(i, i % 4 == 3 ? 4 : 2));
+        }
+        policy.setDatacenter(createMockDatacenter(hostList));
+
+        hostList.get(7).setRamProvisioner(new ResourceProvisionerSimple(new Ram(VM_RAM / 2)));
+        final Set<Host> excludedHosts = Collections.singleton(hostList.get(3));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int mips = 250; mips <= 1000; mips += 250) {
+                final Vm vm = VmSimpleTest.createVm(mips, mips, 1, VM_RAM, VM_BW, VM_SIZE, new CloudletSchedulerTimeShared());
+                policy.setHostScoringPool(null);
+                final PowerHost sequentialHost = policy.findHostForVm(vm, excludedHosts);
+                assertSame(hostList.get(11), sequentialHost);
+
+                policy.setHostScoringPool(pool);
+                assertSame(pool, policy.getHostScoringPool());
+                for (int i = 0; i < 10; i++) {
+                    assertSame(sequentialHost, policy.findHostForVm(vm, excludedHosts));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        for (final PowerHost host : hostList) {
+            assertTrue(host.getVmList().isEmpty());
+        }
+    }
+
+    @Test
+    public void testFindHostForVmWithoutEnoughRam() {
+        final long hostRam = host0.getRam().getCapacity();
+        final Vm vm = VmSimpleTest.createVm(0, 1000, 1, hostRam * 2, VM_BW, VM_SIZE, CloudletScheduler.NULL);
+        assertSame(PowerHost.NULL, policy.findHostForVm(vm, Collections.emptySet()));
+        assertTrue(host0.getVmList().isEmpty());
+        assertTrue(host1.getVmList().isEmpty());
+    }
+
+    @Test
+    public void testOptimizeAllocationWithIncrementalConsolidationUndoesTentativeMoves() {
+        final PowerHostUtilizationHistory overUtilizedHost = createPowerHostUtilizationHistory(0);
+        final PowerHostUtilizationHistory emptyHost = createPowerHostUtilizationHistory(1);
+        policy.setDatacenter(createMockDatacenter(Arrays.asList(overUtilizedHost, emptyHost)));
+        policy.setIncrementalConsolidation(true);
+        assertTrue(policy.isIncrementalConsolidation());
+
+        final List<Vm> vmList = Arrays.asList(createPowerVm(0), createPowerVm(1));
+        for (final Vm vm : vmList) {
+            assertTrue(overUtilizedHost.vmCreate(vm));
+        }
+        final long availableRam = overUtilizedHost.getRam().getAvailableResource();
+
+        final Map<Vm, Host> migrationMap = policy.optimizeAllocation(vmList);
+        assertEquals(1, migrationMap.size());
+        assertSame(emptyHost, migrationMap.values().iterator().next());
+
+        assertTrue(emptyHost.getVmList().isEmpty());
+        assertEquals(emptyHost.getRam().getCapacity(), emptyHost.getRam().getAvailableResource());
+        assertEquals(availableRam, overUtilizedHost.getRam().getAvailableResource());
+        for (final Vm vm : vmList) {
+            assertTrue(overUtilizedHost.getVmList().contains(vm));
+            assertSame(overUtilizedHost, vm.getHost());
+        }
+    }
+
+    @Test
+    public void testOptimizeAllocationWithIncrementalConsolidationReexaminesOverUtilizedHosts() {
+        final PowerHostUtilizationHistory overUtilizedHost = createPowerHostUtilizationHistory(0);
+        final PowerHostUtilizationHistory emptyHost = createPowerHostUtilizationHistory(1);
+        policy.setDatacenter(createMockDatacenter(Arrays.asList(overUtilizedHost, emptyHost)));
+        policy.setIncrementalConsolidation(true);
+
+        final List<Vm> vmList = Arrays.asList(createPowerVm(0), createPowerVm(1));
+        for (final Vm vm : vmList) {
+            assertTrue(overUtilizedHost.vmCreate(vm));
+        }
+
+        assertEquals(1, policy.optimizeAllocation(vmList).size());
+        assertEquals(1, policy.optimizeAllocation(vmList).size());
+    }
+
+    @Test
+    public void testOptimizeAllocationWithIncrementalConsolidationSetsPlacedVmsAsNotCreated() {
+        final PowerHostUtilizationHistory host = createPowerHostUtilizationHistory(0);
+        policy.setDatacenter(createMockDatacenter(Collections.singletonList(host)));
+        policy.setIncrementalConsolidation(true);
+
+        final Vm vm = createPowerVm(0);
+        assertTrue(policy.allocateHostForVm(vm, host));
+        vm.setCreated(true);
+
+        policy.optimizeAllocation(Collections.singletonList(vm));
+        assertFalse(vm.isCreated());
+        assertSame(host, vm.getHost());
+    }
+
+    @Test
+    public void testIncrementalConsolidationDoesNotReexamineUnchangedHosts() {
+        final PowerHostUtilizationHistory host0 = createPowerHostUtilizationHistory(0);
+        final PowerHostUtilizationHistory host1 = createPowerHostUtilizationHistory(1);
+        policy.setDatacenter(createMockDatacenter(Arrays.asList(host0, host1)));
+        policy.setIncrementalConsolidation(true);
+
+        final List<Vm> vmList = new ArrayList<>(Arrays.asList(createPowerVm(0), createPowerVm(1)));
+        assertTrue(policy.allocateHostForVm(vmList.get(0), host0));
+        assertTrue(policy.allocateHostForVm(vmList.get(1), host1));
+        assertTrue(policy.optimizeAllocation(vmList).isEmpty());
+        assertTrue(policy.getChangedHosts().isEmpty());
+
+        for (final Vm vm : vmList) {
+            vm.updateProcessing(0, Collections.singletonList(1000.0));
+        }
+        assertTrue(policy.getChangedHosts().isEmpty());
+
+        final Vm vm = createPowerVm(2);
+        vmList.add(vm);
+        assertTrue(policy.allocateHostForVm(vm, host1));
+        assertEquals(Collections.singleton(host1), policy.getChangedHosts());
+    }
+
+    @Test
+    public void testIncrementalConsolidationDoesNotChangeConsolidationCandidates() {
+        assertFalse(policy.isConsolidateJustUnderUtilizedHosts());
+        policy.setIncrementalConsolidation(true);
+        assertFalse(policy.isConsolidateJustUnderUtilizedHosts());
+
+        policy.setConsolidateJustUnderUtilizedHosts(true);
+        assertTrue(policy.isConsolidateJustUnderUtilizedHosts());
+    }
+
+    private static PowerHostUtilizationHistory createPowerHostUtilizationHistory(final int id) {
+        final List<Pe> peList = new ArrayList<>();
+        peList.add(new PeSimple(1000, new PeProvisionerSimple()));
+        peList.add(new PeSimple(1000, new PeProvisionerSimple()));
+
+        final PowerHostUtilizationHistory host = new PowerHostUtilizationHistory(id, VM_SIZE * 10, peList);
+        host.setPowerModel(new PowerModelLinear(200, 0.3))
+            .setRamProvisioner(new ResourceProvisionerSimple(new Ram(VM_RAM * 4)))
+            .setBwProvisioner(new ResourceProvisionerSimple(new Bandwidth(VM_BW * 4)))
+            .setVmScheduler(new VmSchedulerTimeShared());
+        return host;
+    }
+
+    private static Vm createPowerVm(final int id) {
+        final CloudSim cloudsim = CloudSimMocker.createMock(mocker -> mocker.clock(0).anyTimes());
+        return new PowerVm(id, 1000, 1)
+            .setRam(VM_RAM).setBw(VM_BW).setSize(VM_SIZE)
+            .setBroker(Mocks.createMockBroker(cloudsim));
+    }
+
+    private static Datacenter createMockDatacenter(final List<? extends Host> hostList) {
+        final Datacenter dc = EasyMock.createMock(Datacenter.class);
+        EasyMock.expect(dc.getHostList()).andReturn((List) hostList).anyTimes();
+        EasyMock.expect(dc.getSimulation()).andReturn(Simulation.NULL).anyTimes();
+        EasyMock.replay(dc);
+        return dc;
+    }
+}
@@ -0,0 +1,194 @@
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.core.events.SimEventPool;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.cloudbus.cloudsim.util.DeferredActions;
+import org.cloudsimplus.listeners.EventInfo;
+import org.cloudsimplus.listeners.EventListener;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CloudSimTest {
+    private static final int SRC = 0;
+    private static final int DEST = 1;
+    private static final int TAG = 1000;
+    private static final int OTHER_TAG = 1001;
+
+    private CloudSim simulation;
+
+    @Before
+    public void setUp() {
+        simulation = new CloudSim();
+    }
+
+    @Test
+    public void testCancelAllByTypeBeforeAndAfterEventsAreIndexed() {
+        simulation.send(SRC, DEST, 1, TAG, null);
+        simulation.send(SRC, DEST, 2, OTHER_TAG, null);
+        simulation.send(DEST, SRC, 3, TAG, null);
+        assertTrue(simulation.cancelAll(SRC, new PredicateType(TAG)));
+        assertFalse(simulation.cancelAll(SRC, new PredicateType(TAG)));
+
+        simulation.send(SRC, DEST, 4, TAG, null);
+        simulation.send(SRC, DEST, 5, TAG, null);
+        assertTrue(simulation.cancelAll(SRC, new PredicateType(TAG)));
+        assertFalse(simulation.cancelAll(SRC, new PredicateType(TAG)));
+
+        final SimEvent otherTag = simulation.cancel(SRC, Simulation.SIM_ANY);
+        assertEquals(OTHER_TAG, otherTag.getTag());
+        assertSame(SimEvent.NULL, simulation.cancel(SRC, Simulation.SIM_ANY));
+
+        final SimEvent otherSource = simulation.cancel(DEST, new PredicateType(TAG));
+        assertEquals(3, otherSource.eventTime(), 0);
+    }
+
+    @Test
+    public void testCancelAllByTypeOnlyCancelsEventsWithGivenTags() {
+        simulation.cancelAll(SRC, new PredicateType(new int[]{TAG, OTHER_TAG}));
+        simulation.send(SRC, DEST, 1, TAG, null);
+        simulation.send(SRC, DEST, 2, OTHER_TAG, null);
+        simulation.send(SRC, DEST, 3, TAG + 2, null);
+
+        assertTrue(simulation.cancelAll(SRC, new PredicateType(new int[]{TAG, OTHER_TAG})));
+        final SimEvent remaining = simulation.cancel(SRC, Simulation.SIM_ANY);
+        assertEquals(TAG + 2, remaining.getTag());
+        assertSame(SimEvent.NULL, simulation.cancel(SRC, Simulation.SIM_ANY));
+    }
+
+    @Test
+    public void testCancelAllBySubclassOfPredicateTypeUsesItsTest() {
+        final PredicateType onlyAfterTime2 = new PredicateType(TAG) {
+            @Override
+            public boolean test(SimEvent evt) {
+                return super.test(evt) && evt.eventTime() > 2;
+            }
+        };
+
+        simulation.cancelAll(SRC, new PredicateType(TAG));
+        simulation.send(SRC, DEST, 1, TAG, null);
+        simulation.send(SRC, DEST, 3, TAG, null);
+
+        assertTrue(simulation.cancelAll(SRC, onlyAfterTime2));
+        final SimEvent remaining = simulation.cancel(SRC, Simulation.SIM_ANY);
+        assertEquals(1, remaining.eventTime(), 0);
+        assertSame(SimEvent.NULL, simulation.cancel(SRC, Simulation.SIM_ANY));
+    }
+
+    @Test
+    public void testCancelWithoutMatchingEventsKeepsTheFutureQueue() {
+        simulation.send(SRC, DEST, 1, TAG, null);
+        simulation.send(SRC, DEST, 2, TAG, null);
+        simulation.send(SRC, DEST, 3, TAG, null);
+
+        assertSame(SimEvent.NULL, simulation.cancel(SRC, new PredicateType(OTHER_TAG)));
+        for (int time = 1; time <= 3; time++) {
+            assertEquals(time, simulation.cancel(SRC, Simulation.SIM_ANY).eventTime(), 0);
+        }
+        assertSame(SimEvent.NULL, simulation.cancel(SRC, Simulation.SIM_ANY));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCancelAllWhileDeferringActions() {
+        simulation.send(SRC, DEST, 1, TAG, null);
+        new DeferredActions().collect(() -> simulation.cancelAll(SRC, new PredicateType(TAG)) ? 1 : 0);
+    }
+
+    @Test
+    public void testPeriodicTickListenersAreNotifiedWhileThereAreFutureEvents() {
+        final EntityStub entity = new EntityStub(simulation, 5, 9);
+        final List<Double> ticksOf2 = new ArrayList<>();
+        final List<Double> ticksOf3 = new ArrayList<>();
+        simulation.addOnPeriodicTickListener(2, info -> ticksOf2.add(info.getTime()));
+        simulation.addOnPeriodicTickListener(3, info -> ticksOf3.add(info.getTime()));
+        simulation.start();
+
+        assertEquals(Arrays.asList(2.0, 4.0, 6.0, 8.0), ticksOf2);
+        assertEquals(Arrays.asList(3.0, 6.0, 9.0), ticksOf3);
+        assertEquals(Arrays.asList(5.0, 9.0), entity.processedEventTimes);
+    }
+
+    @Test
+    public void testRemoveOnPeriodicTickListener() {
+        final List<Double> ticks = new ArrayList<>();
+        new EntityStub(simulation, 7);
+        final List<EventListener<EventInfo>> listener = new ArrayList<>();
+        listener.add(info -> {
+            ticks.add(info.getTime());
+            if(info.getTime() >= 4) {
+                simulation.removeOnPeriodicTickListener(listener.get(0));
+            }
+        });
+        simulation.addOnPeriodicTickListener(2, listener.get(0));
+        simulation.start();
+
+        assertEquals(Arrays.asList(2.0, 4.0), ticks);
+        assertFalse(simulation.removeOnPeriodicTickListener(listener.get(0)));
+    }
+
+    @Test
+    public void testEventRecycling() {
+        final SimEventPool pool = simulation.enableEventRecycling(true);
+        final EntityStub entity = new EntityStub(simulation, 1, 2, 3, 4);
+        simulation.start();
+
+        assertTrue(simulation.isEventRecyclingEnabled());
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0, 4.0), entity.processedEventTimes);
+        assertEquals(pool.getCreatedEvents(), pool.getAvailableEvents());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEventRecyclingDetectsRetainedEvents() {
+        simulation.enableEventRecycling(true);
+        new EntityStub(simulation, 1, 2);
+        final List<SimEvent> retained = new ArrayList<>();
+        simulation.addOnEventProcessingListener(retained::add);
+        simulation.start();
+
+        retained.forEach(SimEvent::getTag);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddOnPeriodicTickListenerWithInvalidInterval() {
+        simulation.addOnPeriodicTickListener(0, info -> {});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddOnPeriodicTickListenerWithNaNInterval() {
+        simulation.addOnPeriodicTickListener(Double.NaN, info -> {});
+    }
+
+    /**
+     * An entity that sends events to itself at given times.
+     */
+    private static class EntityStub extends CloudSimEntity {
+        private final double[] eventTimes;
+        private final List<Double> processedEventTimes = new ArrayList<>();
+
+        EntityStub(Simulation simulation, double... eventTimes) {
+            super(simulation);
+            this.eventTimes = eventTimes;
+        }
+
+        @Override
+        protected void startEntity() {
+            for (final double time : eventTimes) {
+                schedule(getId(), time, TAG);
+            }
+        }
+
+        @Override
+        public void processEvent(SimEvent ev) {
+            processedEventTimes.add(ev.eventTime());
+        }
+
+        @Override
+        public void shutdownEntity() {}
+    }
+}
@@ -0,0 +1,107 @@
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.junit.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+public class DeferredQueueTest {
+    private static final int DEST1 = 1;
+    private static final int DEST2 = 2;
+
+    @Test
+    public void testEventsAreKeptInTemporalOrderForEachDestination() {
+        final DeferredQueue queue = new DeferredQueue();
+        final SimEvent e1 = newEvent(2, DEST1, 0);
+        final SimEvent e2 = newEvent(1, DEST2, 0);
+        final SimEvent e3 = newEvent(1, DEST1, 0);
+        final SimEvent e4 = newEvent(2, DEST1, 1);
+        queue.addEvent(e1);
+        queue.addEvent(e2);
+        queue.addEvent(e3);
+        queue.addEvent(e4);
+
+        assertEquals(4, queue.size());
+        assertEquals(Arrays.asList(e3, e1, e4), queue.stream(DEST1).collect(toList()));
+        assertEquals(Arrays.asList(e2), queue.stream(DEST2).collect(toList()));
+        assertEquals(1.0, queue.first().eventTime(), 0);
+    }
+
+    @Test
+    public void testSelectWithoutPredicate() {
+        final DeferredQueue queue = new DeferredQueue();
+        final SimEvent e1 = newEvent(1, DEST1, 0);
+        final SimEvent e2 = newEvent(2, DEST1, 0);
+        queue.addEvent(e1);
+        queue.addEvent(e2);
+        queue.addEvent(newEvent(0, DEST2, 0));
+
+        assertEquals(2, queue.count(DEST1, Simulation.SIM_ANY));
+        assertSame(e1, queue.first(DEST1, Simulation.SIM_ANY));
+        assertSame(e1, queue.removeFirst(DEST1, Simulation.SIM_ANY));
+        assertSame(e2, queue.removeFirst(DEST1, Simulation.SIM_ANY));
+        assertSame(SimEvent.NULL, queue.removeFirst(DEST1, Simulation.SIM_ANY));
+        assertSame(SimEvent.NULL, queue.first(3, Simulation.SIM_ANY));
+        assertEquals(0, queue.count(DEST1, Simulation.SIM_ANY));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testSelectWithPredicate() {
+        final DeferredQueue queue = new DeferredQueue();
+        final SimEvent e1 = newEvent(1, DEST1, 0);
+        final SimEvent e2 = newEvent(2, DEST1, 5);
+        final SimEvent e3 = newEvent(3, DEST1, 5);
+        queue.addEvent(e1);
+        queue.addEvent(e2);
+        queue.addEvent(e3);
+        queue.addEvent(newEvent(0, DEST2, 5));
+
+        final PredicateType tag5 = new PredicateType(5);
+        assertEquals(2, queue.count(DEST1, tag5));
+        assertSame(e2, queue.first(DEST1, tag5));
+        assertSame(e2, queue.removeFirst(DEST1, tag5));
+        assertSame(SimEvent.NULL, queue.removeFirst(DEST1, new PredicateType(7)));
+        assertEquals(3, queue.size());
+        assertTrue(queue.remove(e3));
+        assertFalse(queue.remove(e3));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void testFirstOrdersEventsAtTheSameTimeBySerial() {
+        final DeferredQueue queue = new DeferredQueue();
+        final SimEvent e1 = newEvent(1, DEST1, 0);
+        final SimEvent e2 = newEvent(1, DEST2, 0);
+        e1.setSerial(2);
+        e2.setSerial(1);
+        queue.addEvent(e1);
+        queue.addEvent(e2);
+
+        assertSame(e2, queue.first());
+        assertEquals(Arrays.asList(e2, e1), queue.stream().collect(toList()));
+    }
+
+    @Test
+    public void testFirstIgnoresDestinationsWithoutEventsLeft() {
+        final DeferredQueue queue = new DeferredQueue();
+        final SimEvent e1 = newEvent(1, DEST1, 0);
+        final SimEvent e2 = newEvent(2, DEST2, 0);
+        queue.addEvent(e1);
+        queue.addEvent(e2);
+
+        assertSame(e1, queue.removeFirst(DEST1, Simulation.SIM_ANY));
+        assertSame(e2, queue.first());
+        assertTrue(queue.remove(e2));
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.stream().count());
+    }
+
+    private static SimEvent newEvent(double time, int dest, int tag) {
+        return new CloudSimEvent(null, SimEvent.Type.SEND, time, 0, dest, tag, null);
+    }
+}
@@ -0,0 +1,205 @@
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that all {@link FutureQueue} implementations provide events
+ * in the same order, which is by time, serial and insertion order.
+ */
+public class FutureQueueTest {
+    private static final int OPERATIONS = 20000;
+
+    private static final List<Supplier<FutureQueue>> QUEUES = Arrays.asList(
+        FutureQueueTreeSet::new,
+        FutureQueueDaryHeap::new,
+        () -> new FutureQueueDaryHeap(2),
+        FutureQueueCalendar::new,
+        FutureQueueLadder::new,
+        () -> new FutureQueueLadder(2)
+    );
+
+    /**
+     * An event added to the expected queue, storing its insertion order.
+     */
+    private static final class Entry {
+        private final SimEvent event;
+        private final long order;
+
+        private Entry(SimEvent event, long order) {
+            this.event = event;
+            this.order = order;
+        }
+    }
+
+    private static final Comparator<Entry> EXPECTED_ORDER =
+        Comparator.<Entry>comparingDouble(e -> e.event.eventTime())
+                  .thenComparingLong(e -> e.event.getSerial())
+                  .thenComparingLong(e -> e.order);
+
+    @Test
+    public void testEmptyQueue() {
+        for (Supplier<FutureQueue> supplier : QUEUES) {
+            final FutureQueue queue = supplier.get();
+            assertTrue(queue.isEmpty());
+            assertEquals(0, queue.size());
+            assertFalse(queue.remove(newEvent(1)));
+        }
+    }
+
+    @Test
+    public void testAddEventFirstIsProcessedBeforeOtherEventsAtSameTime() {
+        for (Supplier<FutureQueue> supplier : QUEUES) {
+            final FutureQueue queue = supplier.get();
+            final SimEvent first = newEvent(0);
+            final SimEvent second = newEvent(1);
+            final SimEvent third = newEvent(1);
+            final SimEvent priority = newEvent(1);
+            queue.addEvent(first);
+            queue.addEvent(second);
+            queue.addEvent(third);
+            queue.addEventFirst(priority);
+
+            assertSame(first, pollFirst(queue));
+            assertSame(priority, pollFirst(queue));
+            assertSame(second, pollFirst(queue));
+            assertSame(third, pollFirst(queue));
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testPollFirstEventsAtRemovesJustLeadingEventsAtGivenTime() {
+        for (Supplier<FutureQueue> supplier : QUEUES) {
+            final FutureQueue queue = supplier.get();
+            final SimEvent first = newEvent(2);
+            final SimEvent second = newEvent(2);
+            final SimEvent later = newEvent(3);
+            final SimEvent priority = newEvent(2);
+            queue.addEvent(later);
+            queue.addEvent(first);
+            queue.addEvent(second);
+            queue.addEventFirst(priority);
+
+            final List<SimEvent> buffer = new ArrayList<>();
+            assertEquals(0, queue.pollFirstEventsAt(1, buffer));
+            assertTrue(buffer.isEmpty());
+
+            assertEquals(3, queue.pollFirstEventsAt(2, buffer));
+            assertEquals(Arrays.asList(priority, first, second), buffer);
+            assertEquals(1, queue.size());
+            assertSame(later, queue.first());
+
+            assertEquals(1, queue.pollFirstEventsAt(3, buffer));
+            assertSame(later, buffer.get(3));
+            assertTrue(queue.isEmpty());
+            assertEquals(0, queue.pollFirstEventsAt(3, buffer));
+        }
+    }
+
+    @Test
+    public void testHoldPattern() {
+        for (Supplier<FutureQueue> supplier : QUEUES) {
+            checkRandomOperations(supplier.get(), true);
+        }
+    }
+
+    @Test
+    public void testRandomTimes() {
+        for (Supplier<FutureQueue> supplier : QUEUES) {
+            checkRandomOperations(supplier.get(), false);
+        }
+    }
+
+    @Test
+    public void testRemoveAll() {
+        for (Supplier<FutureQueue> supplier : QUEUES) {
+            final FutureQueue queue = supplier.get();
+            final List<SimEvent> even = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                final SimEvent evt = newEvent(i % 37);
+                queue.addEvent(evt);
+                if(i % 2 == 0) {
+                    even.add(evt);
+                }
+            }
+
+            assertTrue(queue.removeAll(even));
+            assertEquals(500, queue.size());
+            assertFalse(queue.removeAll(even));
+            double previousTime = -1;
+            while (!queue.isEmpty()) {
+                final SimEvent evt = pollFirst(queue);
+                assertFalse(even.contains(evt));
+                assertTrue(evt.eventTime() >= previousTime);
+                previousTime = evt.eventTime();
+            }
+        }
+    }
+
+    /**
+     * Performs random insertions and removals in a queue,
+     * checking if its first event is always the expected one.
+     *
+     * @param queue the queue to check
+     * @param hold if new events must happen after the last processed one,
+     *             as it happens in a simulation
+     */
+    private void checkRandomOperations(FutureQueue queue, boolean hold) {
+        final Random random = new Random(1);
+        final List<Entry> expected = new ArrayList<>();
+        long order = 0;
+        double clock = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            final int operation = random.nextInt(10);
+            if(operation < 5 || expected.isEmpty()) {
+                final double time = hold ? clock + random.nextInt(20) * 0.5 : random.nextInt(1000) * random.nextDouble();
+                final SimEvent evt = newEvent(time);
+                if(random.nextInt(10) == 0) {
+                    queue.addEventFirst(evt);
+                } else {
+                    queue.addEvent(evt);
+                }
+                expected.add(new Entry(evt, order++));
+            } else if(operation < 8) {
+                final Entry entry = expected.stream().min(EXPECTED_ORDER).get();
+                expected.remove(entry);
+                assertSame(entry.event, pollFirst(queue));
+                clock = entry.event.eventTime();
+            } else if(operation < 9) {
+                final double time = expected.stream().min(EXPECTED_ORDER).get().event.eventTime();
+                final List<Entry> leading = new ArrayList<>();
+                expected.stream().filter(e -> e.event.eventTime() == time).sorted(EXPECTED_ORDER).forEach(leading::add);
+                expected.removeAll(leading);
+                final List<SimEvent> buffer = new ArrayList<>();
+                assertEquals(leading.size(), queue.pollFirstEventsAt(time, buffer));
+                for (int j = 0; j < leading.size(); j++) {
+                    assertSame(leading.get(j).event, buffer.get(j));
+                }
+                clock = time;
+            } else {
+                final Entry entry = expected.remove(random.nextInt(expected.size()));
+                assertTrue(queue.remove(entry.event));
+            }
+
+            assertEquals(expected.size(), queue.size());
+        }
+    }
+
+    private static SimEvent pollFirst(FutureQueue queue) {
+        final SimEvent evt = queue.first();
+        assertTrue(queue.remove(evt));
+        return evt;
+    }
+
+    private static SimEvent newEvent(double time) {
+        return new CloudSimEvent(null, SimEvent.Type.SEND, time, 0, 0, 0, null);
+    }
+}
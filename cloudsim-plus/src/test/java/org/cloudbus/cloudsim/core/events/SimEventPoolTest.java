@@ -0,0 +1,53 @@
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SimEventPoolTest {
+    @Test
+    public void testReleasedEventIsReused() {
+        final SimEventPool pool = new SimEventPool(new CloudSim(), false);
+        final SimEvent first = pool.acquire(SimEvent.Type.SEND, 1, 2, 3, 4, "data");
+        assertEquals(1, pool.getCreatedEvents());
+        assertEquals(1, first.eventTime(), 0);
+        assertEquals(2, first.getSource());
+        assertEquals(3, first.getDestination());
+        assertEquals(4, first.getTag());
+        assertEquals("data", first.getData());
+
+        assertTrue(SimEventPool.release(first));
+        assertEquals(1, pool.getAvailableEvents());
+        assertFalse(SimEventPool.release(first));
+
+        final SimEvent second = pool.acquire(SimEvent.Type.HOLD_DONE, 5, 6, -1, -1, null);
+        assertSame(first, second);
+        assertEquals(1, pool.getCreatedEvents());
+        assertEquals(0, pool.getAvailableEvents());
+        assertEquals(SimEvent.Type.HOLD_DONE, second.getType());
+        assertEquals(5, second.eventTime(), 0);
+        assertNull(second.getData());
+    }
+
+    @Test
+    public void testReleaseEventNotFromPool() {
+        assertFalse(SimEventPool.release(new CloudSimEvent(new CloudSim())));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRetentionCheckDetectsAccessToReleasedEvent() {
+        final SimEventPool pool = new SimEventPool(new CloudSim(), true);
+        final SimEvent event = pool.acquire(SimEvent.Type.SEND, 1, 2, 3, 4, null);
+        SimEventPool.release(event);
+        event.getTag();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRetentionCheckDetectsDoubleRelease() {
+        final SimEventPool pool = new SimEventPool(new CloudSim(), true);
+        final SimEvent event = pool.acquire(SimEvent.Type.SEND, 1, 2, 3, 4, null);
+        SimEventPool.release(event);
+        SimEventPool.release(event);
+    }
+}
@@ -0,0 +1,183 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostDynamicWorkloadSimple;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.cloudbus.cloudsim.vms.VmSimpleTest;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.HostUpdatesVmsProcessingEventInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DatacenterSimpleTest {
+    private static final int HOSTS = 4;
+
+    private List<Host> hostList;
+    private DatacenterSimple datacenter;
+
+    @Before
+    public void setUp() {
+        hostList = new ArrayList<>();
+        for (int i = 0; i < HOSTS; i++) {
+            hostList.add(HostSimpleTest.createHostSimple(i, 2));
+        }
+
+        datacenter = new DatacenterSimple(
+            new CloudSim(), new DatacenterCharacteristicsSimple(hostList), new VmAllocationPolicySimple());
+    }
+
+    @Test
+    public void testGetActiveHostListIsEmptyWhenThereAreNoVms() {
+        assertTrue(datacenter.getActiveHostList().isEmpty());
+    }
+
+    @Test
+    public void testGetActiveHostListFollowsVmsPlacement() {
+        final Vm vm0 = createVm(0);
+        final Vm vm1 = createVm(1);
+        assertTrue(hostList.get(3).vmCreate(vm0));
+        assertTrue(hostList.get(1).vmCreate(vm1));
+        assertEquals(Arrays.asList(hostList.get(1), hostList.get(3)), datacenter.getActiveHostList());
+
+        hostList.get(3).destroyVm(vm0);
+        assertEquals(Arrays.asList(hostList.get(1)), datacenter.getActiveHostList());
+
+        hostList.get(1).destroyAllVms();
+        assertTrue(datacenter.getActiveHostList().isEmpty());
+    }
+
+    @Test
+    public void testGetActiveHostListIncludesHostsWithUpdateProcessingListeners() {
+        final EventListener<HostUpdatesVmsProcessingEventInfo> listener = info -> {};
+        hostList.get(2).addOnUpdateProcessingListener(listener);
+        assertEquals(Arrays.asList(hostList.get(2)), datacenter.getActiveHostList());
+
+        hostList.get(2).removeOnUpdateProcessingListener(listener);
+        assertTrue(datacenter.getActiveHostList().isEmpty());
+    }
+
+    @Test
+    public void testGetActiveHostListFollowsHostListReordering() {
+        final EventListener<HostUpdatesVmsProcessingEventInfo> listener = info -> {};
+        final Host host = hostList.get(2);
+        host.addOnUpdateProcessingListener(listener);
+        Collections.reverse(hostList);
+        assertEquals(Arrays.asList(host), datacenter.getActiveHostList());
+
+        host.removeOnUpdateProcessingListener(listener);
+        assertTrue(datacenter.getActiveHostList().isEmpty());
+    }
+
+    @Test
+    public void testGetActiveHostListFollowsHostsRemovedFromTheList() {
+        final EventListener<HostUpdatesVmsProcessingEventInfo> listener = info -> {};
+        final Host host = hostList.get(3);
+        host.addOnUpdateProcessingListener(listener);
+        hostList.remove(0);
+        assertEquals(Arrays.asList(host), datacenter.getActiveHostList());
+
+        hostList.remove(host);
+        assertTrue(datacenter.getActiveHostList().isEmpty());
+    }
+
+    @Test
+    public void testGetHostsProcessingTimes() {
+        datacenter.addHostsProcessingTime(1);
+        datacenter.addHostsProcessingTime(2);
+        datacenter.addHostsProcessingTime(2);
+        datacenter.addHostsProcessingTime(3);
+        datacenter.addHostsProcessingTime(5);
+        assertArrayEquals(new double[]{2, 3}, datacenter.getHostsProcessingTimes(1, 5), 0);
+        assertArrayEquals(new double[]{1, 2, 3, 5}, datacenter.getHostsProcessingTimes(0, 6), 0);
+        assertEquals(0, datacenter.getHostsProcessingTimes(3, 5).length);
+    }
+
+    @Test
+    public void testIdleHostDynamicWorkloadIsInactiveAndItsHistoryGapIsFilled() {
+        final HostDynamicWorkloadSimple host =
+            new HostDynamicWorkloadSimple(0, 10000, HostSimpleTest.createPes(2, 1000));
+        final DatacenterSimple dc = new DatacenterSimple(
+            new CloudSim(), new DatacenterCharacteristicsSimple(Collections.singletonList(host)),
+            new VmAllocationPolicySimple());
+        assertFalse(host.isActive());
+        assertTrue(dc.getActiveHostList().isEmpty());
+
+        dc.addHostsProcessingTime(1);
+        dc.addHostsProcessingTime(2);
+        host.updateProcessing(3);
+        final List<Double> times = new ArrayList<>();
+        host.getStateHistory().forEach(entry -> times.add(entry.getTime()));
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), times);
+    }
+
+    @Test
+    public void testPeriodicTickUpdatesCloudletsProcessingWithLessEvents() {
+        final int[] eventsWithoutTick = new int[1];
+        final double finishTimeWithoutTick = runSimulationWithSchedulingInterval(false, eventsWithoutTick);
+        final int[] eventsWithTick = new int[1];
+        final double finishTimeWithTick = runSimulationWithSchedulingInterval(true, eventsWithTick);
+
+        //Ticks happen at multiples of the scheduling interval, instead of at the interval after the last update
+        assertEquals(finishTimeWithoutTick, finishTimeWithTick, 1);
+        assertTrue(eventsWithTick[0] < eventsWithoutTick[0]);
+    }
+
+    /**
+     * Runs a simulation with a Datacenter having a scheduling interval of 1 second
+     * and a Cloudlet running for 10 seconds.
+     *
+     * @param periodicTickEnabled if the Datacenter has to be updated by the periodic tick
+     * @param updateEvents an array to store the number of processed Cloudlet update events
+     * @return the Cloudlet finish time
+     */
+    private static double runSimulationWithSchedulingInterval(final boolean periodicTickEnabled, final int[] updateEvents) {
+        final CloudSim simulation = new CloudSim();
+        final DatacenterSimple dc = new DatacenterSimple(
+            simulation, new DatacenterCharacteristicsSimple(Collections.singletonList(HostSimpleTest.createHostSimple(0, 2))),
+            new VmAllocationPolicySimple());
+        dc.setSchedulingInterval(1);
+        dc.setPeriodicTickEnabled(periodicTickEnabled);
+        assertEquals(periodicTickEnabled, dc.isPeriodicTickEnabled());
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final Vm vm = new VmSimple(0, 1000, 1);
+        vm.setRam(512).setBw(100).setSize(1000).setCloudletScheduler(new CloudletSchedulerTimeShared()).setBroker(broker);
+        final Cloudlet cloudlet = new CloudletSimple(0, 10000, 1);
+        cloudlet.setUtilizationModel(new UtilizationModelFull());
+        cloudlet.setBroker(broker);
+        cloudlet.setVm(vm);
+        broker.submitVmList(Collections.singletonList(vm));
+        broker.submitCloudletList(Collections.singletonList(cloudlet));
+        simulation.addOnEventProcessingListener(evt -> {
+            if (evt.getTag() == CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING_EVENT) {
+                updateEvents[0]++;
+            }
+        });
+        simulation.start();
+
+        assertEquals(Cloudlet.Status.SUCCESS, cloudlet.getStatus());
+        return cloudlet.getFinishTime();
+    }
+
+    private static Vm createVm(final int id) {
+        return VmSimpleTest.createVm(id, 500, 1, 256, 1000, 10000, new CloudletSchedulerTimeShared());
+    }
+}
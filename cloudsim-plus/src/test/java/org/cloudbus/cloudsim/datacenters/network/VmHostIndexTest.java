@@ -0,0 +1,72 @@
+package org.cloudbus.cloudsim.datacenters.network;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VmHostIndexTest {
+    private VmHostIndex index;
+    private NetworkHost host0;
+    private NetworkHost host1;
+    private Vm vm;
+
+    @Before
+    public void setUp() {
+        index = new VmHostIndex();
+        host0 = createHost(0);
+        host1 = createHost(1);
+        vm = new VmSimple(0, 1000, 1);
+    }
+
+    private static NetworkHost createHost(final int id) {
+        return new NetworkHost(id, 1000000, Collections.singletonList(new PeSimple(1000, new PeProvisionerSimple())));
+    }
+
+    @Test
+    public void testVmNotPlaced() {
+        assertNull(index.getHost(vm.getId()));
+        assertTrue(index.getHosts(vm.getId()).isEmpty());
+        assertFalse(index.contains(vm.getId(), host0));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        index.add(vm, host0);
+        assertEquals(host0, index.getHost(vm.getId()));
+        assertTrue(index.contains(vm.getId(), host0));
+        assertFalse(index.contains(vm.getId(), host1));
+        assertEquals(1, index.size());
+
+        index.remove(vm, host0);
+        assertNull(index.getHost(vm.getId()));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testMigratingVmIsPlacedIntoBothHosts() {
+        index.add(vm, host0);
+        index.add(vm, host1);
+        index.add(vm, host1);
+        assertEquals(Arrays.asList(host0, host1), index.getHosts(vm.getId()));
+        assertEquals(host1, index.getHost(vm.getId()));
+
+        index.remove(vm, host0);
+        assertEquals(Collections.singletonList(host1), index.getHosts(vm.getId()));
+    }
+
+    @Test
+    public void testRemoveVmNotPlaced() {
+        index.remove(vm, host0);
+        assertEquals(0, index.size());
+    }
+}
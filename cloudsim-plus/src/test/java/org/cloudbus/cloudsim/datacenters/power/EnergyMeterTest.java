@@ -0,0 +1,80 @@
+package org.cloudbus.cloudsim.datacenters.power;
+
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
+import org.cloudbus.cloudsim.hosts.power.PowerHostSimple;
+import org.cloudbus.cloudsim.hosts.power.PowerHostTest;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EnergyMeterTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testTimeFrameEnergyIsEqualToHostsOne() {
+        final PowerHost host0 = PowerHostTest.createPowerHost(0, 2);
+        final PowerHost host1 = PowerHostTest.createPowerHost(1, 2);
+        final EnergyMeter meter = new EnergyMeter();
+
+        meter.startTimeFrame(2);
+        meter.setUtilization(0, host0, 0.2, 0.6);
+        meter.setUtilization(1, host1, 0, 0.5);
+        final double expected = host0.getEnergyLinearInterpolation(0.2, 0.6, 10);
+        assertEquals(expected, meter.finishTimeFrame(0, 10), DELTA);
+        assertEquals(expected, meter.getTimeFrameEnergy(0), DELTA);
+        assertEquals(0, meter.getTimeFrameEnergy(1), DELTA);
+        assertEquals(0.6, meter.getUtilization(0), DELTA);
+        assertEquals(0.2, meter.getPreviousUtilization(0), DELTA);
+    }
+
+    @Test
+    public void testHostOverridingEnergyComputationIsUsed() {
+        final PowerHost host = new PowerHostSimple(0, 1000, HostSimpleTest.createPes(1, 1000)) {
+            @Override
+            public double getEnergyLinearInterpolation(double fromUtilization, double toUtilization, double time) {
+                return 5 * time;
+            }
+        };
+        final EnergyMeter meter = new EnergyMeter();
+
+        meter.startTimeFrame(1);
+        meter.setUtilization(0, host, 0.5, 0.5);
+        assertEquals(50, meter.finishTimeFrame(0, 10), DELTA);
+    }
+
+    @Test
+    public void testHistoryIsStoredJustWhenEnabled() {
+        final PowerHost host = PowerHostTest.createPowerHost(0, 2);
+        final EnergyMeter meter = new EnergyMeter();
+        final double frameEnergy = host.getEnergyLinearInterpolation(0.5, 0.5, 10);
+
+        measure(meter, host, 0, 10);
+        meter.setHistoryEnabled(true);
+        measure(meter, host, 10, 20);
+        measure(meter, host, 20, 30);
+        measure(meter, host, 30, 40);
+
+        final EnergyMeter.HostEnergy hostEnergy = meter.getHostEnergy(host);
+        assertEquals(4 * frameEnergy, hostEnergy.getTotalEnergy(), DELTA);
+        assertEquals(3, hostEnergy.size());
+        assertEquals(20, hostEnergy.getTime(0), DELTA);
+        assertEquals(frameEnergy, hostEnergy.getEnergy(2), DELTA);
+        assertEquals(2 * frameEnergy, hostEnergy.getEnergy(15, 30), DELTA);
+        assertEquals(frameEnergy, hostEnergy.getEnergy(30, 100), DELTA);
+        assertEquals(0, hostEnergy.getEnergy(40, 100), DELTA);
+    }
+
+    private static void measure(final EnergyMeter meter, final PowerHost host, final double fromTime, final double toTime) {
+        meter.startTimeFrame(1);
+        meter.setUtilization(0, host, 0.5, 0.5);
+        meter.finishTimeFrame(fromTime, toTime);
+    }
+
+    @Test
+    public void testHostNotMeasuredHasNoEnergy() {
+        final EnergyMeter.HostEnergy hostEnergy = new EnergyMeter().getHostEnergy(PowerHostTest.createPowerHost(0, 1));
+        assertEquals(0, hostEnergy.getTotalEnergy(), DELTA);
+        assertEquals(0, hostEnergy.size());
+    }
+}
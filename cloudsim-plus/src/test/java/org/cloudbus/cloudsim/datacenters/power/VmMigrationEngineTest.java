@@ -0,0 +1,199 @@
+package org.cloudbus.cloudsim.datacenters.power;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimpleTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VmMigrationEngineTest {
+    private static final double DELTA = 1e-6;
+
+    /**
+     * A host BW that gives 1 Megabyte/second for migrations when 50% of it is used.
+     */
+    private static final long HOST_BW = 16000;
+
+    /**
+     * The RAM of VMs (in Megabytes), that is copied at 1 Megabyte/second in the first pre-copy round.
+     */
+    private static final long VM_RAM = 100;
+
+    private Host host0;
+    private Host host1;
+    private Host host2;
+
+    @Before
+    public void setUp() {
+        host0 = createHost(0);
+        host1 = createHost(1);
+        host2 = createHost(2);
+    }
+
+    private static Host createHost(final int id) {
+        return HostSimpleTest.createHostSimple(id, 1, 1000, 4096, HOST_BW, 1000000);
+    }
+
+    private static Vm createVm(final int id) {
+        return VmSimpleTest.createVm(id, VM_RAM);
+    }
+
+    @Test
+    public void testSingleMigrationWithoutDirtyMemoryTakesTheFixedDelay() {
+        final VmMigrationEngine engine = new VmMigrationEngine().setDirtyRateFunction(vm -> 0);
+        final Vm vm = createVm(0);
+
+        engine.start(vm, host0, host1, 10);
+        assertTrue(engine.isMigrating(vm));
+        assertEquals(110, engine.getExpectedFinishTime(vm), DELTA);
+
+        engine.update(110);
+        final VmMigration migration = engine.finish(vm, 110);
+        assertFalse(engine.isMigrating(vm));
+        assertEquals(100, migration.getMigrationTime(), DELTA);
+        assertEquals(VM_RAM, migration.getTransferredData(), DELTA);
+        assertEquals(0, migration.getDowntime(), DELTA);
+        assertEquals(host1, migration.getTargetHost());
+        assertEquals(1, engine.getFinishedMigrations(vm).size());
+    }
+
+    @Test
+    public void testMigrationsFromTheSameHostShareItsBandwidth() {
+        final VmMigrationEngine engine = new VmMigrationEngine().setDirtyRateFunction(vm -> 0);
+        final Vm vm0 = createVm(0);
+        final Vm vm1 = createVm(1);
+
+        engine.start(vm0, host0, host1, 0);
+        engine.start(vm1, host0, host2, 0);
+        assertEquals(200, engine.getExpectedFinishTime(vm0), DELTA);
+        assertEquals(200, engine.getExpectedFinishTime(vm1), DELTA);
+    }
+
+    @Test
+    public void testBandwidthIsReallocatedWhenAMigrationFinishes() {
+        final VmMigrationEngine engine = new VmMigrationEngine().setDirtyRateFunction(vm -> 0);
+        final Vm vm0 = createVm(0);
+        final Vm vm1 = createVm(1);
+
+        engine.start(vm0, host0, host1, 0);
+        engine.update(50);
+        engine.start(vm1, host0, host2, 50);
+        assertEquals(150, engine.getExpectedFinishTime(vm0), DELTA);
+
+        engine.update(150);
+        engine.finish(vm0, 150);
+        //vm1 copied 50 MB sharing the BW and copies the remaining 50 MB alone
+        assertEquals(200, engine.getExpectedFinishTime(vm1), DELTA);
+    }
+
+    @Test
+    public void testBandwidthNotUsedAtOneHostIsGivenToOtherMigrations() {
+        final VmMigrationEngine engine = new VmMigrationEngine().setDirtyRateFunction(vm -> 0);
+        final Host host3 = createHost(3);
+        final Vm vm0 = createVm(0);
+        final Vm vm1 = createVm(1);
+        final Vm vm2 = createVm(2);
+
+        //host0 upload is shared by 2 migrations and host2 download is shared by 2 migrations
+        engine.start(vm0, host0, host1, 0);
+        engine.start(vm1, host0, host2, 0);
+        engine.start(vm2, host3, host2, 0);
+        assertEquals(200, engine.getExpectedFinishTime(vm0), DELTA);
+        assertEquals(200, engine.getExpectedFinishTime(vm1), DELTA);
+        assertEquals(200, engine.getExpectedFinishTime(vm2), DELTA);
+
+        final Vm vm3 = createVm(3);
+        //host0 upload is now shared by 3 migrations, leaving more of host2 download to vm2
+        engine.start(vm3, host0, host1, 0);
+        assertEquals(300, engine.getExpectedFinishTime(vm0), DELTA);
+        assertEquals(150, engine.getExpectedFinishTime(vm2), DELTA);
+    }
+
+    @Test
+    public void testDirtyMemoryIsCopiedInPreCopyRounds() {
+        final VmMigrationEngine engine = new VmMigrationEngine().setDirtyRateFunction(vm -> 0.5);
+        final Vm vm = createVm(0);
+
+        engine.start(vm, host0, host1, 0);
+        final double finishTime = engine.getExpectedFinishTime(vm);
+        engine.update(finishTime / 2);
+        assertEquals(finishTime, engine.getExpectedFinishTime(vm), DELTA);
+
+        engine.update(finishTime);
+        final VmMigration migration = engine.finish(vm, finishTime);
+        //rounds copy 100, 50, 25, ..., 1.5625 MB and the last 0.78125 MB are copied with the VM stopped
+        assertEquals(7, migration.getPreCopyRounds());
+        assertEquals(199.21875, migration.getMigrationTime(), DELTA);
+        assertEquals(199.21875, migration.getTransferredData(), DELTA);
+        assertEquals(0.78125, migration.getDowntime(), DELTA);
+    }
+
+    @Test
+    public void testVmIsStoppedWhenDirtyMemoryDoesNotReduce() {
+        final VmMigrationEngine engine = new VmMigrationEngine().setDirtyRateFunction(vm -> 2);
+        final Vm vm = createVm(0);
+
+        engine.start(vm, host0, host1, 0);
+        final double finishTime = engine.getExpectedFinishTime(vm);
+        engine.update(finishTime);
+        final VmMigration migration = engine.finish(vm, finishTime);
+        assertEquals(300, migration.getMigrationTime(), DELTA);
+        assertEquals(200, migration.getDowntime(), DELTA);
+    }
+
+    @Test
+    public void testVmIsSlowedDownDuringPreCopyAndStoppedDuringStopAndCopy() {
+        final VmMigrationEngine engine = new VmMigrationEngine().setDirtyRateFunction(vm -> 2);
+        final Vm vm = createVm(0);
+
+        engine.start(vm, host0, host1, 0);
+        assertEquals(100, engine.getExpectedStopAndCopyTime(vm), DELTA);
+        assertEquals(0.9, engine.getMipsPercent(vm), DELTA);
+
+        engine.update(50);
+        assertEquals(100, engine.getExpectedStopAndCopyTime(vm), DELTA);
+        assertEquals(0.9, engine.getMipsPercent(vm), DELTA);
+
+        engine.update(100);
+        assertEquals(-1, engine.getExpectedStopAndCopyTime(vm), DELTA);
+        assertEquals(0, engine.getMipsPercent(vm), DELTA);
+
+        engine.update(300);
+        engine.finish(vm, 300);
+        assertEquals(1, engine.getMipsPercent(vm), DELTA);
+    }
+
+    @Test
+    public void testFinishVmNotMigratingReturnsNull() {
+        final VmMigrationEngine engine = new VmMigrationEngine();
+        final Vm vm = createVm(0);
+        assertNull(engine.finish(vm, 0));
+        assertEquals(-1, engine.getExpectedFinishTime(vm), DELTA);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStartVmAlreadyMigrating() {
+        final VmMigrationEngine engine = new VmMigrationEngine();
+        final Vm vm = createVm(0);
+        engine.start(vm, host0, host1, 0);
+        engine.start(vm, host0, host2, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetBandwidthPercentZero() {
+        new VmMigrationEngine().setBandwidthPercent(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetPreCopySlowdownOne() {
+        new VmMigrationEngine().setPreCopySlowdown(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetMaxPreCopyRoundsZero() {
+        new VmMigrationEngine().setMaxPreCopyRounds(0);
+    }
+}
@@ -0,0 +1,111 @@
+package org.cloudbus.cloudsim.hosts.power;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.mocks.CloudSimMocker;
+import org.cloudbus.cloudsim.mocks.Mocks;
+import org.cloudbus.cloudsim.power.models.PowerModelLinear;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Bandwidth;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.resources.Ram;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.util.OrderStatistics;
+import org.cloudbus.cloudsim.vms.power.PowerVm;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PowerHostUtilizationHistoryTest {
+    private static final long VM_RAM = 512;
+    private static final long VM_BW = 1000;
+    private static final long VM_SIZE = 1000;
+
+    private PowerHostUtilizationHistory host;
+
+    @Before
+    public void setUp() {
+        host = createHost(0);
+    }
+
+    private static PowerHostUtilizationHistory createHost(final int id) {
+        final List<Pe> peList = new ArrayList<>();
+        peList.add(new PeSimple(1000, new PeProvisionerSimple()));
+        peList.add(new PeSimple(1000, new PeProvisionerSimple()));
+
+        final PowerHostUtilizationHistory host = new PowerHostUtilizationHistory(id, VM_SIZE * 10, peList);
+        host.setPowerModel(new PowerModelLinear(200, 0.3))
+            .setRamProvisioner(new ResourceProvisionerSimple(new Ram(VM_RAM * 4)))
+            .setBwProvisioner(new ResourceProvisionerSimple(new Bandwidth(VM_BW * 4)))
+            .setVmScheduler(new VmSchedulerTimeShared());
+        return host;
+    }
+
+    @Test
+    public void testGetUtilizationHistoryStatisticsIsReusedWhileHistoryDoesNotChange() {
+        final PowerVm vm = createPowerVm(0);
+        assertTrue(host.vmCreate(vm));
+        vm.addUtilizationHistoryValue(0.5);
+
+        final OrderStatistics statistics = host.getUtilizationHistoryStatistics();
+        assertSame(statistics, host.getUtilizationHistoryStatistics());
+        assertEquals(0.25, statistics.getMedian(), 0);
+    }
+
+    @Test
+    public void testGetUtilizationHistoryStatisticsChangesWhenVmHistoryChanges() {
+        final PowerVm vm = createPowerVm(0);
+        assertTrue(host.vmCreate(vm));
+        vm.addUtilizationHistoryValue(0.5);
+        assertEquals(1, host.getUtilizationHistoryStatistics().size());
+
+        vm.addUtilizationHistoryValue(0.5);
+        assertEquals(2, host.getUtilizationHistoryStatistics().size());
+    }
+
+    @Test
+    public void testGetUtilizationHistoryStatisticsChangesWhenVmsMove() {
+        final PowerVm vm0 = createPowerVm(0);
+        final PowerVm vm1 = createPowerVm(1);
+        vm0.addUtilizationHistoryValue(0.5);
+        vm1.addUtilizationHistoryValue(1);
+
+        assertTrue(host.vmCreate(vm0));
+        assertEquals(0.25, host.getUtilizationHistoryStatistics().getMedian(), 0);
+
+        assertTrue(host.vmCreate(vm1));
+        assertEquals(0.75, host.getUtilizationHistoryStatistics().getMedian(), 0);
+
+        host.destroyVm(vm0);
+        assertEquals(0.5, host.getUtilizationHistoryStatistics().getMedian(), 0);
+    }
+
+    @Test
+    public void testGetUtilizationHistoryStatisticsOfTargetHostChangesWhenMigratingVmHistoryChanges() {
+        final PowerHostUtilizationHistory targetHost = createHost(1);
+        final PowerVm vm = createPowerVm(0);
+        assertTrue(host.vmCreate(vm));
+        vm.addUtilizationHistoryValue(0.5);
+
+        targetHost.addMigratingInVm(vm);
+        targetHost.reallocateMigratingInVms();
+        assertSame(host, vm.getHost());
+        assertEquals(1, targetHost.getUtilizationHistoryStatistics().size());
+
+        vm.addUtilizationHistoryValue(1);
+        assertEquals(2, targetHost.getUtilizationHistoryStatistics().size());
+        assertEquals(0.375, targetHost.getUtilizationHistoryStatistics().getMedian(), 0);
+    }
+
+    private static PowerVm createPowerVm(final int id) {
+        final CloudSim cloudsim = CloudSimMocker.createMock(mocker -> mocker.clock(0).anyTimes());
+        final PowerVm vm = new PowerVm(id, 1000, 1);
+        vm.setRam(VM_RAM).setBw(VM_BW).setSize(VM_SIZE)
+          .setBroker(Mocks.createMockBroker(cloudsim));
+        return vm;
+    }
+}
@@ -0,0 +1,86 @@
+package org.cloudbus.cloudsim.network;
+
+import java.util.Random;
+
+import org.cloudbus.cloudsim.network.topologies.BriteNetworkTopology;
+import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
+import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
+import org.cloudbus.cloudsim.network.topologies.TopologicalNode;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DijkstraDelayMatrixTest {
+    private static final double DELTA = 0.0;
+
+    private static TopologicalGraph createGraph(final int nodes) {
+        final TopologicalGraph graph = new TopologicalGraph();
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode(new TopologicalNode(i));
+        }
+
+        return graph;
+    }
+
+    @Test
+    public void testDelaysAreShortestPaths() {
+        final TopologicalGraph graph = createGraph(4);
+        graph.addLink(new TopologicalLink(0, 1, 1, 10));
+        graph.addLink(new TopologicalLink(1, 2, 2, 10));
+        graph.addLink(new TopologicalLink(0, 2, 5, 10));
+
+        final DijkstraDelayMatrix matrix = new DijkstraDelayMatrix(graph, false);
+        assertEquals(0, matrix.getDelay(0, 0), DELTA);
+        assertEquals(3, matrix.getDelay(0, 2), DELTA);
+        assertEquals(3, matrix.getDelay(2, 0), DELTA);
+        assertEquals(Double.MAX_VALUE, matrix.getDelay(0, 3), DELTA);
+    }
+
+    @Test
+    public void testDirectedLinksAreUsedInJustOneDirection() {
+        final TopologicalGraph graph = createGraph(2);
+        graph.addLink(new TopologicalLink(0, 1, 1, 10));
+
+        final DijkstraDelayMatrix matrix = new DijkstraDelayMatrix(graph, true);
+        assertEquals(1, matrix.getDelay(0, 1), DELTA);
+        assertEquals(Double.MAX_VALUE, matrix.getDelay(1, 0), DELTA);
+    }
+
+    @Test
+    public void testDelaysAreEqualToFloydWarshallOnes() {
+        final Random random = new Random(1);
+        final int nodes = 30;
+        final TopologicalGraph graph = createGraph(nodes);
+        for (int i = 0; i < 60; i++) {
+            final float delay = i % 10 == 0 ? 0 : random.nextFloat() * 10;
+            graph.addLink(new TopologicalLink(random.nextInt(nodes), random.nextInt(nodes), delay, 10));
+        }
+
+        final DelayMatrix expected = new DelayMatrix(graph, false);
+        final DijkstraDelayMatrix matrix = new DijkstraDelayMatrix(graph, false, 4);
+        for (int i = 0; i < nodes; i++) {
+            for (int j = 0; j < nodes; j++) {
+                assertEquals(expected.getDelay(i, j), matrix.getDelay(i, j), DELTA);
+            }
+        }
+
+        assertEquals(4, matrix.getCachedSources());
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testGetDelayOfInvalidNode() {
+        new DijkstraDelayMatrix(createGraph(2), false).getDelay(0, 2);
+    }
+
+    @Test
+    public void testTopologyDelayIsUpdatedAfterAddingLinks() {
+        final BriteNetworkTopology topology = new BriteNetworkTopology();
+        topology.addLink(10, 20, 100, 5);
+        topology.addLink(20, 30, 100, 5);
+        assertEquals(10, topology.getDelay(10, 30), DELTA);
+
+        topology.addLink(10, 30, 100, 2);
+        assertEquals(2, topology.getDelay(10, 30), DELTA);
+        assertEquals(0, topology.getDelay(10, 40), DELTA);
+    }
+}
@@ -0,0 +1,180 @@
+package org.cloudbus.cloudsim.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.AbstractSwitch;
+import org.cloudbus.cloudsim.network.switches.AggregateSwitch;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.network.switches.RootSwitch;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FlowLevelNetworkTest {
+    private static final double DELTA = 1e-6;
+
+    /**
+     * A packet size (in bytes) that takes 1 second to be transferred
+     * at the default {@link EdgeSwitch#DOWNLINK_BW} of hosts.
+     */
+    private static final long PACKET_SIZE = (long) (EdgeSwitch.DOWNLINK_BW / 8 * Conversion.MEGABYTE);
+
+    private FlowLevelNetwork network;
+    private EdgeSwitch edge0;
+    private EdgeSwitch edge2;
+    private AggregateSwitch aggregate0;
+    private AggregateSwitch aggregate1;
+    private RootSwitch root;
+
+    /**
+     * Hosts 0 and 1 are connected to the edge switch 0,
+     * host 2 to the edge switch 1 and host 3 to the edge switch 2.
+     * Edge switches 0 and 1 are connected to the aggregate switch 0
+     * and the edge switch 2 to the aggregate switch 1.
+     */
+    private List<NetworkHost> hosts;
+
+    @Before
+    public void setUp() {
+        final CloudSim simulation = new CloudSim();
+        network = new FlowLevelNetwork();
+        root = new RootSwitch(simulation, null);
+        aggregate0 = new AggregateSwitch(simulation, null);
+        aggregate1 = new AggregateSwitch(simulation, null);
+        edge0 = new EdgeSwitch(simulation, null);
+        final EdgeSwitch edge1 = new EdgeSwitch(simulation, null);
+        edge2 = new EdgeSwitch(simulation, null);
+        connect(root, aggregate0);
+        connect(root, aggregate1);
+        connect(aggregate0, edge0);
+        connect(aggregate0, edge1);
+        connect(aggregate1, edge2);
+
+        hosts = new ArrayList<>();
+        for (final EdgeSwitch edge : Arrays.asList(edge0, edge0, edge1, edge2)) {
+            final List<Pe> peList = Collections.singletonList(new PeSimple(1000, new PeProvisionerSimple()));
+            final NetworkHost host = new NetworkHost(hosts.size(), 1000000, peList);
+            host.setEdgeSwitch(edge);
+            hosts.add(host);
+        }
+    }
+
+    private static void connect(final Switch upper, final Switch lower) {
+        upper.getDownlinkSwitches().add(lower);
+        lower.getUplinkSwitches().add(upper);
+    }
+
+    private HostPacket createPacket(final int sourceHost, final int destinationHost, final long size) {
+        final Vm sourceVm = createVm(sourceHost);
+        final Vm destinationVm = createVm(destinationHost);
+        return new HostPacket(hosts.get(sourceHost), new VmPacket(sourceVm, destinationVm, size, null, null));
+    }
+
+    private Vm createVm(final int hostId) {
+        final Vm vm = new VmSimple(hostId, 1000, 1);
+        vm.setHost(hosts.get(hostId));
+        return vm;
+    }
+
+    private NetworkFlow start(final HostPacket packet, final double time) {
+        return network.start(Collections.singletonList(packet), time).get(0);
+    }
+
+    @Test
+    public void testFlowInsideTheSameEdgeSwitch() {
+        final NetworkFlow flow = start(createPacket(0, 1, PACKET_SIZE), 10);
+        assertEquals(2, flow.getPath().size());
+        assertEquals(hosts.get(1), flow.getPacket().getDestination());
+        assertEquals(EdgeSwitch.SWITCHING_DELAY, flow.getLatency(), DELTA);
+        assertEquals(EdgeSwitch.DOWNLINK_BW, flow.getRate(), DELTA);
+        assertEquals(11, network.getNextTransferFinishTime(), DELTA);
+
+        assertTrue(network.finishTransfers(10.5).isEmpty());
+        assertEquals(1, network.finishTransfers(11).size());
+        assertTrue(flow.isTransferFinished());
+        assertEquals(11, flow.getTransferFinishTime(), DELTA);
+        assertTrue(network.getActiveFlows().isEmpty());
+        assertEquals(1, network.getFinishedFlowsNumber());
+        assertEquals(Double.MAX_VALUE, network.getNextTransferFinishTime(), DELTA);
+    }
+
+    @Test
+    public void testFlowThroughTheRootSwitch() {
+        final NetworkFlow flow = start(createPacket(0, 3, PACKET_SIZE), 0);
+        final List<FlowLevelNetwork.Link> path = flow.getPath();
+        final List<Object> expectedNodes = Arrays.asList(hosts.get(0), edge0, aggregate0, root, aggregate1, edge2, hosts.get(3));
+        assertEquals(expectedNodes.size() - 1, path.size());
+        for (int i = 0; i < path.size(); i++) {
+            assertEquals(expectedNodes.get(i), path.get(i).getSource());
+            assertEquals(expectedNodes.get(i + 1), path.get(i).getDestination());
+        }
+
+        final double expectedLatency =
+            2 * EdgeSwitch.SWITCHING_DELAY + 2 * AggregateSwitch.SWITCHING_DELAY + RootSwitch.SWITCHING_DELAY;
+        assertEquals(expectedLatency, flow.getLatency(), DELTA);
+        assertEquals(AggregateSwitch.DOWNLINK_BW, path.get(1).getBandwidth(), DELTA);
+        assertEquals(RootSwitch.DOWNLINK_BW, path.get(3).getBandwidth(), DELTA);
+    }
+
+    @Test
+    public void testFlowBetweenEdgeSwitchesOfTheSameAggregateSwitchDoesNotReachTheRoot() {
+        final NetworkFlow flow = start(createPacket(0, 2, PACKET_SIZE), 0);
+        assertEquals(4, flow.getPath().size());
+        assertEquals(aggregate0, flow.getPath().get(1).getDestination());
+    }
+
+    @Test
+    public void testFlowsFromTheSameHostShareItsBandwidth() {
+        final List<NetworkFlow> flows =
+            network.start(Arrays.asList(createPacket(0, 1, PACKET_SIZE), createPacket(0, 3, PACKET_SIZE)), 0);
+        assertEquals(EdgeSwitch.DOWNLINK_BW / 2.0, flows.get(0).getRate(), DELTA);
+        assertEquals(EdgeSwitch.DOWNLINK_BW / 2.0, flows.get(1).getRate(), DELTA);
+        assertEquals(2, flows.get(0).getPath().get(0).getFlowsNumber());
+        assertEquals(2, network.getNextTransferFinishTime(), DELTA);
+        assertEquals(2, network.finishTransfers(2).size());
+        assertEquals(0, flows.get(0).getPath().get(0).getFlowsNumber());
+    }
+
+    @Test
+    public void testBandwidthIsReallocatedWhenAFlowFinishes() {
+        final NetworkFlow flow0 = start(createPacket(0, 1, PACKET_SIZE), 0);
+        final NetworkFlow flow1 = start(createPacket(2, 1, PACKET_SIZE / 2), 0);
+        assertEquals(EdgeSwitch.DOWNLINK_BW / 2.0, flow0.getRate(), DELTA);
+        assertEquals(1, network.getNextTransferFinishTime(), DELTA);
+
+        assertEquals(Collections.singletonList(flow1), network.finishTransfers(1));
+        assertEquals(EdgeSwitch.DOWNLINK_BW, flow0.getRate(), DELTA);
+        assertEquals(1.5, network.getNextTransferFinishTime(), DELTA);
+    }
+
+    @Test
+    public void testSwitchesTelemetryIsUpdatedByFlows() {
+        edge0.getTelemetry().setSampleInterval(1);
+        aggregate0.getTelemetry().setSampleInterval(1);
+        start(createPacket(0, 2, PACKET_SIZE), 0);
+        assertEquals(1, edge0.getTelemetry().getReceivedPackets());
+        assertEquals(PACKET_SIZE, aggregate0.getTelemetry().getReceivedBytes());
+        assertEquals(0, edge0.getTelemetry().getSentPackets());
+
+        assertEquals(1, network.finishTransfers(1).size());
+        for (final AbstractSwitch sw : Arrays.asList(edge0, aggregate0)) {
+            assertEquals(1, sw.getTelemetry().getSentPackets());
+            assertEquals(PACKET_SIZE, sw.getTelemetry().getSentBytes());
+            assertArrayEquals(new double[]{1}, sw.getTelemetry().getSampleStartTimes(), DELTA);
+        }
+        assertEquals(0, root.getTelemetry().getReceivedPackets());
+    }
+}
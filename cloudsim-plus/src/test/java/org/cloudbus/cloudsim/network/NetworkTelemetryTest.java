@@ -0,0 +1,110 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.NetworkTelemetry.Queue;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NetworkTelemetryTest {
+    private static final double DELTA = 1e-9;
+
+    /**
+     * The number of bytes in 1 Megabit, as in {@link org.cloudbus.cloudsim.util.Conversion#bytesToMegaBites(double)}.
+     */
+    private static final long MEGABIT = 131072;
+
+    @Test
+    public void testCountersAreLongValued() {
+        final NetworkTelemetry telemetry = new NetworkTelemetry();
+        final long size = Integer.MAX_VALUE;
+        telemetry.addSentPacket(0, size);
+        telemetry.addSentPacket(1, size);
+        telemetry.addReceivedPacket(size);
+        telemetry.addDroppedPacket(10);
+
+        assertEquals(2L * size, telemetry.getSentBytes());
+        assertEquals(2, telemetry.getSentPackets());
+        assertEquals(size, telemetry.getReceivedBytes());
+        assertEquals(1, telemetry.getReceivedPackets());
+        assertEquals(10, telemetry.getDroppedBytes());
+        assertEquals(1, telemetry.getDroppedPackets());
+    }
+
+    @Test
+    public void testAverageQueueLengthIsTimeWeighted() {
+        final NetworkTelemetry telemetry = new NetworkTelemetry();
+        //2 packets from time 0 to 2, 3 packets from 2 to 4 and no packets from 4 to 8
+        telemetry.changeQueueLength(Queue.UPLINK, 0, 2);
+        telemetry.changeQueueLength(Queue.UPLINK, 2, 1);
+        telemetry.changeQueueLength(Queue.UPLINK, 4, -3);
+
+        assertEquals(0, telemetry.getQueueLength(Queue.UPLINK));
+        assertEquals(3, telemetry.getMaxQueueLength(Queue.UPLINK));
+        assertEquals(10 / 8.0, telemetry.getAverageQueueLength(Queue.UPLINK, 8), DELTA);
+        assertEquals(0, telemetry.getAverageQueueLength(Queue.HOST, 8), DELTA);
+    }
+
+    @Test
+    public void testAverageQueueLengthIncludesPacketsStillInTheQueue() {
+        final NetworkTelemetry telemetry = new NetworkTelemetry();
+        telemetry.changeQueueLength(Queue.DOWNLINK, 1, 4);
+
+        assertEquals(4, telemetry.getQueueLength(Queue.DOWNLINK));
+        assertEquals(3, telemetry.getAverageQueueLength(Queue.DOWNLINK, 4), DELTA);
+        assertEquals(0, telemetry.getAverageQueueLength(Queue.DOWNLINK, 0), DELTA);
+    }
+
+    @Test
+    public void testNoSamplesAreCollectedByDefault() {
+        final NetworkTelemetry telemetry = new NetworkTelemetry();
+        telemetry.addSentPacket(5, MEGABIT);
+
+        assertEquals(0, telemetry.getSamplesNumber());
+        assertEquals(0, telemetry.getThroughputSamples().length);
+    }
+
+    @Test
+    public void testThroughputSamplesOfEachInterval() {
+        final NetworkTelemetry telemetry = new NetworkTelemetry().setSampleInterval(2);
+        telemetry.addSentPacket(0, MEGABIT);
+        telemetry.addSentPacket(1.5, MEGABIT);
+        telemetry.addSentPacket(5, 4 * MEGABIT);
+
+        assertArrayEquals(new double[]{0, 4}, telemetry.getSampleStartTimes(), DELTA);
+        assertArrayEquals(new long[]{2 * MEGABIT, 4 * MEGABIT}, telemetry.getSentBytesSamples());
+        assertArrayEquals(new double[]{1, 2}, telemetry.getThroughputSamples(), DELTA);
+    }
+
+    @Test
+    public void testIntervalsWithoutSentPacketsAreNotStored() {
+        final NetworkTelemetry telemetry = new NetworkTelemetry().setSampleInterval(1);
+        telemetry.addSentPacket(1_000_000, 1);
+
+        assertEquals(1, telemetry.getSamplesNumber());
+        assertArrayEquals(new double[]{1_000_000}, telemetry.getSampleStartTimes(), DELTA);
+        assertArrayEquals(new long[]{1}, telemetry.getSentBytesSamples());
+    }
+
+    @Test
+    public void testSamplesArraysGrowAndKeepTimeOrder() {
+        final NetworkTelemetry telemetry = new NetworkTelemetry().setSampleInterval(1);
+        for (int time = 100; time > 0; time -= 2) {
+            telemetry.addSentPacket(time, time);
+        }
+        telemetry.addSentPacket(50, 1);
+
+        assertEquals(50, telemetry.getSamplesNumber());
+        final double[] startTimes = telemetry.getSampleStartTimes();
+        final long[] sentBytes = telemetry.getSentBytesSamples();
+        for (int i = 0; i < startTimes.length; i++) {
+            final long time = 2 * (i + 1);
+            assertEquals(time, startTimes[i], DELTA);
+            assertEquals(time == 50 ? time + 1 : time, sentBytes[i]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNegativeSampleInterval() {
+        new NetworkTelemetry().setSampleInterval(-1);
+    }
+}
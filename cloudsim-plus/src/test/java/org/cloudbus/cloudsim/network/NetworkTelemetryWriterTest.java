@@ -0,0 +1,50 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.NetworkTelemetry.Queue;
+import org.cloudbus.cloudsim.network.NetworkTelemetryWriter.Content;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class NetworkTelemetryWriterTest {
+    @Test
+    public void testWriteSummary() throws IOException {
+        final NetworkTelemetry telemetry = new NetworkTelemetry();
+        telemetry.addSentPacket(0, 100);
+        telemetry.addReceivedPacket(50);
+        telemetry.changeQueueLength(Queue.HOST, 0, 2);
+        telemetry.changeQueueLength(Queue.HOST, 1, -2);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NetworkTelemetryWriter writer = new NetworkTelemetryWriter(out, Content.SUMMARY)) {
+            writer.write("Switch1", telemetry, 4);
+        }
+
+        final String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(
+            "entity,sentBytes,sentPackets,receivedBytes,receivedPackets,droppedBytes,droppedPackets," +
+            "uplinkQueueAvg,uplinkQueueMax,downlinkQueueAvg,downlinkQueueMax,hostQueueAvg,hostQueueMax",
+            lines[0]);
+        assertEquals("Switch1,100,1,50,1,0,0,0.0,0,0.0,0,0.5,2", lines[1]);
+    }
+
+    @Test
+    public void testWriteSamples() throws IOException {
+        final NetworkTelemetry telemetry = new NetworkTelemetry().setSampleInterval(0.5);
+        telemetry.addSentPacket(0.7, 131072);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NetworkTelemetryWriter writer = new NetworkTelemetryWriter(out, Content.SAMPLES)) {
+            writer.write("Host0", telemetry, 1);
+        }
+
+        final String[] lines = out.toString().split("\n");
+        assertArrayEquals(
+            new String[]{"entity,intervalStart,sentBytes,throughput", "Host0,0.5,131072,2.0"},
+            lines);
+    }
+}
@@ -0,0 +1,240 @@
+package org.cloudbus.cloudsim.network.switches;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.VmPacket;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SwitchFabricBuilderTest {
+    private static final double DELTA = 1e-9;
+
+    private CloudSim simulation;
+    private NetworkDatacenter datacenter;
+
+    private SwitchFabricBuilder createBuilder(final int hosts) {
+        simulation = new CloudSim();
+        final List<Host> hostList = new ArrayList<>(hosts);
+        for (int i = 0; i < hosts; i++) {
+            hostList.add(new NetworkHost(i, 1000000, Collections.singletonList(new PeSimple(1000, new PeProvisionerSimple()))));
+        }
+
+        datacenter = new NetworkDatacenter(simulation, new DatacenterCharacteristicsSimple(hostList), new VmAllocationPolicySimple());
+        return new SwitchFabricBuilder(simulation, datacenter);
+    }
+
+    @Test
+    public void testFatTree() {
+        final SwitchFabricBuilder builder = createBuilder(16).buildFatTree(4);
+        assertEquals(8, builder.getEdgeSwitches().size());
+        assertEquals(8, builder.getAggregateSwitches().size());
+        assertEquals(4, builder.getRootSwitches().size());
+        assertEquals(20, datacenter.getSwitchMap().size());
+
+        for (final EdgeSwitch edge : builder.getEdgeSwitches()) {
+            assertEquals(2, edge.getHostList().size());
+            assertEquals(2, edge.getUplinkSwitches().size());
+            assertEquals(EdgeSwitch.DOWNLINK_BW, edge.getUplinkBandwidth(), DELTA);
+        }
+
+        for (final AggregateSwitch aggregate : builder.getAggregateSwitches()) {
+            assertEquals(2, aggregate.getUplinkSwitches().size());
+            assertEquals(2, aggregate.getDownlinkSwitches().size());
+        }
+
+        for (final RootSwitch core : builder.getRootSwitches()) {
+            //one aggregate switch of each pod
+            assertEquals(4, core.getDownlinkSwitches().size());
+        }
+
+        final NetworkHost host = (NetworkHost) datacenter.getHost(3);
+        assertEquals(builder.getEdgeSwitches().get(1), host.getEdgeSwitch());
+        assertEquals(EdgeSwitch.DOWNLINK_BW, host.getBandwidth(), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFatTreeWithTooManyHosts() {
+        createBuilder(3).buildFatTree(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFatTreeWithOddPorts() {
+        createBuilder(1).buildFatTree(3);
+    }
+
+    @Test
+    public void testOversubscribedLeafSpine() {
+        final SwitchFabricBuilder builder =
+            createBuilder(6).setHostBandwidth(1000).setOversubscription(2).buildLeafSpine(2, 3);
+        assertEquals(3, builder.getEdgeSwitches().size());
+        assertEquals(2, builder.getAggregateSwitches().size());
+        assertTrue(builder.getRootSwitches().isEmpty());
+
+        //2 hosts of 1000 Megabits/s by leaf and 2 uplinks with 2:1 oversubscription
+        for (final EdgeSwitch leaf : builder.getEdgeSwitches()) {
+            assertEquals(2, leaf.getHostList().size());
+            assertEquals(builder.getAggregateSwitches(), leaf.getUplinkSwitches());
+            assertEquals(500, leaf.getUplinkBandwidth(), DELTA);
+            assertEquals(1000, leaf.getDownlinkBandwidth(), DELTA);
+        }
+
+        for (final AggregateSwitch spine : builder.getAggregateSwitches()) {
+            assertEquals(builder.getEdgeSwitches(), spine.getDownlinkSwitches());
+            assertEquals(500, spine.getDownlinkBandwidth(), DELTA);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuildTwice() {
+        createBuilder(2).buildLeafSpine(1, 1).buildLeafSpine(1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetOversubscriptionLessThanOne() {
+        createBuilder(1).setOversubscription(0.5);
+    }
+
+    @Test
+    public void testEcmpSpreadsFlowsAmongUplinksAndKeepsEachFlowInTheSamePath() {
+        final SwitchFabricBuilder builder = createBuilder(2).buildLeafSpine(4, 1);
+        final EdgeSwitch leaf = builder.getEdgeSwitches().get(0);
+        final NetworkHost host = leaf.getHostList().get(0);
+        final Set<Switch> selected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final HostPacket packet = createPacket(host, i, i + 1);
+            final Switch uplink = leaf.selectUplinkSwitch(packet);
+            assertEquals(uplink, leaf.selectUplinkSwitch(createPacket(host, i, i + 1)));
+            selected.add(uplink);
+        }
+
+        assertEquals(4, selected.size());
+    }
+
+    @Test
+    public void testSelectUplinkSwitchWithoutUplinks() {
+        final SwitchFabricBuilder builder = createBuilder(2).buildLeafSpine(1, 1);
+        final AggregateSwitch spine = builder.getAggregateSwitches().get(0);
+        final NetworkHost host = builder.getEdgeSwitches().get(0).getHostList().get(0);
+        assertEquals(Switch.NULL, spine.selectUplinkSwitch(createPacket(host, 0, 1)));
+    }
+
+    @Test
+    public void testPacketsAreDeliveredAcrossPodsOfAFatTree() {
+        final SwitchFabricBuilder builder = createBuilder(16).buildFatTree(4);
+        //hosts 0 to 3 are in the first pod and hosts 12 to 15 in the last one
+        final int packets = sendPackets(datacenter.getHost(0), datacenter.getHost(15), 20);
+        simulation.start();
+
+        assertEquals(packets, ((NetworkHost) datacenter.getHost(15)).getTelemetry().getReceivedPackets());
+        for (final RootSwitch root : builder.getRootSwitches()) {
+            assertEquals(0, root.getTelemetry().getDroppedPackets());
+        }
+    }
+
+    @Test
+    public void testRootSwitchSpreadsFlowsAmongAggregateSwitchesConnectedToTheDestination() {
+        createBuilder(2);
+        final RootSwitch root = new RootSwitch(simulation, datacenter);
+        final List<AggregateSwitch> sourceAggregates = createPod(root, (NetworkHost) datacenter.getHost(0));
+        final List<AggregateSwitch> destinationAggregates = createPod(root, (NetworkHost) datacenter.getHost(1));
+
+        final int packets = sendPackets(datacenter.getHost(0), datacenter.getHost(1), 40);
+        simulation.start();
+
+        assertEquals(packets, ((NetworkHost) datacenter.getHost(1)).getTelemetry().getReceivedPackets());
+        for (final AggregateSwitch aggregate : destinationAggregates) {
+            assertTrue(root.getSentBytes(aggregate) > 0);
+        }
+        for (final AggregateSwitch aggregate : sourceAggregates) {
+            assertEquals(0, root.getSentBytes(aggregate));
+        }
+    }
+
+    @Test
+    public void testSelectDownlinkSwitch() {
+        createBuilder(2);
+        final RootSwitch root = new RootSwitch(simulation, datacenter);
+        final List<AggregateSwitch> sourceAggregates = createPod(root, (NetworkHost) datacenter.getHost(0));
+        final List<AggregateSwitch> destinationAggregates = createPod(root, (NetworkHost) datacenter.getHost(1));
+        final NetworkHost host = (NetworkHost) datacenter.getHost(0);
+        final Switch destinationEdge = destinationAggregates.get(0).getDownlinkSwitches().get(0);
+
+        final Set<Switch> selected = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            selected.add(root.selectDownlinkSwitch(createPacket(host, i, i + 1), destinationEdge));
+        }
+
+        assertEquals(new HashSet<>(destinationAggregates), selected);
+        assertEquals(destinationEdge, destinationAggregates.get(1).selectDownlinkSwitch(createPacket(host, 0, 1), destinationEdge));
+        assertEquals(Switch.NULL, sourceAggregates.get(0).selectDownlinkSwitch(createPacket(host, 0, 1), destinationEdge));
+    }
+
+    /**
+     * Creates a pod with one edge switch, where a given host is connected,
+     * and 2 aggregate switches connected to such an edge switch and to a root switch.
+     *
+     * @return the aggregate switches of the pod
+     */
+    private List<AggregateSwitch> createPod(final RootSwitch root, final NetworkHost host) {
+        final EdgeSwitch edge = new EdgeSwitch(simulation, datacenter);
+        edge.connectHost(host);
+        host.setEdgeSwitch(edge);
+        final List<AggregateSwitch> aggregates = new ArrayList<>(2);
+        for (int i = 0; i < 2; i++) {
+            final AggregateSwitch aggregate = new AggregateSwitch(simulation, datacenter);
+            connect(aggregate, edge);
+            connect(root, aggregate);
+            aggregates.add(aggregate);
+        }
+
+        return aggregates;
+    }
+
+    private static void connect(final Switch upper, final Switch lower) {
+        upper.getDownlinkSwitches().add(lower);
+        lower.getUplinkSwitches().add(upper);
+    }
+
+    /**
+     * Sends packets of different flows from a VM placed into a given host
+     * to VMs placed into another host, through the edge switch of the first host.
+     *
+     * @return the number of sent packets
+     */
+    private int sendPackets(final Host sourceHost, final Host destinationHost, final int flows) {
+        final NetworkHost source = (NetworkHost) sourceHost;
+        final Vm sourceVm = new VmSimple(0, 1000, 1);
+        sourceVm.setHost(source);
+        for (int i = 1; i <= flows; i++) {
+            final Vm destinationVm = new VmSimple(i, 1000, 1);
+            destinationVm.setHost(destinationHost);
+            final HostPacket packet = new HostPacket(source, new VmPacket(sourceVm, destinationVm, 1000, null, null));
+            simulation.send(datacenter.getId(), source.getEdgeSwitch().getId(), 0, CloudSimTags.NETWORK_EVENT_UP, packet);
+        }
+
+        return flows;
+    }
+
+    private static HostPacket createPacket(final NetworkHost host, final int sourceVmId, final int destinationVmId) {
+        final Vm source = new VmSimple(sourceVmId, 1000, 1);
+        final Vm destination = new VmSimple(destinationVmId, 1000, 1);
+        return new HostPacket(host, new VmPacket(source, destination, 1000, null, null));
+    }
+}
@@ -0,0 +1,13 @@
+package org.cloudbus.cloudsim.network.switches;
+
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SwitchTest {
+    @Test
+    public void testNullSwitchGetDatacenter() {
+        assertSame(Datacenter.NULL, Switch.NULL.getDatacenter());
+    }
+}
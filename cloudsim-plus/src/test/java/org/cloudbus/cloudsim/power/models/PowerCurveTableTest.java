@@ -0,0 +1,55 @@
+package org.cloudbus.cloudsim.power.models;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PowerCurveTableTest {
+    @Test
+    public void testSpecPowerTableGivesTheModelPower() {
+        assertTableGivesTheModelPower(new PowerModelSpecPowerIbmX3550XeonX5675(), true);
+    }
+
+    @Test
+    public void testLinearTableGivesTheModelPower() {
+        assertTableGivesTheModelPower(new PowerModelLinear(250, 0.7), true);
+    }
+
+    @Test
+    public void testCubicModelIsNotTabulated() {
+        assertTableGivesTheModelPower(new PowerModelCubic(250, 0.7), false);
+    }
+
+    @Test
+    public void testModelOverridingGetPowerIsNotTabulated() {
+        final PowerModel model = new PowerModelLinear(250, 0.7) {
+            @Override
+            public double getPower(double utilization) {
+                return 100;
+            }
+        };
+        assertTableGivesTheModelPower(model, false);
+    }
+
+    private static void assertTableGivesTheModelPower(final PowerModel model, final boolean tabulated) {
+        final PowerCurveTable table = new PowerCurveTable(model);
+        assertEquals(tabulated, table.isTabulated());
+        assertSame(model, table.getPowerModel());
+        for (int i = 0; i <= 1000; i++) {
+            final double utilization = i / 1000.0;
+            assertEquals(model.getPower(utilization), table.getPower(utilization), 0);
+        }
+    }
+
+    @Test
+    public void testLinearTableGivesTheModelPowerAtFullUtilization() {
+        //The model computes the power at full utilization by adding the increments to the static power
+        final PowerModel model = new PowerModelLinear(0.3, 0.1);
+        assertEquals(model.getPower(1), new PowerCurveTable(model).getPower(1), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUtilizationLargerThanOne() {
+        new PowerCurveTable(new PowerModelSpecPowerIbmX3550XeonX5675()).getPower(1.5);
+    }
+}
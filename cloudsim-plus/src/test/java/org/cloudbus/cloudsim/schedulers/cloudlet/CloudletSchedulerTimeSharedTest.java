@@ -420,4 +420,23 @@ public class CloudletSchedulerTimeSharedTest {
         assertEquals(list.size(), instance.getCloudletExecList().size());
     }
 
+    @Test
+    public void testGetCloudletStatus_FindsCloudletsUntilTheyAreRemovedFromScheduler() {
+        final long mips = 1000;
+        CloudletSchedulerTimeShared instance = newSchedulerWithSingleCoreRunningCloudlets(mips, 2, 3);
+        assertEquals(Cloudlet.Status.INEXEC.ordinal(), instance.getCloudletStatus(0));
+        assertEquals(-1, instance.getCloudletStatus(3));
+
+        assertTrue(instance.cloudletPause(1));
+        assertEquals(Cloudlet.Status.PAUSED.ordinal(), instance.getCloudletStatus(1));
+
+        assertNotSame(Cloudlet.NULL, instance.cloudletCancel(2));
+        assertEquals(-1, instance.getCloudletStatus(2));
+
+        instance.updateVmProcessing(1, instance.getCurrentMipsShare());
+        assertEquals(Cloudlet.Status.SUCCESS.ordinal(), instance.getCloudletStatus(0));
+        assertEquals(0, instance.removeNextFinishedCloudlet().getId());
+        assertEquals(-1, instance.getCloudletStatus(0));
+    }
+
 }
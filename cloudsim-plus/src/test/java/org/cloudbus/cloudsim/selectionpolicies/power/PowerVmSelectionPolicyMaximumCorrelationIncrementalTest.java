@@ -0,0 +1,77 @@
+package org.cloudbus.cloudsim.selectionpolicies.power;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.hosts.power.PowerHost;
+import org.cloudbus.cloudsim.vms.power.PowerVm;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.cloudbus.cloudsim.selectionpolicies.power.PowerVmSelectionPolicyMaximumCorrelationTest.CORRELATION;
+import static org.cloudbus.cloudsim.selectionpolicies.power.PowerVmSelectionPolicyMaximumCorrelationTest.DATA;
+import static org.junit.Assert.assertEquals;
+
+public class PowerVmSelectionPolicyMaximumCorrelationIncrementalTest {
+    private PowerVmSelectionPolicyMaximumCorrelationIncremental policy;
+
+    @Before
+    public void setUp() {
+        policy = new PowerVmSelectionPolicyMaximumCorrelationIncremental(new PowerVmSelectionPolicyRandomSelection());
+    }
+
+    @Test
+    public void testGetCorrelationCoefficients() {
+        final List<Double> result = policy.getCorrelationCoefficients(DATA);
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(CORRELATION[i], result.get(i), 0.00001);
+        }
+    }
+
+    @Test
+    public void testGetCorrelationCoefficientsWithHistoryEqualToVmsIsEqualToTheSuperClassOne() {
+        final double[][] data = {{1, 2, 4}, {2, 1, 7}, {3, 5, 2}};
+        final PowerVmSelectionPolicyMaximumCorrelation reference =
+            new PowerVmSelectionPolicyMaximumCorrelation(new PowerVmSelectionPolicyRandomSelection());
+        final List<PowerVm> vmList = new ArrayList<>();
+        for (int i = 0; i < data.length; i++) {
+            final PowerVm vm = new PowerVm(i, 1000, 1);
+            for (final double value : data[i]) {
+                vm.addUtilizationHistoryValue(value);
+            }
+
+            vmList.add(vm);
+        }
+
+        final double[][] matrix = reference.getUtilizationMatrix(vmList);
+        assertEquals(reference.getCorrelationCoefficients(matrix), policy.getCorrelationCoefficients(PowerHost.NULL, vmList));
+        assertEquals(reference.getCorrelationCoefficients(matrix), policy.getCorrelationCoefficients(matrix));
+    }
+
+    @Test
+    public void testIncrementalCoefficientsAreEqualToTheRecomputedOnes() {
+        final PowerHost host = EasyMock.createMock(PowerHost.class);
+        final PowerVmSelectionPolicyMaximumCorrelation reference =
+            new PowerVmSelectionPolicyMaximumCorrelation(new PowerVmSelectionPolicyRandomSelection());
+        final Random random = new Random(1);
+        final List<PowerVm> vmList = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            vmList.add(new PowerVm(i, 1000, 1));
+        }
+
+        for (int time = 0; time < 2 * PowerVm.MAX_HISTORY_ENTRIES; time++) {
+            vmList.forEach(vm -> vm.addUtilizationHistoryValue(random.nextDouble()));
+            if (time < vmList.size()) {
+                continue;
+            }
+
+            final List<Double> expected = reference.getCorrelationCoefficients(reference.getUtilizationMatrix(vmList));
+            final List<Double> result = policy.getCorrelationCoefficients(host, vmList);
+            for (int i = 0; i < result.size(); i++) {
+                assertEquals(expected.get(i), result.get(i), 0.00001);
+            }
+        }
+    }
+}
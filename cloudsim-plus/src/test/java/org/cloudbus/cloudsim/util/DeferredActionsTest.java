@@ -0,0 +1,67 @@
+package org.cloudbus.cloudsim.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DeferredActionsTest {
+    @Test
+    public void testRunExecutesImmediatelyWhenNotCollecting() {
+        final List<Integer> executed = new ArrayList<>();
+        assertFalse(DeferredActions.isDeferring());
+        DeferredActions.run(() -> executed.add(1));
+        assertEquals(Arrays.asList(1), executed);
+    }
+
+    @Test
+    public void testCollectDefersActionsUntilRunAll() {
+        final List<Integer> executed = new ArrayList<>();
+        final DeferredActions actions = new DeferredActions();
+        final double result = actions.collect(() -> {
+            assertTrue(DeferredActions.isDeferring());
+            DeferredActions.run(() -> executed.add(1));
+            DeferredActions.run(() -> executed.add(2));
+            return 10;
+        });
+
+        assertEquals(10, result, 0);
+        assertFalse(DeferredActions.isDeferring());
+        assertTrue(executed.isEmpty());
+
+        actions.runAll();
+        assertEquals(Arrays.asList(1, 2), executed);
+
+        actions.runAll();
+        assertEquals(Arrays.asList(1, 2), executed);
+    }
+
+    @Test
+    public void testActionsCollectedInParallelRunInTaskOrder() {
+        final int tasks = 100;
+        final DeferredActions[] actions = new DeferredActions[tasks];
+        final List<Integer> executed = new ArrayList<>();
+        new ForkJoinPool(4).submit(() ->
+            IntStream.range(0, tasks).parallel().forEach(i -> {
+                actions[i] = new DeferredActions();
+                actions[i].collect(() -> {
+                    DeferredActions.run(() -> executed.add(i));
+                    return i;
+                });
+            })
+        ).join();
+
+        assertTrue(executed.isEmpty());
+        for (DeferredActions a : actions) {
+            a.runAll();
+        }
+
+        for (int i = 0; i < tasks; i++) {
+            assertEquals(i, executed.get(i).intValue());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.cloudbus.cloudsim.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DoubleRingBufferTest {
+    private static final double DELTA = 0.0;
+
+    @Test
+    public void testAddUntilCapacityKeepsNewestValueFirst() {
+        final DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+        assertTrue(buffer.isEmpty());
+        buffer.add(1);
+        buffer.add(2);
+        assertEquals(2, buffer.size());
+        assertEquals(2, buffer.get(0), DELTA);
+        assertEquals(1, buffer.get(1), DELTA);
+    }
+
+    @Test
+    public void testAddWhenFullOverwritesOldestValue() {
+        final DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i);
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(3, buffer.getCapacity());
+        assertArrayEquals(new double[]{5, 4, 3}, buffer.toArray(), DELTA);
+        assertArrayEquals(new double[]{5, 4}, buffer.toArray(2), DELTA);
+        assertArrayEquals(new double[]{5, 4, 3}, buffer.toArray(10), DELTA);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetIndexAfterSize() {
+        final DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+        buffer.add(1);
+        buffer.get(1);
+    }
+
+    @Test
+    public void testListViewReflectsChanges() {
+        final DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+        final List<Double> list = buffer.asList();
+        assertTrue(list.isEmpty());
+
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+        assertEquals(Arrays.asList(3.0, 2.0), list);
+        assertEquals(Arrays.asList(3.0), list.subList(0, 1));
+
+        buffer.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testAddedCountIncludesOverwrittenValues() {
+        final DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+        assertEquals(3, buffer.getAddedCount());
+        assertEquals(2, buffer.size());
+
+        buffer.clear();
+        assertEquals(0, buffer.getAddedCount());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testListViewIsReadOnly() {
+        new DoubleRingBuffer(2).asList().add(1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new DoubleRingBuffer(0);
+    }
+}
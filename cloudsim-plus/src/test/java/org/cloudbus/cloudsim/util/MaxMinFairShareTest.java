@@ -0,0 +1,34 @@
+package org.cloudbus.cloudsim.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MaxMinFairShareTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testFlowsOfASingleLinkGetEqualShares() {
+        final double[] rates = MaxMinFairShare.allocate(new double[]{90}, new int[][]{{0}, {0}, {0}});
+        assertArrayEquals(new double[]{30, 30, 30}, rates, DELTA);
+    }
+
+    @Test
+    public void testCapacityNotUsedByABottleneckedFlowIsGivenToOtherFlows() {
+        //flow 0 uses links 0 and 1, flow 1 uses link 1 and flow 2 uses link 0
+        final double[] capacities = {10, 100};
+        final int[][] flowLinks = {{0, 1}, {1}, {0}};
+        final double[] rates = MaxMinFairShare.allocate(capacities, flowLinks);
+        assertArrayEquals(new double[]{5, 95, 5}, rates, DELTA);
+    }
+
+    @Test
+    public void testNoFlows() {
+        assertEquals(0, MaxMinFairShare.allocate(new double[]{10}, new int[0][]).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFlowWithoutLinks() {
+        MaxMinFairShare.allocate(new double[]{10}, new int[][]{{}});
+    }
+}
@@ -0,0 +1,62 @@
+package org.cloudbus.cloudsim.util;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OrderStatisticsTest {
+    private static final double DELTA = 0.0;
+
+    @Test
+    public void testStatisticsAreEqualToMathUtilOnes() {
+        final Random random = new Random(1);
+        for (int length = 2; length <= 40; length++) {
+            for (int i = 0; i < 20; i++) {
+                final double[] values = new double[length];
+                for (int j = 0; j < length; j++) {
+                    //rounds some values so that there are repeated ones
+                    values[j] = i % 2 == 0 ? random.nextDouble() : Math.round(random.nextDouble() * 5) / 5.0;
+                }
+
+                final OrderStatistics statistics = new OrderStatistics(values);
+                assertEquals(MathUtil.median(values), statistics.getMedian(), DELTA);
+                assertEquals(MathUtil.getStatistics(values).getPercentile(25), statistics.getPercentile(25), DELTA);
+                assertEquals(MathUtil.getStatistics(values).getPercentile(100), statistics.getPercentile(100), DELTA);
+                assertEquals(MathUtil.mad(values), statistics.getMad(), DELTA);
+                assertEquals(MathUtil.iqr(values.clone()), statistics.getIqr(), DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testValuesArrayIsNotChanged() {
+        final double[] values = {3, 1, 2};
+        final OrderStatistics statistics = new OrderStatistics(values);
+        assertArrayEquals(new double[]{3, 1, 2}, values, DELTA);
+        assertEquals(1, statistics.get(0), DELTA);
+        assertEquals(3, statistics.get(2), DELTA);
+        assertEquals(3, statistics.size());
+    }
+
+    @Test
+    public void testEmptyValues() {
+        final OrderStatistics statistics = new OrderStatistics(new double[0]);
+        assertEquals(0, statistics.size());
+        assertTrue(Double.isNaN(statistics.getMedian()));
+        assertEquals(0, statistics.getMad(), DELTA);
+    }
+
+    @Test
+    public void testSingleValue() {
+        final OrderStatistics statistics = new OrderStatistics(new double[]{0.5});
+        assertEquals(0.5, statistics.getMedian(), DELTA);
+        assertEquals(0, statistics.getMad(), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new OrderStatistics(new double[]{1, 2}).getPercentile(0);
+    }
+}
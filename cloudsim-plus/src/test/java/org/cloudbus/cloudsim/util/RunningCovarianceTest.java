@@ -0,0 +1,141 @@
+package org.cloudbus.cloudsim.util;
+
+import java.util.Random;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RunningCovarianceTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testCoefficientsAreEqualToRegressionOnes() {
+        final Random random = new Random(1);
+        final int variables = 4;
+        final double[][] data = new double[variables][12];
+        final RunningCovariance covariance = new RunningCovariance(variables);
+        for (int j = 0; j < data[0].length; j++) {
+            final double[] observation = new double[variables];
+            for (int i = 0; i < variables; i++) {
+                observation[i] = data[i][j] = random.nextDouble();
+            }
+
+            covariance.add(observation);
+        }
+
+        final double[] coefficients = covariance.getMultipleCorrelationCoefficients();
+        for (int i = 0; i < variables; i++) {
+            assertEquals(computeRSquared(data, i), coefficients[i], DELTA);
+        }
+    }
+
+    private static double computeRSquared(final double[][] data, final int y) {
+        final double[][] x = new double[data.length - 1][];
+        for (int i = 0, k = 0; i < data.length; i++) {
+            if (i != y) {
+                x[k++] = data[i];
+            }
+        }
+
+        final double[][] xT = new Array2DRowRealMatrix(x).transpose().getData();
+        return MathUtil.createLinearRegression(xT, data[y]).calculateRSquared();
+    }
+
+    @Test
+    public void testRemovedObservationsAreNotConsidered() {
+        final Random random = new Random(2);
+        final RunningCovariance sliding = new RunningCovariance(3);
+        final double[][] observations = new double[20][3];
+        for (int j = 0; j < observations.length; j++) {
+            for (int i = 0; i < 3; i++) {
+                observations[j][i] = 100 + random.nextDouble();
+            }
+
+            sliding.add(observations[j]);
+            if (j >= 5) {
+                sliding.remove(observations[j - 5]);
+            }
+        }
+
+        final RunningCovariance expected = new RunningCovariance(3);
+        for (int j = observations.length - 5; j < observations.length; j++) {
+            expected.add(observations[j]);
+        }
+
+        assertEquals(5, sliding.getCount());
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertEquals(expected.getCovariance(i, j), sliding.getCovariance(i, j), DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testRoundingErrorsOfManyRemovalsAreSmall() {
+        final Random random = new Random(3);
+        final int window = 30;
+        final RunningCovariance sliding = new RunningCovariance(3);
+        final double[][] observations = new double[10000][3];
+        for (int j = 0; j < observations.length; j++) {
+            for (int i = 0; i < 3; i++) {
+                observations[j][i] = random.nextDouble();
+            }
+
+            sliding.add(observations[j]);
+            if (j >= window) {
+                sliding.remove(observations[j - window]);
+            }
+        }
+
+        final RunningCovariance expected = new RunningCovariance(3);
+        for (int j = observations.length - window; j < observations.length; j++) {
+            expected.add(observations[j]);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertEquals(expected.getCovariance(i, j), sliding.getCovariance(i, j), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testCovarianceIsNaNWithLessThan2Observations() {
+        final RunningCovariance covariance = new RunningCovariance(2);
+        covariance.add(new double[]{1, 2});
+        assertTrue(Double.isNaN(covariance.getCovariance(0, 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotEnoughObservations() {
+        final RunningCovariance covariance = new RunningCovariance(3);
+        covariance.add(new double[]{1, 2, 3});
+        covariance.add(new double[]{2, 1, 5});
+        covariance.getMultipleCorrelationCoefficients();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testObservationsEqualToVariablesAreNotEnough() {
+        final RunningCovariance covariance = new RunningCovariance(3);
+        covariance.add(new double[]{1, 2, 3});
+        covariance.add(new double[]{2, 1, 5});
+        covariance.add(new double[]{4, 7, 2});
+        covariance.getMultipleCorrelationCoefficients();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstantVariable() {
+        final RunningCovariance covariance = new RunningCovariance(2);
+        covariance.add(new double[]{1, 2});
+        covariance.add(new double[]{1, 3});
+        covariance.add(new double[]{1, 5});
+        covariance.getMultipleCorrelationCoefficients();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidObservationLength() {
+        new RunningCovariance(2).add(new double[]{1});
+    }
+}
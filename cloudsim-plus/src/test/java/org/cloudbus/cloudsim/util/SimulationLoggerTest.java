@@ -0,0 +1,84 @@
+package org.cloudbus.cloudsim.util;
+
+import java.io.ByteArrayOutputStream;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SimulationLoggerTest {
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    @After
+    public void tearDown() {
+        Log.enable();
+    }
+
+    @Test
+    public void testEachSimulationPrintsToItsOwnOutput() {
+        final ByteArrayOutputStream output1 = new ByteArrayOutputStream();
+        final ByteArrayOutputStream output2 = new ByteArrayOutputStream();
+        final Simulation simulation1 = new CloudSim();
+        final Simulation simulation2 = new CloudSim();
+        simulation1.getLogger().setOutput(output1);
+        simulation2.getLogger().setOutput(output2);
+
+        simulation1.getLogger().printLine(() -> "first");
+        simulation2.getLogger().print(() -> "second");
+        assertEquals("first" + LINE_SEPARATOR, output1.toString());
+        assertEquals("second", output2.toString());
+    }
+
+    @Test
+    public void testDisabledLoggerDoesNotCallMessageSupplier() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final SimulationLogger logger = new SimulationLogger().setOutput(output).setEnabled(false);
+        logger.printLine(() -> {
+            fail("The message supplier must not be called when the logger is disabled.");
+            return "";
+        });
+
+        assertFalse(logger.isEnabled());
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    public void testLoggerIsNotAffectedByGlobalLog() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final SimulationLogger logger = new SimulationLogger(true, output);
+        Log.disable();
+        logger.printFormattedLine("%d", 1);
+        assertTrue(logger.isEnabled());
+        assertEquals("1" + LINE_SEPARATOR, output.toString());
+    }
+
+    @Test
+    public void testLoggerStartsWithGlobalLogState() {
+        Log.disable();
+        final SimulationLogger logger = new SimulationLogger();
+        assertFalse(logger.isEnabled());
+        assertSame(Log.getOutput(), logger.getOutput());
+
+        Log.enable();
+        assertFalse(logger.isEnabled());
+    }
+
+    @Test
+    public void testGlobalLogIsNotAffectedByLogger() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final SimulationLogger logger = new SimulationLogger().setOutput(output).setEnabled(false);
+        assertTrue(Log.isEnabled());
+        assertNotSame(output, Log.getOutput());
+        assertFalse(logger.isEnabled());
+    }
+
+    @Test
+    public void testNullObject() {
+        SimulationLogger.NULL.setEnabled(true);
+        assertFalse(SimulationLogger.NULL.isEnabled());
+        assertSame(SimulationLogger.NULL, Simulation.NULL.getLogger());
+    }
+}
@@ -0,0 +1,118 @@
+package org.cloudbus.cloudsim.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.cloudbus.cloudsim.hosts.HostStateHistoryEntry;
+import org.cloudbus.cloudsim.vms.VmStateHistoryEntry;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StateHistoryTest {
+    private static final double DELTA = 0.0;
+
+    @Test
+    public void testUnboundedHistoryKeepsAllStatesFromOldestToNewest() {
+        final InMemoryStateHistory<VmStateHistoryEntry> history = new InMemoryStateHistory<>(VmStateHistoryEntry::new);
+        for (int i = 0; i < 100; i++) {
+            history.add(i, i * 10, i * 20, i % 2 == 0);
+        }
+
+        final List<VmStateHistoryEntry> list = history.asList();
+        assertEquals(100, list.size());
+        assertEquals(new VmStateHistoryEntry(0, 0, 0, true), list.get(0));
+        assertEquals(new VmStateHistoryEntry(99, 990, 1980, false), list.get(99));
+        assertEquals(990, history.getAllocatedMips(99), DELTA);
+    }
+
+    @Test
+    public void testAddStateWithSameTimeReplacesLastOne() {
+        final InMemoryStateHistory<HostStateHistoryEntry> history = new InMemoryStateHistory<>(HostStateHistoryEntry::new);
+        history.add(1, 10, 10, true);
+        history.add(2, 20, 20, true);
+        history.add(2, 30, 40, false);
+
+        assertEquals(2, history.size());
+        assertEquals(30, history.getAllocatedMips(1), DELTA);
+        assertEquals(40, history.getRequestedMips(1), DELTA);
+        assertFalse(history.getFlag(1));
+    }
+
+    @Test
+    public void testBoundedHistoryKeepsNewestStates() {
+        final InMemoryStateHistory<VmStateHistoryEntry> history = new InMemoryStateHistory<>(VmStateHistoryEntry::new, 20);
+        for (int i = 0; i < 50; i++) {
+            history.add(i, i, i, false);
+        }
+
+        assertEquals(20, history.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(30 + i, history.getTime(i), DELTA);
+        }
+
+        history.add(49, 100, 100, true);
+        assertEquals(20, history.size());
+        assertEquals(100, history.getAllocatedMips(19), DELTA);
+        assertEquals(30, history.getTime(0), DELTA);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetInvalidIndex() {
+        final InMemoryStateHistory<VmStateHistoryEntry> history = new InMemoryStateHistory<>(VmStateHistoryEntry::new, 2);
+        history.add(0, 0, 0, false);
+        history.getTime(1);
+    }
+
+    @Test
+    public void testDisabledHistoryIsAlwaysEmpty() {
+        final StateHistory<VmStateHistoryEntry> history = StateHistory.disabled();
+        history.add(0, 10, 10, false);
+        assertTrue(history.asList().isEmpty());
+    }
+
+    @Test
+    public void testStreamingHistoryWritesCsvWithoutKeepingStates() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final StateHistoryWriter writer = new StateHistoryWriter(out, StateHistoryWriter.Format.CSV, "active");
+        final StreamingStateHistory<HostStateHistoryEntry> history0 = new StreamingStateHistory<>(writer, 0);
+        final StreamingStateHistory<HostStateHistoryEntry> history1 = new StreamingStateHistory<>(writer, 1);
+
+        history0.add(1, 10, 20, true);
+        history0.add(1, 15, 20, true);
+        history1.add(1, 5, 5, false);
+        history0.add(2, 0, 0, false);
+        assertTrue(history0.asList().isEmpty());
+        writer.close();
+
+        final String expected =
+            "id,time,allocatedMips,requestedMips,active\n" +
+            "0,1.0,15.0,20.0,true\n" +
+            "0,2.0,0.0,0.0,false\n" +
+            "1,1.0,5.0,5.0,false\n";
+        assertEquals(expected, out.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testStreamingHistoryWritesBinaryRecords() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final StateHistoryWriter writer = new StateHistoryWriter(out, StateHistoryWriter.Format.BINARY, "inMigration");
+        final StreamingStateHistory<VmStateHistoryEntry> history = new StreamingStateHistory<>(writer, 7);
+        history.add(1, 10, 20, true);
+        history.add(2, 30, 40, false);
+        writer.close();
+
+        assertEquals(58, out.size());
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(7, in.readInt());
+        assertEquals(1, in.readDouble(), DELTA);
+        assertEquals(10, in.readDouble(), DELTA);
+        assertEquals(20, in.readDouble(), DELTA);
+        assertTrue(in.readBoolean());
+        assertEquals(7, in.readInt());
+        assertEquals(2, in.readDouble(), DELTA);
+    }
+}
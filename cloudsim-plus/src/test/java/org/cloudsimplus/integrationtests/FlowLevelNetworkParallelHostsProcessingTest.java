@@ -0,0 +1,165 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.network.CloudletExecutionTask;
+import org.cloudbus.cloudsim.cloudlets.network.CloudletReceiveTask;
+import org.cloudbus.cloudsim.cloudlets.network.CloudletSendTask;
+import org.cloudbus.cloudsim.cloudlets.network.NetworkCloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.FlowLevelNetwork;
+import org.cloudbus.cloudsim.network.switches.SwitchFabricBuilder;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Bandwidth;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.resources.Ram;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.network.NetworkVm;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * An Integration Test (IT) running a simulation scenario where
+ * {@link NetworkCloudlet}s in VMs of different hosts exchange packets
+ * through a {@link FlowLevelNetwork}, while the Datacenter updates the processing
+ * of its hosts in parallel. It checks if the Cloudlets finish at the same
+ * times as when the processing of hosts is updated sequentially.
+ */
+public final class FlowLevelNetworkParallelHostsProcessingTest {
+    private static final int HOSTS = 8;
+    private static final int HOST_PES = 2;
+    private static final int HOST_MIPS = 1000;
+    private static final int PACKETS_TO_SEND = 10;
+    private static final long PACKET_DATA_LENGTH_IN_BYTES = 100000;
+    private static final long EXECUTION_TASK_LENGTH = 4000;
+
+    @Test
+    public void testParallelHostsProcessingGivesSameResultsAsSequential() {
+        final List<Double> sequentialFinishTimes = runSimulation(null);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertEquals(sequentialFinishTimes, runSimulation(pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs the simulation scenario.
+     *
+     * @param pool the pool to update the processing of hosts in parallel or null to update them sequentially
+     * @return the finish time of each Cloudlet, ordered by Cloudlet ID
+     */
+    private List<Double> runSimulation(final ForkJoinPool pool) {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            hostList.add(createHost(i));
+        }
+
+        final NetworkDatacenter datacenter =
+            new NetworkDatacenter(simulation, new DatacenterCharacteristicsSimple(hostList), new VmAllocationPolicySimple());
+        datacenter.setFlowLevelNetwork(new FlowLevelNetwork());
+        datacenter.setHostsProcessingPool(pool);
+        new SwitchFabricBuilder(simulation, datacenter).setHostBandwidth(100).buildLeafSpine(2, HOSTS / 2);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final List<NetworkVm> vmList = new ArrayList<>(HOSTS);
+        final List<NetworkCloudlet> cloudletList = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final NetworkVm vm = new NetworkVm(i, HOST_MIPS, HOST_PES);
+            vm.setRam(512).setBw(100).setSize(10000).setCloudletScheduler(new CloudletSchedulerTimeShared()).setBroker(broker);
+            vmList.add(vm);
+
+            final NetworkCloudlet cloudlet = new NetworkCloudlet(i, 1, HOST_PES);
+            cloudlet.setMemory(100).setUtilizationModel(new UtilizationModelFull());
+            cloudlet.setBroker(broker);
+            cloudlet.setVm(vm);
+            cloudletList.add(cloudlet);
+        }
+
+        //each Cloudlet in the first half of hosts sends packets to a Cloudlet in the second half
+        for (int i = 0; i < HOSTS / 2; i++) {
+            final NetworkCloudlet sender = cloudletList.get(i);
+            final NetworkCloudlet receiver = cloudletList.get(i + HOSTS / 2);
+            sender.addTask(new CloudletExecutionTask(0, EXECUTION_TASK_LENGTH));
+            final CloudletSendTask sendTask = new CloudletSendTask(1);
+            sender.addTask(sendTask);
+            for (int j = 0; j < PACKETS_TO_SEND; j++) {
+                sendTask.addPacket(receiver, PACKET_DATA_LENGTH_IN_BYTES);
+            }
+
+            final CloudletReceiveTask receiveTask = new CloudletReceiveTask(0, sender.getVm());
+            receiveTask.setNumberOfExpectedPacketsToReceive(PACKETS_TO_SEND);
+            receiver.addTask(receiveTask);
+            receiver.addTask(new CloudletExecutionTask(1, EXECUTION_TASK_LENGTH));
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+
+        final List<Cloudlet> finishedList = broker.getCloudletsFinishedList();
+        assertEquals(HOSTS, finishedList.size());
+        final double[] finishTimes = new double[HOSTS];
+        finishedList.forEach(cloudlet -> finishTimes[cloudlet.getId()] = cloudlet.getFinishTime());
+        final List<Double> result = new ArrayList<>(HOSTS);
+        for (final double time : finishTimes) {
+            result.add(time);
+        }
+
+        return result;
+    }
+
+    private static Host createHost(final int id) {
+        final List<Pe> peList = new ArrayList<>(HOST_PES);
+        for (int i = 0; i < HOST_PES; i++) {
+            peList.add(new PeSimple(HOST_MIPS, new PeProvisionerSimple()));
+        }
+
+        return new NetworkHost(id, 1000000, peList)
+            .setRamProvisioner(new ResourceProvisionerSimple(new Ram(2048)))
+            .setBwProvisioner(new ResourceProvisionerSimple(new Bandwidth(10000)))
+            .setVmScheduler(new VmSchedulerTimeShared());
+    }
+}
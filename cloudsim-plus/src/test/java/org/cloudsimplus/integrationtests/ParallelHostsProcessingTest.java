@@ -0,0 +1,146 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristicsSimple;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Bandwidth;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.resources.Ram;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * An Integration Test (IT) running a simulation scenario where a {@link DatacenterSimple}
+ * updates the processing of its hosts in parallel. It checks if the Cloudlets start and finish
+ * at the same times as when the processing of hosts is updated sequentially.
+ */
+public final class ParallelHostsProcessingTest {
+    private static final int HOSTS = 16;
+    private static final int HOST_PES = 2;
+    private static final int HOST_MIPS = 1000;
+    private static final int CLOUDLETS_BY_VM = 3;
+
+    @Test
+    public void testParallelHostsProcessingGivesSameResultsAsSequential() {
+        final List<Double> sequentialResults = runSimulation(null);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertEquals(sequentialResults, runSimulation(pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs the simulation scenario.
+     *
+     * @param pool the pool to update the processing of hosts in parallel or null to update them sequentially
+     * @return the start and finish times of each Cloudlet, ordered by Cloudlet ID
+     */
+    private List<Double> runSimulation(final ForkJoinPool pool) {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            hostList.add(createHost(i));
+        }
+
+        final DatacenterSimple datacenter =
+            new DatacenterSimple(simulation, new DatacenterCharacteristicsSimple(hostList), new VmAllocationPolicySimple());
+        datacenter.setHostsProcessingPool(pool);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final List<Vm> vmList = new ArrayList<>(HOSTS);
+        final List<Cloudlet> cloudletList = new ArrayList<>(HOSTS * CLOUDLETS_BY_VM);
+        for (int i = 0; i < HOSTS; i++) {
+            final Vm vm = new VmSimple(i, HOST_MIPS, HOST_PES);
+            vm.setRam(512).setBw(100).setSize(10000).setCloudletScheduler(new CloudletSchedulerTimeShared()).setBroker(broker);
+            vmList.add(vm);
+
+            for (int j = 0; j < CLOUDLETS_BY_VM; j++) {
+                final int id = i * CLOUDLETS_BY_VM + j;
+                final Cloudlet cloudlet = new CloudletSimple(id, 1000 * (1 + (id * 7) % 11), 1);
+                cloudlet.setUtilizationModel(new UtilizationModelFull());
+                cloudlet.setSubmissionDelay(j);
+                cloudlet.setBroker(broker);
+                cloudlet.setVm(vm);
+                cloudletList.add(cloudlet);
+            }
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+
+        final List<Cloudlet> finishedList = broker.getCloudletsFinishedList();
+        assertEquals(cloudletList.size(), finishedList.size());
+        final double[] times = new double[2 * finishedList.size()];
+        finishedList.forEach(cloudlet -> {
+            times[2 * cloudlet.getId()] = cloudlet.getExecStartTime();
+            times[2 * cloudlet.getId() + 1] = cloudlet.getFinishTime();
+        });
+
+        final List<Double> result = new ArrayList<>(times.length);
+        for (final double time : times) {
+            result.add(time);
+        }
+
+        return result;
+    }
+
+    private static Host createHost(final int id) {
+        final List<Pe> peList = new ArrayList<>(HOST_PES);
+        for (int i = 0; i < HOST_PES; i++) {
+            peList.add(new PeSimple(HOST_MIPS, new PeProvisionerSimple()));
+        }
+
+        return new HostSimple(id, 1000000, peList)
+            .setRamProvisioner(new ResourceProvisionerSimple(new Ram(2048)))
+            .setBwProvisioner(new ResourceProvisionerSimple(new Bandwidth(10000)))
+            .setVmScheduler(new VmSchedulerTimeShared());
+    }
+}